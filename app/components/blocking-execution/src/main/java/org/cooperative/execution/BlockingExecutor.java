@@ -0,0 +1,257 @@
+package org.cooperative.execution;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+@Slf4j
+@Component
+public class BlockingExecutor implements MeterBinder, DisposableBean {
+    private static final long KEEP_ALIVE_SECONDS = 60;
+
+    private final Type type;
+    private final Scheduler scheduler;
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicInteger active = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private volatile Timer waitTimer;
+
+    // Sized apart from the connection pool: a vote holds its thread, but no connection, until its batch is
+    // written. No thread count takes Reactor's bounded elastic default of ten per core.
+    @Autowired
+    public BlockingExecutor(@Value("${cooperative.blocking.executor.type:bounded-elastic}") String type,
+            @Value("${cooperative.blocking.executor.threads:0}") int threads,
+            @Value("${cooperative.blocking.executor.queue-size:100000}") int queueSize) {
+        this(Type.fromProperty(type), threads > 0 ? threads : Schedulers.DEFAULT_BOUNDED_ELASTIC_SIZE, queueSize);
+    }
+
+    public BlockingExecutor(Type type, int threads, int queueSize) {
+        ExecutorService executorService = type == Type.VIRTUAL ? newVirtualThreadPerTaskExecutor() : null;
+        if (type == Type.VIRTUAL && executorService == null) {
+            log.warn("Virtual threads are not supported by this runtime, falling back to {}", Type.BOUNDED_ELASTIC);
+            type = Type.BOUNDED_ELASTIC;
+        }
+        if (executorService == null) executorService = newThreadPoolExecutor(type, threads, queueSize);
+        this.type = type;
+        this.scheduler = Schedulers.fromExecutorService(new InstrumentedExecutorService(executorService),
+                "blocking-" + type.tag);
+        log.info("Blocking executor - type: {}, threads: {}, queueSize: {}", type, threads, queueSize);
+    }
+
+    public Scheduler scheduler() {
+        return scheduler;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("executor.blocking.active", active, AtomicInteger::get)
+                .tag("type", type.tag)
+                .register(registry);
+        Gauge.builder("executor.blocking.queued", queued, AtomicInteger::get)
+                .tag("type", type.tag)
+                .register(registry);
+        FunctionCounter.builder("executor.blocking.rejected", rejected, LongAdder::sum)
+                .tag("type", type.tag)
+                .register(registry);
+        waitTimer = Timer.builder("executor.blocking.wait")
+                .tag("type", type.tag)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    @Override
+    public void destroy() {
+        scheduler.dispose();
+    }
+
+    private static ExecutorService newThreadPoolExecutor(Type type, int threads, int queueSize) {
+        ThreadFactory threadFactory = new NamedThreadFactory("blocking-" + type.tag + "-");
+        if (type == Type.FIXED) {
+            return new ThreadPoolExecutor(threads, threads, 0, TimeUnit.SECONDS,
+                    new LinkedBlockingQueue<>(queueSize), threadFactory);
+        }
+        // No core threads: one is started when no idle thread can take a task and retires after idling for
+        // the keep-alive, tasks only queueing once all of them are busy
+        ElasticQueue queue = new ElasticQueue(queueSize);
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(0, threads, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                queue, threadFactory, queue);
+        queue.executor = executor;
+        return executor;
+    }
+
+    private static ExecutorService newVirtualThreadPerTaskExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+
+    public enum Type {
+        FIXED("fixed"),
+        BOUNDED_ELASTIC("bounded-elastic"),
+        VIRTUAL("virtual");
+
+        private final String tag;
+
+        Type(String tag) {
+            this.tag = tag;
+        }
+
+        static Type fromProperty(String property) {
+            return valueOf(property.trim().toUpperCase(Locale.ROOT).replace('-', '_'));
+        }
+    }
+
+    private class InstrumentedExecutorService extends AbstractExecutorService {
+        private final ExecutorService delegate;
+
+        InstrumentedExecutorService(ExecutorService delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void execute(Runnable task) {
+            BlockingHopEvent event = new BlockingHopEvent();
+            event.begin();
+            long submitted = System.nanoTime();
+            queued.incrementAndGet();
+            try {
+                delegate.execute(() -> {
+                    queued.decrementAndGet();
+                    active.incrementAndGet();
+                    long wait = System.nanoTime() - submitted;
+                    Timer timer = waitTimer;
+                    if (timer != null) timer.record(wait, TimeUnit.NANOSECONDS);
+                    try {
+                        task.run();
+                    } finally {
+                        active.decrementAndGet();
+                        event.end();
+                        if (event.shouldCommit()) {
+                            event.type = type.tag;
+                            event.queueWait = wait;
+                            event.commit();
+                        }
+                    }
+                });
+            } catch (RejectedExecutionException e) {
+                queued.decrementAndGet();
+                rejected.increment();
+                throw e;
+            }
+        }
+
+        @Override
+        public void shutdown() {
+            delegate.shutdown();
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return delegate.shutdownNow();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return delegate.isShutdown();
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return delegate.isTerminated();
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+            return delegate.awaitTermination(timeout, unit);
+        }
+    }
+
+    // Refuses a task while every thread is busy and more may be started, which makes the executor start one.
+    // A refusal that loses the race to the last thread is queued by the rejection handler instead.
+    private static class ElasticQueue extends LinkedBlockingQueue<Runnable> implements RejectedExecutionHandler {
+        private final AtomicInteger idle = new AtomicInteger();
+        private volatile ThreadPoolExecutor executor;
+
+        ElasticQueue(int capacity) {
+            super(capacity);
+        }
+
+        @Override
+        public boolean offer(Runnable task) {
+            if (idle.get() == 0 && executor.getPoolSize() < executor.getMaximumPoolSize()) return false;
+            return super.offer(task);
+        }
+
+        @Override
+        public Runnable poll(long timeout, TimeUnit unit) throws InterruptedException {
+            idle.incrementAndGet();
+            try {
+                return super.poll(timeout, unit);
+            } finally {
+                idle.decrementAndGet();
+            }
+        }
+
+        @Override
+        public Runnable take() throws InterruptedException {
+            idle.incrementAndGet();
+            try {
+                return super.take();
+            } finally {
+                idle.decrementAndGet();
+            }
+        }
+
+        @Override
+        public void rejectedExecution(Runnable task, ThreadPoolExecutor executor) {
+            if (executor.isShutdown() || !super.offer(task)) {
+                throw new RejectedExecutionException("Blocking executor queue is full");
+            }
+        }
+    }
+
+    private static class NamedThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger count = new AtomicInteger();
+
+        NamedThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package org.cooperative.execution;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import jdk.jfr.Timespan;
+
+// Committed on the blocking thread, so the domain events it ran are the ones on the same thread inside it
+@Name("org.cooperative.execution.BlockingHop")
+@Label("Blocking Executor Hop")
+@Description("Task handed to the blocking executor, from submission until it has run")
+@Category({"Cooperative", "Execution"})
+@StackTrace(false)
+@Threshold("1 ms")
+class BlockingHopEvent extends Event {
+    @Label("Executor Type")
+    String type;
+
+    @Label("Queue Wait")
+    @Timespan(Timespan.NANOSECONDS)
+    long queueWait;
+}
@@ -0,0 +1,121 @@
+package org.cooperative.execution;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BlockingExecutorTest {
+    BlockingExecutor blockingExecutor;
+
+    @AfterEach
+    void afterTest() {
+        blockingExecutor.destroy();
+    }
+
+    @Test
+    void testFixedRunsOnNamedThreads() {
+        blockingExecutor = new BlockingExecutor("fixed", 2, 10);
+        String thread = Mono.fromCallable(() -> Thread.currentThread().getName())
+                .subscribeOn(blockingExecutor.scheduler())
+                .block();
+        assertTrue(thread.startsWith("blocking-fixed-"));
+    }
+
+    @Test
+    void testBoundedElasticRejectsWhenQueueIsFull() throws InterruptedException {
+        blockingExecutor = new BlockingExecutor(BlockingExecutor.Type.BOUNDED_ELASTIC, 1, 1);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        blockingExecutor.bindTo(registry);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        blockingExecutor.scheduler().schedule(() -> {
+            started.countDown();
+            awaitQuietly(release);
+        });
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        blockingExecutor.scheduler().schedule(() -> { });
+
+        Mono<Integer> rejected = Mono.fromCallable(() -> 1)
+                .subscribeOn(blockingExecutor.scheduler());
+        assertThrows(RejectedExecutionException.class, rejected::block);
+        assertEquals(1.0, registry.get("executor.blocking.active").gauge().value());
+        assertEquals(1.0, registry.get("executor.blocking.queued").gauge().value());
+        assertEquals(1.0, registry.get("executor.blocking.rejected").functionCounter().count());
+        release.countDown();
+    }
+
+    @Test
+    void testWaitTimeIsRecorded() {
+        blockingExecutor = new BlockingExecutor("bounded-elastic", 1, 10);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        blockingExecutor.bindTo(registry);
+
+        Mono.fromRunnable(() -> { })
+                .subscribeOn(blockingExecutor.scheduler())
+                .block();
+
+        assertEquals(1, registry.get("executor.blocking.wait").tag("type", "bounded-elastic").timer().count());
+        // The task is only done being active after its result has been handed over
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (registry.get("executor.blocking.active").gauge().value() != 0.0) {
+            assertTrue(System.nanoTime() < deadline, "Task is still active");
+            Thread.onSpinWait();
+        }
+    }
+
+    @Test
+    void testBoundedElasticStartsThreadsBeforeQueueing() throws InterruptedException {
+        blockingExecutor = new BlockingExecutor(BlockingExecutor.Type.BOUNDED_ELASTIC, 2, 10);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        blockingExecutor.bindTo(registry);
+        CountDownLatch started = new CountDownLatch(2);
+        CountDownLatch release = new CountDownLatch(1);
+        for (int i = 0; i < 3; i++) {
+            blockingExecutor.scheduler().schedule(() -> {
+                started.countDown();
+                awaitQuietly(release);
+            });
+        }
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        assertEquals(2.0, registry.get("executor.blocking.active").gauge().value());
+        assertEquals(1.0, registry.get("executor.blocking.queued").gauge().value());
+        release.countDown();
+    }
+
+    @Test
+    void testVirtualFallsBackWhenUnsupported() {
+        blockingExecutor = new BlockingExecutor("virtual", 2, 10);
+        BlockingExecutor.Type expected = virtualThreadsSupported()
+                ? BlockingExecutor.Type.VIRTUAL
+                : BlockingExecutor.Type.BOUNDED_ELASTIC;
+        assertEquals(expected, blockingExecutor.getType());
+    }
+
+    private static boolean virtualThreadsSupported() {
+        try {
+            Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return true;
+        } catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
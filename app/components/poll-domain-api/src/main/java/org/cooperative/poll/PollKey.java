@@ -0,0 +1,11 @@
+package org.cooperative.poll;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+@AllArgsConstructor(staticName = "of")
+@Value
+public class PollKey {
+    long subjectId;
+    long pollId;
+}
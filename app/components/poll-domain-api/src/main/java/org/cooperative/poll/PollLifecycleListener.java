@@ -0,0 +1,9 @@
+package org.cooperative.poll;
+
+public interface PollLifecycleListener {
+    default void onPollOpened(Poll poll) {
+    }
+
+    default void onPollClosed(Poll poll) {
+    }
+}
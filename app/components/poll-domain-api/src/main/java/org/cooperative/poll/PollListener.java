@@ -0,0 +1,12 @@
+package org.cooperative.poll;
+
+public interface PollListener {
+    default void onPollSaved(Poll poll) {
+    }
+
+    default void onPollUpdated(long subjectId, long pollId) {
+    }
+
+    default void onPollDeleted(long subjectId, long pollId) {
+    }
+}
@@ -1,12 +1,15 @@
 package org.cooperative.poll;
 
+import java.time.OffsetDateTime;
 import java.util.Optional;
 import java.util.stream.Stream;
 
 public interface PollRepository {
     Poll save(Poll poll);
     Stream<Poll> getBySubjectId(long subjectId);
+    Stream<Poll> getPageBySubjectId(long subjectId, Long afterId, int limit);
     Stream<Poll> getBySubjectIdAndPollName(long subjectId, String name);
     Optional<Poll> getBySubjectIdAndPollId(long subjectId, long pollId);
     void deleteBySubjectIdAndPollId(long subjectId, long pollId);
+    Stream<Poll> getEndingAfter(OffsetDateTime instant);
 }
@@ -4,12 +4,14 @@ import org.cooperative.poll.exception.PollNotFoundException;
 import org.cooperative.poll.exception.PollValidationException;
 import org.cooperative.subject.SubjectNotFoundException;
 
+import java.time.OffsetDateTime;
 import java.util.Optional;
 import java.util.stream.Stream;
 
 public interface PollService {
     Poll createPoll(Poll poll) throws SubjectNotFoundException, PollValidationException;
     Stream<Poll> getPollBySubjectId(long subjectId);
+    Stream<Poll> getPollPageBySubjectId(long subjectId, Long afterId, int limit);
     Optional<Poll> getPollByIdAndSubjectId(long id, long subjectId) throws SubjectNotFoundException;
     Stream<Poll> getPollByNameAndSubjectId(String name, long subjectId)
             throws SubjectNotFoundException;
@@ -17,4 +19,5 @@ public interface PollService {
             PollValidationException, PollNotFoundException;
     void deletePollByIdAndSubjectId(long id, long subjectId)
             throws SubjectNotFoundException, PollNotFoundException;
+    Stream<Poll> getPollsEndingAfter(OffsetDateTime instant);
 }
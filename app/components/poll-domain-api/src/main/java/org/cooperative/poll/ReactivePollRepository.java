@@ -0,0 +1,17 @@
+package org.cooperative.poll;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+
+public interface ReactivePollRepository {
+    Mono<Poll> insert(Poll poll);
+    Mono<Poll> update(Poll poll);
+    Flux<Poll> getBySubjectId(long subjectId);
+    Flux<Poll> getPageBySubjectId(long subjectId, Long afterId, int limit);
+    Flux<Poll> getBySubjectIdAndPollName(long subjectId, String name);
+    Mono<Poll> getBySubjectIdAndPollId(long subjectId, long pollId);
+    Mono<Void> deleteBySubjectIdAndPollId(long subjectId, long pollId);
+    Flux<Poll> getEndingAfter(OffsetDateTime instant);
+}
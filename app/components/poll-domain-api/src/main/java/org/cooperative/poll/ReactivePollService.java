@@ -0,0 +1,17 @@
+package org.cooperative.poll;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+
+public interface ReactivePollService {
+    Mono<Poll> createPoll(Poll poll);
+    Flux<Poll> getPollBySubjectId(long subjectId);
+    Flux<Poll> getPollPageBySubjectId(long subjectId, Long afterId, int limit);
+    Mono<Poll> getPollByIdAndSubjectId(long id, long subjectId);
+    Flux<Poll> getPollByNameAndSubjectId(String name, long subjectId);
+    Mono<Poll> updatePoll(Poll poll);
+    Mono<Void> deletePollByIdAndSubjectId(long id, long subjectId);
+    Flux<Poll> getPollsEndingAfter(OffsetDateTime instant);
+}
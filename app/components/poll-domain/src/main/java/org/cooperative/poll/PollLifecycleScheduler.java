@@ -0,0 +1,210 @@
+package org.cooperative.poll;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.OffsetDateTime;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+
+@Slf4j
+@Component
+public class PollLifecycleScheduler implements PollListener, SmartLifecycle {
+    private static final int WHEEL_BITS = 9;
+
+    private final ObjectProvider<ReactivePollService> pollService;
+    private final Clock clock;
+    private final long tickMillis;
+    private final int maxEventsPerTick;
+    private final Object lock = new Object();
+    private final TimingWheel<Event> wheel;
+    private final Map<PollKey, Plan> plans = new HashMap<>();
+    private final Queue<Event> backlog = new ArrayDeque<>();
+    private Set<PollKey> changedWhileLoading;
+    private List<PollLifecycleListener> listeners = List.of();
+    private volatile Thread ticker;
+
+    @Autowired
+    public PollLifecycleScheduler(ObjectProvider<ReactivePollService> pollService,
+            @Value("${cooperative.poll.lifecycle.tick-ms:100}") long tickMillis,
+            @Value("${cooperative.poll.lifecycle.max-events-per-tick:1000}") int maxEventsPerTick) {
+        this(pollService, Clock.systemUTC(), tickMillis, maxEventsPerTick);
+    }
+
+    PollLifecycleScheduler(ObjectProvider<ReactivePollService> pollService, Clock clock, long tickMillis,
+            int maxEventsPerTick) {
+        this.pollService = pollService;
+        this.clock = clock;
+        this.tickMillis = tickMillis;
+        this.maxEventsPerTick = maxEventsPerTick;
+        this.wheel = new TimingWheel<>(tickMillis, WHEEL_BITS, clock.millis());
+    }
+
+    @Autowired(required = false)
+    public void setPollLifecycleListeners(List<PollLifecycleListener> listeners) {
+        this.listeners = listeners;
+    }
+
+    @Override
+    public void onPollSaved(Poll poll) {
+        synchronized (lock) {
+            PollKey key = PollKey.of(poll.getSubjectId(), poll.getId());
+            if (changedWhileLoading != null) changedWhileLoading.add(key);
+            plan(key, poll);
+        }
+    }
+
+    @Override
+    public void onPollDeleted(long subjectId, long pollId) {
+        synchronized (lock) {
+            PollKey key = PollKey.of(subjectId, pollId);
+            if (changedWhileLoading != null) changedWhileLoading.add(key);
+            Plan plan = plans.remove(key);
+            if (plan != null) plan.cancel();
+        }
+    }
+
+    // Polls saved or deleted while the initial load streams in are already planned from fresher data
+    void load(Poll poll) {
+        synchronized (lock) {
+            PollKey key = PollKey.of(poll.getSubjectId(), poll.getId());
+            if (changedWhileLoading == null || !changedWhileLoading.contains(key)) plan(key, poll);
+        }
+    }
+
+    private void plan(PollKey key, Poll poll) {
+        long now = clock.millis();
+        Plan previous = plans.remove(key);
+        if (previous != null) previous.cancel();
+        long start = poll.getStartDate().toInstant().toEpochMilli();
+        long end = poll.getEndDate().toInstant().toEpochMilli();
+        if (end <= now) return;
+        Plan plan = new Plan(start > now ? wheel.schedule(start, new Event(key, poll, true)) : null,
+                wheel.schedule(end, new Event(key, poll, false)));
+        plans.put(key, plan);
+    }
+
+    // Expired events queue up and at most maxEventsPerTick are handed to listeners per tick, so polls
+    // closing at the same instant are spread over the following ticks instead of arriving at once
+    void tick() {
+        synchronized (lock) {
+            wheel.advance(clock.millis(), this::expire);
+        }
+        for (int i = 0; i < maxEventsPerTick; i++) {
+            Event event = backlog.poll();
+            if (event == null) break;
+            fire(event);
+        }
+    }
+
+    private void expire(Event event) {
+        backlog.add(event);
+        if (!event.open) plans.remove(event.key);
+    }
+
+    private void fire(Event event) {
+        for (PollLifecycleListener listener : listeners) {
+            try {
+                if (event.open) listener.onPollOpened(event.poll);
+                else listener.onPollClosed(event.poll);
+            } catch (RuntimeException e) {
+                log.error("Poll lifecycle listener failed - poll: {}, open: {}", event.poll, event.open, e);
+            }
+        }
+    }
+
+    int pending() {
+        synchronized (lock) {
+            return wheel.size();
+        }
+    }
+
+    int backlog() {
+        return backlog.size();
+    }
+
+    @Override
+    public void start() {
+        synchronized (lock) {
+            changedWhileLoading = new HashSet<>();
+        }
+        ReactivePollService service = pollService.getIfAvailable();
+        if (service == null) {
+            log.warn("No poll service available, only polls saved from now on are planned");
+            finishLoading();
+        } else {
+            service.getPollsEndingAfter(OffsetDateTime.now(clock)).subscribe(this::load, e -> {
+                log.error("Failed to load upcoming polls", e);
+                finishLoading();
+            }, this::finishLoading);
+        }
+        Thread thread = new Thread(this::run, "poll-lifecycle-scheduler");
+        thread.setDaemon(true);
+        ticker = thread;
+        thread.start();
+    }
+
+    private void finishLoading() {
+        synchronized (lock) {
+            changedWhileLoading = null;
+            log.info("Planned poll lifecycle events: {}", wheel.size());
+        }
+    }
+
+    @Override
+    public void stop() {
+        Thread thread = ticker;
+        ticker = null;
+        if (thread != null) thread.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return ticker != null;
+    }
+
+    private void run() {
+        long next = clock.millis();
+        while (ticker == Thread.currentThread()) {
+            next += tickMillis;
+            long sleep = next - clock.millis();
+            try {
+                if (sleep > 0) Thread.sleep(sleep);
+                tick();
+            } catch (InterruptedException e) {
+                return;
+            } catch (RuntimeException e) {
+                log.error("Unexpected error advancing poll lifecycle scheduler", e);
+            }
+        }
+    }
+
+    @AllArgsConstructor
+    private static class Plan {
+        final TimingWheel.Timeout<Event> open;
+        final TimingWheel.Timeout<Event> close;
+
+        void cancel() {
+            if (open != null) open.cancel();
+            close.cancel();
+        }
+    }
+
+    @AllArgsConstructor
+    private static class Event {
+        final PollKey key;
+        final Poll poll;
+        final boolean open;
+    }
+}
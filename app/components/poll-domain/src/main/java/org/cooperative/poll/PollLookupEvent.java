@@ -0,0 +1,26 @@
+package org.cooperative.poll;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("org.cooperative.poll.Lookup")
+@Label("Poll Lookup")
+@Description("Load of a poll by subject and poll id from the poll repository")
+@Category({"Cooperative", "Poll"})
+@StackTrace(false)
+@Threshold("1 ms")
+class PollLookupEvent extends Event {
+    @Label("Subject Id")
+    long subjectId;
+
+    @Label("Poll Id")
+    long pollId;
+
+    @Label("Found")
+    boolean found;
+}
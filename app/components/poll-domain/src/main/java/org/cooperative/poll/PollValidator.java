@@ -0,0 +1,79 @@
+package org.cooperative.poll;
+
+import org.cooperative.poll.exception.PollValidationException;
+import org.cooperative.poll.exception.Validation;
+
+import java.time.Duration;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+final class PollValidator {
+
+    private static final int NAME_MAX_LENGTH = 200;
+    private static final Duration DEFAULT_END_DURATION = Duration.ofMinutes(1);
+
+    private PollValidator() {
+    }
+
+    static Poll validateForCreate(Poll poll) {
+        List<Validation> validations = new ArrayList<>();
+        if (poll.getStartDate() == null) validations.add(Validation.MISSING_START_DATE);
+        if (poll.getSubjectId() == null) validations.add(Validation.MISSING_SUBJECT_ID);
+        if (poll.getName() != null && poll.getName().length() > NAME_MAX_LENGTH) {
+            validations.add(Validation.NAME_TOO_LONG);
+        }
+        if (poll.getStartDate() != null && poll.getEndDate() != null &&
+                !poll.getStartDate().isBefore(poll.getEndDate())) {
+            validations.add(Validation.END_DATE_EARLIER_THAN_START_DATE);
+        }
+        if (!validations.isEmpty()) {
+            throw PollValidationException.builder()
+                    .validations(validations)
+                    .build();
+        }
+        if (poll.getEndDate() == null) {
+            return atColumnPrecision(poll.withEndDate(poll.getStartDate().plus(DEFAULT_END_DURATION)));
+        }
+        return atColumnPrecision(poll);
+    }
+
+    static void validateForUpdate(Poll poll) {
+        List<Validation> validations = new ArrayList<>();
+        if (poll.getId() == null) validations.add(Validation.MISSING_ID);
+        if (poll.getSubjectId() == null) validations.add(Validation.MISSING_SUBJECT_ID);
+        if (poll.getName() != null && poll.getName().length() > NAME_MAX_LENGTH) {
+            validations.add(Validation.NAME_TOO_LONG);
+        }
+        if (!validations.isEmpty()) {
+            throw PollValidationException.builder()
+                    .validations(validations)
+                    .build();
+        }
+    }
+
+    static Poll merge(Poll existing, Poll update) {
+        Poll.PollBuilder builder = existing.toBuilder();
+        builder.name(update.getName());
+        if (update.getStartDate() != null) builder.startDate(update.getStartDate());
+        if (update.getEndDate() != null) builder.endDate(update.getEndDate());
+
+        Poll updatedPoll = builder.build();
+
+        if (!updatedPoll.getStartDate().isBefore(updatedPoll.getEndDate())) {
+            throw PollValidationException.builder()
+                    .validation(Validation.END_DATE_EARLIER_THAN_START_DATE)
+                    .build();
+        }
+        return atColumnPrecision(updatedPoll);
+    }
+
+    // Dates are stored to the microsecond, so the poll kept in memory must not carry more precision than the
+    // one read back, or a stored result would never match its end date
+    private static Poll atColumnPrecision(Poll poll) {
+        return poll.toBuilder()
+                .startDate(poll.getStartDate().truncatedTo(ChronoUnit.MICROS))
+                .endDate(poll.getEndDate().truncatedTo(ChronoUnit.MICROS))
+                .build();
+    }
+}
@@ -0,0 +1,77 @@
+package org.cooperative.poll;
+
+import lombok.extern.slf4j.Slf4j;
+import org.cooperative.execution.BlockingExecutor;
+import org.cooperative.span.Span;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+
+@Slf4j
+@Component
+@Profile("!r2dbc")
+@Span
+public class ReactivePollServiceAdapter implements ReactivePollService {
+
+    private final PollService pollService;
+    private final BlockingExecutor blockingExecutor;
+
+    @Autowired
+    public ReactivePollServiceAdapter(PollService pollService, BlockingExecutor blockingExecutor) {
+        this.pollService = pollService;
+        this.blockingExecutor = blockingExecutor;
+    }
+
+    @Override
+    public Mono<Poll> createPoll(Poll poll) {
+        return Mono.fromCallable(() -> pollService.createPoll(poll))
+                .subscribeOn(blockingExecutor.scheduler());
+    }
+
+    @Override
+    public Flux<Poll> getPollBySubjectId(long subjectId) {
+        return Flux.fromStream(() -> pollService.getPollBySubjectId(subjectId))
+                .subscribeOn(blockingExecutor.scheduler());
+    }
+
+    @Override
+    public Flux<Poll> getPollPageBySubjectId(long subjectId, Long afterId, int limit) {
+        return Flux.fromStream(() -> pollService.getPollPageBySubjectId(subjectId, afterId, limit))
+                .subscribeOn(blockingExecutor.scheduler());
+    }
+
+    @Override
+    public Mono<Poll> getPollByIdAndSubjectId(long id, long subjectId) {
+        return Mono.fromCallable(() -> pollService.getPollByIdAndSubjectId(id, subjectId))
+                .subscribeOn(blockingExecutor.scheduler())
+                .flatMap(Mono::justOrEmpty);
+    }
+
+    @Override
+    public Flux<Poll> getPollByNameAndSubjectId(String name, long subjectId) {
+        return Flux.fromStream(() -> pollService.getPollByNameAndSubjectId(name, subjectId))
+                .subscribeOn(blockingExecutor.scheduler());
+    }
+
+    @Override
+    public Mono<Poll> updatePoll(Poll poll) {
+        return Mono.fromCallable(() -> pollService.updatePoll(poll))
+                .subscribeOn(blockingExecutor.scheduler());
+    }
+
+    @Override
+    public Mono<Void> deletePollByIdAndSubjectId(long id, long subjectId) {
+        return Mono.<Void>fromRunnable(() -> pollService.deletePollByIdAndSubjectId(id, subjectId))
+                .subscribeOn(blockingExecutor.scheduler());
+    }
+
+    @Override
+    public Flux<Poll> getPollsEndingAfter(OffsetDateTime instant) {
+        return Flux.fromStream(() -> pollService.getPollsEndingAfter(instant))
+                .subscribeOn(blockingExecutor.scheduler());
+    }
+}
@@ -0,0 +1,108 @@
+package org.cooperative.poll;
+
+import lombok.extern.slf4j.Slf4j;
+import org.cooperative.poll.exception.PollNotFoundException;
+import org.cooperative.span.Span;
+import org.cooperative.subject.ReactiveSubjectService;
+import org.cooperative.subject.SubjectNotFoundException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Slf4j
+@Component
+@Profile("r2dbc")
+@Span
+public class ReactivePollServiceDefault implements ReactivePollService {
+
+    private final ReactivePollRepository pollRepository;
+    private final ReactiveSubjectService subjectService;
+    private List<PollListener> pollListeners = List.of();
+
+    @Autowired
+    public ReactivePollServiceDefault(ReactivePollRepository pollRepository, ReactiveSubjectService service) {
+        this.pollRepository = pollRepository;
+        this.subjectService = service;
+    }
+
+    @Autowired(required = false)
+    public void setPollListeners(List<PollListener> pollListeners) {
+        this.pollListeners = pollListeners;
+    }
+
+    @Override
+    public Mono<Poll> createPoll(Poll poll) {
+        return Mono.fromCallable(() -> PollValidator.validateForCreate(poll))
+                .flatMap(p -> requireSubject(p.getSubjectId())
+                        .then(Mono.defer(() -> pollRepository.insert(p))))
+                .doOnNext(p -> {
+                    pollListeners.forEach(l -> l.onPollSaved(p));
+                    log.info("Created poll: {}", p);
+                });
+    }
+
+    @Override
+    public Flux<Poll> getPollBySubjectId(long subjectId) {
+        return pollRepository.getBySubjectId(subjectId);
+    }
+
+    @Override
+    public Flux<Poll> getPollPageBySubjectId(long subjectId, Long afterId, int limit) {
+        return pollRepository.getPageBySubjectId(subjectId, afterId, limit);
+    }
+
+    @Override
+    public Mono<Poll> getPollByIdAndSubjectId(long id, long subjectId) {
+        return pollRepository.getBySubjectIdAndPollId(subjectId, id);
+    }
+
+    @Override
+    public Flux<Poll> getPollByNameAndSubjectId(String name, long subjectId) {
+        return pollRepository.getBySubjectIdAndPollName(subjectId, name);
+    }
+
+    @Override
+    public Mono<Poll> updatePoll(Poll poll) {
+        return Mono.fromRunnable(() -> PollValidator.validateForUpdate(poll))
+                .then(Mono.defer(() -> requireSubject(poll.getSubjectId())))
+                .then(Mono.defer(() -> pollRepository.getBySubjectIdAndPollId(poll.getSubjectId(), poll.getId())))
+                .switchIfEmpty(Mono.error(PollNotFoundException::new))
+                .map(existing -> PollValidator.merge(existing, poll))
+                .flatMap(pollRepository::update)
+                .doOnNext(p -> {
+                    pollListeners.forEach(l -> {
+                        l.onPollSaved(p);
+                        l.onPollUpdated(p.getSubjectId(), p.getId());
+                    });
+                    log.info("Updated poll: {}", p);
+                });
+    }
+
+    @Override
+    public Mono<Void> deletePollByIdAndSubjectId(long id, long subjectId) {
+        return requireSubject(subjectId)
+                .then(Mono.defer(() -> pollRepository.getBySubjectIdAndPollId(subjectId, id)))
+                .switchIfEmpty(Mono.error(PollNotFoundException::new))
+                .flatMap(p -> pollRepository.deleteBySubjectIdAndPollId(subjectId, id))
+                .doOnSuccess(v -> {
+                    pollListeners.forEach(l -> l.onPollDeleted(subjectId, id));
+                    log.info("Deleted poll - id: {}, subjectId: {}", id, subjectId);
+                });
+    }
+
+    @Override
+    public Flux<Poll> getPollsEndingAfter(OffsetDateTime instant) {
+        return pollRepository.getEndingAfter(instant);
+    }
+
+    private Mono<Void> requireSubject(long subjectId) {
+        return subjectService.getSubjectById(subjectId)
+                .switchIfEmpty(Mono.error(SubjectNotFoundException::new))
+                .then();
+    }
+}
@@ -0,0 +1,164 @@
+package org.cooperative.poll;
+
+import java.util.function.Consumer;
+
+// Hierarchical timing wheel: level 0 has one slot per tick and every level above has one slot per full turn
+// of the level below. Scheduling and cancelling are O(1), and a timeout moves down at most once per level
+// before it expires. Not thread-safe; callers serialize access.
+public class TimingWheel<T> {
+    private static final int LEVELS = 4;
+
+    private final long tickMillis;
+    private final int bits;
+    private final int mask;
+    private final Bucket<T>[][] buckets;
+    private final Bucket<T> overflow = new Bucket<>();
+    private long currentTick;
+    private int size;
+
+    @SuppressWarnings("unchecked")
+    public TimingWheel(long tickMillis, int wheelBits, long nowMillis) {
+        if (tickMillis <= 0) throw new IllegalArgumentException("Tick must be positive: " + tickMillis);
+        if (wheelBits < 1 || wheelBits * LEVELS > 60) {
+            throw new IllegalArgumentException("Wheel bits out of range: " + wheelBits);
+        }
+        this.tickMillis = tickMillis;
+        this.bits = wheelBits;
+        this.mask = (1 << wheelBits) - 1;
+        this.buckets = new Bucket[LEVELS][1 << wheelBits];
+        for (Bucket<T>[] level : buckets) {
+            for (int i = 0; i < level.length; i++) level[i] = new Bucket<>();
+        }
+        this.currentTick = Math.floorDiv(nowMillis, tickMillis);
+    }
+
+    // Rounded up to the next tick so a timeout never fires before its deadline
+    public Timeout<T> schedule(long deadlineMillis, T value) {
+        long deadlineTick = Math.max(Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis), currentTick);
+        Timeout<T> timeout = new Timeout<>(this, deadlineTick, value);
+        place(timeout);
+        size++;
+        return timeout;
+    }
+
+    public void advance(long nowMillis, Consumer<? super T> expired) {
+        long targetTick = Math.floorDiv(nowMillis, tickMillis);
+        while (currentTick <= targetTick) {
+            cascade();
+            Bucket<T> bucket = buckets[0][(int) (currentTick & mask)];
+            for (Timeout<T> timeout = bucket.poll(); timeout != null; timeout = bucket.poll()) {
+                size--;
+                expired.accept(timeout.value);
+            }
+            currentTick++;
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private boolean remove(Timeout<T> timeout) {
+        if (timeout.bucket == null) return false;
+        timeout.bucket.remove(timeout);
+        size--;
+        return true;
+    }
+
+    // A timeout goes to the lowest level whose current turn still contains its deadline
+    private void place(Timeout<T> timeout) {
+        long diff = timeout.deadlineTick ^ currentTick;
+        for (int level = 0; level < LEVELS; level++) {
+            if (diff >>> (bits * (level + 1)) == 0) {
+                buckets[level][(int) ((timeout.deadlineTick >>> (bits * level)) & mask)].add(timeout);
+                return;
+            }
+        }
+        overflow.add(timeout);
+    }
+
+    // On a slot boundary of a level, the slot being entered is spread over the levels below it,
+    // highest level first so its timeouts can land in the slots cascaded right after
+    private void cascade() {
+        int level = 1;
+        while (level < LEVELS && (currentTick & ((1L << (bits * level)) - 1)) == 0) level++;
+        if ((currentTick & ((1L << (bits * LEVELS)) - 1)) == 0) replace(overflow);
+        for (int l = level - 1; l >= 1; l--) {
+            replace(buckets[l][(int) ((currentTick >>> (bits * l)) & mask)]);
+        }
+    }
+
+    // Detached first: timeouts still out of range go back into the overflow bucket being replaced
+    private void replace(Bucket<T> bucket) {
+        Timeout<T> timeout = bucket.detach();
+        while (timeout != null) {
+            Timeout<T> next = timeout.next;
+            place(timeout);
+            timeout = next;
+        }
+    }
+
+    public static final class Timeout<T> {
+        private final TimingWheel<T> wheel;
+        private final long deadlineTick;
+        private final T value;
+        private Bucket<T> bucket;
+        private Timeout<T> prev;
+        private Timeout<T> next;
+
+        private Timeout(TimingWheel<T> wheel, long deadlineTick, T value) {
+            this.wheel = wheel;
+            this.deadlineTick = deadlineTick;
+            this.value = value;
+        }
+
+        public T value() {
+            return value;
+        }
+
+        public boolean isPending() {
+            return bucket != null;
+        }
+
+        public boolean cancel() {
+            return wheel.remove(this);
+        }
+    }
+
+    private static final class Bucket<T> {
+        private Timeout<T> head;
+        private Timeout<T> tail;
+
+        void add(Timeout<T> timeout) {
+            timeout.bucket = this;
+            timeout.prev = tail;
+            timeout.next = null;
+            if (tail == null) head = timeout;
+            else tail.next = timeout;
+            tail = timeout;
+        }
+
+        void remove(Timeout<T> timeout) {
+            if (timeout.prev == null) head = timeout.next;
+            else timeout.prev.next = timeout.next;
+            if (timeout.next == null) tail = timeout.prev;
+            else timeout.next.prev = timeout.prev;
+            timeout.bucket = null;
+            timeout.prev = null;
+            timeout.next = null;
+        }
+
+        Timeout<T> detach() {
+            Timeout<T> first = head;
+            head = null;
+            tail = null;
+            return first;
+        }
+
+        Timeout<T> poll() {
+            Timeout<T> timeout = head;
+            if (timeout != null) remove(timeout);
+            return timeout;
+        }
+    }
+}
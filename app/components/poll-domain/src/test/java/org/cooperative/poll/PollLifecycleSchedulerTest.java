@@ -0,0 +1,151 @@
+package org.cooperative.poll;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.ObjectProvider;
+import reactor.core.publisher.Flux;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class PollLifecycleSchedulerTest {
+    @SuppressWarnings("unchecked")
+    ObjectProvider<ReactivePollService> pollService = mock(ObjectProvider.class);
+    ReactivePollService reactivePollService = mock(ReactivePollService.class);
+
+    MutableClock clock = new MutableClock(Instant.parse("2021-06-27T12:00:00Z"));
+    PollLifecycleScheduler scheduler = new PollLifecycleScheduler(pollService, clock, 100, 2);
+    RecordingListener listener = new RecordingListener();
+
+    OffsetDateTime now = OffsetDateTime.ofInstant(clock.instant(), ZoneOffset.UTC);
+
+    @Test
+    void testOpenAndCloseFireAtTheirInstants() {
+        scheduler.setPollLifecycleListeners(List.of(listener));
+        scheduler.onPollSaved(Poll.of(1L, "poll", now.plusSeconds(1), now.plusSeconds(2), 2L));
+
+        advance(Duration.ofMillis(900));
+        assertEquals(List.of(), listener.events);
+        advance(Duration.ofMillis(100));
+        assertEquals(List.of("opened 1"), listener.events);
+        advance(Duration.ofSeconds(1));
+        assertEquals(List.of("opened 1", "closed 1"), listener.events);
+        assertEquals(0, scheduler.pending());
+    }
+
+    @Test
+    void testUpdateReplansAndDeleteCancels() {
+        scheduler.setPollLifecycleListeners(List.of(listener));
+        scheduler.onPollSaved(Poll.of(1L, "poll", now.minusSeconds(1), now.plusSeconds(1), 2L));
+        scheduler.onPollSaved(Poll.of(1L, "poll", now.minusSeconds(1), now.plusSeconds(3), 2L));
+        scheduler.onPollSaved(Poll.of(2L, "poll", now.minusSeconds(1), now.plusSeconds(1), 2L));
+        scheduler.onPollDeleted(2L, 2L);
+        assertEquals(1, scheduler.pending());
+
+        advance(Duration.ofSeconds(2));
+        assertEquals(List.of(), listener.events);
+        advance(Duration.ofSeconds(1));
+        assertEquals(List.of("closed 1"), listener.events);
+    }
+
+    @Test
+    void testSimultaneousClosesAreSpreadOverTicks() {
+        scheduler.setPollLifecycleListeners(List.of(listener));
+        for (long id = 1; id <= 5; id++) {
+            scheduler.onPollSaved(Poll.of(id, "poll", now.minusSeconds(1), now.plusSeconds(1), 2L));
+        }
+
+        advance(Duration.ofSeconds(1));
+        assertEquals(2, listener.events.size());
+        assertEquals(3, scheduler.backlog());
+        scheduler.tick();
+        scheduler.tick();
+        assertEquals(5, listener.events.size());
+        assertEquals(0, scheduler.backlog());
+    }
+
+    @Test
+    void testLoadSkipsPollsChangedWhileLoading() {
+        when(pollService.getIfAvailable()).thenReturn(reactivePollService);
+        when(reactivePollService.getPollsEndingAfter(any(OffsetDateTime.class))).thenReturn(Flux.never());
+        scheduler.start();
+        try {
+            scheduler.onPollDeleted(2L, 1L);
+            scheduler.load(Poll.of(1L, "poll", now.minusSeconds(1), now.plusSeconds(1), 2L));
+            scheduler.load(Poll.of(3L, "poll", now.minusSeconds(1), now.plusSeconds(1), 2L));
+            assertEquals(1, scheduler.pending());
+        } finally {
+            scheduler.stop();
+        }
+    }
+
+    @Test
+    void testFailingListenerDoesNotStopOthers() {
+        scheduler.setPollLifecycleListeners(List.of(new PollLifecycleListener() {
+            @Override
+            public void onPollClosed(Poll poll) {
+                throw new IllegalStateException();
+            }
+        }, listener));
+        scheduler.onPollSaved(Poll.of(1L, "poll", now.minusSeconds(1), now.plusSeconds(1), 2L));
+
+        advance(Duration.ofSeconds(1));
+        assertEquals(List.of("closed 1"), listener.events);
+    }
+
+    private void advance(Duration duration) {
+        clock.advance(duration);
+        scheduler.tick();
+    }
+
+    static class RecordingListener implements PollLifecycleListener {
+        final List<String> events = new ArrayList<>();
+
+        @Override
+        public void onPollOpened(Poll poll) {
+            events.add("opened " + poll.getId());
+        }
+
+        @Override
+        public void onPollClosed(Poll poll) {
+            events.add("closed " + poll.getId());
+        }
+    }
+
+    static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -14,6 +14,8 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.time.Duration;
 import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -35,9 +37,12 @@ class PollServiceTest {
     @Mock
     SubjectService subjectService;
 
+    @Mock
+    PollListener pollListener;
+
     @Test
     void testCreatePollSuccess() {
-        OffsetDateTime startTime = OffsetDateTime.now();
+        OffsetDateTime startTime = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
         Poll poll = Poll.of(null, "poll", startTime,
                 startTime.plus(Duration.ofMinutes(1)), 1L);
 
@@ -46,9 +51,20 @@ class PollServiceTest {
                 .save(Poll.of(null, "poll", startTime, startTime.plus(Duration.ofMinutes(1)), 1L));
     }
 
+    @Test
+    void testCreatePollTruncatesDatesToMicroseconds() {
+        OffsetDateTime startTime = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Poll poll = Poll.of(null, "poll", startTime.plusNanos(999),
+                startTime.plus(Duration.ofMinutes(1)).plusNanos(1), 1L);
+
+        pollService.createPoll(poll);
+        verify(pollRepository, times(1))
+                .save(Poll.of(null, "poll", startTime, startTime.plus(Duration.ofMinutes(1)), 1L));
+    }
+
     @Test
     void testCreatePollSubjectNotFound() {
-        OffsetDateTime startTime = OffsetDateTime.now();
+        OffsetDateTime startTime = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
         Poll poll = Poll.of(null, "poll", startTime,
                 startTime.plus(Duration.ofMinutes(1)), 1L);
         when(pollRepository.save(poll))
@@ -59,7 +75,7 @@ class PollServiceTest {
 
     @Test
     void testCreatePollMissingStartDate() {
-        OffsetDateTime endTime = OffsetDateTime.now().plus(Duration.ofMinutes(1));
+        OffsetDateTime endTime = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS).plus(Duration.ofMinutes(1));
         Poll poll = Poll.of(null, "poll", null, endTime, 1L);
         PollValidationException exception = assertThrows(
                 PollValidationException.class, () -> pollService.createPoll(poll));
@@ -72,7 +88,7 @@ class PollServiceTest {
         Subject subject = Subject.of(1L, "subject");
         subjectService.createSubject(subject);
 
-        OffsetDateTime startTime = OffsetDateTime.now();
+        OffsetDateTime startTime = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
         Poll poll = Poll.of(null, "poll", startTime, null, 1L);
 
         pollService.createPoll(poll);
@@ -83,7 +99,7 @@ class PollServiceTest {
 
     @Test
     void testCreatePollNameTooLong() {
-        OffsetDateTime startTime = OffsetDateTime.now();
+        OffsetDateTime startTime = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
         Poll poll = Poll.of(1L, " ".repeat(201), startTime,
                 startTime.plus(Duration.ofMinutes(1)), 1L);
         PollValidationException exception = assertThrows(
@@ -94,7 +110,7 @@ class PollServiceTest {
 
     @Test
     void testCreatePollEndDateEarlierThanStartDate() {
-        OffsetDateTime startTime = OffsetDateTime.now();
+        OffsetDateTime startTime = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
         Poll poll = Poll.of(null, "poll", startTime,
                 startTime.minus(Duration.ofMinutes(1)), 1L);
         PollValidationException exception = assertThrows(
@@ -129,7 +145,7 @@ class PollServiceTest {
         when(subjectService.getSubjectById(1L))
                 .thenReturn(Optional.of(Subject.of(1L, "subject")));
 
-        OffsetDateTime startTime = OffsetDateTime.now();
+        OffsetDateTime startTime = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
         OffsetDateTime endTime = startTime.plus(Duration.ofMinutes(1));
         when(pollRepository.getBySubjectIdAndPollId(1L, 1L))
                 .thenReturn(Optional.of(Poll.of( 1L, "poll", startTime, endTime, 1L)));
@@ -140,12 +156,43 @@ class PollServiceTest {
                 .save(Poll.of(1L, "poll updated", startTime, endTime, 1L));
     }
 
+    @Test
+    public void testUpdatePollNotifiesListeners() {
+        when(subjectService.getSubjectById(1L))
+                .thenReturn(Optional.of(Subject.of(1L, "subject")));
+
+        OffsetDateTime startTime = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        OffsetDateTime endTime = startTime.plus(Duration.ofMinutes(1));
+        when(pollRepository.getBySubjectIdAndPollId(1L, 2L))
+                .thenReturn(Optional.of(Poll.of(2L, "poll", startTime, endTime, 1L)));
+
+        pollService.setPollListeners(List.of(pollListener));
+        pollService.updatePoll(Poll.of(2L, "poll updated", startTime, endTime, 1L));
+        verify(pollListener, times(1))
+                .onPollUpdated(1L, 2L);
+        verify(pollListener, times(1))
+                .onPollSaved(Poll.of(2L, "poll updated", startTime, endTime, 1L));
+    }
+
+    @Test
+    void testCreatePollNotifiesListeners() {
+        OffsetDateTime startTime = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        Poll poll = Poll.of(null, "poll", startTime, startTime.plus(Duration.ofMinutes(1)), 1L);
+        when(pollRepository.save(poll))
+                .thenReturn(poll.withId(1L));
+
+        pollService.setPollListeners(List.of(pollListener));
+        pollService.createPoll(poll);
+        verify(pollListener, times(1))
+                .onPollSaved(poll.withId(1L));
+    }
+
     @Test
     public void testUpdatePollSubjectNotFound() {
         when(subjectService.getSubjectById(1L))
                 .thenReturn(Optional.empty());
 
-        OffsetDateTime startTime = OffsetDateTime.now();
+        OffsetDateTime startTime = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
         Poll poll = Poll.of(1L, "poll", startTime,
                 startTime.plus(Duration.ofMinutes(1)), 1L);
         assertThrows(SubjectNotFoundException.class, () -> pollService.updatePoll(poll));
@@ -159,7 +206,7 @@ class PollServiceTest {
         when(pollRepository.getBySubjectIdAndPollId(1L, 1L))
                 .thenReturn(Optional.empty());
 
-        OffsetDateTime startTime = OffsetDateTime.now();
+        OffsetDateTime startTime = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
         Poll poll = Poll.of(1L, "poll", startTime,
                 startTime.plus(Duration.ofMinutes(1)), 1L);
         assertThrows(PollNotFoundException.class, () -> pollService.updatePoll(poll));
@@ -170,7 +217,7 @@ class PollServiceTest {
         when(subjectService.getSubjectById(1L))
                 .thenReturn(Optional.of(Subject.of(1L, "subject")));
 
-        OffsetDateTime startTime = OffsetDateTime.now();
+        OffsetDateTime startTime = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
         OffsetDateTime endTime = startTime.plus(Duration.ofMinutes(1));
 
         when(pollRepository.getBySubjectIdAndPollId(1L, 1L))
@@ -187,7 +234,7 @@ class PollServiceTest {
         when(subjectService.getSubjectById(1L))
                 .thenReturn(Optional.of(Subject.of(1L, "subject")));
 
-        OffsetDateTime startTime = OffsetDateTime.now();
+        OffsetDateTime startTime = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
         OffsetDateTime endTime = startTime.plus(Duration.ofMinutes(1));
 
         when(pollRepository.getBySubjectIdAndPollId(1L, 1L))
@@ -201,7 +248,7 @@ class PollServiceTest {
 
     @Test
     public void testUpdatePollNameTooLong() {
-        OffsetDateTime startTime = OffsetDateTime.now();
+        OffsetDateTime startTime = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
         OffsetDateTime endTime = startTime.plus(Duration.ofMinutes(1));
         Poll poll = Poll.of(1L, " ".repeat(201), startTime, endTime, 1L);
         PollValidationException exception = assertThrows(
@@ -215,7 +262,7 @@ class PollServiceTest {
         when(subjectService.getSubjectById(1L))
                 .thenReturn(Optional.of(Subject.of(1L, "subject")));
 
-        OffsetDateTime startTime = OffsetDateTime.now();
+        OffsetDateTime startTime = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
         OffsetDateTime endTime = startTime.plus(Duration.ofMinutes(1));
 
         when(pollRepository.getBySubjectIdAndPollId(1L, 1L))
@@ -234,7 +281,7 @@ class PollServiceTest {
         when(subjectService.getSubjectById(1L))
                 .thenReturn(Optional.of(Subject.of(1L, "subject")));
 
-        OffsetDateTime startTime = OffsetDateTime.now();
+        OffsetDateTime startTime = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
         OffsetDateTime endTime = startTime.plus(Duration.ofMinutes(1));
 
         when(pollRepository.getBySubjectIdAndPollId(1L, 1L))
@@ -245,6 +292,23 @@ class PollServiceTest {
                 .deleteBySubjectIdAndPollId(1L, 1L);
     }
 
+    @Test
+    public void testDeletePollNotifiesListeners() {
+        when(subjectService.getSubjectById(1L))
+                .thenReturn(Optional.of(Subject.of(1L, "subject")));
+
+        OffsetDateTime startTime = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
+        OffsetDateTime endTime = startTime.plus(Duration.ofMinutes(1));
+
+        when(pollRepository.getBySubjectIdAndPollId(1L, 2L))
+                .thenReturn(Optional.of(Poll.of(2L, "poll", startTime, endTime, 1L)));
+
+        pollService.setPollListeners(List.of(pollListener));
+        pollService.deletePollByIdAndSubjectId(2L, 1L);
+        verify(pollListener, times(1))
+                .onPollDeleted(1L, 2L);
+    }
+
     @Test
     public void testDeletePollSubjectNotFound() {
         when(subjectService.getSubjectById(1L))
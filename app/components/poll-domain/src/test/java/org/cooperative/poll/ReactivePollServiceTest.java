@@ -0,0 +1,110 @@
+package org.cooperative.poll;
+
+import org.cooperative.poll.exception.PollNotFoundException;
+import org.cooperative.poll.exception.PollValidationException;
+import org.cooperative.subject.ReactiveSubjectService;
+import org.cooperative.subject.Subject;
+import org.cooperative.subject.SubjectNotFoundException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactivePollServiceTest {
+
+    @InjectMocks
+    ReactivePollServiceDefault pollService;
+
+    @Mock
+    ReactivePollRepository pollRepository;
+
+    @Mock
+    ReactiveSubjectService subjectService;
+
+    @Mock
+    PollListener pollListener;
+
+    OffsetDateTime startTime = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+    @BeforeEach
+    void beforeTest() {
+        pollService.setPollListeners(List.of(pollListener));
+    }
+
+    @Test
+    void testCreatePollAppliesDefaultEndDate() {
+        Poll poll = Poll.of(null, "poll", startTime, null, 1L);
+        Poll expected = poll.withEndDate(startTime.plus(Duration.ofMinutes(1)));
+        when(subjectService.getSubjectById(1L)).thenReturn(Mono.just(Subject.of(1L, "subject")));
+        when(pollRepository.insert(expected)).thenReturn(Mono.just(expected.withId(2L)));
+
+        assertEquals(expected.withId(2L), pollService.createPoll(poll).block());
+    }
+
+    @Test
+    void testCreatePollSubjectNotFound() {
+        Poll poll = Poll.of(null, "poll", startTime, startTime.plus(Duration.ofMinutes(1)), 1L);
+        when(subjectService.getSubjectById(1L)).thenReturn(Mono.empty());
+
+        Mono<Poll> mono = pollService.createPoll(poll);
+        assertThrows(SubjectNotFoundException.class, mono::block);
+        verify(pollRepository, never()).insert(any());
+    }
+
+    @Test
+    void testCreatePollMissingStartDate() {
+        Mono<Poll> mono = pollService.createPoll(Poll.of(null, "poll", null, null, 1L));
+        assertThrows(PollValidationException.class, mono::block);
+        verify(pollRepository, never()).insert(any());
+    }
+
+    @Test
+    void testUpdatePollNotifiesListeners() {
+        Poll existing = Poll.of(2L, "poll", startTime, startTime.plus(Duration.ofMinutes(1)), 1L);
+        Poll updated = existing.withName("updated");
+        when(subjectService.getSubjectById(1L)).thenReturn(Mono.just(Subject.of(1L, "subject")));
+        when(pollRepository.getBySubjectIdAndPollId(1L, 2L)).thenReturn(Mono.just(existing));
+        when(pollRepository.update(updated)).thenReturn(Mono.just(updated));
+
+        assertEquals(updated, pollService.updatePoll(Poll.of(2L, "updated", null, null, 1L)).block());
+        verify(pollListener, times(1)).onPollUpdated(1L, 2L);
+    }
+
+    @Test
+    void testDeletePollPollNotFound() {
+        when(subjectService.getSubjectById(1L)).thenReturn(Mono.just(Subject.of(1L, "subject")));
+        when(pollRepository.getBySubjectIdAndPollId(1L, 2L)).thenReturn(Mono.empty());
+
+        Mono<Void> mono = pollService.deletePollByIdAndSubjectId(2L, 1L);
+        assertThrows(PollNotFoundException.class, mono::block);
+        verify(pollListener, never()).onPollDeleted(1L, 2L);
+    }
+
+    @Test
+    void testDeletePollNotifiesListeners() {
+        Poll existing = Poll.of(2L, "poll", startTime, startTime.plus(Duration.ofMinutes(1)), 1L);
+        when(subjectService.getSubjectById(1L)).thenReturn(Mono.just(Subject.of(1L, "subject")));
+        when(pollRepository.getBySubjectIdAndPollId(1L, 2L)).thenReturn(Mono.just(existing));
+        when(pollRepository.deleteBySubjectIdAndPollId(1L, 2L)).thenReturn(Mono.empty());
+
+        pollService.deletePollByIdAndSubjectId(2L, 1L).block();
+        verify(pollListener, times(1)).onPollDeleted(1L, 2L);
+    }
+}
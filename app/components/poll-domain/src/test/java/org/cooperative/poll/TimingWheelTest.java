@@ -0,0 +1,73 @@
+package org.cooperative.poll;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimingWheelTest {
+    // 4 slots per level keeps every level and the overflow reachable with small numbers
+    TimingWheel<String> wheel = new TimingWheel<>(10, 2, 1_000);
+    List<String> expired = new ArrayList<>();
+
+    @Test
+    void testTimeoutFiresAtItsDeadlineNotBefore() {
+        wheel.schedule(1_055, "a");
+        wheel.advance(1_050, expired::add);
+        assertEquals(List.of(), expired);
+        wheel.advance(1_060, expired::add);
+        assertEquals(List.of("a"), expired);
+        assertEquals(0, wheel.size());
+    }
+
+    @Test
+    void testTimeoutsOnHigherLevelsCascadeInOrder() {
+        wheel.schedule(1_000 + 10 * 300, "overflow");
+        wheel.schedule(1_000 + 10 * 70, "level 3");
+        wheel.schedule(1_000 + 10 * 20, "level 2");
+        wheel.schedule(1_000 + 10 * 5, "level 1");
+        wheel.schedule(1_000 + 10 * 2, "level 0");
+
+        List<Long> firedAt = new ArrayList<>();
+        for (long now = 1_000; now <= 1_000 + 10 * 300; now += 10) {
+            long time = now;
+            wheel.advance(now, v -> {
+                expired.add(v);
+                firedAt.add(time);
+            });
+        }
+        assertEquals(List.of("level 0", "level 1", "level 2", "level 3", "overflow"), expired);
+        assertEquals(List.of(1_020L, 1_050L, 1_200L, 1_700L, 4_000L), firedAt);
+    }
+
+    @Test
+    void testPastDeadlineFiresOnNextTick() {
+        wheel.advance(1_100, expired::add);
+        wheel.schedule(900, "late");
+        wheel.advance(1_110, expired::add);
+        assertEquals(List.of("late"), expired);
+    }
+
+    @Test
+    void testCancelledTimeoutNeverFires() {
+        TimingWheel.Timeout<String> timeout = wheel.schedule(1_500, "cancelled");
+        wheel.schedule(1_500, "kept");
+        assertTrue(timeout.cancel());
+        assertFalse(timeout.cancel());
+        assertFalse(timeout.isPending());
+        wheel.advance(2_000, expired::add);
+        assertEquals(List.of("kept"), expired);
+    }
+
+    @Test
+    void testLongJumpExpiresEverythingDue() {
+        for (int i = 0; i < 1_000; i++) wheel.schedule(1_000 + i * 7L, "t" + i);
+        wheel.advance(1_000 + 500 * 7, expired::add);
+        assertEquals(501, expired.size());
+        assertEquals(499, wheel.size());
+    }
+}
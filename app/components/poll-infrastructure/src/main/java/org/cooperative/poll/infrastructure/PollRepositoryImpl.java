@@ -3,18 +3,24 @@ package org.cooperative.poll.infrastructure;
 import org.cooperative.poll.Poll;
 import org.cooperative.poll.PollRepository;
 import org.cooperative.poll.jpa.PollRepositoryJpa;
+import org.cooperative.span.Span;
 import org.cooperative.subject.SubjectNotFoundException;
 import org.cooperative.subject.jpa.Subject;
 import org.cooperative.subject.jpa.SubjectRepositoryJpa;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
 import javax.transaction.Transactional;
+import java.time.OffsetDateTime;
 import java.util.Optional;
 import java.util.stream.Stream;
 
 @Component
+@Profile("!r2dbc & !memory")
 @Transactional
+@Span
 public class PollRepositoryImpl implements PollRepository {
     private final PollRepositoryJpa pollRepositoryJpa;
     private final SubjectRepositoryJpa subjectRepositoryJpa;
@@ -36,6 +42,13 @@ public class PollRepositoryImpl implements PollRepository {
                 .map(this::mapFromJpa);
     }
 
+    @Override
+    public Stream<Poll> getPageBySubjectId(long subjectId, Long afterId, int limit) {
+        return pollRepositoryJpa.findBySubject_IdAndIdGreaterThanOrderByIdAsc(subjectId,
+                        afterId == null ? Long.MIN_VALUE : afterId, PageRequest.of(0, limit)).stream()
+                .map(this::mapFromJpa);
+    }
+
     @Override
     public Stream<Poll> getBySubjectIdAndPollName(long subjectId, String name) {
         return pollRepositoryJpa.findBySubject_IdAndName(subjectId, name).stream()
@@ -53,6 +66,12 @@ public class PollRepositoryImpl implements PollRepository {
         pollRepositoryJpa.deleteBySubject_IdAndId(subjectId, pollId);
     }
 
+    @Override
+    public Stream<Poll> getEndingAfter(OffsetDateTime instant) {
+        return pollRepositoryJpa.findByEndDateAfter(instant).stream()
+                .map(this::mapFromJpa);
+    }
+
     private org.cooperative.poll.jpa.Poll mapToJpa(Poll poll) {
         Subject subject = subjectRepositoryJpa.findById(poll.getSubjectId())
                 .orElseThrow(SubjectNotFoundException::new);
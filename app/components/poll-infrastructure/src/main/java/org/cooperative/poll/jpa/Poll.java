@@ -11,7 +11,9 @@ import javax.persistence.Column;
 import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.ManyToOne;
+import javax.persistence.Table;
 import java.time.OffsetDateTime;
 
 @Entity
@@ -20,6 +22,10 @@ import java.time.OffsetDateTime;
 @AllArgsConstructor(staticName = "of")
 @Builder
 @ToString
+@Table(indexes = {
+        @Index(name = "poll_subject_id_id_idx", columnList = "subject_id, id"),
+        @Index(name = "poll_end_date_idx", columnList = "end_date")
+})
 public class Poll {
     @Id
     @GeneratedValue
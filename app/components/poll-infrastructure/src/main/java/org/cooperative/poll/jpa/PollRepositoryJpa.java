@@ -1,13 +1,24 @@
 package org.cooperative.poll.jpa;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.repository.CrudRepository;
 
+import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 
+// Reads join the subject in, a query would otherwise load it with one more select per subject
 public interface PollRepositoryJpa extends CrudRepository<Poll, Long> {
+    @EntityGraph(attributePaths = "subject")
     List<Poll> findBySubject_Id(long subjectId);
+    @EntityGraph(attributePaths = "subject")
+    List<Poll> findBySubject_IdAndIdGreaterThanOrderByIdAsc(long subjectId, long id, Pageable pageable);
+    @EntityGraph(attributePaths = "subject")
     Optional<Poll> findBySubject_IdAndId(long subjectId, long pollId);
+    @EntityGraph(attributePaths = "subject")
     List<Poll> findBySubject_IdAndName(long subjectId, String name);
     void deleteBySubject_IdAndId(long subjectId, long pollId);
+    @EntityGraph(attributePaths = "subject")
+    List<Poll> findByEndDateAfter(OffsetDateTime endDate);
 }
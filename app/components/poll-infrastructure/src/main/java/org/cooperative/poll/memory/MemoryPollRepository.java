@@ -0,0 +1,112 @@
+package org.cooperative.poll.memory;
+
+import org.cooperative.poll.Poll;
+import org.cooperative.poll.PollRepository;
+import org.cooperative.span.Span;
+import org.cooperative.subject.SubjectNotFoundException;
+import org.cooperative.subject.SubjectRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// Polls held in the process only, lost on restart. Writes to a poll are serialized by the id map, which keeps
+// the per-subject index, ordered by poll id for keyset paging, in step with it.
+@Component
+@Profile("memory")
+@Span
+public class MemoryPollRepository implements PollRepository {
+    private static final ConcurrentNavigableMap<Long, Poll> NO_POLLS = new ConcurrentSkipListMap<>();
+
+    private final SubjectRepository subjectRepository;
+    private final AtomicLong ids = new AtomicLong();
+    private final ConcurrentMap<Long, Poll> polls = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Long, ConcurrentNavigableMap<Long, Poll>> bySubject = new ConcurrentHashMap<>();
+
+    @Autowired
+    public MemoryPollRepository(SubjectRepository subjectRepository) {
+        this.subjectRepository = subjectRepository;
+    }
+
+    @Override
+    public Poll save(Poll poll) {
+        if (!subjectRepository.existsById(poll.getSubjectId())) throw new SubjectNotFoundException();
+        Poll saved = poll.getId() == null || poll.getId() == 0 ? poll.withId(ids.incrementAndGet()) : poll;
+        // A poll saved with an id of its own moves the sequence past it
+        ids.accumulateAndGet(saved.getId(), Math::max);
+        polls.compute(saved.getId(), (id, existing) -> {
+            if (existing != null) removeFromSubject(existing);
+            addToSubject(saved);
+            return saved;
+        });
+        return saved;
+    }
+
+    @Override
+    public Stream<Poll> getBySubjectId(long subjectId) {
+        return subjectPolls(subjectId).values().stream();
+    }
+
+    @Override
+    public Stream<Poll> getPageBySubjectId(long subjectId, Long afterId, int limit) {
+        ConcurrentNavigableMap<Long, Poll> subjectPolls = subjectPolls(subjectId);
+        return (afterId == null ? subjectPolls : subjectPolls.tailMap(afterId, false)).values().stream()
+                .limit(limit);
+    }
+
+    @Override
+    public Stream<Poll> getBySubjectIdAndPollName(long subjectId, String name) {
+        return subjectPolls(subjectId).values().stream()
+                .filter(p -> p.getName().equals(name));
+    }
+
+    @Override
+    public Optional<Poll> getBySubjectIdAndPollId(long subjectId, long pollId) {
+        return Optional.ofNullable(polls.get(pollId))
+                .filter(p -> p.getSubjectId() == subjectId);
+    }
+
+    @Override
+    public void deleteBySubjectIdAndPollId(long subjectId, long pollId) {
+        polls.computeIfPresent(pollId, (id, existing) -> {
+            if (existing.getSubjectId() != subjectId) return existing;
+            removeFromSubject(existing);
+            return null;
+        });
+    }
+
+    // Only read when the poll lifecycle is loaded, so a scan is enough
+    @Override
+    public Stream<Poll> getEndingAfter(OffsetDateTime instant) {
+        return polls.values().stream()
+                .filter(p -> p.getEndDate().isAfter(instant));
+    }
+
+    private ConcurrentNavigableMap<Long, Poll> subjectPolls(long subjectId) {
+        return bySubject.getOrDefault(subjectId, NO_POLLS);
+    }
+
+    private void addToSubject(Poll poll) {
+        bySubject.compute(poll.getSubjectId(), (s, subjectPolls) -> {
+            ConcurrentNavigableMap<Long, Poll> updated = subjectPolls == null
+                    ? new ConcurrentSkipListMap<>() : subjectPolls;
+            updated.put(poll.getId(), poll);
+            return updated;
+        });
+    }
+
+    private void removeFromSubject(Poll poll) {
+        bySubject.computeIfPresent(poll.getSubjectId(), (s, subjectPolls) -> {
+            subjectPolls.remove(poll.getId());
+            return subjectPolls.isEmpty() ? null : subjectPolls;
+        });
+    }
+}
@@ -0,0 +1,120 @@
+package org.cooperative.poll.r2dbc;
+
+import io.r2dbc.spi.Row;
+import org.cooperative.poll.Poll;
+import org.cooperative.poll.ReactivePollRepository;
+import org.cooperative.span.Span;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+
+@Component
+@Profile("r2dbc")
+@Span
+public class R2dbcPollRepository implements ReactivePollRepository {
+    private static final String SELECT_POLL = "SELECT id, name, start_date, end_date, subject_id FROM poll ";
+
+    private final DatabaseClient databaseClient;
+
+    @Autowired
+    public R2dbcPollRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Mono<Poll> insert(Poll poll) {
+        return databaseClient.sql("SELECT nextval('hibernate_sequence') AS id")
+                .map(row -> row.get("id", Long.class))
+                .one()
+                .map(poll::withId)
+                .flatMap(p -> bindPoll(databaseClient.sql("INSERT INTO poll (id, name, start_date, end_date, subject_id) " +
+                        "VALUES (:id, :name, :startDate, :endDate, :subjectId)"), p)
+                        .fetch()
+                        .rowsUpdated()
+                        .thenReturn(p));
+    }
+
+    @Override
+    public Mono<Poll> update(Poll poll) {
+        return bindPoll(databaseClient.sql("UPDATE poll SET name = :name, start_date = :startDate, " +
+                "end_date = :endDate WHERE id = :id AND subject_id = :subjectId"), poll)
+                .fetch()
+                .rowsUpdated()
+                .thenReturn(poll);
+    }
+
+    @Override
+    public Flux<Poll> getBySubjectId(long subjectId) {
+        return databaseClient.sql(SELECT_POLL + "WHERE subject_id = :subjectId")
+                .bind("subjectId", subjectId)
+                .map(this::mapFromRow)
+                .all();
+    }
+
+    @Override
+    public Flux<Poll> getPageBySubjectId(long subjectId, Long afterId, int limit) {
+        return databaseClient.sql(SELECT_POLL + "WHERE subject_id = :subjectId AND id > :afterId ORDER BY id LIMIT :limit")
+                .bind("subjectId", subjectId)
+                .bind("afterId", afterId == null ? Long.MIN_VALUE : afterId)
+                .bind("limit", limit)
+                .map(this::mapFromRow)
+                .all();
+    }
+
+    @Override
+    public Flux<Poll> getBySubjectIdAndPollName(long subjectId, String name) {
+        return databaseClient.sql(SELECT_POLL + "WHERE subject_id = :subjectId AND name = :name")
+                .bind("subjectId", subjectId)
+                .bind("name", name)
+                .map(this::mapFromRow)
+                .all();
+    }
+
+    @Override
+    public Mono<Poll> getBySubjectIdAndPollId(long subjectId, long pollId) {
+        return databaseClient.sql(SELECT_POLL + "WHERE subject_id = :subjectId AND id = :id")
+                .bind("subjectId", subjectId)
+                .bind("id", pollId)
+                .map(this::mapFromRow)
+                .one();
+    }
+
+    @Override
+    public Mono<Void> deleteBySubjectIdAndPollId(long subjectId, long pollId) {
+        return databaseClient.sql("DELETE FROM poll WHERE subject_id = :subjectId AND id = :id")
+                .bind("subjectId", subjectId)
+                .bind("id", pollId)
+                .then();
+    }
+
+    @Override
+    public Flux<Poll> getEndingAfter(OffsetDateTime instant) {
+        return databaseClient.sql(SELECT_POLL + "WHERE end_date > :instant")
+                .bind("instant", instant)
+                .map(this::mapFromRow)
+                .all();
+    }
+
+    private DatabaseClient.GenericExecuteSpec bindPoll(DatabaseClient.GenericExecuteSpec spec, Poll poll) {
+        spec = spec.bind("id", poll.getId())
+                .bind("startDate", poll.getStartDate())
+                .bind("endDate", poll.getEndDate())
+                .bind("subjectId", poll.getSubjectId());
+        return poll.getName() == null ? spec.bindNull("name", String.class) : spec.bind("name", poll.getName());
+    }
+
+    private Poll mapFromRow(Row row) {
+        return Poll.builder()
+                .id(row.get("id", Long.class))
+                .name(row.get("name", String.class))
+                .startDate(row.get("start_date", OffsetDateTime.class))
+                .endDate(row.get("end_date", OffsetDateTime.class))
+                .subjectId(row.get("subject_id", Long.class))
+                .build();
+    }
+}
@@ -0,0 +1,88 @@
+package org.cooperative.poll.memory;
+
+import org.cooperative.poll.Poll;
+import org.cooperative.subject.SubjectNotFoundException;
+import org.cooperative.subject.SubjectRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MemoryPollRepositoryTest {
+    SubjectRepository subjectRepository = mock(SubjectRepository.class);
+    MemoryPollRepository pollRepository = new MemoryPollRepository(subjectRepository);
+
+    OffsetDateTime startDate = OffsetDateTime.now();
+    OffsetDateTime endDate = startDate.plus(Duration.ofMinutes(1));
+
+    @BeforeEach
+    void beforeTest() {
+        when(subjectRepository.existsById(1L)).thenReturn(true);
+        when(subjectRepository.existsById(2L)).thenReturn(true);
+    }
+
+    @Test
+    void testSaveAssignsId() {
+        Poll first = pollRepository.save(Poll.of(null, "poll", startDate, endDate, 1L));
+        Poll second = pollRepository.save(Poll.of(null, "poll", startDate, endDate, 2L));
+        assertEquals(Poll.of(1L, "poll", startDate, endDate, 1L), first);
+        assertEquals(Poll.of(2L, "poll", startDate, endDate, 2L), second);
+        assertEquals(Optional.of(first), pollRepository.getBySubjectIdAndPollId(1L, 1L));
+        assertEquals(Optional.empty(), pollRepository.getBySubjectIdAndPollId(2L, 1L));
+    }
+
+    @Test
+    void testSaveSubjectNotFound() {
+        assertThrows(SubjectNotFoundException.class,
+                () -> pollRepository.save(Poll.of(null, "poll", startDate, endDate, 3L)));
+    }
+
+    @Test
+    void testUpdateReplacesPoll() {
+        Poll poll = pollRepository.save(Poll.of(null, "poll", startDate, endDate, 1L));
+        pollRepository.save(poll.withName("other"));
+        assertEquals(List.of(poll.withName("other")),
+                pollRepository.getBySubjectId(1L).collect(Collectors.toList()));
+        assertEquals(0, pollRepository.getBySubjectIdAndPollName(1L, "poll").count());
+        assertEquals(1, pollRepository.getBySubjectIdAndPollName(1L, "other").count());
+    }
+
+    @Test
+    void testGetPageIsOrderedById() {
+        Poll first = pollRepository.save(Poll.of(null, "poll", startDate, endDate, 1L));
+        Poll second = pollRepository.save(Poll.of(null, "poll", startDate, endDate, 1L));
+        Poll third = pollRepository.save(Poll.of(null, "poll", startDate, endDate, 1L));
+
+        assertEquals(List.of(first, second), pollRepository.getPageBySubjectId(1L, null, 2)
+                .collect(Collectors.toList()));
+        assertEquals(List.of(third), pollRepository.getPageBySubjectId(1L, second.getId(), 2)
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    void testDeleteBySubjectIdAndPollId() {
+        Poll poll = pollRepository.save(Poll.of(null, "poll", startDate, endDate, 1L));
+        pollRepository.deleteBySubjectIdAndPollId(2L, poll.getId());
+        assertEquals(Optional.of(poll), pollRepository.getBySubjectIdAndPollId(1L, poll.getId()));
+
+        pollRepository.deleteBySubjectIdAndPollId(1L, poll.getId());
+        assertEquals(Optional.empty(), pollRepository.getBySubjectIdAndPollId(1L, poll.getId()));
+        assertEquals(0, pollRepository.getBySubjectId(1L).count());
+    }
+
+    @Test
+    void testGetEndingAfter() {
+        Poll open = pollRepository.save(Poll.of(null, "poll", startDate, endDate, 1L));
+        pollRepository.save(Poll.of(null, "poll", startDate.minus(Duration.ofHours(1)), startDate, 2L));
+        assertEquals(List.of(open), pollRepository.getEndingAfter(startDate).collect(Collectors.toList()));
+    }
+}
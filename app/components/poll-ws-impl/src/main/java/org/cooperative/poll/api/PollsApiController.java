@@ -1,14 +1,18 @@
 package org.cooperative.poll.api;
 
 import lombok.extern.slf4j.Slf4j;
+import org.cooperative.api.PageCursor;
 import org.cooperative.poll.Poll;
-import org.cooperative.poll.PollService;
+import org.cooperative.poll.ReactivePollService;
 import org.cooperative.poll.exception.PollNotFoundException;
-import org.cooperative.vote.VoteCount;
-import org.cooperative.vote.VoteService;
+import org.cooperative.span.Span;
+import org.cooperative.vote.LiveVoteCount;
+import org.cooperative.vote.ReactiveVoteService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
@@ -16,43 +20,58 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 import java.net.URI;
 import java.time.OffsetDateTime;
-import java.util.stream.Stream;
 
 @Slf4j
 @RestController
 @RequestMapping("/subjects/{subjectId}/polls")
+@Span
 public class PollsApiController {
 
-    private final PollService pollService;
-    private final VoteService voteService;
+    private final ReactivePollService pollService;
+    private final ReactiveVoteService voteService;
 
     @Autowired
-    public PollsApiController(PollService pollService, VoteService voteService) {
+    public PollsApiController(ReactivePollService pollService, ReactiveVoteService voteService) {
         this.pollService = pollService;
         this.voteService = voteService;
     }
 
     @GetMapping
-    public Flux<PollResponse> getPolls(@PathVariable("subjectId") long subjectId) {
+    public Mono<ResponseEntity<Flux<PollResponse>>> getPolls(@PathVariable("subjectId") long subjectId,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "after", required = false) String after) {
+        if (PageCursor.isPaged(limit, after)) {
+            log.info("Received get polls page from subject: {}, limit: {}, after: {}", subjectId, limit, after);
+            return Mono.defer(() -> getPollPage(subjectId, PageCursor.limit(limit), PageCursor.decodeId(after)));
+        }
         log.info("Received get all polls from subject: {}", subjectId);
-        return Flux.defer(() -> getPollsFromService(subjectId))
-                .map(PollResponse::fromDomain);
+        return Mono.just(ResponseEntity.ok(Flux.defer(() -> getPollsFromService(subjectId))
+                .map(PollResponse::fromDomain)));
+    }
+
+    private Mono<ResponseEntity<Flux<PollResponse>>> getPollPage(long subjectId, int limit, Long afterId) {
+        return getPollPageFromService(subjectId, afterId, limit + 1)
+                .map(PollResponse::fromDomain)
+                .collectList()
+                .map(polls -> PageCursor.toResponse(polls, limit, "/subjects/" + subjectId + "/polls",
+                        p -> PageCursor.encodeId(p.getId())));
+    }
+
+    private Flux<Poll> getPollPageFromService(long subjectId, Long afterId, int limit) {
+        return PollApiEvent.record("getPollPage", subjectId, 0,
+                pollService.getPollPageBySubjectId(subjectId, afterId, limit));
     }
 
     private Flux<Poll> getPollsFromService(long subjectId) {
-        log.trace("ENTRY - get polls from service, subjectId: {}", subjectId);
-        Flux<Poll> polls = Flux.fromStream(() -> pollService.getPollBySubjectId(subjectId))
-                .subscribeOn(Schedulers.boundedElastic());
-        log.trace("EXIT - get polls from service, subjectId: {}", subjectId);
-        return polls;
+        return PollApiEvent.record("getPolls", subjectId, 0, pollService.getPollBySubjectId(subjectId));
     }
 
     @PostMapping
@@ -65,12 +84,9 @@ public class PollsApiController {
     }
 
     private Mono<Poll> addPollFromService(long subjectId, PollCreate pollCreate) {
-        log.trace("ENTRY - add poll from service, subjectId: {}, pollCreate: {}", subjectId, pollCreate);
-        Mono<Poll> poll = Mono.just(PollCreate.toDomain(pollCreate, subjectId))
-                .flatMap(p -> Mono.fromCallable(() -> pollService.createPoll(p))
-                        .subscribeOn(Schedulers.boundedElastic()));
-        log.trace("EXIT - add poll from service, subjectId: {}, pollCreate: {}", subjectId, pollCreate);
-        return poll;
+        return PollApiEvent.record("addPoll", subjectId, 0,
+                Mono.just(PollCreate.toDomain(pollCreate, subjectId))
+                        .flatMap(pollService::createPoll));
     }
 
     @PutMapping
@@ -82,12 +98,9 @@ public class PollsApiController {
     }
 
     private Mono<Poll> updatePollFromService(long subjectId, PollUpdate pollUpdate) {
-        log.trace("ENTRY - update poll from service, subjectId: {}, pollUpdate: {}", subjectId, pollUpdate);
-        Mono<Poll> poll = Mono.just(PollUpdate.toDomain(pollUpdate, subjectId))
-                .flatMap(p -> Mono.fromCallable(() -> pollService.updatePoll(p))
-                        .subscribeOn(Schedulers.boundedElastic()));
-        log.trace("EXIT - update poll from service, subjectId: {}, pollUpdate: {}", subjectId, pollUpdate);
-        return poll;
+        return PollApiEvent.record("updatePoll", subjectId, pollUpdate.getId(),
+                Mono.just(PollUpdate.toDomain(pollUpdate, subjectId))
+                        .flatMap(pollService::updatePoll));
     }
 
     @GetMapping("/{pollId}")
@@ -98,15 +111,25 @@ public class PollsApiController {
     }
 
     private Mono<PollVotesResponse> getPollByIdFromService(long subjectId, long pollId) {
-        log.trace("ENTRY - get poll by id from service, subjectId: {}, pollId: {}", subjectId, pollId);
-        Mono<Poll> poll = Mono.fromCallable(() -> pollService.getPollByIdAndSubjectId(pollId, subjectId)
-                        .orElseThrow(PollNotFoundException::new))
-                .subscribeOn(Schedulers.boundedElastic());
-        Mono<VoteCount> voteCount = Mono.fromCallable(() -> voteService.getVoteCountForPoll(subjectId, pollId))
-                .subscribeOn(Schedulers.boundedElastic());
-        Mono<PollVotesResponse> response = Mono.zip(poll, voteCount, PollVotesResponse::fromDomain);
-        log.trace("EXIT - get poll by id from service, subjectId: {}, pollId: {}", subjectId, pollId);
-        return response;
+        return PollApiEvent.record("getPollById", subjectId, pollId,
+                voteService.getPollVotes(subjectId, pollId)
+                        .switchIfEmpty(Mono.error(PollNotFoundException::new))
+                        .map(p -> PollVotesResponse.fromDomain(p.getPoll(), p.getVoteCount())));
+    }
+
+    @GetMapping(value = "/{pollId}/tally/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<VotesResponse>> streamPollTally(@PathVariable("subjectId") long subjectId,
+            @PathVariable("pollId") long pollId) {
+        log.info("Received stream poll tally of subject: {}, poll: {}", subjectId, pollId);
+        return Flux.defer(() -> streamPollTallyFromService(subjectId, pollId))
+                .map(c -> ServerSentEvent.builder(VotesResponse.of(c.getVoteCount().getAgree(),
+                                c.getVoteCount().getDisagree()))
+                        .event(c.isClosed() ? "final" : "tally")
+                        .build());
+    }
+
+    private Flux<LiveVoteCount> streamPollTallyFromService(long subjectId, long pollId) {
+        return voteService.streamVoteCountForPoll(subjectId, pollId);
     }
 
     @DeleteMapping("/{pollId}")
@@ -118,15 +141,7 @@ public class PollsApiController {
     }
 
     private Mono<Void> deletePollByIdFromService(long subjectId, long pollId) {
-        log.trace("ENTRY - delete poll by id from service, subjectId: {}, pollId: {}", subjectId, pollId);
-        Mono<Void> poll = Mono.just(Poll.builder()
-                        .subjectId(subjectId)
-                        .id(pollId)
-                        .build())
-                .publishOn(Schedulers.boundedElastic())
-                .doOnNext(p -> pollService.deletePollByIdAndSubjectId(p.getId(), p.getSubjectId()))
-                .then();
-        log.trace("EXIT - delete poll by id from service, subjectId: {}, pollId: {}", subjectId, pollId);
-        return poll;
+        return PollApiEvent.record("deletePollById", subjectId, pollId,
+                pollService.deletePollByIdAndSubjectId(pollId, subjectId));
     }
 }
@@ -1,10 +1,13 @@
 package org.cooperative.poll.api;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.cooperative.execution.BlockingExecutor;
 import org.cooperative.poll.Poll;
 import org.cooperative.poll.PollRepository;
 import org.cooperative.poll.PollService;
 import org.cooperative.poll.PollServiceDefault;
+import org.cooperative.poll.ReactivePollService;
+import org.cooperative.poll.ReactivePollServiceAdapter;
 import org.cooperative.poll.infrastructure.PollRepositoryImpl;
 import org.cooperative.poll.jpa.PollRepositoryJpa;
 import org.cooperative.poll.jpa.StubPollRepositoryJpa;
@@ -15,12 +18,23 @@ import org.cooperative.subject.SubjectService;
 import org.cooperative.subject.SubjectServiceDefault;
 import org.cooperative.subject.infrastructure.SubjectRepositoryImpl;
 import org.cooperative.subject.jpa.SubjectRepositoryJpa;
+import org.cooperative.vote.LiveVoteCounts;
+import org.cooperative.vote.PollWindowCache;
+import org.cooperative.vote.ReactiveVoteService;
+import org.cooperative.vote.ReactiveVoteServiceAdapter;
+import org.cooperative.vote.StubPollResultRepositoryJpa;
 import org.cooperative.vote.StubVoteRepositoryJpa;
 import org.cooperative.vote.Vote;
 import org.cooperative.vote.VoteRepository;
 import org.cooperative.vote.VoteService;
 import org.cooperative.vote.VoteServiceImpl;
+import org.cooperative.vote.VoteTally;
+import org.cooperative.vote.VoterSets;
+import org.cooperative.vote.infrastructure.VoteBatchWriter;
 import org.cooperative.vote.infrastructure.VoteRepositoryImpl;
+import org.cooperative.vote.infrastructure.VoterFilters;
+import org.cooperative.vote.jpa.PollResult;
+import org.cooperative.vote.jpa.PollResultRepositoryJpa;
 import org.cooperative.vote.jpa.VoteRepositoryJpa;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -29,7 +43,10 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import org.springframework.web.reactive.function.BodyInserters;
@@ -38,6 +55,7 @@ import java.net.URI;
 import java.time.Duration;
 import java.time.OffsetDateTime;
 import java.time.ZoneId;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -74,9 +92,21 @@ public class PollsApiTest {
     @Autowired
     private StubVoteRepositoryJpa stubVoteRepositoryJpa;
 
+    @Autowired
+    private StubPollResultRepositoryJpa stubPollResultRepositoryJpa;
+
     @Autowired
     private SubjectService SubjectService;
 
+    @Autowired
+    private VoteTally voteTally;
+
+    @Autowired
+    private PollWindowCache pollWindowCache;
+
+    @Autowired
+    private VoterSets voterSets;
+
     private final String startTimeString = "2021-06-27T12:00:00Z";
     private final String endTimeString = "2021-06-27T13:00:00Z";
     private final OffsetDateTime startTime = OffsetDateTime.parse(startTimeString);
@@ -85,28 +115,87 @@ public class PollsApiTest {
     @Configuration
     public static class TestConfig {
         @Bean
-        public PollsApiController pollsApiController(PollService service, VoteService voteService) {
+        public PollsApiController pollsApiController(ReactivePollService service, ReactiveVoteService voteService) {
             return new PollsApiController(service, voteService);
         }
 
         @Bean
-        public VoteService voteService(VoteRepository voteRepository, PollService pollService) {
-            return new VoteServiceImpl(voteRepository, pollService);
+        public ReactivePollService reactivePollService(PollService pollService, BlockingExecutor blockingExecutor) {
+            return new ReactivePollServiceAdapter(pollService, blockingExecutor);
+        }
+
+        @Bean
+        public ReactiveVoteService reactiveVoteService(VoteService voteService, PollService pollService,
+                BlockingExecutor blockingExecutor, LiveVoteCounts liveVoteCounts) {
+            return new ReactiveVoteServiceAdapter(voteService, pollService, blockingExecutor, liveVoteCounts);
+        }
+
+        @Bean
+        public LiveVoteCounts liveVoteCounts() {
+            return new LiveVoteCounts(50, 1_000);
+        }
+
+        @Bean
+        public BlockingExecutor blockingExecutor() {
+            return new BlockingExecutor(BlockingExecutor.Type.BOUNDED_ELASTIC, 10, 1000);
+        }
+
+        @Bean
+        public VoteService voteService(VoteRepository voteRepository, PollService pollService, VoteTally voteTally,
+                PollWindowCache pollWindowCache, VoterSets voterSets) {
+            return new VoteServiceImpl(voteRepository, pollService, voteTally, pollWindowCache, voterSets);
+        }
+
+        @Bean
+        public VoteTally voteTally() {
+            return new VoteTally();
+        }
+
+        @Bean
+        public PollWindowCache pollWindowCache() {
+            return new PollWindowCache();
+        }
+
+        @Bean
+        public VoterSets voterSets() {
+            return new VoterSets();
         }
 
         @Bean
-        public VoteRepository voteRepository(VoteRepositoryJpa voteRepositoryJpa, PollRepositoryJpa pollRepositoryJpa) {
-            return new VoteRepositoryImpl(voteRepositoryJpa, pollRepositoryJpa);
+        public VoteRepository voteRepository(VoteRepositoryJpa voteRepositoryJpa,
+                PollResultRepositoryJpa pollResultRepositoryJpa, VoteBatchWriter voteBatchWriter,
+                VoterFilters voterFilters) {
+            return new VoteRepositoryImpl(voteRepositoryJpa, pollResultRepositoryJpa, voteBatchWriter,
+                    voterFilters);
         }
 
         @Bean
-        public VoteRepositoryJpa voteRepositoryJpa() {
-            return new StubVoteRepositoryJpa();
+        public VoterFilters voterFilters(VoteRepositoryJpa voteRepositoryJpa) {
+            return new VoterFilters(voteRepositoryJpa, true, true, 0.01, 1024, 64);
         }
 
         @Bean
-        public PollService service(PollRepository repository, SubjectService service) {
-            return new PollServiceDefault(repository, service);
+        public PollResultRepositoryJpa pollResultRepositoryJpa() {
+            return new StubPollResultRepositoryJpa();
+        }
+
+        @Bean
+        public VoteBatchWriter voteBatchWriter(VoteRepositoryJpa voteRepositoryJpa) {
+            return new VoteBatchWriter(voteRepositoryJpa, 100, 5);
+        }
+
+        @Bean
+        public VoteRepositoryJpa voteRepositoryJpa(PollRepositoryJpa pollRepositoryJpa,
+                PollResultRepositoryJpa pollResultRepositoryJpa) {
+            return new StubVoteRepositoryJpa(pollRepositoryJpa, pollResultRepositoryJpa);
+        }
+
+        @Bean
+        public PollService service(PollRepository repository, SubjectService service, VoteTally voteTally,
+                PollWindowCache pollWindowCache, LiveVoteCounts liveVoteCounts) {
+            PollServiceDefault pollService = new PollServiceDefault(repository, service);
+            pollService.setPollListeners(List.of(voteTally, pollWindowCache, liveVoteCounts));
+            return pollService;
         }
 
         @Bean
@@ -146,6 +235,10 @@ public class PollsApiTest {
         stubPollRepository.deleteAll();
         stubSubjectRepository.deleteAll();
         stubVoteRepositoryJpa.deleteAll();
+        stubPollResultRepositoryJpa.deleteAll();
+        voteTally.onPollDeleted(1L, 1L);
+        pollWindowCache.onPollDeleted(1L, 1L);
+        voterSets.onPollDeleted(1L, 1L);
     }
 
     @Test
@@ -176,6 +269,33 @@ public class PollsApiTest {
                                 PollResponse.of(2L, "poll2", endTime));
     }
 
+    @Test
+    public void testGetPollsPaged() throws Exception {
+        SubjectService.createSubject(Subject.of(1L, "subject"));
+        service.createPoll(Poll.of(1L, "poll1", startTime, endTime, 1L));
+        service.createPoll(Poll.of(2L, "poll2", startTime, endTime, 1L));
+        service.createPoll(Poll.of(3L, "poll3", startTime, endTime, 1L));
+
+        webTestClient.get()
+                .uri(URI.create("/subjects/1/polls?limit=2"))
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.LINK, "</subjects/1/polls?limit=2&after=Mg>; rel=\"next\"")
+                .expectBodyList(PollResponse.class)
+                        .isEqualTo(List.of(PollResponse.of(1L, "poll1", endTime),
+                                PollResponse.of(2L, "poll2", endTime)));
+
+        webTestClient.get()
+                .uri(URI.create("/subjects/1/polls?limit=2&after=Mg"))
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(HttpHeaders.LINK)
+                .expectBodyList(PollResponse.class)
+                        .isEqualTo(List.of(PollResponse.of(3L, "poll3", endTime)));
+    }
+
     @Test
     public void testAddPollSuccess() throws Exception {
         SubjectService.createSubject(Subject.of(1L, "subject"));
@@ -352,6 +472,93 @@ public class PollsApiTest {
         assertEquals(1, pollResponse.getVotes().getDisagree());
     }
 
+    @Test
+    public void testGetClosedPollStoresFinalResult() throws Exception {
+        SubjectService.createSubject(Subject.of(1L, "subject"));
+        service.createPoll(Poll.of(1L, "poll", startTime, endTime, 1L));
+
+        webTestClient.get()
+                .uri(URI.create("/subjects/1/polls/1"))
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk();
+        PollResult pollResult = stubPollResultRepositoryJpa.findById(1L).orElseThrow();
+        assertTrue(endTime.isEqual(pollResult.getEndDate()));
+        assertEquals(0, pollResult.getAgree());
+        assertEquals(0, pollResult.getDisagree());
+    }
+
+    @Test
+    public void testGetClosedPollServedFromFinalResult() throws Exception {
+        SubjectService.createSubject(Subject.of(1L, "subject"));
+        service.createPoll(Poll.of(1L, "poll", startTime, endTime, 1L));
+        stubPollResultRepositoryJpa.save(PollResult.of(1L, endTime, 4, 2));
+
+        PollVotesResponse pollResponse = webTestClient.get()
+                .uri(URI.create("/subjects/1/polls/1"))
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(PollVotesResponse.class)
+                .getResponseBody()
+                .blockFirst();
+        assertEquals(4, pollResponse.getVotes().getAgree());
+        assertEquals(2, pollResponse.getVotes().getDisagree());
+    }
+
+    @Test
+    public void testGetClosedPollIgnoresResultOfOtherEndDate() throws Exception {
+        SubjectService.createSubject(Subject.of(1L, "subject"));
+        service.createPoll(Poll.of(1L, "poll", startTime, endTime, 1L));
+        stubPollResultRepositoryJpa.save(PollResult.of(1L, endTime.minus(Duration.ofMinutes(1)), 4, 2));
+
+        PollVotesResponse pollResponse = webTestClient.get()
+                .uri(URI.create("/subjects/1/polls/1"))
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(PollVotesResponse.class)
+                .getResponseBody()
+                .blockFirst();
+        assertEquals(0, pollResponse.getVotes().getAgree());
+        assertEquals(0, pollResponse.getVotes().getDisagree());
+        assertTrue(endTime.isEqual(stubPollResultRepositoryJpa.findById(1L).orElseThrow().getEndDate()));
+    }
+
+    @Test
+    public void testStreamPollTallyEndsWithFinalEvent() throws Exception {
+        SubjectService.createSubject(Subject.of(1L, "subject"));
+        OffsetDateTime startTime = OffsetDateTime.now();
+        service.createPoll(Poll.of(1L, "poll", startTime, startTime.plus(Duration.ofSeconds(2)), 1L));
+        voteService.createVote(Vote.of(UUID.fromString("c3ebfe9d-eb65-4391-83d4-b9bf69c83672"), false, null, 1L, 1L));
+        voteService.createVote(Vote.of(UUID.fromString("e6a3599c-e003-47d4-a63a-75bc6f530154"), true, null, 1L, 1L));
+
+        List<ServerSentEvent<VotesResponse>> events = webTestClient.get()
+                .uri(URI.create("/subjects/1/polls/1/tally/stream"))
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(new ParameterizedTypeReference<ServerSentEvent<VotesResponse>>() {})
+                .getResponseBody()
+                .collectList()
+                .block(Duration.ofSeconds(10));
+        assertEquals("tally", events.get(0).event());
+        assertEquals(VotesResponse.of(1, 1), events.get(0).data());
+        assertEquals("final", events.get(events.size() - 1).event());
+        assertEquals(VotesResponse.of(1, 1), events.get(events.size() - 1).data());
+    }
+
+    @Test
+    public void testStreamPollTallyNotFound() throws Exception {
+        SubjectService.createSubject(Subject.of(1L, "subject"));
+
+        webTestClient.get()
+                .uri(URI.create("/subjects/1/polls/1/tally/stream"))
+                .accept(MediaType.TEXT_EVENT_STREAM)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
     @Test
     public void testGetPollNotFound() throws Exception {
         SubjectService.createSubject(Subject.of(1L, "subject"));
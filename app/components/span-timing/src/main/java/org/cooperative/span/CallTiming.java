@@ -0,0 +1,60 @@
+package org.cooperative.span;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+// Runs an intercepted call and reports how long it took: until it returns for a plain call, and from
+// subscription to termination or cancellation for a Mono or Flux, which is when the pipeline runs rather
+// than when it is assembled. A cancelled stream, such as a closed SSE connection, is reported as cancelled.
+public final class CallTiming {
+    private CallTiming() {
+    }
+
+    public static Object proceed(Call call, Listener listener) throws Throwable {
+        long start = System.nanoTime();
+        Object result;
+        try {
+            result = call.proceed();
+        } catch (Throwable e) {
+            listener.onDone(System.nanoTime() - start, e, false);
+            throw e;
+        }
+        if (result instanceof Mono) {
+            Mono<?> mono = (Mono<?>) result;
+            return Mono.defer(() -> {
+                long subscribed = System.nanoTime();
+                AtomicReference<Throwable> error = new AtomicReference<>();
+                return mono.doOnError(error::set)
+                        .doFinally(signal -> done(listener, subscribed, error.get(), signal));
+            });
+        }
+        if (result instanceof Flux) {
+            Flux<?> flux = (Flux<?>) result;
+            return Flux.defer(() -> {
+                long subscribed = System.nanoTime();
+                AtomicReference<Throwable> error = new AtomicReference<>();
+                return flux.doOnError(error::set)
+                        .doFinally(signal -> done(listener, subscribed, error.get(), signal));
+            });
+        }
+        listener.onDone(System.nanoTime() - start, null, false);
+        return result;
+    }
+
+    private static void done(Listener listener, long subscribed, Throwable error, SignalType signal) {
+        listener.onDone(System.nanoTime() - subscribed, error, signal == SignalType.CANCEL);
+    }
+
+    @FunctionalInterface
+    public interface Call {
+        Object proceed() throws Throwable;
+    }
+
+    @FunctionalInterface
+    public interface Listener {
+        void onDone(long nanos, Throwable error, boolean cancelled);
+    }
+}
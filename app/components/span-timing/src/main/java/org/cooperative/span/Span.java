@@ -0,0 +1,16 @@
+package org.cooperative.span;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Times the annotated method, or every public method of the annotated class, into the span recorder.
+// Spans are named after the class and method, prefixed by the value when there is one.
+@Target({ElementType.TYPE, ElementType.METHOD})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface Span {
+    String value() default "";
+}
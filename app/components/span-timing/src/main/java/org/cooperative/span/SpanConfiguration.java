@@ -0,0 +1,41 @@
+package org.cooperative.span;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SpanConfiguration {
+    // Static, as post processors and what they use are created before the rest of the context
+    @Bean
+    public static SpanRecorder spanRecorder(@Value("${cooperative.spans.enabled:true}") boolean enabled) {
+        return new SpanRecorder(enabled);
+    }
+
+    @Bean
+    public static Tracer tracer(@Value("${cooperative.tracing.enabled:false}") boolean enabled,
+            @Value("${cooperative.tracing.buffer-size:10000}") int bufferSize,
+            @Value("${cooperative.tracing.file:}") String file) {
+        return new Tracer(enabled, bufferSize, file);
+    }
+
+    @Bean
+    public static SpanPostProcessor spanPostProcessor(SpanRecorder spanRecorder, Tracer tracer) {
+        return new SpanPostProcessor(spanRecorder, tracer);
+    }
+
+    @Bean
+    public SpanEndpoint spanEndpoint(SpanRecorder spanRecorder) {
+        return new SpanEndpoint(spanRecorder);
+    }
+
+    @Bean
+    public TraceWebFilter traceWebFilter(Tracer tracer) {
+        return new TraceWebFilter(tracer);
+    }
+
+    @Bean
+    public TraceEndpoint traceEndpoint(Tracer tracer) {
+        return new TraceEndpoint(tracer);
+    }
+}
@@ -0,0 +1,33 @@
+package org.cooperative.span;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+import java.util.Map;
+
+// /actuator/spans: percentiles per span; a POST with "enabled" switches recording, a DELETE starts over
+@Endpoint(id = "spans")
+public class SpanEndpoint {
+    private final SpanRecorder spanRecorder;
+
+    public SpanEndpoint(SpanRecorder spanRecorder) {
+        this.spanRecorder = spanRecorder;
+    }
+
+    @ReadOperation
+    public Map<String, SpanSnapshot> spans() {
+        return spanRecorder.snapshot();
+    }
+
+    @WriteOperation
+    public void enable(boolean enabled) {
+        spanRecorder.setEnabled(enabled);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        spanRecorder.reset();
+    }
+}
@@ -0,0 +1,58 @@
+package org.cooperative.span;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Puts a span around the methods of beans annotated with @Span, timed into the span recorder and, within a
+// request, added to its trace
+public class SpanPostProcessor extends AbstractAdvisingBeanPostProcessor {
+    public SpanPostProcessor(SpanRecorder spanRecorder, Tracer tracer) {
+        setBeforeExistingAdvisors(true);
+        this.advisor = new DefaultPointcutAdvisor(
+                new ComposablePointcut(AnnotationMatchingPointcut.forClassAnnotation(Span.class))
+                        .union(AnnotationMatchingPointcut.forMethodAnnotation(Span.class)),
+                new SpanInterceptor(spanRecorder, tracer));
+    }
+
+    private static class SpanInterceptor implements MethodInterceptor {
+        private final SpanRecorder spanRecorder;
+        private final Tracer tracer;
+        private final Map<Method, String> names = new ConcurrentHashMap<>();
+
+        SpanInterceptor(SpanRecorder spanRecorder, Tracer tracer) {
+            this.spanRecorder = spanRecorder;
+            this.tracer = tracer;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            boolean timing = spanRecorder.isEnabled();
+            boolean tracing = tracer.isEnabled();
+            if (!timing && !tracing) return invocation.proceed();
+            String span = names.computeIfAbsent(invocation.getMethod(), m -> name(m, invocation.getThis()));
+            CallTiming.Call call = tracing ? () -> tracer.proceed(span, invocation::proceed) : invocation::proceed;
+            if (!timing) return call.proceed();
+            return CallTiming.proceed(call, (nanos, error, cancelled) -> spanRecorder.record(span, nanos));
+        }
+
+        private static String name(Method method, Object target) {
+            Class<?> targetClass = ClassUtils.getUserClass(AopUtils.getTargetClass(target));
+            Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+            Span span = AnnotatedElementUtils.findMergedAnnotation(specificMethod, Span.class);
+            if (span == null) span = AnnotatedElementUtils.findMergedAnnotation(targetClass, Span.class);
+            String name = targetClass.getSimpleName() + "." + method.getName();
+            return span == null || span.value().isEmpty() ? name : span.value() + "." + name;
+        }
+    }
+}
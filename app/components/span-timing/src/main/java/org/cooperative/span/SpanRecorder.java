@@ -0,0 +1,60 @@
+package org.cooperative.span;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Latency histogram per span. Calls record into an HdrHistogram Recorder, which writers update without
+// locks; a snapshot swaps out what was recorded since the last one and adds it to the span's total.
+// While disabled, recording is a single volatile read.
+public class SpanRecorder {
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private final ConcurrentMap<String, SpanHistogram> spans = new ConcurrentHashMap<>();
+    private volatile boolean enabled;
+
+    public SpanRecorder(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public void record(String span, long nanos) {
+        if (!enabled) return;
+        SpanHistogram histogram = spans.get(span);
+        if (histogram == null) histogram = spans.computeIfAbsent(span, s -> new SpanHistogram());
+        histogram.recorder.recordValue(Math.max(0, nanos));
+    }
+
+    public Map<String, SpanSnapshot> snapshot() {
+        Map<String, SpanSnapshot> snapshot = new TreeMap<>();
+        spans.forEach((span, histogram) -> snapshot.put(span, histogram.snapshot()));
+        return snapshot;
+    }
+
+    public void reset() {
+        spans.clear();
+    }
+
+    private static class SpanHistogram {
+        final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+        final Histogram total = new Histogram(SIGNIFICANT_DIGITS);
+        Histogram interval;
+
+        synchronized SpanSnapshot snapshot() {
+            interval = recorder.getIntervalHistogram(interval);
+            total.add(interval);
+            return SpanSnapshot.of(total);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package org.cooperative.span;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import org.HdrHistogram.Histogram;
+
+// Percentiles of a span in milliseconds
+@AllArgsConstructor(staticName = "of")
+@Value
+public class SpanSnapshot {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    long count;
+    double mean;
+    double p50;
+    double p90;
+    double p95;
+    double p99;
+    double p999;
+    double max;
+
+    static SpanSnapshot of(Histogram histogram) {
+        return of(histogram.getTotalCount(),
+                histogram.getMean() / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(50) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(90) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(95) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(99) / NANOS_PER_MILLI,
+                histogram.getValueAtPercentile(99.9) / NANOS_PER_MILLI,
+                histogram.getMaxValue() / NANOS_PER_MILLI);
+    }
+}
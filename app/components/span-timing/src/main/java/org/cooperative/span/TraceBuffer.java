@@ -0,0 +1,39 @@
+package org.cooperative.span;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+// Ring of the most recent finished spans. Writers claim a slot with a counter and overwrite whatever was
+// there, so adding never blocks and the memory used is fixed.
+class TraceBuffer {
+    private final AtomicReferenceArray<TraceSpan> spans;
+    private final AtomicLong next = new AtomicLong();
+
+    TraceBuffer(int capacity) {
+        if (capacity <= 0) throw new IllegalArgumentException("Trace buffer capacity must be positive: " + capacity);
+        this.spans = new AtomicReferenceArray<>(capacity);
+    }
+
+    void add(TraceSpan span) {
+        spans.set((int) (next.getAndIncrement() % spans.length()), span);
+    }
+
+    List<TraceSpan> spans() {
+        List<TraceSpan> result = new ArrayList<>(spans.length());
+        for (int i = 0; i < spans.length(); i++) {
+            TraceSpan span = spans.get(i);
+            if (span != null) result.add(span);
+        }
+        result.sort(Comparator.comparing(TraceSpan::getStart));
+        return result;
+    }
+
+    void clear() {
+        for (int i = 0; i < spans.length(); i++) {
+            spans.set(i, null);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package org.cooperative.span;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+
+import java.util.List;
+
+// /actuator/traces: the latest traces, /actuator/traces/{traceId}: the spans of one; a POST with "enabled"
+// switches tracing, a DELETE empties the buffer
+@Endpoint(id = "traces")
+public class TraceEndpoint {
+    private final Tracer tracer;
+
+    public TraceEndpoint(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @ReadOperation
+    public List<TraceSummary> traces() {
+        return tracer.traces();
+    }
+
+    @ReadOperation
+    public List<TraceSpan> trace(@Selector String traceId) {
+        return tracer.trace(traceId);
+    }
+
+    @WriteOperation
+    public void enable(boolean enabled) {
+        tracer.setEnabled(enabled);
+    }
+
+    @DeleteOperation
+    public void clear() {
+        tracer.clear();
+    }
+}
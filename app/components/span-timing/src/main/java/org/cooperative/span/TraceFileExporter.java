@@ -0,0 +1,90 @@
+package org.cooperative.span;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+// Appends finished spans to a file as JSON lines from its own thread, so request threads only enqueue.
+// Spans are dropped when the writer falls behind by more than the queue holds.
+@Slf4j
+class TraceFileExporter implements AutoCloseable {
+    private static final int QUEUE_SIZE = 10_000;
+
+    private final Path file;
+    private final BlockingQueue<TraceSpan> queue = new ArrayBlockingQueue<>(QUEUE_SIZE);
+    private final Thread writer;
+    private volatile boolean dropping;
+
+    TraceFileExporter(Path file) {
+        this.file = file;
+        this.writer = new Thread(this::write, "trace-file-exporter");
+        writer.setDaemon(true);
+        writer.start();
+        log.info("Exporting trace spans to {}", file.toAbsolutePath());
+    }
+
+    void export(TraceSpan span) {
+        if (queue.offer(span)) return;
+        if (!dropping) {
+            dropping = true;
+            log.warn("Trace file exporter is falling behind, dropping spans");
+        }
+    }
+
+    @Override
+    public void close() {
+        writer.interrupt();
+    }
+
+    private void write() {
+        try (BufferedWriter out = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            while (!Thread.currentThread().isInterrupted()) {
+                TraceSpan span = queue.take();
+                do {
+                    out.write(toJson(span));
+                    out.newLine();
+                } while ((span = queue.poll()) != null);
+                out.flush();
+                dropping = false;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException e) {
+            log.error("Failed to export trace spans to {}, export stopped", file, e);
+        }
+    }
+
+    static String toJson(TraceSpan span) {
+        StringBuilder json = new StringBuilder(256).append('{');
+        field(json, "traceId", span.getTraceId()).append(',');
+        field(json, "spanId", span.getSpanId()).append(',');
+        field(json, "parentId", span.getParentId()).append(',');
+        field(json, "name", span.getName()).append(',');
+        field(json, "thread", span.getThread()).append(',');
+        field(json, "start", span.getStart().toString()).append(',');
+        json.append("\"durationMs\":").append(span.getDurationMs()).append(',');
+        field(json, "error", span.getError());
+        return json.append('}').toString();
+    }
+
+    private static StringBuilder field(StringBuilder json, String name, String value) {
+        json.append('"').append(name).append("\":");
+        if (value == null) return json.append("null");
+        json.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') json.append('\\').append(c);
+            else if (c < 0x20) json.append(String.format("\\u%04x", (int) c));
+            else json.append(c);
+        }
+        return json.append('"');
+    }
+}
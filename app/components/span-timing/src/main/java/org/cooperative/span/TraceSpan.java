@@ -0,0 +1,57 @@
+package org.cooperative.span;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.time.Instant;
+import java.util.concurrent.ThreadLocalRandom;
+
+// One timed operation of a request's trace. Started by the tracer and finished once, on the thread that is
+// recorded, after which it is handed to the trace buffer and the exporter.
+@Getter
+public class TraceSpan {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final String traceId;
+    private final String spanId;
+    private final String parentId;
+    private final String name;
+    private final Instant start;
+    @Getter(AccessLevel.NONE)
+    private final long startNanos;
+    private volatile String thread;
+    private volatile double durationMs = -1;
+    private volatile String error;
+
+    private TraceSpan(String traceId, String parentId, String name) {
+        this.traceId = traceId;
+        this.spanId = randomId();
+        this.parentId = parentId;
+        this.name = name;
+        this.start = Instant.now();
+        this.startNanos = System.nanoTime();
+    }
+
+    static TraceSpan root(String name) {
+        return new TraceSpan(randomId() + randomId(), null, name);
+    }
+
+    TraceSpan child(String name) {
+        return new TraceSpan(traceId, spanId, name);
+    }
+
+    void fail(Throwable error) {
+        this.error = error.getClass().getSimpleName();
+    }
+
+    boolean finish() {
+        if (durationMs >= 0) return false;
+        thread = Thread.currentThread().getName();
+        durationMs = (System.nanoTime() - startNanos) / NANOS_PER_MILLI;
+        return true;
+    }
+
+    private static String randomId() {
+        return String.format("%016x", ThreadLocalRandom.current().nextLong());
+    }
+}
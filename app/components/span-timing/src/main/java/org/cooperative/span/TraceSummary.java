@@ -0,0 +1,29 @@
+package org.cooperative.span;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+
+// A trace as listed by the endpoint: its root, or its oldest span still buffered once the root is gone
+@AllArgsConstructor(staticName = "of")
+@Value
+public class TraceSummary {
+    String traceId;
+    String name;
+    Instant start;
+    double durationMs;
+    int spans;
+    String error;
+
+    static TraceSummary of(List<TraceSpan> spans) {
+        TraceSpan root = spans.stream()
+                .filter(s -> s.getParentId() == null)
+                .findFirst()
+                .orElseGet(() -> spans.stream().min(Comparator.comparing(TraceSpan::getStart)).orElseThrow());
+        return of(root.getTraceId(), root.getName(), root.getStart(), root.getDurationMs(), spans.size(),
+                root.getError());
+    }
+}
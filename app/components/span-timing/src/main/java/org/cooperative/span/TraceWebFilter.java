@@ -0,0 +1,40 @@
+package org.cooperative.span;
+
+import org.springframework.core.Ordered;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+// Starts a trace per request, named after its method and path, and returns its id in a response header.
+// Actuator requests are left out, so reading the traces does not push them out of the buffer. Runs first, so
+// later filters find the trace in the exchange attributes.
+public class TraceWebFilter implements WebFilter, Ordered {
+    public static final String TRACE_ATTRIBUTE = TraceSpan.class.getName();
+    static final String TRACE_ID_HEADER = "X-Trace-Id";
+    private static final String ACTUATOR_PATH = "/actuator";
+
+    private final Tracer tracer;
+
+    public TraceWebFilter(Tracer tracer) {
+        this.tracer = tracer;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        ServerHttpRequest request = exchange.getRequest();
+        String path = request.getPath().pathWithinApplication().value();
+        if (!tracer.isEnabled() || path.startsWith(ACTUATOR_PATH)) return chain.filter(exchange);
+
+        TraceSpan trace = tracer.startTrace(request.getMethodValue() + " " + path);
+        exchange.getAttributes().put(TRACE_ATTRIBUTE, trace);
+        exchange.getResponse().getHeaders().set(TRACE_ID_HEADER, trace.getTraceId());
+        return tracer.within(trace, Mono.defer(() -> chain.filter(exchange)));
+    }
+}
@@ -0,0 +1,211 @@
+package org.cooperative.span;
+
+import org.springframework.beans.factory.DisposableBean;
+import reactor.core.CoreSubscriber;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.FluxOperator;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoOperator;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
+
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Request-scoped traces. The current span travels in the Reactor Context of a request's pipeline, and in a
+// thread local on whichever thread runs part of it: set while a reactive call is being subscribed, carried
+// over subscribeOn/publishOn hops by a schedule hook, and set around plain calls. Each hop is recorded as a
+// "hop" span covering the wait for a thread.
+public class Tracer implements DisposableBean {
+    static final String HOP = "hop";
+    private static final String HOOK_KEY = "cooperative-trace";
+    private static final int MAX_TRACES = 100;
+    private static final ThreadLocal<TraceSpan> CURRENT = new ThreadLocal<>();
+
+    private final TraceBuffer buffer;
+    private final TraceFileExporter exporter;
+    private volatile boolean enabled;
+
+    public Tracer(boolean enabled, int bufferSize, String file) {
+        this.enabled = enabled;
+        this.buffer = new TraceBuffer(bufferSize);
+        this.exporter = file == null || file.isBlank() ? null : new TraceFileExporter(Path.of(file));
+        Schedulers.onScheduleHook(HOOK_KEY, this::propagate);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    // The span of the work running on this thread, if it belongs to a traced request
+    public static TraceSpan current() {
+        return CURRENT.get();
+    }
+
+    // Runs the task with the span current, for work handed over to a thread the trace cannot follow by itself
+    public static void runWithin(TraceSpan span, Runnable task) {
+        TraceSpan previous = CURRENT.get();
+        CURRENT.set(span);
+        try {
+            task.run();
+        } finally {
+            restore(previous);
+        }
+    }
+
+    public TraceSpan startTrace(String name) {
+        return TraceSpan.root(name);
+    }
+
+    public <T> Mono<T> within(TraceSpan span, Mono<T> mono) {
+        return new ScopedMono<>(mono.contextWrite(Context.of(TraceSpan.class, span)), span)
+                .doOnError(span::fail)
+                .doOnTerminate(() -> finish(span))
+                .doOnCancel(() -> finish(span));
+    }
+
+    public <T> Flux<T> within(TraceSpan span, Flux<T> flux) {
+        return new ScopedFlux<>(flux.contextWrite(Context.of(TraceSpan.class, span)), span)
+                .doOnError(span::fail)
+                .doOnTerminate(() -> finish(span))
+                .doOnCancel(() -> finish(span));
+    }
+
+    // A child of the current span around the call; without a current span the call is not traced
+    public Object proceed(String name, CallTiming.Call call) throws Throwable {
+        TraceSpan parent = CURRENT.get();
+        TraceSpan span = parent == null ? null : parent.child(name);
+        Object result;
+        if (span != null) CURRENT.set(span);
+        try {
+            result = call.proceed();
+        } catch (Throwable e) {
+            if (span != null) {
+                span.fail(e);
+                finish(span);
+            }
+            throw e;
+        } finally {
+            if (span != null) CURRENT.set(parent);
+        }
+        if (result instanceof Mono) return trace(name, (Mono<?>) result);
+        if (result instanceof Flux) return trace(name, (Flux<?>) result);
+        if (span != null) finish(span);
+        return result;
+    }
+
+    public List<TraceSummary> traces() {
+        Map<String, List<TraceSpan>> traces = buffer.spans().stream()
+                .collect(Collectors.groupingBy(TraceSpan::getTraceId));
+        return traces.values().stream()
+                .map(TraceSummary::of)
+                .sorted(Comparator.comparing(TraceSummary::getStart).reversed())
+                .limit(MAX_TRACES)
+                .collect(Collectors.toList());
+    }
+
+    public List<TraceSpan> trace(String traceId) {
+        return buffer.spans().stream()
+                .filter(s -> s.getTraceId().equals(traceId))
+                .collect(Collectors.toList());
+    }
+
+    public void clear() {
+        buffer.clear();
+    }
+
+    @Override
+    public void destroy() {
+        Schedulers.resetOnScheduleHook(HOOK_KEY);
+        if (exporter != null) exporter.close();
+    }
+
+    private <T> Mono<T> trace(String name, Mono<T> mono) {
+        return Mono.deferContextual(context -> {
+            TraceSpan parent = context.getOrDefault(TraceSpan.class, CURRENT.get());
+            return parent == null ? mono : within(parent.child(name), mono);
+        });
+    }
+
+    private <T> Flux<T> trace(String name, Flux<T> flux) {
+        return Flux.deferContextual(context -> {
+            TraceSpan parent = context.getOrDefault(TraceSpan.class, CURRENT.get());
+            return parent == null ? flux : within(parent.child(name), flux);
+        });
+    }
+
+    private Runnable propagate(Runnable task) {
+        TraceSpan parent = CURRENT.get();
+        if (parent == null) return task;
+        TraceSpan hop = parent.child(HOP);
+        return () -> {
+            finish(hop);
+            TraceSpan previous = CURRENT.get();
+            CURRENT.set(parent);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    private void finish(TraceSpan span) {
+        if (!span.finish()) return;
+        buffer.add(span);
+        if (exporter != null) exporter.export(span);
+    }
+
+    private static void restore(TraceSpan previous) {
+        if (previous == null) CURRENT.remove();
+        else CURRENT.set(previous);
+    }
+
+    // Makes the span current on the subscribing thread, so a subscribeOn upstream schedules with it
+    private static class ScopedMono<T> extends MonoOperator<T, T> {
+        private final TraceSpan span;
+
+        ScopedMono(Mono<? extends T> source, TraceSpan span) {
+            super(source);
+            this.span = span;
+        }
+
+        @Override
+        public void subscribe(CoreSubscriber<? super T> actual) {
+            TraceSpan previous = CURRENT.get();
+            CURRENT.set(span);
+            try {
+                source.subscribe(actual);
+            } finally {
+                restore(previous);
+            }
+        }
+    }
+
+    private static class ScopedFlux<T> extends FluxOperator<T, T> {
+        private final TraceSpan span;
+
+        ScopedFlux(Flux<? extends T> source, TraceSpan span) {
+            super(source);
+            this.span = span;
+        }
+
+        @Override
+        public void subscribe(CoreSubscriber<? super T> actual) {
+            TraceSpan previous = CURRENT.get();
+            CURRENT.set(span);
+            try {
+                source.subscribe(actual);
+            } finally {
+                restore(previous);
+            }
+        }
+    }
+}
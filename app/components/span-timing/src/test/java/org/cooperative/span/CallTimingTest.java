@@ -0,0 +1,46 @@
+package org.cooperative.span;
+
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CallTimingTest {
+    List<String> outcomes = new ArrayList<>();
+
+    @Test
+    void testCompletedMonoIsReportedOnce() throws Throwable {
+        Mono<?> mono = (Mono<?>) CallTiming.proceed(() -> Mono.just(1), this::record);
+
+        mono.block();
+
+        assertEquals(List.of("completed"), outcomes);
+    }
+
+    @Test
+    void testFailedFluxIsReportedWithItsError() throws Throwable {
+        Flux<?> flux = (Flux<?>) CallTiming.proceed(() -> Flux.error(new IllegalStateException()), this::record);
+
+        flux.onErrorResume(e -> Flux.empty()).blockLast();
+
+        assertEquals(List.of("IllegalStateException"), outcomes);
+    }
+
+    @Test
+    void testCancelledFluxIsReportedAsCancelled() throws Throwable {
+        Flux<?> flux = (Flux<?>) CallTiming.proceed(() -> Flux.range(0, 10), this::record);
+
+        flux.take(2).blockLast();
+
+        assertEquals(List.of("cancelled"), outcomes);
+    }
+
+    private void record(long nanos, Throwable error, boolean cancelled) {
+        if (cancelled) outcomes.add("cancelled");
+        else outcomes.add(error == null ? "completed" : error.getClass().getSimpleName());
+    }
+}
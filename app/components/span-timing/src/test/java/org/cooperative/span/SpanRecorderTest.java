@@ -0,0 +1,56 @@
+package org.cooperative.span;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpanRecorderTest {
+    @Test
+    void testSnapshotReportsPercentilesInMillis() {
+        SpanRecorder spanRecorder = new SpanRecorder(true);
+        for (int i = 1; i <= 100; i++) {
+            spanRecorder.record("VoteService.createVote", TimeUnit.MILLISECONDS.toNanos(i));
+        }
+
+        SpanSnapshot snapshot = spanRecorder.snapshot().get("VoteService.createVote");
+        assertEquals(100, snapshot.getCount());
+        assertEquals(50.0, snapshot.getP50(), 1.0);
+        assertEquals(99.0, snapshot.getP99(), 1.0);
+        assertEquals(100.0, snapshot.getMax(), 1.0);
+    }
+
+    @Test
+    void testSnapshotsAccumulate() {
+        SpanRecorder spanRecorder = new SpanRecorder(true);
+        spanRecorder.record("PollService.createPoll", 1000);
+        spanRecorder.snapshot();
+        spanRecorder.record("PollService.createPoll", 1000);
+
+        assertEquals(2, spanRecorder.snapshot().get("PollService.createPoll").getCount());
+    }
+
+    @Test
+    void testDisabledRecordsNothing() {
+        SpanRecorder spanRecorder = new SpanRecorder(false);
+        spanRecorder.record("SubjectService.getSubjectById", 1000);
+        assertTrue(spanRecorder.snapshot().isEmpty());
+
+        spanRecorder.setEnabled(true);
+        spanRecorder.record("SubjectService.getSubjectById", 1000);
+        assertEquals(1, spanRecorder.snapshot().get("SubjectService.getSubjectById").getCount());
+    }
+
+    @Test
+    void testResetDropsSpans() {
+        SpanRecorder spanRecorder = new SpanRecorder(true);
+        spanRecorder.record("VoteService.createVote", 1000);
+        spanRecorder.reset();
+
+        Map<String, SpanSnapshot> snapshot = spanRecorder.snapshot();
+        assertTrue(snapshot.isEmpty());
+    }
+}
@@ -0,0 +1,103 @@
+package org.cooperative.span;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TracerTest {
+    Tracer tracer = new Tracer(true, 100, "");
+
+    @AfterEach
+    void afterTest() {
+        tracer.destroy();
+    }
+
+    @Test
+    void testSpansFollowTheRequestAcrossSubscribeOn() throws Throwable {
+        TraceSpan root = tracer.startTrace("GET /subjects/1/polls/1");
+        Mono<?> call = (Mono<?>) tracer.proceed("PollService.getPoll", () ->
+                Mono.fromSupplier(() -> traced("PollRepository.getPoll", "poll"))
+                        .subscribeOn(Schedulers.boundedElastic()));
+
+        assertEquals("poll", tracer.within(root, call).block());
+
+        Map<String, TraceSpan> spans = tracer.trace(root.getTraceId()).stream()
+                .collect(Collectors.toMap(TraceSpan::getName, Function.identity()));
+        assertEquals(4, spans.size());
+        assertNull(spans.get("GET /subjects/1/polls/1").getParentId());
+        assertEquals(root.getSpanId(), spans.get("PollService.getPoll").getParentId());
+        assertEquals(spans.get("PollService.getPoll").getSpanId(), spans.get(Tracer.HOP).getParentId());
+        assertEquals(spans.get("PollService.getPoll").getSpanId(), spans.get("PollRepository.getPoll").getParentId());
+        assertTrue(spans.get("PollRepository.getPoll").getThread().startsWith("boundedElastic"));
+    }
+
+    @Test
+    void testFluxSpanEndsWhenTheFluxCompletes() throws Throwable {
+        TraceSpan root = tracer.startTrace("GET /subjects");
+        Flux<?> call = (Flux<?>) tracer.proceed("SubjectService.getAllSubjects", () -> Flux.just(1, 2, 3)
+                .publishOn(Schedulers.parallel()));
+
+        assertEquals(3L, tracer.within(root, call).count().block());
+        List<TraceSpan> spans = tracer.trace(root.getTraceId());
+        assertTrue(spans.stream().allMatch(s -> s.getDurationMs() >= 0));
+        assertTrue(spans.stream().anyMatch(s -> s.getName().equals("SubjectService.getAllSubjects")));
+    }
+
+    @Test
+    void testErrorIsRecorded() {
+        TraceSpan root = tracer.startTrace("DELETE /subjects/1");
+        Mono<Void> call = tracer.within(root, Mono.error(new IllegalStateException()));
+
+        call.onErrorResume(e -> Mono.empty()).block();
+        assertEquals("IllegalStateException", tracer.trace(root.getTraceId()).get(0).getError());
+    }
+
+    @Test
+    void testCallsOutsideARequestAreNotTraced() throws Throwable {
+        assertEquals("subject", tracer.proceed("SubjectService.getSubjectById", () -> "subject"));
+        assertTrue(tracer.traces().isEmpty());
+    }
+
+    @Test
+    void testBufferKeepsTheLatestSpans() {
+        TraceBuffer buffer = new TraceBuffer(2);
+        TraceSpan first = TraceSpan.root("first");
+        TraceSpan second = TraceSpan.root("second");
+        TraceSpan third = TraceSpan.root("third");
+        buffer.add(first);
+        buffer.add(second);
+        buffer.add(third);
+
+        assertEquals(List.of(second, third), buffer.spans());
+    }
+
+    @Test
+    void testSpansAreExportedAsJson() {
+        TraceSpan span = TraceSpan.root("GET /subjects?name=\"a\"");
+        span.finish();
+
+        String json = TraceFileExporter.toJson(span);
+        assertTrue(json.startsWith("{\"traceId\":\"" + span.getTraceId() + "\""));
+        assertTrue(json.contains("\"name\":\"GET /subjects?name=\\\"a\\\"\""));
+        assertTrue(json.contains("\"parentId\":null"));
+    }
+
+    private Object traced(String name, Object result) {
+        try {
+            return tracer.proceed(name, () -> result);
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
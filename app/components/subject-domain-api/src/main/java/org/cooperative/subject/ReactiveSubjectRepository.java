@@ -0,0 +1,15 @@
+package org.cooperative.subject;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveSubjectRepository {
+    Mono<Boolean> existsById(long id);
+    Mono<Subject> insert(Subject subject);
+    Mono<Subject> update(Subject subject);
+    Mono<Subject> getById(long id);
+    Flux<Subject> getByName(String name);
+    Flux<Subject> getAll();
+    Flux<Subject> getPage(Long afterId, int limit);
+    Mono<Void> deleteById(long id);
+}
@@ -0,0 +1,14 @@
+package org.cooperative.subject;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveSubjectService {
+    Mono<Void> createSubject(Subject subject);
+    Flux<Subject> getAllSubjects();
+    Flux<Subject> getSubjectPage(Long afterId, int limit);
+    Mono<Subject> getSubjectById(long id);
+    Flux<Subject> getSubjectByName(String name);
+    Mono<Void> updateSubject(Subject subject);
+    Mono<Void> deleteSubject(long id);
+}
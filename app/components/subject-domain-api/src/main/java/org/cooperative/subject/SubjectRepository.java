@@ -9,5 +9,6 @@ public interface SubjectRepository {
     Optional<Subject> getById(long id);
     Stream<Subject> getByName(String name);
     Stream<Subject> getAll();
+    Stream<Subject> getPage(Long afterId, int limit);
     void deleteById(long id);
 }
@@ -6,6 +6,7 @@ import java.util.stream.Stream;
 public interface SubjectService {
     void createSubject(Subject subject);
     Stream<Subject> getAllSubjects();
+    Stream<Subject> getSubjectPage(Long afterId, int limit);
     Optional<Subject> getSubjectById(long id);
     Stream<Subject> getSubjectByName(String name);
     void updateSubject(Subject subject);
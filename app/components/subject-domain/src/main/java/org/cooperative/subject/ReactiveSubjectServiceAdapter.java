@@ -0,0 +1,69 @@
+package org.cooperative.subject;
+
+import lombok.extern.slf4j.Slf4j;
+import org.cooperative.execution.BlockingExecutor;
+import org.cooperative.span.Span;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Component
+@Profile("!r2dbc")
+@Span
+public class ReactiveSubjectServiceAdapter implements ReactiveSubjectService {
+
+    private final SubjectService subjectService;
+    private final BlockingExecutor blockingExecutor;
+
+    @Autowired
+    public ReactiveSubjectServiceAdapter(SubjectService subjectService, BlockingExecutor blockingExecutor) {
+        this.subjectService = subjectService;
+        this.blockingExecutor = blockingExecutor;
+    }
+
+    @Override
+    public Mono<Void> createSubject(Subject subject) {
+        return Mono.<Void>fromRunnable(() -> subjectService.createSubject(subject))
+                .subscribeOn(blockingExecutor.scheduler());
+    }
+
+    @Override
+    public Flux<Subject> getAllSubjects() {
+        return Flux.fromStream(subjectService::getAllSubjects)
+                .subscribeOn(blockingExecutor.scheduler());
+    }
+
+    @Override
+    public Flux<Subject> getSubjectPage(Long afterId, int limit) {
+        return Flux.fromStream(() -> subjectService.getSubjectPage(afterId, limit))
+                .subscribeOn(blockingExecutor.scheduler());
+    }
+
+    @Override
+    public Mono<Subject> getSubjectById(long id) {
+        return Mono.fromCallable(() -> subjectService.getSubjectById(id))
+                .subscribeOn(blockingExecutor.scheduler())
+                .flatMap(Mono::justOrEmpty);
+    }
+
+    @Override
+    public Flux<Subject> getSubjectByName(String name) {
+        return Flux.fromStream(() -> subjectService.getSubjectByName(name))
+                .subscribeOn(blockingExecutor.scheduler());
+    }
+
+    @Override
+    public Mono<Void> updateSubject(Subject subject) {
+        return Mono.<Void>fromRunnable(() -> subjectService.updateSubject(subject))
+                .subscribeOn(blockingExecutor.scheduler());
+    }
+
+    @Override
+    public Mono<Void> deleteSubject(long id) {
+        return Mono.<Void>fromRunnable(() -> subjectService.deleteSubject(id))
+                .subscribeOn(blockingExecutor.scheduler());
+    }
+}
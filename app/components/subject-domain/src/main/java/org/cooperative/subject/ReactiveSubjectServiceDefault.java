@@ -0,0 +1,96 @@
+package org.cooperative.subject;
+
+import lombok.extern.slf4j.Slf4j;
+import org.cooperative.span.Span;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Slf4j
+@Component
+@Profile("r2dbc")
+@Span
+public class ReactiveSubjectServiceDefault implements ReactiveSubjectService {
+
+    private final ReactiveSubjectRepository repository;
+
+    @Autowired
+    public ReactiveSubjectServiceDefault(ReactiveSubjectRepository subjectRepository) {
+        this.repository = subjectRepository;
+    }
+
+    @Override
+    public Mono<Void> createSubject(Subject subject) {
+        return Mono.defer(() -> {
+                    SubjectValidator.validateId(subject.getId());
+                    return repository.existsById(subject.getId());
+                })
+                .flatMap(exists -> {
+                    if (exists) {
+                        log.error("Attempt to create subject that already exists: {}", subject);
+                        return Mono.error(new SubjectAlreadyExistsException());
+                    }
+                    log.info("Subject create accepted: {}", subject);
+                    return repository.insert(subject);
+                })
+                .then();
+    }
+
+    @Override
+    public Flux<Subject> getAllSubjects() {
+        return repository.getAll();
+    }
+
+    @Override
+    public Flux<Subject> getSubjectPage(Long afterId, int limit) {
+        return repository.getPage(afterId, limit);
+    }
+
+    @Override
+    public Mono<Subject> getSubjectById(long id) {
+        return Mono.defer(() -> {
+                    SubjectValidator.validateId(id);
+                    return repository.getById(id);
+                });
+    }
+
+    @Override
+    public Flux<Subject> getSubjectByName(String name) {
+        return repository.getByName(name);
+    }
+
+    @Override
+    public Mono<Void> updateSubject(Subject subject) {
+        return Mono.defer(() -> {
+                    SubjectValidator.validateId(subject.getId());
+                    return repository.existsById(subject.getId());
+                })
+                .flatMap(exists -> {
+                    if (!exists) {
+                        log.error("Attempt to update subject that does not exist: {}", subject);
+                        return Mono.error(new SubjectNotFoundException());
+                    }
+                    log.info("Subject update accepted: {}", subject);
+                    return repository.update(subject);
+                })
+                .then();
+    }
+
+    @Override
+    public Mono<Void> deleteSubject(long id) {
+        return Mono.defer(() -> {
+                    SubjectValidator.validateId(id);
+                    return repository.existsById(id);
+                })
+                .flatMap(exists -> {
+                    if (!exists) {
+                        log.error("Attempt to delete subject that does not exist - id: {}", id);
+                        return Mono.error(new SubjectNotFoundException());
+                    }
+                    log.info("Subject delete accepted - id: {}", id);
+                    return repository.deleteById(id);
+                });
+    }
+}
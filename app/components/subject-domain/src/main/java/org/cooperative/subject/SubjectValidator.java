@@ -0,0 +1,23 @@
+package org.cooperative.subject;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+final class SubjectValidator {
+
+    private static final String WRONG_FORMAT_ID_MESSAGE = "Id has to be between 0 and " + Long.MAX_VALUE + "!";
+
+    private SubjectValidator() {
+    }
+
+    static void validateId(long id) {
+        if (!isValidId(id)) {
+            log.warn("Attempt to use invalid id: {}", id);
+            throw new SubjectWrongFormatException(WRONG_FORMAT_ID_MESSAGE + " id: " + id);
+        }
+    }
+
+    private static boolean isValidId(long id) {
+        return id >= 0;
+    }
+}
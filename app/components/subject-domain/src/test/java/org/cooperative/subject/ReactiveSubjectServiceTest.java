@@ -0,0 +1,64 @@
+package org.cooperative.subject;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveSubjectServiceTest {
+
+    @InjectMocks
+    ReactiveSubjectServiceDefault subjectService;
+
+    @Mock
+    ReactiveSubjectRepository subjectRepository;
+
+    @Test
+    void testCreateSubjectSuccess() {
+        when(subjectRepository.existsById(0)).thenReturn(Mono.just(false));
+        when(subjectRepository.insert(Subject.of(0, "name"))).thenReturn(Mono.just(Subject.of(0, "name")));
+        subjectService.createSubject(Subject.of(0, "name")).block();
+        verify(subjectRepository, times(1))
+                .insert(Subject.of(0, "name"));
+    }
+
+    @Test
+    void testCreateSubjectAlreadyExists() {
+        when(subjectRepository.existsById(0)).thenReturn(Mono.just(true));
+        Mono<Void> mono = subjectService.createSubject(Subject.of(0, "name"));
+        assertThrows(SubjectAlreadyExistsException.class, mono::block);
+    }
+
+    @Test
+    void testCreateSubjectWrongFormat() {
+        Mono<Void> mono = subjectService.createSubject(Subject.of(-1, "name"));
+        assertThrows(SubjectWrongFormatException.class, mono::block);
+        verify(subjectRepository, never()).existsById(anyLong());
+    }
+
+    @Test
+    void testUpdateSubjectNotFound() {
+        when(subjectRepository.existsById(0)).thenReturn(Mono.just(false));
+        Mono<Void> mono = subjectService.updateSubject(Subject.of(0, "updated"));
+        assertThrows(SubjectNotFoundException.class, mono::block);
+    }
+
+    @Test
+    void testDeleteSubjectSuccess() {
+        when(subjectRepository.existsById(0)).thenReturn(Mono.just(true));
+        when(subjectRepository.deleteById(0)).thenReturn(Mono.empty());
+        subjectService.deleteSubject(0).block();
+        verify(subjectRepository, times(1))
+                .deleteById(0);
+    }
+}
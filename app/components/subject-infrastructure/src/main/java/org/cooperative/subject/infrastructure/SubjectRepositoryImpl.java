@@ -1,9 +1,12 @@
 package org.cooperative.subject.infrastructure;
 
+import org.cooperative.span.Span;
 import org.cooperative.subject.Subject;
 import org.cooperative.subject.SubjectRepository;
 import org.cooperative.subject.jpa.SubjectRepositoryJpa;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
 import java.util.Optional;
@@ -11,6 +14,8 @@ import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 @Component
+@Profile("!r2dbc & !memory")
+@Span
 public class SubjectRepositoryImpl implements SubjectRepository {
     private final SubjectRepositoryJpa repository;
 
@@ -47,6 +52,13 @@ public class SubjectRepositoryImpl implements SubjectRepository {
                 .map(this::mapFromJpa);
     }
 
+    @Override
+    public Stream<Subject> getPage(Long afterId, int limit) {
+        return repository.findByIdGreaterThanOrderByIdAsc(afterId == null ? Long.MIN_VALUE : afterId,
+                        PageRequest.of(0, limit)).stream()
+                .map(this::mapFromJpa);
+    }
+
     @Override
     public void deleteById(long id) {
         repository.deleteById(id);
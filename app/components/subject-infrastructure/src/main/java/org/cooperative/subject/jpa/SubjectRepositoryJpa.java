@@ -1,9 +1,11 @@
 package org.cooperative.subject.jpa;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.repository.CrudRepository;
 
 import java.util.List;
 
 public interface SubjectRepositoryJpa extends CrudRepository<Subject, Long> {
     List<Subject> findByName(String name);
+    List<Subject> findByIdGreaterThanOrderByIdAsc(long id, Pageable pageable);
 }
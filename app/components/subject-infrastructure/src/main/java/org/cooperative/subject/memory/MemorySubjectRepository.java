@@ -0,0 +1,89 @@
+package org.cooperative.subject.memory;
+
+import org.cooperative.span.Span;
+import org.cooperative.subject.Subject;
+import org.cooperative.subject.SubjectRepository;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+// Subjects held in the process only, lost on restart. Writes to a subject are serialized by the id map, which
+// keeps the name index and the id-ordered index used for keyset paging in step with it.
+@Component
+@Profile("memory")
+@Span
+public class MemorySubjectRepository implements SubjectRepository {
+    private final ConcurrentMap<Long, Subject> subjects = new ConcurrentHashMap<>();
+    private final ConcurrentNavigableMap<Long, Subject> ordered = new ConcurrentSkipListMap<>();
+    private final ConcurrentMap<String, Set<Long>> byName = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean existsById(long id) {
+        return subjects.containsKey(id);
+    }
+
+    @Override
+    public Subject save(Subject subject) {
+        subjects.compute(subject.getId(), (id, existing) -> {
+            if (existing != null) removeName(existing);
+            addName(subject);
+            ordered.put(id, subject);
+            return subject;
+        });
+        return subject;
+    }
+
+    @Override
+    public Optional<Subject> getById(long id) {
+        return Optional.ofNullable(subjects.get(id));
+    }
+
+    @Override
+    public Stream<Subject> getByName(String name) {
+        return byName.getOrDefault(name, Set.of()).stream()
+                .map(subjects::get)
+                .filter(s -> s != null && s.getName().equals(name));
+    }
+
+    @Override
+    public Stream<Subject> getAll() {
+        return ordered.values().stream();
+    }
+
+    @Override
+    public Stream<Subject> getPage(Long afterId, int limit) {
+        return (afterId == null ? ordered : ordered.tailMap(afterId, false)).values().stream()
+                .limit(limit);
+    }
+
+    @Override
+    public void deleteById(long id) {
+        subjects.computeIfPresent(id, (i, existing) -> {
+            removeName(existing);
+            ordered.remove(i);
+            return null;
+        });
+    }
+
+    private void addName(Subject subject) {
+        byName.compute(subject.getName(), (n, ids) -> {
+            Set<Long> named = ids == null ? ConcurrentHashMap.newKeySet() : ids;
+            named.add(subject.getId());
+            return named;
+        });
+    }
+
+    private void removeName(Subject subject) {
+        byName.computeIfPresent(subject.getName(), (n, ids) -> {
+            ids.remove(subject.getId());
+            return ids.isEmpty() ? null : ids;
+        });
+    }
+}
@@ -0,0 +1,98 @@
+package org.cooperative.subject.r2dbc;
+
+import io.r2dbc.spi.Row;
+import org.cooperative.span.Span;
+import org.cooperative.subject.ReactiveSubjectRepository;
+import org.cooperative.subject.Subject;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Component
+@Profile("r2dbc")
+@Span
+public class R2dbcSubjectRepository implements ReactiveSubjectRepository {
+    private final DatabaseClient databaseClient;
+
+    @Autowired
+    public R2dbcSubjectRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    @Override
+    public Mono<Boolean> existsById(long id) {
+        return databaseClient.sql("SELECT COUNT(*) AS count FROM subject WHERE id = :id")
+                .bind("id", id)
+                .map(row -> row.get("count", Long.class))
+                .one()
+                .map(count -> count > 0);
+    }
+
+    @Override
+    public Mono<Subject> insert(Subject subject) {
+        return bindName(databaseClient.sql("INSERT INTO subject (id, name) VALUES (:id, :name)")
+                .bind("id", subject.getId()), subject)
+                .fetch()
+                .rowsUpdated()
+                .thenReturn(subject);
+    }
+
+    @Override
+    public Mono<Subject> update(Subject subject) {
+        return bindName(databaseClient.sql("UPDATE subject SET name = :name WHERE id = :id")
+                .bind("id", subject.getId()), subject)
+                .fetch()
+                .rowsUpdated()
+                .thenReturn(subject);
+    }
+
+    @Override
+    public Mono<Subject> getById(long id) {
+        return databaseClient.sql("SELECT id, name FROM subject WHERE id = :id")
+                .bind("id", id)
+                .map(this::mapFromRow)
+                .one();
+    }
+
+    @Override
+    public Flux<Subject> getByName(String name) {
+        return databaseClient.sql("SELECT id, name FROM subject WHERE name = :name")
+                .bind("name", name)
+                .map(this::mapFromRow)
+                .all();
+    }
+
+    @Override
+    public Flux<Subject> getAll() {
+        return databaseClient.sql("SELECT id, name FROM subject")
+                .map(this::mapFromRow)
+                .all();
+    }
+
+    @Override
+    public Flux<Subject> getPage(Long afterId, int limit) {
+        return databaseClient.sql("SELECT id, name FROM subject WHERE id > :afterId ORDER BY id LIMIT :limit")
+                .bind("afterId", afterId == null ? Long.MIN_VALUE : afterId)
+                .bind("limit", limit)
+                .map(this::mapFromRow)
+                .all();
+    }
+
+    @Override
+    public Mono<Void> deleteById(long id) {
+        return databaseClient.sql("DELETE FROM subject WHERE id = :id")
+                .bind("id", id)
+                .then();
+    }
+
+    private DatabaseClient.GenericExecuteSpec bindName(DatabaseClient.GenericExecuteSpec spec, Subject subject) {
+        return subject.getName() == null ? spec.bindNull("name", String.class) : spec.bind("name", subject.getName());
+    }
+
+    private Subject mapFromRow(Row row) {
+        return Subject.of(row.get("id", Long.class), row.get("name", String.class));
+    }
+}
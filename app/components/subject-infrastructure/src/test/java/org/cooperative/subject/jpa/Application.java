@@ -3,9 +3,11 @@ package org.cooperative.subject.jpa;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
 import org.springframework.stereotype.Component;
 
-@SpringBootApplication
+// spring-r2dbc is on the classpath for the r2dbc profile, which would keep the JPA DataSource from being set up
+@SpringBootApplication(exclude = R2dbcAutoConfiguration.class)
 @Component
 public class Application implements CommandLineRunner {
     public static void main(String[] args) {
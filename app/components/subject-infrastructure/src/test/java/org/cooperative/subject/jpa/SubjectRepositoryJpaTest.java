@@ -3,6 +3,7 @@ package org.cooperative.subject.jpa;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.TestPropertySource;
 
 import java.util.List;
@@ -36,4 +37,13 @@ public class SubjectRepositoryJpaTest {
         assertFalse(optionalSubject.isEmpty());
         assertEquals(subject, optionalSubject.get(0));
     }
+
+    @Test
+    public void findByIdGreaterThanOrderByIdAsc() {
+        subjectRepositoryJpa.save(Subject.of(12L, "name12"));
+        subjectRepositoryJpa.save(Subject.of(10L, "name10"));
+        subjectRepositoryJpa.save(Subject.of(11L, "name11"));
+        List<Subject> page = subjectRepositoryJpa.findByIdGreaterThanOrderByIdAsc(10L, PageRequest.of(0, 1));
+        assertEquals(List.of(Subject.of(11L, "name11")), page);
+    }
 }
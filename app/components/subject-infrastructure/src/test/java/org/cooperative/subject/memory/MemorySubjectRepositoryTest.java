@@ -0,0 +1,54 @@
+package org.cooperative.subject.memory;
+
+import org.cooperative.subject.Subject;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MemorySubjectRepositoryTest {
+    MemorySubjectRepository subjectRepository = new MemorySubjectRepository();
+
+    @Test
+    void testSave() {
+        subjectRepository.save(Subject.of(1, "name"));
+        assertTrue(subjectRepository.existsById(1));
+        assertEquals(Optional.of(Subject.of(1, "name")), subjectRepository.getById(1));
+    }
+
+    @Test
+    void testRenameMovesNameIndex() {
+        subjectRepository.save(Subject.of(1, "name"));
+        subjectRepository.save(Subject.of(1, "other"));
+        assertEquals(0, subjectRepository.getByName("name").count());
+        assertEquals(List.of(Subject.of(1, "other")),
+                subjectRepository.getByName("other").collect(Collectors.toList()));
+    }
+
+    @Test
+    void testGetPageIsOrderedById() {
+        subjectRepository.save(Subject.of(3, "name"));
+        subjectRepository.save(Subject.of(1, "name"));
+        subjectRepository.save(Subject.of(2, "name"));
+
+        assertEquals(List.of(Subject.of(1, "name"), Subject.of(2, "name")),
+                subjectRepository.getPage(null, 2).collect(Collectors.toList()));
+        assertEquals(List.of(Subject.of(3, "name")),
+                subjectRepository.getPage(2L, 2).collect(Collectors.toList()));
+        assertEquals(3, subjectRepository.getByName("name").count());
+    }
+
+    @Test
+    void testDeleteById() {
+        subjectRepository.save(Subject.of(1, "name"));
+        subjectRepository.deleteById(1);
+        assertFalse(subjectRepository.existsById(1));
+        assertEquals(0, subjectRepository.getByName("name").count());
+        assertEquals(0, subjectRepository.getAll().count());
+    }
+}
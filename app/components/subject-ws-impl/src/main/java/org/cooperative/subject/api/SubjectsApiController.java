@@ -1,9 +1,11 @@
 package org.cooperative.subject.api;
 
 import lombok.extern.slf4j.Slf4j;
+import org.cooperative.api.PageCursor;
+import org.cooperative.span.Span;
 import org.cooperative.subject.Subject;
 import org.cooperative.subject.SubjectNotFoundException;
-import org.cooperative.subject.SubjectService;
+import org.cooperative.subject.ReactiveSubjectService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -14,40 +16,55 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 import java.net.URI;
 
 @Slf4j
 @RestController
 @RequestMapping("/subjects")
+@Span
 public class SubjectsApiController {
 
     private static final String EXIT = "EXIT";
-    private final SubjectService subjectService;
+    private final ReactiveSubjectService subjectService;
 
     @Autowired
-    public SubjectsApiController(SubjectService subjectService) {
+    public SubjectsApiController(ReactiveSubjectService subjectService) {
         this.subjectService = subjectService;
     }
 
     @GetMapping
-    public Flux<SubjectApi> getSubjects() {
+    public Mono<ResponseEntity<Flux<SubjectApi>>> getSubjects(
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "after", required = false) String after) {
+        if (PageCursor.isPaged(limit, after)) {
+            log.info("Received get subjects page, limit: {}, after: {}", limit, after);
+            return Mono.defer(() -> getSubjectPage(PageCursor.limit(limit), PageCursor.decodeId(after)));
+        }
         log.info("Received get all subjects");
-        return Flux.defer(this::getSubjectsFromService)
-                .map(SubjectApi::fromDomain);
+        return Mono.just(ResponseEntity.ok(Flux.defer(this::getSubjectsFromService)
+                .map(SubjectApi::fromDomain)));
+    }
+
+    private Mono<ResponseEntity<Flux<SubjectApi>>> getSubjectPage(int limit, Long afterId) {
+        return getSubjectPageFromService(afterId, limit + 1)
+                .map(SubjectApi::fromDomain)
+                .collectList()
+                .map(subjects -> PageCursor.toResponse(subjects, limit, "/subjects",
+                        s -> PageCursor.encodeId(s.getId())));
+    }
+
+    private Flux<Subject> getSubjectPageFromService(Long afterId, int limit) {
+        return subjectService.getSubjectPage(afterId, limit);
     }
 
     private Flux<Subject> getSubjectsFromService() {
-        log.trace("ENTRY - get subjects from service");
-        Flux<Subject> subjects = Flux.fromStream(subjectService::getAllSubjects)
-                .subscribeOn(Schedulers.boundedElastic());
-        log.trace("EXIT - get subjects from service");
-        return subjects;
+        return subjectService.getAllSubjects();
     }
 
     @GetMapping("/{id}")
@@ -58,12 +75,8 @@ public class SubjectsApiController {
     }
 
     private Mono<Subject> getSubjectByIdFromService(long id) {
-        log.trace("ENTRY - get subject by id from service: {}", id);
-        Mono<Subject> subject = Mono.fromCallable(() -> subjectService.getSubjectById(id)
-                        .orElseThrow(() -> new SubjectNotFoundException(String.valueOf(id))))
-                .subscribeOn(Schedulers.boundedElastic());
-        log.trace("EXIT - get subject by id from service: {}", id);
-        return subject;
+        return subjectService.getSubjectById(id)
+                .switchIfEmpty(Mono.error(() -> new SubjectNotFoundException(String.valueOf(id))));
     }
 
     @PostMapping
@@ -75,12 +88,8 @@ public class SubjectsApiController {
     }
 
     private Mono<Subject> addSubjectFromService(SubjectApi subjectApi) {
-        log.trace("ENTRY - add subject from service: {}", subjectApi);
-        Mono<Subject> subject = Mono.just(SubjectApi.toDomain(subjectApi))
-                .publishOn(Schedulers.boundedElastic())
-                .doOnNext(subjectService::createSubject);
-        log.trace("EXIT - add subject from service: {}", subjectApi);
-        return subject;
+        return Mono.just(SubjectApi.toDomain(subjectApi))
+                .flatMap(s -> subjectService.createSubject(s).thenReturn(s));
     }
 
     @PutMapping
@@ -91,12 +100,8 @@ public class SubjectsApiController {
     }
 
     private Mono<Subject> updateSubjectFromService(SubjectApi subjectApi) {
-        log.trace("ENTRY - update subject from service: {}", subjectApi);
-        Mono<Subject> subject = Mono.just(SubjectApi.toDomain(subjectApi))
-                .publishOn(Schedulers.boundedElastic())
-                .doOnNext(subjectService::updateSubject);
-        log.trace("EXIT - update subject from service: {}", subjectApi);
-        return subject;
+        return Mono.just(SubjectApi.toDomain(subjectApi))
+                .flatMap(s -> subjectService.updateSubject(s).thenReturn(s));
     }
 
     @DeleteMapping("/{id}")
@@ -107,12 +112,6 @@ public class SubjectsApiController {
     }
 
     private Mono<Void> deleteSubjectByIdFromService(long id) {
-        log.trace("ENTRY - delete subject by id from service: {}", id);
-        Mono<Void> mono = Mono.just(id)
-                .publishOn(Schedulers.boundedElastic())
-                .doOnNext(subjectService::deleteSubject)
-                .then();
-        log.trace("EXIT - delete subject by id from service: {}", id);
-        return mono;
+        return subjectService.deleteSubject(id);
     }
 }
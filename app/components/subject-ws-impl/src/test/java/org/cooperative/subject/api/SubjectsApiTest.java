@@ -1,6 +1,9 @@
 package org.cooperative.subject.api;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import org.cooperative.execution.BlockingExecutor;
+import org.cooperative.subject.ReactiveSubjectService;
+import org.cooperative.subject.ReactiveSubjectServiceAdapter;
 import org.cooperative.subject.StubSubjectService;
 import org.cooperative.subject.SubjectService;
 import org.junit.jupiter.api.AfterEach;
@@ -10,6 +13,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
@@ -17,6 +21,7 @@ import org.springframework.test.web.reactive.server.WebTestClient;
 import org.springframework.web.reactive.function.BodyInserters;
 
 import java.net.URI;
+import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -38,10 +43,21 @@ public class SubjectsApiTest {
     @Configuration
     public static class TestConfig {
         @Bean
-        public SubjectsApiController subjectsApiController(SubjectService subjectService) {
+        public SubjectsApiController subjectsApiController(ReactiveSubjectService subjectService) {
             return new SubjectsApiController(subjectService);
         }
 
+        @Bean
+        public ReactiveSubjectService reactiveSubjectService(SubjectService subjectService,
+                BlockingExecutor blockingExecutor) {
+            return new ReactiveSubjectServiceAdapter(subjectService, blockingExecutor);
+        }
+
+        @Bean
+        public BlockingExecutor blockingExecutor() {
+            return new BlockingExecutor(BlockingExecutor.Type.BOUNDED_ELASTIC, 10, 1000);
+        }
+
         @Bean
         public SubjectService service() {
             return new StubSubjectService();
@@ -84,6 +100,40 @@ public class SubjectsApiTest {
                                 SubjectApi.of(1, "name1"));
     }
 
+    @Test
+    public void testGetSubjectsPaged() throws Exception {
+        service.createSubject(org.cooperative.subject.Subject.of(2, "name2"));
+        service.createSubject(org.cooperative.subject.Subject.of(0, "name0"));
+        service.createSubject(org.cooperative.subject.Subject.of(1, "name1"));
+
+        webTestClient.get()
+                .uri(URI.create("/subjects?limit=2"))
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.LINK, "</subjects?limit=2&after=MQ>; rel=\"next\"")
+                .expectBodyList(SubjectApi.class)
+                        .isEqualTo(List.of(SubjectApi.of(0, "name0"), SubjectApi.of(1, "name1")));
+
+        webTestClient.get()
+                .uri(URI.create("/subjects?limit=2&after=MQ"))
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(HttpHeaders.LINK)
+                .expectBodyList(SubjectApi.class)
+                        .isEqualTo(List.of(SubjectApi.of(2, "name2")));
+    }
+
+    @Test
+    public void testGetSubjectsInvalidCursor() throws Exception {
+        webTestClient.get()
+                .uri(URI.create("/subjects?after=not-a-cursor"))
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isBadRequest();
+    }
+
     @Test
     public void testAddSubjectSuccess() throws Exception {
         webTestClient.post()
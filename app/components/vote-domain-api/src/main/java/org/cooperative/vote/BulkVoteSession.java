@@ -0,0 +1,7 @@
+package org.cooperative.vote;
+
+import java.util.List;
+
+public interface BulkVoteSession {
+    List<VoteResult> createVotes(List<Vote> votes);
+}
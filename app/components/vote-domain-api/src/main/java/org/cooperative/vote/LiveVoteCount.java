@@ -0,0 +1,11 @@
+package org.cooperative.vote;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+@AllArgsConstructor(staticName = "of")
+@Value
+public class LiveVoteCount {
+    VoteCount voteCount;
+    boolean closed;
+}
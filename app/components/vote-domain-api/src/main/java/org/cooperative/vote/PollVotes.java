@@ -0,0 +1,15 @@
+package org.cooperative.vote;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+import org.cooperative.poll.Poll;
+
+// A poll read together with its vote count. A final result is the count stored once the poll closed,
+// anything else was counted from the votes and may still need storing.
+@AllArgsConstructor(staticName = "of")
+@Value
+public class PollVotes {
+    Poll poll;
+    VoteCount voteCount;
+    boolean finalResult;
+}
@@ -0,0 +1,17 @@
+package org.cooperative.vote;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+public interface ReactiveVoteRepository {
+    Mono<Boolean> createVoteIfAbsent(Vote vote);
+    Flux<Vote> getVoteBySubjectIdPollId(long subjectId, long pollId);
+    Flux<Vote> getVotePageBySubjectIdPollId(long subjectId, long pollId, UUID afterVoter, int limit);
+    Mono<Vote> getVoteBySubjectIdPollIdVoter(long subjectId, long pollId, UUID voter);
+    Mono<VoteCount> getVoteCountForPoll(long subjectId, long pollId);
+    Mono<VoteCount> finalizeVoteCount(long subjectId, long pollId, OffsetDateTime endDate);
+    Mono<PollVotes> getPollVotes(long subjectId, long pollId);
+}
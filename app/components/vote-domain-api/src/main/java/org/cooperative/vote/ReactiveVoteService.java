@@ -0,0 +1,17 @@
+package org.cooperative.vote;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+
+public interface ReactiveVoteService {
+    Mono<Vote> createVote(Vote vote);
+    Flux<VoteResult> createVotes(long subjectId, long pollId, Flux<Vote> votes);
+    Flux<Vote> getVoteBySubjectIdPollId(long subjectId, long pollId);
+    Flux<Vote> getVotePageBySubjectIdPollId(long subjectId, long pollId, UUID afterVoter, int limit);
+    Mono<Vote> getVoteBySubjectIdPollIdVoter(long subjectId, long pollId, UUID voter);
+    Mono<VoteCount> getVoteCountForPoll(long subjectId, long pollId);
+    Mono<PollVotes> getPollVotes(long subjectId, long pollId);
+    Flux<LiveVoteCount> streamVoteCountForPoll(long subjectId, long pollId);
+}
@@ -1,12 +1,18 @@
 package org.cooperative.vote;
 
+import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Stream;
 
 public interface VoteRepository {
-    Vote createVote(Vote vote);
+    boolean createVoteIfAbsent(Vote vote);
+    List<Boolean> createVotesIfAbsent(List<Vote> votes);
     Stream<Vote> getVoteBySubjectIdPollId(long subjectId, long pollId);
+    Stream<Vote> getVotePageBySubjectIdPollId(long subjectId, long pollId, UUID afterVoter, int limit);
     Optional<Vote> getVoteBySubjectIdPollIdVoter(long subjectId, long pollId, UUID voteId);
     VoteCount getVoteCountForPoll(long subjectId, long pollId);
+    VoteCount finalizeVoteCount(long subjectId, long pollId, OffsetDateTime endDate);
+    Optional<PollVotes> getPollVotes(long subjectId, long pollId);
 }
@@ -0,0 +1,19 @@
+package org.cooperative.vote;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.util.UUID;
+
+@AllArgsConstructor(staticName = "of")
+@Value
+public class VoteResult {
+    UUID voter;
+    Status status;
+
+    public enum Status {
+        CREATED,
+        DUPLICATE,
+        REJECTED
+    }
+}
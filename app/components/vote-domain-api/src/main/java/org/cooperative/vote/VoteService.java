@@ -1,5 +1,6 @@
 package org.cooperative.vote;
 
+import org.cooperative.vote.exception.PollAlreadyEndedException;
 import org.cooperative.vote.exception.VoteAlreadyExistsException;
 import org.cooperative.vote.exception.VoteNotFoundException;
 
@@ -9,8 +10,11 @@ import java.util.stream.Stream;
 
 public interface VoteService {
     Vote createVote(Vote vote) throws VoteAlreadyExistsException;
+    BulkVoteSession openBulkVoteSession(long subjectId, long pollId) throws PollAlreadyEndedException;
     Stream<Vote> getVoteBySubjectIdPollId(long subjectId, long pollId) throws VoteNotFoundException;
+    Stream<Vote> getVotePageBySubjectIdPollId(long subjectId, long pollId, UUID afterVoter, int limit);
     Optional<Vote> getVoteBySubjectIdPollIdVoter(long subjectId, long pollId, UUID voter)
             throws VoteNotFoundException;
     VoteCount getVoteCountForPoll(long subjectId, long pollId);
+    Optional<PollVotes> getPollVotes(long subjectId, long pollId);
 }
@@ -0,0 +1,103 @@
+package org.cooperative.vote;
+
+import lombok.extern.slf4j.Slf4j;
+import org.cooperative.poll.Poll;
+import org.cooperative.poll.PollKey;
+import org.cooperative.poll.PollListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+public class LiveVoteCounts implements PollListener {
+    private final ConcurrentMap<PollKey, LiveCount> counts = new ConcurrentHashMap<>();
+    private final Duration minInterval;
+    private final long refreshTicks;
+
+    public LiveVoteCounts() {
+        this(250, 5_000);
+    }
+
+    @Autowired
+    public LiveVoteCounts(@Value("${cooperative.vote.tally-stream.min-interval-ms:250}") long minIntervalMillis,
+            @Value("${cooperative.vote.tally-stream.refresh-interval-ms:5000}") long refreshIntervalMillis) {
+        this.minInterval = Duration.ofMillis(minIntervalMillis);
+        this.refreshTicks = Math.max(1, refreshIntervalMillis / minIntervalMillis);
+    }
+
+    public Flux<LiveVoteCount> stream(long subjectId, long pollId, Mono<Poll> poll, Supplier<Mono<VoteCount>> count) {
+        PollKey key = PollKey.of(subjectId, pollId);
+        return Flux.defer(() -> counts.computeIfAbsent(key, k -> new LiveCount(k, poll, count)).flux);
+    }
+
+    public void voteAccepted(long subjectId, long pollId) {
+        LiveCount liveCount = counts.get(PollKey.of(subjectId, pollId));
+        if (liveCount != null) liveCount.dirty.set(true);
+    }
+
+    @Override
+    public void onPollUpdated(long subjectId, long pollId) {
+        // The end date may have moved; subscribers reconnect and get a stream for the new window
+        close(subjectId, pollId);
+    }
+
+    @Override
+    public void onPollDeleted(long subjectId, long pollId) {
+        close(subjectId, pollId);
+    }
+
+    int size() {
+        return counts.size();
+    }
+
+    private void close(long subjectId, long pollId) {
+        LiveCount liveCount = counts.remove(PollKey.of(subjectId, pollId));
+        if (liveCount != null) liveCount.closed.tryEmitValue(Boolean.TRUE);
+    }
+
+    private class LiveCount {
+        final AtomicBoolean dirty = new AtomicBoolean();
+        final Sinks.One<Boolean> closed = Sinks.one();
+        final Flux<LiveVoteCount> flux;
+
+        // One upstream per poll: the poll lookup, the ticker and the count queries are shared by every
+        // subscriber, and a late subscriber is handed the latest count straight away
+        LiveCount(PollKey key, Mono<Poll> poll, Supplier<Mono<VoteCount>> count) {
+            this.flux = poll.flatMapMany(p -> track(p, count))
+                    .takeUntilOther(closed.asMono())
+                    .doFinally(s -> {
+                        log.debug("Live vote count stream ended - key: {}, signal: {}", key, s);
+                        counts.remove(key, this);
+                    })
+                    .replay(1)
+                    .refCount();
+        }
+
+        private Flux<LiveVoteCount> track(Poll poll, Supplier<Mono<VoteCount>> count) {
+            Duration open = Duration.between(OffsetDateTime.now(), poll.getEndDate());
+            Flux<VoteCount> live = open.isNegative() ? Flux.empty() : Mono.defer(count)
+                    .concatWith(Flux.interval(minInterval)
+                            .onBackpressureDrop()
+                            // Accepted votes only raise a flag, so a burst costs one count per interval.
+                            // The periodic refresh re-reads the count: with R2DBC that is a query and
+                            // sees every instance's votes, the JPA tally only knows this instance's
+                            .filter(tick -> dirty.getAndSet(false) || (tick + 1) % refreshTicks == 0)
+                            .concatMap(tick -> count.get()))
+                    .distinctUntilChanged()
+                    .takeUntilOther(Mono.delay(open));
+            return live.map(c -> LiveVoteCount.of(c, false))
+                    .concatWith(Mono.defer(count).map(c -> LiveVoteCount.of(c, true)));
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package org.cooperative.vote;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+final class PollResults {
+    // Votes admitted just before the end date may still be in flight to the database for a moment,
+    // so a result is only final once this grace period has passed as well
+    static final Duration FINALIZE_GRACE = Duration.ofSeconds(30);
+
+    private PollResults() {
+    }
+
+    static boolean isFinal(OffsetDateTime endDate, OffsetDateTime now) {
+        return endDate.plus(FINALIZE_GRACE).isBefore(now);
+    }
+}
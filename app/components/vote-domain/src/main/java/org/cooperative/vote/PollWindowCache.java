@@ -0,0 +1,60 @@
+package org.cooperative.vote;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.cooperative.poll.Poll;
+import org.cooperative.poll.PollKey;
+import org.cooperative.poll.PollListener;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+@Slf4j
+@Component
+public class PollWindowCache implements PollListener {
+    private final Cache<PollKey, Poll> polls;
+
+    public PollWindowCache() {
+        this(10_000, 60_000);
+    }
+
+    @Autowired
+    public PollWindowCache(@Value("${cooperative.vote.poll-cache.max-size:10000}") long maxSize,
+            @Value("${cooperative.vote.poll-cache.ttl-ms:60000}") long ttlMillis) {
+        this.polls = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMillis))
+                .recordStats()
+                .build();
+    }
+
+    public Optional<Poll> getPoll(long subjectId, long pollId, Supplier<Optional<Poll>> loader) {
+        return Optional.ofNullable(polls.get(PollKey.of(subjectId, pollId), k -> loader.get().orElse(null)));
+    }
+
+    public CacheStats stats() {
+        return polls.stats();
+    }
+
+    public long size() {
+        return polls.estimatedSize();
+    }
+
+    @Override
+    public void onPollUpdated(long subjectId, long pollId) {
+        log.debug("Invalidating cached poll - subjectId: {}, pollId: {}", subjectId, pollId);
+        polls.invalidate(PollKey.of(subjectId, pollId));
+    }
+
+    @Override
+    public void onPollDeleted(long subjectId, long pollId) {
+        log.debug("Invalidating cached poll - subjectId: {}, pollId: {}", subjectId, pollId);
+        polls.invalidate(PollKey.of(subjectId, pollId));
+    }
+}
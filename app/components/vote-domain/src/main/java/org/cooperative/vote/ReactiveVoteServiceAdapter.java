@@ -0,0 +1,100 @@
+package org.cooperative.vote;
+
+import lombok.extern.slf4j.Slf4j;
+import org.cooperative.execution.BlockingExecutor;
+import org.cooperative.poll.PollService;
+import org.cooperative.poll.exception.PollNotFoundException;
+import org.cooperative.span.Span;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.UUID;
+import java.util.function.Function;
+
+@Slf4j
+@Component
+@Profile("!r2dbc")
+@Span
+public class ReactiveVoteServiceAdapter implements ReactiveVoteService {
+    private static final int BULK_CHUNK_SIZE = 500;
+
+    private final VoteService voteService;
+    private final PollService pollService;
+    private final BlockingExecutor blockingExecutor;
+    private final LiveVoteCounts liveVoteCounts;
+
+    @Autowired
+    public ReactiveVoteServiceAdapter(VoteService voteService, PollService pollService,
+            BlockingExecutor blockingExecutor, LiveVoteCounts liveVoteCounts) {
+        this.voteService = voteService;
+        this.pollService = pollService;
+        this.blockingExecutor = blockingExecutor;
+        this.liveVoteCounts = liveVoteCounts;
+    }
+
+    @Override
+    public Mono<Vote> createVote(Vote vote) {
+        return Mono.fromCallable(() -> voteService.createVote(vote))
+                .subscribeOn(blockingExecutor.scheduler())
+                .doOnNext(v -> liveVoteCounts.voteAccepted(v.getSubjectId(), v.getPollId()));
+    }
+
+    @Override
+    public Flux<VoteResult> createVotes(long subjectId, long pollId, Flux<Vote> votes) {
+        return Mono.fromCallable(() -> voteService.openBulkVoteSession(subjectId, pollId))
+                .subscribeOn(blockingExecutor.scheduler())
+                .flatMapMany(session -> votes
+                        .buffer(BULK_CHUNK_SIZE)
+                        .concatMap(chunk -> Mono.fromCallable(() -> session.createVotes(chunk))
+                                .subscribeOn(blockingExecutor.scheduler())
+                                .flatMapIterable(Function.identity()), 1))
+                .doOnNext(r -> {
+                    if (r.getStatus() == VoteResult.Status.CREATED) liveVoteCounts.voteAccepted(subjectId, pollId);
+                });
+    }
+
+    @Override
+    public Flux<Vote> getVoteBySubjectIdPollId(long subjectId, long pollId) {
+        return Flux.fromStream(() -> voteService.getVoteBySubjectIdPollId(subjectId, pollId))
+                .subscribeOn(blockingExecutor.scheduler());
+    }
+
+    @Override
+    public Flux<Vote> getVotePageBySubjectIdPollId(long subjectId, long pollId, UUID afterVoter, int limit) {
+        return Flux.fromStream(() -> voteService.getVotePageBySubjectIdPollId(subjectId, pollId, afterVoter, limit))
+                .subscribeOn(blockingExecutor.scheduler());
+    }
+
+    @Override
+    public Mono<Vote> getVoteBySubjectIdPollIdVoter(long subjectId, long pollId, UUID voter) {
+        return Mono.fromCallable(() -> voteService.getVoteBySubjectIdPollIdVoter(subjectId, pollId, voter))
+                .subscribeOn(blockingExecutor.scheduler())
+                .flatMap(Mono::justOrEmpty);
+    }
+
+    @Override
+    public Mono<VoteCount> getVoteCountForPoll(long subjectId, long pollId) {
+        return Mono.fromCallable(() -> voteService.getVoteCountForPoll(subjectId, pollId))
+                .subscribeOn(blockingExecutor.scheduler());
+    }
+
+    @Override
+    public Mono<PollVotes> getPollVotes(long subjectId, long pollId) {
+        return Mono.fromCallable(() -> voteService.getPollVotes(subjectId, pollId))
+                .subscribeOn(blockingExecutor.scheduler())
+                .flatMap(Mono::justOrEmpty);
+    }
+
+    @Override
+    public Flux<LiveVoteCount> streamVoteCountForPoll(long subjectId, long pollId) {
+        return liveVoteCounts.stream(subjectId, pollId,
+                Mono.fromCallable(() -> pollService.getPollByIdAndSubjectId(pollId, subjectId))
+                        .subscribeOn(blockingExecutor.scheduler())
+                        .flatMap(Mono::justOrEmpty)
+                        .switchIfEmpty(Mono.error(PollNotFoundException::new)),
+                () -> getVoteCountForPoll(subjectId, pollId));
+    }
+}
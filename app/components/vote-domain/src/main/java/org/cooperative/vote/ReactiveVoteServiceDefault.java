@@ -0,0 +1,118 @@
+package org.cooperative.vote;
+
+import org.cooperative.poll.Poll;
+import org.cooperative.poll.ReactivePollService;
+import org.cooperative.poll.exception.PollNotFoundException;
+import org.cooperative.span.Span;
+import org.cooperative.vote.exception.PollAlreadyEndedException;
+import org.cooperative.vote.exception.VoteAlreadyExistsException;
+import org.cooperative.vote.exception.VoteValidationException;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Component
+@Profile("r2dbc")
+@Span
+public class ReactiveVoteServiceDefault implements ReactiveVoteService {
+    private static final int BULK_CONCURRENCY = 16;
+
+    private final ReactiveVoteRepository voteRepository;
+    private final ReactivePollService pollService;
+    private final LiveVoteCounts liveVoteCounts;
+
+    @Autowired
+    public ReactiveVoteServiceDefault(ReactiveVoteRepository voteRepository, ReactivePollService pollService,
+            LiveVoteCounts liveVoteCounts) {
+        this.voteRepository = voteRepository;
+        this.pollService = pollService;
+        this.liveVoteCounts = liveVoteCounts;
+    }
+
+    @Override
+    public Mono<Vote> createVote(Vote vote) {
+        return Mono.defer(() -> {
+                    if (vote.getVoter() == null) throw new VoteValidationException();
+                    if (vote.getSubjectId() == null) throw new VoteValidationException();
+                    if (vote.getPollId() == null) throw new VoteValidationException();
+                    return getOpenPoll(vote.getSubjectId(), vote.getPollId());
+                })
+                .flatMap(poll -> {
+                    Vote newVote = vote.withVoteDate(OffsetDateTime.now());
+                    return voteRepository.createVoteIfAbsent(newVote)
+                            .flatMap(created -> created ? Mono.just(newVote)
+                                    : Mono.error(new VoteAlreadyExistsException()));
+                })
+                .doOnNext(v -> liveVoteCounts.voteAccepted(v.getSubjectId(), v.getPollId()));
+    }
+
+    @Override
+    public Flux<VoteResult> createVotes(long subjectId, long pollId, Flux<Vote> votes) {
+        return getOpenPoll(subjectId, pollId)
+                .flatMapMany(poll -> votes.flatMapSequential(v -> createVote(poll, v), BULK_CONCURRENCY));
+    }
+
+    private Mono<VoteResult> createVote(Poll poll, Vote vote) {
+        OffsetDateTime now = OffsetDateTime.now();
+        if (vote.getVoter() == null || poll.getEndDate().isBefore(now)) {
+            return Mono.just(VoteResult.of(vote.getVoter(), VoteResult.Status.REJECTED));
+        }
+        Vote newVote = vote.withVoteDate(now).withSubjectId(poll.getSubjectId()).withPollId(poll.getId());
+        return voteRepository.createVoteIfAbsent(newVote)
+                .map(created -> {
+                    if (created) liveVoteCounts.voteAccepted(poll.getSubjectId(), poll.getId());
+                    return VoteResult.of(vote.getVoter(),
+                            created ? VoteResult.Status.CREATED : VoteResult.Status.DUPLICATE);
+                });
+    }
+
+    private Mono<Poll> getOpenPoll(long subjectId, long pollId) {
+        return pollService.getPollByIdAndSubjectId(pollId, subjectId)
+                .switchIfEmpty(Mono.error(PollNotFoundException::new))
+                .flatMap(poll -> poll.getEndDate().isBefore(OffsetDateTime.now())
+                        ? Mono.error(new PollAlreadyEndedException())
+                        : Mono.just(poll));
+    }
+
+    @Override
+    public Flux<Vote> getVoteBySubjectIdPollId(long subjectId, long pollId) {
+        return voteRepository.getVoteBySubjectIdPollId(subjectId, pollId);
+    }
+
+    @Override
+    public Flux<Vote> getVotePageBySubjectIdPollId(long subjectId, long pollId, UUID afterVoter, int limit) {
+        return voteRepository.getVotePageBySubjectIdPollId(subjectId, pollId, afterVoter, limit);
+    }
+
+    @Override
+    public Mono<Vote> getVoteBySubjectIdPollIdVoter(long subjectId, long pollId, UUID voter) {
+        return voteRepository.getVoteBySubjectIdPollIdVoter(subjectId, pollId, voter);
+    }
+
+    @Override
+    public Mono<VoteCount> getVoteCountForPoll(long subjectId, long pollId) {
+        return voteRepository.getVoteCountForPoll(subjectId, pollId);
+    }
+
+    @Override
+    public Mono<PollVotes> getPollVotes(long subjectId, long pollId) {
+        return voteRepository.getPollVotes(subjectId, pollId)
+                .flatMap(p -> p.isFinalResult() || !PollResults.isFinal(p.getPoll().getEndDate(), OffsetDateTime.now())
+                        ? Mono.just(p)
+                        : voteRepository.finalizeVoteCount(subjectId, pollId, p.getPoll().getEndDate())
+                                .map(voteCount -> PollVotes.of(p.getPoll(), voteCount, true)));
+    }
+
+    @Override
+    public Flux<LiveVoteCount> streamVoteCountForPoll(long subjectId, long pollId) {
+        return liveVoteCounts.stream(subjectId, pollId,
+                pollService.getPollByIdAndSubjectId(pollId, subjectId)
+                        .switchIfEmpty(Mono.error(PollNotFoundException::new)),
+                () -> getVoteCountForPoll(subjectId, pollId));
+    }
+}
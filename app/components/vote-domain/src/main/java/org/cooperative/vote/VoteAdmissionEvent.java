@@ -0,0 +1,36 @@
+package org.cooperative.vote;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("org.cooperative.vote.Admission")
+@Label("Vote Admission")
+@Description("Validation, duplicate check, persistence and tally of a vote or a chunk of bulk votes")
+@Category({"Cooperative", "Vote"})
+@StackTrace(false)
+@Threshold("1 ms")
+class VoteAdmissionEvent extends Event {
+    static final String CREATED = "created";
+    static final String BULK = "bulk";
+
+    @Label("Subject Id")
+    long subjectId;
+
+    @Label("Poll Id")
+    long pollId;
+
+    @Label("Votes")
+    int votes;
+
+    @Label("Accepted")
+    int accepted;
+
+    @Label("Outcome")
+    @Description("created, bulk, or the simple name of the exception the admission failed with")
+    String outcome;
+}
@@ -0,0 +1,30 @@
+package org.cooperative.vote;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("org.cooperative.vote.Persistence")
+@Label("Vote Persistence")
+@Description("Insert of accepted votes through the vote repository")
+@Category({"Cooperative", "Vote"})
+@StackTrace(false)
+@Threshold("1 ms")
+class VotePersistenceEvent extends Event {
+    @Label("Subject Id")
+    long subjectId;
+
+    @Label("Poll Id")
+    long pollId;
+
+    @Label("Votes")
+    int votes;
+
+    @Label("Failure")
+    @Description("Simple name of the exception the insert failed with, if it did")
+    String failure;
+}
@@ -1,78 +1,259 @@
 package org.cooperative.vote;
 
-import lombok.extern.slf4j.Slf4j;
 import org.cooperative.poll.Poll;
 import org.cooperative.poll.PollService;
 import org.cooperative.poll.exception.PollNotFoundException;
+import org.cooperative.span.Span;
 import org.cooperative.vote.exception.PollAlreadyEndedException;
 import org.cooperative.vote.exception.VoteAlreadyExistsException;
 import org.cooperative.vote.exception.VoteNotFoundException;
 import org.cooperative.vote.exception.VoteValidationException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Component;
 
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
-@Slf4j
 @Component
+@Profile("!r2dbc")
+@Span
 public class VoteServiceImpl implements VoteService {
     private final VoteRepository voteRepository;
     private final PollService pollService;
+    private final VoteTally voteTally;
+    private final PollWindowCache pollWindowCache;
+    private final VoterSets voterSets;
 
     @Autowired
-    public VoteServiceImpl(VoteRepository voteRepository, PollService pollService) {
+    public VoteServiceImpl(VoteRepository voteRepository, PollService pollService, VoteTally voteTally,
+            PollWindowCache pollWindowCache, VoterSets voterSets) {
         this.voteRepository = voteRepository;
         this.pollService = pollService;
+        this.voteTally = voteTally;
+        this.pollWindowCache = pollWindowCache;
+        this.voterSets = voterSets;
     }
 
     @Override
     public Vote createVote(Vote vote) throws VoteAlreadyExistsException {
-        log.trace("BEGIN - create vote: {}", vote);
+        VoteAdmissionEvent event = new VoteAdmissionEvent();
+        event.begin();
+        String outcome = VoteAdmissionEvent.CREATED;
+        try {
+            return admitVote(vote);
+        } catch (RuntimeException e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.subjectId = vote.getSubjectId() == null ? 0 : vote.getSubjectId();
+                event.pollId = vote.getPollId() == null ? 0 : vote.getPollId();
+                event.votes = 1;
+                event.accepted = VoteAdmissionEvent.CREATED.equals(outcome) ? 1 : 0;
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
+    }
+
+    private Vote admitVote(Vote vote) {
         if (vote.getVoter() == null) throw new VoteValidationException();
         if (vote.getSubjectId() == null) throw new VoteValidationException();
         if (vote.getPollId() == null) throw new VoteValidationException();
 
-        Poll poll = pollService.getPollByIdAndSubjectId(vote.getPollId(), vote.getSubjectId())
-                .orElseThrow(PollNotFoundException::new);
+        Poll poll = getPoll(vote.getSubjectId(), vote.getPollId());
         OffsetDateTime now = OffsetDateTime.now();
         if (poll.getEndDate().isBefore(now)) throw new PollAlreadyEndedException();
+        if (hasVoted(poll, vote.getVoter())) throw new VoteAlreadyExistsException();
+
+        return voteTally.record(poll, vote.isAgree(), () -> {
+            Vote newVote = vote.withVoteDate(now);
+            boolean created = persist(poll, 1, () -> voteRepository.createVoteIfAbsent(newVote));
+            voterSets.add(poll.getSubjectId(), poll.getId(), vote.getVoter());
+            if (!created) throw new VoteAlreadyExistsException();
+            return newVote;
+        });
+    }
+
+    @Override
+    public BulkVoteSession openBulkVoteSession(long subjectId, long pollId) throws PollAlreadyEndedException {
+        Poll poll = getPoll(subjectId, pollId);
+        if (poll.getEndDate().isBefore(OffsetDateTime.now())) throw new PollAlreadyEndedException();
+        return votes -> createVotes(poll, votes);
+    }
+
+    private boolean hasVoted(Poll poll, UUID voter) {
+        return voterSets.hasVoted(poll.getSubjectId(), poll.getId(), voter,
+                () -> voteRepository.getVoteBySubjectIdPollId(poll.getSubjectId(), poll.getId()).map(Vote::getVoter));
+    }
+
+    private Poll getPoll(long subjectId, long pollId) {
+        return pollWindowCache.getPoll(subjectId, pollId, () -> pollService.getPollByIdAndSubjectId(pollId, subjectId))
+                .orElseThrow(PollNotFoundException::new);
+    }
+
+    private List<VoteResult> createVotes(Poll poll, List<Vote> votes) {
+        VoteAdmissionEvent event = new VoteAdmissionEvent();
+        event.begin();
+        String outcome = VoteAdmissionEvent.BULK;
+        List<VoteResult> results = null;
+        try {
+            results = admitVotes(poll, votes);
+            return results;
+        } catch (RuntimeException e) {
+            outcome = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.subjectId = poll.getSubjectId();
+                event.pollId = poll.getId();
+                event.votes = votes.size();
+                event.accepted = results == null ? 0 : (int) results.stream()
+                        .filter(r -> r.getStatus() == VoteResult.Status.CREATED)
+                        .count();
+                event.outcome = outcome;
+                event.commit();
+            }
+        }
+    }
 
-        if (voteRepository.getVoteBySubjectIdPollIdVoter(
-                vote.getSubjectId(), vote.getPollId(), vote.getVoter()).isPresent()) {
-            throw new VoteAlreadyExistsException();
+    private List<VoteResult> admitVotes(Poll poll, List<Vote> votes) {
+        OffsetDateTime now = OffsetDateTime.now();
+        boolean ended = poll.getEndDate().isBefore(now);
+        VoteResult[] results = new VoteResult[votes.size()];
+        List<Vote> accepted = new ArrayList<>(votes.size());
+        int[] acceptedIndexes = new int[votes.size()];
+        Set<UUID> chunkVoters = new HashSet<>();
+        for (int i = 0; i < votes.size(); i++) {
+            Vote vote = votes.get(i);
+            if (ended || vote.getVoter() == null) {
+                results[i] = VoteResult.of(vote.getVoter(), VoteResult.Status.REJECTED);
+            } else if (!chunkVoters.add(vote.getVoter()) || hasVoted(poll, vote.getVoter())) {
+                results[i] = VoteResult.of(vote.getVoter(), VoteResult.Status.DUPLICATE);
+            } else {
+                acceptedIndexes[accepted.size()] = i;
+                accepted.add(vote.withVoteDate(now).withSubjectId(poll.getSubjectId()).withPollId(poll.getId()));
+            }
         }
 
-        Vote returnVote = voteRepository.createVote(vote.withVoteDate(now));
+        if (!accepted.isEmpty()) {
+            voteTally.recordAll(poll, () -> {
+                List<Boolean> created = persist(poll, accepted.size(),
+                        () -> voteRepository.createVotesIfAbsent(accepted));
+                long agree = 0;
+                long disagree = 0;
+                for (int i = 0; i < accepted.size(); i++) {
+                    Vote vote = accepted.get(i);
+                    voterSets.add(poll.getSubjectId(), poll.getId(), vote.getVoter());
+                    if (!created.get(i)) {
+                        results[acceptedIndexes[i]] = VoteResult.of(vote.getVoter(), VoteResult.Status.DUPLICATE);
+                        continue;
+                    }
+                    results[acceptedIndexes[i]] = VoteResult.of(vote.getVoter(), VoteResult.Status.CREATED);
+                    if (vote.isAgree()) agree++;
+                    else disagree++;
+                }
+                return VoteCount.of(agree, disagree);
+            });
+        }
 
-        log.trace("EXIT - create vote: {}", vote);
-        return returnVote;
+        return Arrays.asList(results);
+    }
+
+    private <T> T persist(Poll poll, int votes, Supplier<T> insert) {
+        VotePersistenceEvent event = new VotePersistenceEvent();
+        event.begin();
+        String failure = null;
+        try {
+            return insert.get();
+        } catch (RuntimeException e) {
+            failure = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.subjectId = poll.getSubjectId();
+                event.pollId = poll.getId();
+                event.votes = votes;
+                event.failure = failure;
+                event.commit();
+            }
+        }
     }
 
     @Override
     public Stream<Vote> getVoteBySubjectIdPollId(long subjectId, long pollId) throws VoteNotFoundException {
-        log.trace("BEGIN - get vote subjectId: {}, pollId: {}", subjectId, pollId);
-        Stream<Vote> votes = voteRepository.getVoteBySubjectIdPollId(subjectId, pollId);
-        log.trace("EXIT - get vote subjectId: {}, pollId: {}", subjectId, pollId);
-        return votes;
+        return voteRepository.getVoteBySubjectIdPollId(subjectId, pollId);
+    }
+
+    @Override
+    public Stream<Vote> getVotePageBySubjectIdPollId(long subjectId, long pollId, UUID afterVoter, int limit) {
+        return voteRepository.getVotePageBySubjectIdPollId(subjectId, pollId, afterVoter, limit);
     }
 
     @Override
     public Optional<Vote> getVoteBySubjectIdPollIdVoter(long subjectId, long pollId, UUID voter)
             throws VoteNotFoundException {
-        log.trace("BEGIN - get vote subjectId: {}, pollId: {}, voter: {}", subjectId, pollId, voter);
-        Optional<Vote> vote = voteRepository.getVoteBySubjectIdPollIdVoter(subjectId, pollId, voter);
-        log.trace("EXIT - get vote subjectId: {}, pollId: {}, voter: {}", subjectId, pollId, voter);
-        return vote;
+        return voteRepository.getVoteBySubjectIdPollIdVoter(subjectId, pollId, voter);
     }
 
     @Override
     public VoteCount getVoteCountForPoll(long subjectId, long pollId) {
-        log.trace("BEGIN - get vote count subjectId: {}, pollId: {}", subjectId, pollId);
-        VoteCount voteCount = voteRepository.getVoteCountForPoll(subjectId, pollId);
-        log.trace("EXIT - get vote count subjectId: {}, pollId: {}", subjectId, pollId);
+        VoteTallyEvent event = new VoteTallyEvent();
+        event.begin();
+        event.source = VoteTallyEvent.LIVE;
+        VoteCount voteCount = voteTally.getVoteCount(subjectId, pollId, () -> {
+            event.source = VoteTallyEvent.SEEDED;
+            return voteRepository.getVoteCountForPoll(subjectId, pollId);
+        });
+        commit(event, subjectId, pollId);
         return voteCount;
     }
+
+    // An open poll is read through the poll cache and counted by the tally. A poll closed for good comes with
+    // its count from one statement; the first read stores its result, which later reads get from that same
+    // statement.
+    @Override
+    public Optional<PollVotes> getPollVotes(long subjectId, long pollId) {
+        Optional<Poll> poll = pollWindowCache.getPoll(subjectId, pollId,
+                () -> pollService.getPollByIdAndSubjectId(pollId, subjectId));
+        if (poll.isEmpty()) return Optional.empty();
+        if (!PollResults.isFinal(poll.get().getEndDate(), OffsetDateTime.now())) {
+            return Optional.of(PollVotes.of(poll.get(), getVoteCountForPoll(subjectId, pollId), false));
+        }
+        return voteRepository.getPollVotes(subjectId, pollId)
+                .map(p -> p.isFinalResult() || !PollResults.isFinal(p.getPoll().getEndDate(), OffsetDateTime.now())
+                        ? p
+                        : finalizePollVotes(subjectId, p));
+    }
+
+    private PollVotes finalizePollVotes(long subjectId, PollVotes pollVotes) {
+        Poll poll = pollVotes.getPoll();
+        VoteTallyEvent event = new VoteTallyEvent();
+        event.begin();
+        event.source = VoteTallyEvent.FINALIZED;
+        VoteCount voteCount = voteRepository.finalizeVoteCount(subjectId, poll.getId(), poll.getEndDate());
+        commit(event, subjectId, poll.getId());
+        return PollVotes.of(poll, voteCount, true);
+    }
+
+    private static void commit(VoteTallyEvent event, long subjectId, long pollId) {
+        event.end();
+        if (event.shouldCommit()) {
+            event.subjectId = subjectId;
+            event.pollId = pollId;
+            event.commit();
+        }
+    }
 }
@@ -0,0 +1,132 @@
+package org.cooperative.vote;
+
+import lombok.extern.slf4j.Slf4j;
+import org.cooperative.poll.Poll;
+import org.cooperative.poll.PollKey;
+import org.cooperative.poll.PollListener;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+// Counts of open polls, seeded once from the repository and then kept up by the votes this instance takes.
+// A vote taken by another instance only shows in the result stored once the poll has closed.
+@Slf4j
+@Component
+public class VoteTally implements PollListener {
+    private static final Duration CLOSED_RETENTION = Duration.ofMinutes(10);
+    private static final Duration SWEEP_INTERVAL = Duration.ofMinutes(1);
+    private static final VoteCount ONE_AGREE = VoteCount.of(1, 0);
+    private static final VoteCount ONE_DISAGREE = VoteCount.of(0, 1);
+
+    private final ConcurrentMap<PollKey, PollTally> tallies = new ConcurrentHashMap<>();
+    private final AtomicLong nextSweep = new AtomicLong();
+    private final Clock clock;
+
+    public VoteTally() {
+        this(Clock.systemUTC());
+    }
+
+    VoteTally(Clock clock) {
+        this.clock = clock;
+    }
+
+    public VoteCount getVoteCount(long subjectId, long pollId, Supplier<VoteCount> seed) {
+        PollTally tally = touch(PollKey.of(subjectId, pollId));
+        if (!tally.seeded) {
+            long stamp = tally.lock.writeLock();
+            try {
+                if (!tally.seeded) {
+                    VoteCount voteCount = seed.get();
+                    tally.agree.add(voteCount.getAgree());
+                    tally.disagree.add(voteCount.getDisagree());
+                    tally.seeded = true;
+                    log.debug("Seeded tally - subjectId: {}, pollId: {}, count: {}", subjectId, pollId, voteCount);
+                }
+            } finally {
+                tally.lock.unlockWrite(stamp);
+            }
+        }
+        return VoteCount.of(tally.agree.sum(), tally.disagree.sum());
+    }
+
+    public Vote record(Poll poll, boolean agree, Supplier<Vote> insert) {
+        return record(poll, insert, v -> agree ? ONE_AGREE : ONE_DISAGREE);
+    }
+
+    public VoteCount recordAll(Poll poll, Supplier<VoteCount> insert) {
+        return record(poll, insert, Function.identity());
+    }
+
+    private <T> T record(Poll poll, Supplier<T> insert, Function<T, VoteCount> inserted) {
+        PollTally tally = touch(PollKey.of(poll.getSubjectId(), poll.getId()));
+        tally.endDate = poll.getEndDate();
+        if (tally.seeded) {
+            T result = insert.get();
+            tally.add(inserted.apply(result));
+            return result;
+        }
+        // Not seeded yet: the seed query will count these votes, so they must not be added as well
+        long stamp = tally.lock.readLock();
+        try {
+            T result = insert.get();
+            if (tally.seeded) tally.add(inserted.apply(result));
+            return result;
+        } finally {
+            tally.lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public void onPollDeleted(long subjectId, long pollId) {
+        tallies.remove(PollKey.of(subjectId, pollId));
+    }
+
+    int size() {
+        return tallies.size();
+    }
+
+    private PollTally touch(PollKey key) {
+        long now = clock.millis();
+        sweepIfDue(now);
+        PollTally tally = tallies.computeIfAbsent(key, k -> new PollTally());
+        tally.lastAccess = now;
+        return tally;
+    }
+
+    private void sweepIfDue(long now) {
+        long next = nextSweep.get();
+        if (now < next || !nextSweep.compareAndSet(next, now + SWEEP_INTERVAL.toMillis())) return;
+        OffsetDateTime closedBefore = OffsetDateTime.now(clock).minus(CLOSED_RETENTION);
+        long idleBefore = now - CLOSED_RETENTION.toMillis();
+        tallies.values().removeIf(t -> t.isExpired(closedBefore, idleBefore));
+    }
+
+    private static class PollTally {
+        final StampedLock lock = new StampedLock();
+        final LongAdder agree = new LongAdder();
+        final LongAdder disagree = new LongAdder();
+        volatile boolean seeded;
+        volatile OffsetDateTime endDate;
+        volatile long lastAccess;
+
+        void add(VoteCount voteCount) {
+            if (voteCount.getAgree() != 0) agree.add(voteCount.getAgree());
+            if (voteCount.getDisagree() != 0) disagree.add(voteCount.getDisagree());
+        }
+
+        boolean isExpired(OffsetDateTime closedBefore, long idleBefore) {
+            OffsetDateTime end = endDate;
+            if (end != null) return end.isBefore(closedBefore);
+            return lastAccess < idleBefore;
+        }
+    }
+}
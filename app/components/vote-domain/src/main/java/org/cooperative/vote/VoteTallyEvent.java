@@ -0,0 +1,32 @@
+package org.cooperative.vote;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("org.cooperative.vote.Tally")
+@Label("Vote Tally")
+@Description("Computation of a poll's agree/disagree count")
+@Category({"Cooperative", "Vote"})
+@StackTrace(false)
+@Threshold("1 ms")
+class VoteTallyEvent extends Event {
+    static final String LIVE = "live";
+    static final String SEEDED = "seeded";
+    static final String FINALIZED = "finalized";
+
+    @Label("Subject Id")
+    long subjectId;
+
+    @Label("Poll Id")
+    long pollId;
+
+    @Label("Source")
+    @Description("live from memory, seeded by counting the votes, or finalized by counting and storing "
+            + "the result of a closed poll")
+    String source;
+}
@@ -0,0 +1,86 @@
+package org.cooperative.vote;
+
+import java.util.UUID;
+
+// Exact set of voters kept as pairs of longs in one open-addressing table with linear probing, instead of a
+// boxed UUID and a node per entry in a HashSet. A slot takes 16 bytes and the table is kept 37.5% to 75%
+// full, so a voter costs 21 to 43 bytes, about 31 on average. The nil UUID marks a free slot, so it is
+// tracked apart.
+class VoterSet {
+    private static final int MIN_SLOTS = 16;
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    private long[] table;
+    private int shift;
+    private int size;
+    private int threshold;
+    private boolean containsNil;
+
+    VoterSet() {
+        this(MIN_SLOTS);
+    }
+
+    VoterSet(int expectedVoters) {
+        allocate(Math.max(MIN_SLOTS, Integer.highestOneBit(Math.max(1, expectedVoters * 2 - 1)) << 1));
+    }
+
+    synchronized boolean add(UUID voter) {
+        long msb = voter.getMostSignificantBits();
+        long lsb = voter.getLeastSignificantBits();
+        if (msb == 0 && lsb == 0) {
+            if (containsNil) return false;
+            containsNil = true;
+            size++;
+            return true;
+        }
+        int slot = find(table, shift, msb, lsb);
+        if (table[slot] != 0 || table[slot + 1] != 0) return false;
+        table[slot] = msb;
+        table[slot + 1] = lsb;
+        if (++size > threshold) grow();
+        return true;
+    }
+
+    synchronized boolean contains(UUID voter) {
+        long msb = voter.getMostSignificantBits();
+        long lsb = voter.getLeastSignificantBits();
+        if (msb == 0 && lsb == 0) return containsNil;
+        int slot = find(table, shift, msb, lsb);
+        return table[slot] != 0 || table[slot + 1] != 0;
+    }
+
+    synchronized int size() {
+        return size;
+    }
+
+    synchronized long sizeInBytes() {
+        return (long) table.length * Long.BYTES;
+    }
+
+    // Index of the slot holding the voter, or of the free slot where the probe for it ended
+    private static int find(long[] table, int shift, long msb, long lsb) {
+        int mask = table.length - 1;
+        int slot = (int) ((msb ^ lsb) * GOLDEN_RATIO >>> shift) << 1;
+        while ((table[slot] != msb || table[slot + 1] != lsb) && (table[slot] != 0 || table[slot + 1] != 0)) {
+            slot = (slot + 2) & mask;
+        }
+        return slot;
+    }
+
+    private void grow() {
+        long[] old = table;
+        allocate(old.length);
+        for (int i = 0; i < old.length; i += 2) {
+            if (old[i] == 0 && old[i + 1] == 0) continue;
+            int slot = find(table, shift, old[i], old[i + 1]);
+            table[slot] = old[i];
+            table[slot + 1] = old[i + 1];
+        }
+    }
+
+    private void allocate(int slots) {
+        table = new long[slots * 2];
+        shift = Long.numberOfLeadingZeros(slots) + 1;
+        threshold = slots / 4 * 3;
+    }
+}
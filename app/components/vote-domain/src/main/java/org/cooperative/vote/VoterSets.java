@@ -0,0 +1,66 @@
+package org.cooperative.vote;
+
+import lombok.extern.slf4j.Slf4j;
+import org.cooperative.poll.Poll;
+import org.cooperative.poll.PollKey;
+import org.cooperative.poll.PollLifecycleListener;
+import org.cooperative.poll.PollListener;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+// Voters of open polls, loaded on first use and released when the poll closes. Only a voter found in
+// the set is known to have voted: while a poll is still loading, or for votes inserted by another
+// instance, a miss falls through to the database insert, which stays the one to decide.
+@Slf4j
+@Component
+public class VoterSets implements PollListener, PollLifecycleListener {
+    private final ConcurrentMap<PollKey, VoterSet> voterSets = new ConcurrentHashMap<>();
+
+    public boolean hasVoted(long subjectId, long pollId, UUID voter, Supplier<Stream<UUID>> load) {
+        PollKey key = PollKey.of(subjectId, pollId);
+        VoterSet voters = voterSets.get(key);
+        if (voters == null) {
+            VoterSet created = new VoterSet();
+            voters = voterSets.putIfAbsent(key, created);
+            if (voters == null) {
+                load(key, created, load);
+                voters = created;
+            }
+        }
+        return voters.contains(voter);
+    }
+
+    public void add(long subjectId, long pollId, UUID voter) {
+        VoterSet voters = voterSets.get(PollKey.of(subjectId, pollId));
+        if (voters != null) voters.add(voter);
+    }
+
+    private void load(PollKey key, VoterSet voters, Supplier<Stream<UUID>> load) {
+        try (Stream<UUID> loaded = load.get()) {
+            loaded.forEach(voters::add);
+        } catch (RuntimeException e) {
+            voterSets.remove(key, voters);
+            throw e;
+        }
+        log.debug("Loaded voters - poll: {}, voters: {}, bytes: {}", key, voters.size(), voters.sizeInBytes());
+    }
+
+    @Override
+    public void onPollClosed(Poll poll) {
+        voterSets.remove(PollKey.of(poll.getSubjectId(), poll.getId()));
+    }
+
+    @Override
+    public void onPollDeleted(long subjectId, long pollId) {
+        voterSets.remove(PollKey.of(subjectId, pollId));
+    }
+
+    int size() {
+        return voterSets.size();
+    }
+}
@@ -0,0 +1,81 @@
+package org.cooperative.vote;
+
+import org.cooperative.poll.Poll;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LiveVoteCountsTest {
+    LiveVoteCounts liveVoteCounts = new LiveVoteCounts(20, 60_000);
+
+    OffsetDateTime startTime = OffsetDateTime.now();
+    Poll openPoll = Poll.of(1L, "poll", startTime, startTime.plus(Duration.ofMinutes(1)), 2L);
+    Poll endedPoll = Poll.of(1L, "poll", startTime.minus(Duration.ofMinutes(2)), startTime.minus(Duration.ofMinutes(1)), 2L);
+    AtomicReference<VoteCount> voteCount = new AtomicReference<>(VoteCount.of(0, 0));
+
+    @Test
+    void testEndedPollEmitsFinalCountAndCompletes() {
+        voteCount.set(VoteCount.of(1, 2));
+        List<LiveVoteCount> counts = liveVoteCounts.stream(2L, 1L, Mono.just(endedPoll), this::count)
+                .collectList()
+                .block(Duration.ofSeconds(5));
+        assertEquals(List.of(LiveVoteCount.of(VoteCount.of(1, 2), true)), counts);
+        assertEquals(0, liveVoteCounts.size());
+    }
+
+    @Test
+    void testSubscribersShareOneUpstream() {
+        AtomicInteger lookups = new AtomicInteger();
+        Mono<Poll> poll = Mono.fromCallable(() -> {
+            lookups.incrementAndGet();
+            return openPoll;
+        });
+        Flux<LiveVoteCount> first = liveVoteCounts.stream(2L, 1L, poll, this::count);
+        Disposable subscription = first.subscribe();
+        LiveVoteCount latest = liveVoteCounts.stream(2L, 1L, poll, this::count).blockFirst(Duration.ofSeconds(5));
+
+        assertEquals(LiveVoteCount.of(VoteCount.of(0, 0), false), latest);
+        assertEquals(1, lookups.get());
+        assertEquals(1, liveVoteCounts.size());
+        subscription.dispose();
+        assertEquals(0, liveVoteCounts.size());
+    }
+
+    @Test
+    void testAcceptedVotePushesNewCount() throws Exception {
+        List<LiveVoteCount> counts = liveVoteCounts.stream(2L, 1L, Mono.just(openPoll), this::count)
+                .doOnNext(c -> {
+                    voteCount.set(VoteCount.of(1, 0));
+                    liveVoteCounts.voteAccepted(2L, 1L);
+                })
+                .take(2)
+                .collectList()
+                .toFuture()
+                .get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(LiveVoteCount.of(VoteCount.of(0, 0), false),
+                LiveVoteCount.of(VoteCount.of(1, 0), false)), counts);
+    }
+
+    @Test
+    void testPollDeletedCompletesStream() {
+        Flux<LiveVoteCount> counts = liveVoteCounts.stream(2L, 1L, Mono.just(openPoll), this::count);
+        Disposable subscription = counts.subscribe();
+        liveVoteCounts.onPollDeleted(2L, 1L);
+        assertEquals(0, liveVoteCounts.size());
+        subscription.dispose();
+    }
+
+    private Mono<VoteCount> count() {
+        return Mono.fromSupplier(voteCount::get);
+    }
+}
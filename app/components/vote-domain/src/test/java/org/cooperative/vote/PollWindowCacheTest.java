@@ -0,0 +1,58 @@
+package org.cooperative.vote;
+
+import org.cooperative.poll.Poll;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PollWindowCacheTest {
+    PollWindowCache pollWindowCache = new PollWindowCache();
+
+    OffsetDateTime startTime = OffsetDateTime.now();
+    OffsetDateTime endTime = startTime.plus(Duration.ofMinutes(1));
+    Poll poll = Poll.of(1L, "poll", startTime, endTime, 2L);
+
+    @Test
+    void testGetPollLoadsOnce() {
+        AtomicInteger loads = new AtomicInteger();
+        pollWindowCache.getPoll(2L, 1L, () -> {
+            loads.incrementAndGet();
+            return Optional.of(poll);
+        });
+        Optional<Poll> cached = pollWindowCache.getPoll(2L, 1L, () -> {
+            loads.incrementAndGet();
+            return Optional.of(poll);
+        });
+        assertEquals(Optional.of(poll), cached);
+        assertEquals(1, loads.get());
+        assertEquals(1, pollWindowCache.stats().hitCount());
+        assertEquals(1, pollWindowCache.stats().missCount());
+    }
+
+    @Test
+    void testMissingPollIsNotCached() {
+        assertTrue(pollWindowCache.getPoll(2L, 1L, Optional::empty).isEmpty());
+        assertEquals(Optional.of(poll), pollWindowCache.getPoll(2L, 1L, () -> Optional.of(poll)));
+    }
+
+    @Test
+    void testPollUpdatedInvalidates() {
+        pollWindowCache.getPoll(2L, 1L, () -> Optional.of(poll));
+        pollWindowCache.onPollUpdated(2L, 1L);
+        Poll updated = poll.withEndDate(endTime.plus(Duration.ofMinutes(1)));
+        assertEquals(Optional.of(updated), pollWindowCache.getPoll(2L, 1L, () -> Optional.of(updated)));
+    }
+
+    @Test
+    void testPollDeletedInvalidates() {
+        pollWindowCache.getPoll(2L, 1L, () -> Optional.of(poll));
+        pollWindowCache.onPollDeleted(2L, 1L);
+        assertTrue(pollWindowCache.getPoll(2L, 1L, Optional::empty).isEmpty());
+    }
+}
@@ -0,0 +1,130 @@
+package org.cooperative.vote;
+
+import org.cooperative.poll.Poll;
+import org.cooperative.poll.ReactivePollService;
+import org.cooperative.poll.exception.PollNotFoundException;
+import org.cooperative.vote.exception.PollAlreadyEndedException;
+import org.cooperative.vote.exception.VoteAlreadyExistsException;
+import org.cooperative.vote.exception.VoteValidationException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReactiveVoteServiceTest {
+    @InjectMocks
+    ReactiveVoteServiceDefault voteService;
+
+    @Mock
+    ReactiveVoteRepository voteRepository;
+
+    @Mock
+    ReactivePollService pollService;
+
+    @Mock
+    LiveVoteCounts liveVoteCounts;
+
+    OffsetDateTime startTime = OffsetDateTime.now();
+    OffsetDateTime endTime = startTime.plus(Duration.ofMinutes(1));
+    UUID uuid = UUID.fromString("ecda5a8b-c169-44de-b2bd-d5046a8a13a9");
+    UUID otherUuid = UUID.fromString("3b1f6f0e-8a4a-4d8e-9c55-2f0f3f6a7d21");
+
+    @Test
+    void testCreateVoteSuccess() {
+        when(pollService.getPollByIdAndSubjectId(1L, 1L))
+                .thenReturn(Mono.just(Poll.of(1L, "poll", startTime, endTime, 1L)));
+        when(voteRepository.createVoteIfAbsent(any(Vote.class))).thenReturn(Mono.just(true));
+
+        Vote vote = voteService.createVote(Vote.of(uuid, true, null, 1L, 1L)).block();
+        assertEquals(uuid, vote.getVoter());
+    }
+
+    @Test
+    void testCreateVoteAlreadyExists() {
+        when(pollService.getPollByIdAndSubjectId(1L, 1L))
+                .thenReturn(Mono.just(Poll.of(1L, "poll", startTime, endTime, 1L)));
+        when(voteRepository.createVoteIfAbsent(any(Vote.class))).thenReturn(Mono.just(false));
+
+        Mono<Vote> mono = voteService.createVote(Vote.of(uuid, true, null, 1L, 1L));
+        assertThrows(VoteAlreadyExistsException.class, mono::block);
+    }
+
+    @Test
+    void testCreateVoteMissingVoter() {
+        Mono<Vote> mono = voteService.createVote(Vote.of(null, true, null, 1L, 1L));
+        assertThrows(VoteValidationException.class, mono::block);
+        verify(pollService, never()).getPollByIdAndSubjectId(1L, 1L);
+    }
+
+    @Test
+    void testCreateVotePollNotFound() {
+        when(pollService.getPollByIdAndSubjectId(1L, 1L)).thenReturn(Mono.empty());
+
+        Mono<Vote> mono = voteService.createVote(Vote.of(uuid, true, null, 1L, 1L));
+        assertThrows(PollNotFoundException.class, mono::block);
+    }
+
+    @Test
+    void testCreateVotesReportsEachVote() {
+        when(pollService.getPollByIdAndSubjectId(1L, 1L))
+                .thenReturn(Mono.just(Poll.of(1L, "poll", startTime, endTime, 1L)));
+        when(voteRepository.createVoteIfAbsent(any(Vote.class)))
+                .thenAnswer(i -> Mono.just(uuid.equals(i.<Vote>getArgument(0).getVoter())));
+
+        List<VoteResult> results = voteService.createVotes(1L, 1L, Flux.just(
+                        Vote.of(uuid, true, null, 1L, 1L),
+                        Vote.of(null, true, null, 1L, 1L),
+                        Vote.of(otherUuid, false, null, 1L, 1L)))
+                .collectList()
+                .block();
+
+        assertEquals(List.of(
+                VoteResult.of(uuid, VoteResult.Status.CREATED),
+                VoteResult.of(null, VoteResult.Status.REJECTED),
+                VoteResult.of(otherUuid, VoteResult.Status.DUPLICATE)), results);
+    }
+
+    @Test
+    void testCreateVotesPollAlreadyEnded() {
+        when(pollService.getPollByIdAndSubjectId(1L, 1L)).thenReturn(Mono.just(
+                Poll.of(1L, "poll", startTime.minus(Duration.ofMinutes(2)), startTime.minus(Duration.ofMinutes(1)), 1L)));
+
+        Flux<VoteResult> results = voteService.createVotes(1L, 1L, Flux.just(Vote.of(uuid, true, null, 1L, 1L)));
+        assertThrows(PollAlreadyEndedException.class, results::blockLast);
+    }
+
+    @Test
+    void testGetPollVotesOfClosedPollStoresResult() {
+        OffsetDateTime closedEnd = startTime.minus(Duration.ofHours(1));
+        Poll poll = Poll.of(1L, "poll", closedEnd.minus(Duration.ofHours(1)), closedEnd, 2L);
+        when(voteRepository.getPollVotes(2L, 1L)).thenReturn(Mono.just(PollVotes.of(poll, VoteCount.of(2, 3), false)));
+        when(voteRepository.finalizeVoteCount(2L, 1L, closedEnd)).thenReturn(Mono.just(VoteCount.of(2, 3)));
+
+        assertEquals(PollVotes.of(poll, VoteCount.of(2, 3), true), voteService.getPollVotes(2L, 1L).block());
+    }
+
+    @Test
+    void testGetPollVotesOfOpenPoll() {
+        Poll poll = Poll.of(1L, "poll", startTime, endTime, 2L);
+        when(voteRepository.getPollVotes(2L, 1L)).thenReturn(Mono.just(PollVotes.of(poll, VoteCount.of(1, 0), false)));
+
+        assertEquals(PollVotes.of(poll, VoteCount.of(1, 0), false), voteService.getPollVotes(2L, 1L).block());
+        verify(voteRepository, never()).finalizeVoteCount(2L, 1L, endTime);
+    }
+}
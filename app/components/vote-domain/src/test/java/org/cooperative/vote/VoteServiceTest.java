@@ -1,8 +1,12 @@
 package org.cooperative.vote;
 
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
 import org.cooperative.poll.Poll;
 import org.cooperative.poll.PollService;
 import org.cooperative.poll.exception.PollNotFoundException;
+import org.cooperative.vote.exception.PollAlreadyEndedException;
 import org.cooperative.vote.exception.VoteAlreadyExistsException;
 import org.cooperative.vote.exception.VoteValidationException;
 import org.junit.jupiter.api.Test;
@@ -11,17 +15,27 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.time.Duration;
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -37,9 +51,21 @@ class VoteServiceTest {
     @Mock
     PollService pollService;
 
+    @Spy
+    VoteTally voteTally = new VoteTally();
+
+    @Spy
+    PollWindowCache pollWindowCache = new PollWindowCache();
+
+    @Spy
+    VoterSets voterSets = new VoterSets();
+
     @Captor
     ArgumentCaptor<Vote> voteCaptor;
 
+    @Captor
+    ArgumentCaptor<List<Vote>> votesCaptor;
+
     OffsetDateTime startTime = OffsetDateTime.now();
     OffsetDateTime endTime = startTime.plus(Duration.ofMinutes(1));
     UUID uuid = UUID.fromString("ecda5a8b-c169-44de-b2bd-d5046a8a13a9");
@@ -48,17 +74,29 @@ class VoteServiceTest {
     void testCreateVoteSuccess() {
         when(pollService.getPollByIdAndSubjectId(1L, 1L))
                 .thenReturn(Optional.of(Poll.of(1L, "poll", startTime, endTime, 1L)));
-        when(voteRepository.getVoteBySubjectIdPollIdVoter(1L, 1L, uuid))
-                .thenReturn(Optional.empty());
+        when(voteRepository.createVoteIfAbsent(any(Vote.class)))
+                .thenReturn(true);
         voteService.createVote(Vote.of(uuid, true, null, 1L, 1L));
         verify(voteRepository, times(1))
-                .createVote(voteCaptor.capture());
+                .createVoteIfAbsent(voteCaptor.capture());
         Vote vote = voteCaptor.getValue();
         assertEquals(uuid, vote.getVoter());
         assertTrue(vote.isAgree());
         assertFalse(vote.getVoteDate().isAfter(endTime));
     }
 
+    @Test
+    void testCreateVoteLoadsPollOnce() {
+        when(pollService.getPollByIdAndSubjectId(1L, 1L))
+                .thenReturn(Optional.of(Poll.of(1L, "poll", startTime, endTime, 1L)));
+        when(voteRepository.createVoteIfAbsent(any(Vote.class)))
+                .thenReturn(true);
+        voteService.createVote(Vote.of(uuid, true, null, 1L, 1L));
+        voteService.createVote(Vote.of(UUID.randomUUID(), false, null, 1L, 1L));
+        verify(pollService, times(1))
+                .getPollByIdAndSubjectId(1L, 1L);
+    }
+
     @Test
     void testCreateVoteVoterNull() {
         Vote vote = Vote.of(null, true, null, 1L, 1L);
@@ -89,10 +127,101 @@ class VoteServiceTest {
     void testCreateVotePollAlreadyExists() {
         when(pollService.getPollByIdAndSubjectId(1L, 1L))
                 .thenReturn(Optional.of(Poll.of(1L, "poll", startTime, endTime, 1L)));
-        when(voteRepository.getVoteBySubjectIdPollIdVoter(1L, 1L, uuid))
-                .thenReturn(Optional.of(Vote.of(uuid, true, OffsetDateTime.now(), 1L, 1L)));
+        when(voteRepository.createVoteIfAbsent(any(Vote.class)))
+                .thenReturn(false);
         Vote vote = Vote.of(uuid, true, null, 1L, 1L);
         assertThrows(VoteAlreadyExistsException.class, () -> voteService.createVote(vote));
+        verify(voteRepository, never())
+                .getVoteBySubjectIdPollIdVoter(1L, 1L, uuid);
+    }
+
+    @Test
+    void testCreateVoteOfKnownVoterSkipsInsert() {
+        when(pollService.getPollByIdAndSubjectId(1L, 1L))
+                .thenReturn(Optional.of(Poll.of(1L, "poll", startTime, endTime, 1L)));
+        when(voteRepository.getVoteBySubjectIdPollId(1L, 1L))
+                .thenReturn(Stream.of(Vote.of(uuid, true, startTime, 1L, 1L)));
+        Vote vote = Vote.of(uuid, false, null, 1L, 1L);
+        assertThrows(VoteAlreadyExistsException.class, () -> voteService.createVote(vote));
+        verify(voteRepository, never())
+                .createVoteIfAbsent(any(Vote.class));
+    }
+
+    @Test
+    void testCreateVoteLoadsVotersOnce() {
+        when(pollService.getPollByIdAndSubjectId(1L, 1L))
+                .thenReturn(Optional.of(Poll.of(1L, "poll", startTime, endTime, 1L)));
+        when(voteRepository.createVoteIfAbsent(any(Vote.class)))
+                .thenReturn(true);
+        voteService.createVote(Vote.of(uuid, true, null, 1L, 1L));
+        assertThrows(VoteAlreadyExistsException.class,
+                () -> voteService.createVote(Vote.of(uuid, true, null, 1L, 1L)));
+        verify(voteRepository, times(1))
+                .getVoteBySubjectIdPollId(1L, 1L);
+        verify(voteRepository, times(1))
+                .createVoteIfAbsent(any(Vote.class));
+    }
+
+    @Test
+    void testCreateVoteAlreadyExistsIsNotCounted() {
+        Poll poll = Poll.of(1L, "poll", startTime, endTime, 2L);
+        when(pollService.getPollByIdAndSubjectId(1L, 2L))
+                .thenReturn(Optional.of(poll));
+        when(voteRepository.getVoteCountForPoll(2L, 1L))
+                .thenReturn(VoteCount.of(1, 0));
+        when(voteRepository.createVoteIfAbsent(any(Vote.class)))
+                .thenReturn(false);
+
+        voteService.getVoteCountForPoll(2L, 1L);
+        Vote vote = Vote.of(uuid, true, null, 2L, 1L);
+        assertThrows(VoteAlreadyExistsException.class, () -> voteService.createVote(vote));
+        assertEquals(VoteCount.of(1, 0), voteService.getVoteCountForPoll(2L, 1L));
+    }
+
+    @Test
+    void testCreateVotesBulk() {
+        UUID other = UUID.fromString("1b8fd0c4-2a0e-4a5f-9f0d-1e5b7c3a9d22");
+        when(pollService.getPollByIdAndSubjectId(1L, 1L))
+                .thenReturn(Optional.of(Poll.of(1L, "poll", startTime, endTime, 1L)));
+        when(voteRepository.createVotesIfAbsent(anyList()))
+                .thenReturn(List.of(true, false));
+
+        List<VoteResult> results = voteService.openBulkVoteSession(1L, 1L)
+                .createVotes(List.of(Vote.of(uuid, true, null, 1L, 1L), Vote.of(null, true, null, 1L, 1L),
+                        Vote.of(other, false, null, 1L, 1L)));
+
+        assertEquals(List.of(VoteResult.of(uuid, VoteResult.Status.CREATED),
+                VoteResult.of(null, VoteResult.Status.REJECTED),
+                VoteResult.of(other, VoteResult.Status.DUPLICATE)), results);
+        verify(voteRepository, times(1))
+                .createVotesIfAbsent(votesCaptor.capture());
+        assertEquals(2, votesCaptor.getValue().size());
+        assertTrue(votesCaptor.getValue().stream().allMatch(v -> v.getVoteDate() != null));
+    }
+
+    @Test
+    void testCreateVotesBulkRepeatedVoterIsDuplicate() {
+        when(pollService.getPollByIdAndSubjectId(1L, 1L))
+                .thenReturn(Optional.of(Poll.of(1L, "poll", startTime, endTime, 1L)));
+        when(voteRepository.createVotesIfAbsent(anyList()))
+                .thenReturn(List.of(true));
+
+        List<VoteResult> results = voteService.openBulkVoteSession(1L, 1L)
+                .createVotes(List.of(Vote.of(uuid, true, null, 1L, 1L), Vote.of(uuid, false, null, 1L, 1L)));
+
+        assertEquals(List.of(VoteResult.of(uuid, VoteResult.Status.CREATED),
+                VoteResult.of(uuid, VoteResult.Status.DUPLICATE)), results);
+        verify(voteRepository, times(1))
+                .createVotesIfAbsent(votesCaptor.capture());
+        assertEquals(1, votesCaptor.getValue().size());
+    }
+
+    @Test
+    void testOpenBulkVoteSessionPollAlreadyEnded() {
+        when(pollService.getPollByIdAndSubjectId(1L, 1L))
+                .thenReturn(Optional.of(Poll.of(1L, "poll", startTime.minus(Duration.ofMinutes(2)),
+                        startTime.minus(Duration.ofMinutes(1)), 1L)));
+        assertThrows(PollAlreadyEndedException.class, () -> voteService.openBulkVoteSession(1L, 1L));
     }
 
     @Test
@@ -111,8 +240,134 @@ class VoteServiceTest {
 
     @Test
     void testGetVoteCountForPoll() {
-        voteService.getVoteCountForPoll(2L, 1L);
+        when(voteRepository.getVoteCountForPoll(2L, 1L))
+                .thenReturn(VoteCount.of(2, 1));
+
+        assertEquals(VoteCount.of(2, 1), voteService.getVoteCountForPoll(2L, 1L));
+        assertEquals(VoteCount.of(2, 1), voteService.getVoteCountForPoll(2L, 1L));
+        verify(voteRepository, times(1))
+                .getVoteCountForPoll(2L, 1L);
+    }
+
+    @Test
+    void testGetVoteCountForPollCountsAcceptedVotes() {
+        Poll poll = Poll.of(1L, "poll", startTime, endTime, 2L);
+        when(pollService.getPollByIdAndSubjectId(1L, 2L))
+                .thenReturn(Optional.of(poll));
+        when(voteRepository.getVoteCountForPoll(2L, 1L))
+                .thenReturn(VoteCount.of(3, 4));
+        when(voteRepository.createVoteIfAbsent(any(Vote.class)))
+                .thenReturn(true);
+
+        assertEquals(VoteCount.of(3, 4), voteService.getVoteCountForPoll(2L, 1L));
+        voteService.createVote(Vote.of(uuid, true, null, 2L, 1L));
+        assertEquals(VoteCount.of(4, 4), voteService.getVoteCountForPoll(2L, 1L));
+        verify(voteRepository, times(1))
+                .getVoteCountForPoll(2L, 1L);
+    }
+
+    @Test
+    void testGetPollVotesOfRecentlyClosedPollIsNotFinalized() {
+        OffsetDateTime recentEnd = OffsetDateTime.now().minus(Duration.ofSeconds(1));
+        Poll poll = Poll.of(1L, "poll", recentEnd.minus(Duration.ofHours(1)), recentEnd, 2L);
+        when(pollService.getPollByIdAndSubjectId(1L, 2L))
+                .thenReturn(Optional.of(poll));
+        when(voteRepository.getVoteCountForPoll(2L, 1L))
+                .thenReturn(VoteCount.of(1, 1));
+
+        assertEquals(Optional.of(PollVotes.of(poll, VoteCount.of(1, 1), false)), voteService.getPollVotes(2L, 1L));
+        verify(voteRepository, never())
+                .getPollVotes(2L, 1L);
+        verify(voteRepository, never())
+                .finalizeVoteCount(2L, 1L, recentEnd);
+    }
+
+    @Test
+    void testGetPollVotesOfOpenPollServedFromTally() {
+        Poll poll = Poll.of(1L, "poll", startTime, endTime, 2L);
+        when(pollService.getPollByIdAndSubjectId(1L, 2L))
+                .thenReturn(Optional.of(poll));
+        when(voteRepository.getVoteCountForPoll(2L, 1L))
+                .thenReturn(VoteCount.of(3, 1));
+
+        assertEquals(Optional.of(PollVotes.of(poll, VoteCount.of(3, 1), false)), voteService.getPollVotes(2L, 1L));
+        assertEquals(Optional.of(PollVotes.of(poll, VoteCount.of(3, 1), false)), voteService.getPollVotes(2L, 1L));
+        verify(pollService, times(1))
+                .getPollByIdAndSubjectId(1L, 2L);
         verify(voteRepository, times(1))
                 .getVoteCountForPoll(2L, 1L);
+        verify(voteRepository, never())
+                .getPollVotes(2L, 1L);
+    }
+
+    @Test
+    void testGetPollVotesPollNotFound() {
+        when(pollService.getPollByIdAndSubjectId(1L, 2L))
+                .thenReturn(Optional.empty());
+
+        assertEquals(Optional.empty(), voteService.getPollVotes(2L, 1L));
+        verify(voteRepository, never())
+                .getPollVotes(2L, 1L);
+    }
+
+    @Test
+    void testGetPollVotesOfClosedPollStoresResult() {
+        OffsetDateTime closedEnd = startTime.minus(Duration.ofHours(1));
+        Poll poll = Poll.of(1L, "poll", closedEnd.minus(Duration.ofHours(1)), closedEnd, 2L);
+        when(pollService.getPollByIdAndSubjectId(1L, 2L))
+                .thenReturn(Optional.of(poll));
+        when(voteRepository.getPollVotes(2L, 1L))
+                .thenReturn(Optional.of(PollVotes.of(poll, VoteCount.of(3, 1), false)));
+        when(voteRepository.finalizeVoteCount(2L, 1L, closedEnd))
+                .thenReturn(VoteCount.of(3, 1));
+
+        assertEquals(Optional.of(PollVotes.of(poll, VoteCount.of(3, 1), true)), voteService.getPollVotes(2L, 1L));
+    }
+
+    @Test
+    void testGetPollVotesOfClosedPollServedFromFinalResult() {
+        OffsetDateTime closedEnd = startTime.minus(Duration.ofHours(1));
+        Poll poll = Poll.of(1L, "poll", closedEnd.minus(Duration.ofHours(1)), closedEnd, 2L);
+        when(pollService.getPollByIdAndSubjectId(1L, 2L))
+                .thenReturn(Optional.of(poll));
+        when(voteRepository.getPollVotes(2L, 1L))
+                .thenReturn(Optional.of(PollVotes.of(poll, VoteCount.of(5, 6), true)));
+
+        assertEquals(Optional.of(PollVotes.of(poll, VoteCount.of(5, 6), true)), voteService.getPollVotes(2L, 1L));
+        verify(voteRepository, never())
+                .finalizeVoteCount(2L, 1L, closedEnd);
+    }
+
+    @Test
+    void testCreateVoteEmitsAdmissionEvents() throws IOException {
+        when(pollService.getPollByIdAndSubjectId(1L, 1L))
+                .thenReturn(Optional.of(Poll.of(1L, "poll", startTime, endTime, 1L)));
+        when(voteRepository.createVoteIfAbsent(any(Vote.class)))
+                .thenReturn(true);
+        Path file = Files.createTempFile("vote-admission", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable("org.cooperative.vote.Admission").withThreshold(Duration.ZERO);
+            recording.enable("org.cooperative.vote.Persistence").withThreshold(Duration.ZERO);
+            recording.start();
+            voteService.createVote(Vote.of(uuid, true, null, 1L, 1L));
+            assertThrows(VoteAlreadyExistsException.class,
+                    () -> voteService.createVote(Vote.of(uuid, false, null, 1L, 1L)));
+            recording.stop();
+            recording.dump(file);
+
+            List<RecordedEvent> admissions = RecordingFile.readAllEvents(file).stream()
+                    .filter(e -> e.getEventType().getName().equals("org.cooperative.vote.Admission"))
+                    .collect(Collectors.toList());
+            assertEquals(2, admissions.size());
+            assertEquals("created", admissions.get(0).getString("outcome"));
+            assertEquals(1, admissions.get(0).getInt("accepted"));
+            assertEquals("VoteAlreadyExistsException", admissions.get(1).getString("outcome"));
+            assertEquals(1L, admissions.get(1).getLong("pollId"));
+            assertEquals(1, RecordingFile.readAllEvents(file).stream()
+                    .filter(e -> e.getEventType().getName().equals("org.cooperative.vote.Persistence"))
+                    .count());
+        } finally {
+            Files.deleteIfExists(file);
+        }
     }
 }
@@ -0,0 +1,105 @@
+package org.cooperative.vote;
+
+import org.cooperative.poll.Poll;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class VoteTallyTest {
+    MutableClock clock = new MutableClock(Instant.parse("2021-06-27T12:00:00Z"));
+    VoteTally voteTally = new VoteTally(clock);
+
+    OffsetDateTime startTime = OffsetDateTime.ofInstant(clock.instant(), ZoneOffset.UTC);
+    OffsetDateTime endTime = startTime.plus(Duration.ofMinutes(1));
+    Poll poll = Poll.of(1L, "poll", startTime, endTime, 2L);
+    Vote vote = Vote.of(UUID.fromString("5f0c8a8e-33b5-4f55-9d0e-7c9a2d9a1f10"), true, startTime, 2L, 1L);
+
+    @Test
+    void testGetVoteCountSeedsOnce() {
+        AtomicInteger seeds = new AtomicInteger();
+        voteTally.getVoteCount(2L, 1L, () -> {
+            seeds.incrementAndGet();
+            return VoteCount.of(1, 2);
+        });
+        VoteCount voteCount = voteTally.getVoteCount(2L, 1L, () -> {
+            seeds.incrementAndGet();
+            return VoteCount.of(1, 2);
+        });
+        assertEquals(VoteCount.of(1, 2), voteCount);
+        assertEquals(1, seeds.get());
+    }
+
+    @Test
+    void testRecordBeforeSeedIsCountedBySeed() {
+        voteTally.record(poll, true, () -> vote);
+        VoteCount voteCount = voteTally.getVoteCount(2L, 1L, () -> VoteCount.of(1, 0));
+        assertEquals(VoteCount.of(1, 0), voteCount);
+    }
+
+    @Test
+    void testRecordAfterSeedIncrements() {
+        voteTally.getVoteCount(2L, 1L, () -> VoteCount.of(1, 0));
+        voteTally.record(poll, true, () -> vote);
+        voteTally.record(poll, false, () -> vote.withAgree(false));
+        assertEquals(VoteCount.of(2, 1), voteTally.getVoteCount(2L, 1L, () -> VoteCount.of(0, 0)));
+    }
+
+    @Test
+    void testRecordAllAfterSeedAddsInsertedCount() {
+        voteTally.getVoteCount(2L, 1L, () -> VoteCount.of(1, 0));
+        voteTally.recordAll(poll, () -> VoteCount.of(3, 2));
+        assertEquals(VoteCount.of(4, 2), voteTally.getVoteCount(2L, 1L, () -> VoteCount.of(0, 0)));
+    }
+
+    @Test
+    void testPollDeletedEvictsTally() {
+        voteTally.getVoteCount(2L, 1L, () -> VoteCount.of(1, 0));
+        voteTally.onPollDeleted(2L, 1L);
+        assertEquals(VoteCount.of(5, 5), voteTally.getVoteCount(2L, 1L, () -> VoteCount.of(5, 5)));
+    }
+
+    @Test
+    void testLongClosedPollIsEvicted() {
+        voteTally.record(poll, true, () -> vote);
+        assertEquals(1, voteTally.size());
+        clock.advance(Duration.ofHours(1));
+        voteTally.getVoteCount(2L, 3L, () -> VoteCount.of(0, 0));
+        assertEquals(1, voteTally.size());
+    }
+
+    static class MutableClock extends Clock {
+        private Instant instant;
+
+        MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        void advance(Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package org.cooperative.vote;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VoterSetTest {
+    VoterSet voterSet = new VoterSet();
+    UUID uuid = UUID.fromString("9b2f4d6e-8a1c-4e3b-a5d7-0c2e4f6a8b1d");
+
+    @Test
+    void testAddAndContains() {
+        assertFalse(voterSet.contains(uuid));
+        assertTrue(voterSet.add(uuid));
+        assertTrue(voterSet.contains(uuid));
+        assertFalse(voterSet.add(uuid));
+        assertEquals(1, voterSet.size());
+    }
+
+    @Test
+    void testNilVoterDoesNotClashWithFreeSlots() {
+        UUID nil = new UUID(0, 0);
+        assertFalse(voterSet.contains(nil));
+        assertTrue(voterSet.add(nil));
+        assertTrue(voterSet.contains(nil));
+        assertFalse(voterSet.contains(uuid));
+    }
+
+    @Test
+    void testGrowKeepsEveryVoter() {
+        List<UUID> voters = new ArrayList<>();
+        for (int i = 0; i < 100_000; i++) {
+            UUID voter = UUID.randomUUID();
+            voters.add(voter);
+            assertTrue(voterSet.add(voter));
+        }
+        assertEquals(100_000, voterSet.size());
+        assertTrue(voters.stream().allMatch(voterSet::contains));
+        assertFalse(voterSet.contains(uuid));
+    }
+
+    @Test
+    void testSequentialVotersSpreadOverTable() {
+        for (long i = 1; i <= 10_000; i++) assertTrue(voterSet.add(new UUID(0, i)));
+        for (long i = 1; i <= 10_000; i++) assertTrue(voterSet.contains(new UUID(0, i)));
+        assertFalse(voterSet.contains(new UUID(0, 10_001)));
+        assertTrue(voterSet.sizeInBytes() <= 10_000 * 43);
+    }
+}
@@ -0,0 +1,67 @@
+package org.cooperative.vote;
+
+import org.cooperative.poll.Poll;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VoterSetsTest {
+    VoterSets voterSets = new VoterSets();
+
+    OffsetDateTime startTime = OffsetDateTime.now();
+    Poll poll = Poll.of(1L, "poll", startTime, startTime.plus(Duration.ofMinutes(1)), 2L);
+    UUID voted = UUID.fromString("4c6e8a0b-2d4f-4a6c-8e0a-1b3d5f7a9c2e");
+    UUID other = UUID.fromString("d1e3f5a7-9b0c-4d2e-8f4a-6b8c0d2e4f6a");
+
+    @Test
+    void testLoadsVotersOnce() {
+        AtomicInteger loads = new AtomicInteger();
+        assertTrue(voterSets.hasVoted(2L, 1L, voted, () -> {
+            loads.incrementAndGet();
+            return Stream.of(voted);
+        }));
+        assertFalse(voterSets.hasVoted(2L, 1L, other, () -> {
+            loads.incrementAndGet();
+            return Stream.of(voted);
+        }));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testAddedVoterHasVoted() {
+        voterSets.hasVoted(2L, 1L, other, Stream::empty);
+        voterSets.add(2L, 1L, other);
+        assertTrue(voterSets.hasVoted(2L, 1L, other, Stream::empty));
+    }
+
+    @Test
+    void testAddBeforeLoadIsIgnored() {
+        voterSets.add(2L, 1L, other);
+        assertEquals(0, voterSets.size());
+    }
+
+    @Test
+    void testClosedPollIsReleased() {
+        voterSets.hasVoted(2L, 1L, other, () -> Stream.of(voted));
+        voterSets.onPollClosed(poll);
+        assertEquals(0, voterSets.size());
+        assertFalse(voterSets.hasVoted(2L, 1L, voted, Stream::empty));
+    }
+
+    @Test
+    void testFailedLoadIsRetried() {
+        assertThrows(IllegalStateException.class, () -> voterSets.hasVoted(2L, 1L, voted, () -> {
+            throw new IllegalStateException();
+        }));
+        assertTrue(voterSets.hasVoted(2L, 1L, voted, () -> Stream.of(voted)));
+    }
+}
@@ -0,0 +1,54 @@
+package org.cooperative.vote.infrastructure;
+
+import org.cooperative.vote.VoteCount;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+// Voters of one poll ordered for keyset paging, each mapped to whatever locates its vote, with the poll's
+// agree/disagree tallies kept as voters are added. Reads never lock.
+public class PollVoterIndex<V> {
+    private final long subjectId;
+    private final ConcurrentNavigableMap<UUID, V> voters = new ConcurrentSkipListMap<>();
+    private final AtomicLong agree = new AtomicLong();
+    private final AtomicLong disagree = new AtomicLong();
+
+    public PollVoterIndex(long subjectId) {
+        this.subjectId = subjectId;
+    }
+
+    public long getSubjectId() {
+        return subjectId;
+    }
+
+    // Returns false, leaving the tallies untouched, if the voter is already indexed
+    public boolean add(UUID voter, boolean agree, V value) {
+        if (voters.putIfAbsent(voter, value) != null) return false;
+        if (agree) this.agree.incrementAndGet();
+        else disagree.incrementAndGet();
+        return true;
+    }
+
+    public boolean contains(UUID voter) {
+        return voters.containsKey(voter);
+    }
+
+    public Optional<V> get(UUID voter) {
+        return Optional.ofNullable(voters.get(voter));
+    }
+
+    public Stream<V> getPage(UUID afterVoter, int limit) {
+        Map<UUID, V> page = afterVoter == null ? voters : voters.tailMap(afterVoter, false);
+        return page.values().stream()
+                .limit(limit);
+    }
+
+    public VoteCount getVoteCount() {
+        return VoteCount.of(agree.get(), disagree.get());
+    }
+}
@@ -0,0 +1,187 @@
+package org.cooperative.vote.infrastructure;
+
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.cooperative.span.TraceSpan;
+import org.cooperative.span.Tracer;
+import org.cooperative.vote.jpa.Vote;
+import org.cooperative.vote.jpa.VoteRepositoryJpa;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+@Slf4j
+@Component
+@Profile("!r2dbc & !vote-log & !memory")
+public class VoteBatchWriter implements DisposableBean {
+    private static final long IDLE_POLL_MILLIS = 100;
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10_000;
+    private static final long WRITE_TIMEOUT_MILLIS = 30_000;
+
+    private final VoteRepositoryJpa voteRepository;
+    private final int maxBatchSize;
+    private final long maxDelayNanos;
+    private final BlockingQueue<PendingVote> queue = new LinkedBlockingQueue<>();
+    // Submitters enqueue under the read lock and shutdown flips running under the write lock, so no vote
+    // can be enqueued after the final drain
+    private final ReadWriteLock shutdownLock = new ReentrantReadWriteLock();
+    private final Thread flusher;
+    private volatile boolean running = true;
+
+    @Autowired
+    public VoteBatchWriter(VoteRepositoryJpa voteRepository,
+            @Value("${cooperative.vote.batch.max-size:100}") int maxBatchSize,
+            @Value("${cooperative.vote.batch.max-delay-ms:5}") long maxDelayMillis) {
+        this.voteRepository = voteRepository;
+        this.maxBatchSize = maxBatchSize;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        this.flusher = new Thread(this::run, "vote-batch-writer");
+        this.flusher.setDaemon(true);
+        this.flusher.start();
+    }
+
+    // Holds the calling thread until the vote's batch is flushed, so a batch gathers at most one vote per
+    // waiting thread. Only the writer thread takes a connection, which is why the blocking executor is sized
+    // well above both the batch size and the connection pool.
+    public boolean write(Vote vote) {
+        return await(submit(vote));
+    }
+
+    public List<Boolean> writeAll(List<Vote> votes) {
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>(votes.size());
+        votes.forEach(v -> futures.add(submit(v)));
+        List<Boolean> written = new ArrayList<>(votes.size());
+        futures.forEach(f -> written.add(await(f)));
+        return written;
+    }
+
+    private boolean await(CompletableFuture<Boolean> future) {
+        try {
+            return future.get(WRITE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for vote to be written", e);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Timed out waiting for vote to be written", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public CompletableFuture<Boolean> submit(Vote vote) {
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+        shutdownLock.readLock().lock();
+        try {
+            if (!running) throw new IllegalStateException("Vote batch writer is shut down");
+            queue.add(new PendingVote(vote, future, Tracer.current()));
+        } finally {
+            shutdownLock.readLock().unlock();
+        }
+        return future;
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        shutdownLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            shutdownLock.writeLock().unlock();
+        }
+        log.info("Draining vote batch writer, pending votes: {}", queue.size());
+        flusher.join(SHUTDOWN_TIMEOUT_MILLIS);
+        List<PendingVote> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        if (!remaining.isEmpty()) flush(remaining);
+    }
+
+    private void run() {
+        List<PendingVote> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                PendingVote first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) continue;
+                batch.add(first);
+                collect(batch);
+                flush(batch);
+            } catch (InterruptedException e) {
+                log.warn("Vote batch writer interrupted, pending votes: {}", queue.size());
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Unexpected error flushing votes", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private void collect(List<PendingVote> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + maxDelayNanos;
+        queue.drainTo(batch, maxBatchSize - batch.size());
+        while (batch.size() < maxBatchSize) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) break;
+            PendingVote next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) break;
+            batch.add(next);
+            queue.drainTo(batch, maxBatchSize - batch.size());
+        }
+    }
+
+    private void flush(List<PendingVote> batch) {
+        List<Vote> votes = new ArrayList<>(batch.size());
+        batch.forEach(p -> votes.add(p.vote));
+        try {
+            Tracer.runWithin(commonSpan(batch), () -> voteRepository.saveAll(votes));
+            batch.forEach(p -> p.future.complete(true));
+            log.debug("Flushed batch of {} votes", batch.size());
+        } catch (RuntimeException e) {
+            // Usually a duplicate voter; insert one by one so only the offending votes are rejected
+            log.debug("Batch of {} votes failed, writing them one by one", batch.size(), e);
+            batch.forEach(this::flushOne);
+        }
+    }
+
+    private void flushOne(PendingVote pending) {
+        Tracer.runWithin(pending.span, () -> {
+            try {
+                pending.future.complete(voteRepository.insertIfAbsent(pending.vote) == 1);
+            } catch (RuntimeException e) {
+                pending.future.completeExceptionally(e);
+            }
+        });
+    }
+
+    // The statements of a batch are the request's when all its votes come from one trace; a batch shared by
+    // several requests is left out of their accounts
+    private static TraceSpan commonSpan(List<PendingVote> batch) {
+        TraceSpan span = batch.get(0).span;
+        if (span == null) return null;
+        for (PendingVote pending : batch) {
+            if (pending.span == null || !span.getTraceId().equals(pending.span.getTraceId())) return null;
+        }
+        return span;
+    }
+
+    @AllArgsConstructor
+    private static class PendingVote {
+        final Vote vote;
+        final CompletableFuture<Boolean> future;
+        final TraceSpan span;
+    }
+}
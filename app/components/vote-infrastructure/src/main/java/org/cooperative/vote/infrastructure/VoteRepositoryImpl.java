@@ -1,82 +1,159 @@
 package org.cooperative.vote.infrastructure;
 
-import org.cooperative.poll.exception.PollNotFoundException;
-import org.cooperative.poll.jpa.Poll;
-import org.cooperative.poll.jpa.PollRepositoryJpa;
+import lombok.extern.slf4j.Slf4j;
+import org.cooperative.poll.Poll;
+import org.cooperative.span.Span;
+import org.cooperative.vote.PollVotes;
 import org.cooperative.vote.Vote;
 import org.cooperative.vote.VoteCount;
 import org.cooperative.vote.VoteRepository;
+import org.cooperative.vote.jpa.PollResult;
+import org.cooperative.vote.jpa.PollResultRepositoryJpa;
+import org.cooperative.vote.jpa.PollVotesRow;
 import org.cooperative.vote.jpa.VoteRepositoryJpa;
+import org.cooperative.vote.jpa.VoteRow;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Component;
 
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import java.util.stream.Stream;
 
+@Slf4j
 @Component
+@Profile("!r2dbc & !vote-log & !memory")
+@Span
 public class VoteRepositoryImpl implements VoteRepository {
     private final VoteRepositoryJpa voteRepository;
-    private final PollRepositoryJpa pollRepository;
+    private final PollResultRepositoryJpa pollResultRepository;
+    private final VoteBatchWriter voteBatchWriter;
+    private final VoterFilters voterFilters;
 
     @Autowired
-    public VoteRepositoryImpl(VoteRepositoryJpa voteRepository, PollRepositoryJpa pollRepository) {
+    public VoteRepositoryImpl(VoteRepositoryJpa voteRepository, PollResultRepositoryJpa pollResultRepository,
+            VoteBatchWriter voteBatchWriter, VoterFilters voterFilters) {
         this.voteRepository = voteRepository;
-        this.pollRepository = pollRepository;
+        this.pollResultRepository = pollResultRepository;
+        this.voteBatchWriter = voteBatchWriter;
+        this.voterFilters = voterFilters;
     }
 
+    // The voter is added to its filter before the write commits, so a lookup racing the write sees a "maybe".
+    // A rejected vote is a duplicate and a failed one only costs a false positive.
     @Override
-    public Vote createVote(Vote vote) {
-        return toDomain(voteRepository.save(fromDomain(vote)));
+    public boolean createVoteIfAbsent(Vote vote) {
+        voterFilters.add(vote.getPollId(), vote.getVoter());
+        return voteBatchWriter.write(fromDomain(vote));
+    }
+
+    @Override
+    public List<Boolean> createVotesIfAbsent(List<Vote> votes) {
+        List<org.cooperative.vote.jpa.Vote> jpaVotes = new ArrayList<>(votes.size());
+        votes.forEach(v -> {
+            voterFilters.add(v.getPollId(), v.getVoter());
+            jpaVotes.add(fromDomain(v));
+        });
+        return voteBatchWriter.writeAll(jpaVotes);
     }
 
     @Override
     public Stream<Vote> getVoteBySubjectIdPollId(long subjectId, long pollId) {
-        return voteRepository.findByPoll_Subject_IdAndPoll_Id(subjectId, pollId).stream()
-                .map(this::toDomain);
+        return voteRepository.streamByPoll(subjectId, pollId)
+                .map(v -> toDomain(v, subjectId));
+    }
+
+    @Override
+    public Stream<Vote> getVotePageBySubjectIdPollId(long subjectId, long pollId, UUID afterVoter, int limit) {
+        List<VoteRow> votes = afterVoter == null
+                ? voteRepository.findPageByPoll(subjectId, pollId, PageRequest.of(0, limit))
+                : voteRepository.findPageByPollAfter(subjectId, pollId, afterVoter, PageRequest.of(0, limit));
+        return votes.stream()
+                .map(v -> toDomain(v, subjectId));
     }
 
     @Override
     public Optional<Vote> getVoteBySubjectIdPollIdVoter(long subjectId, long pollId, UUID voter) {
-        return voteRepository.findByPoll_Subject_IdAndPoll_IdAndVoter(subjectId, pollId, voter)
-                .map(this::toDomain);
+        if (!voterFilters.mightHaveVoted(pollId, voter)) return Optional.empty();
+        Optional<Vote> vote = voteRepository.findByPoll_Subject_IdAndPoll_IdAndVoter(subjectId, pollId, voter)
+                .map(v -> toDomain(v, subjectId));
+        if (vote.isEmpty()) voterFilters.recordFalsePositive();
+        return vote;
     }
 
     @Override
     public VoteCount getVoteCountForPoll(long subjectId, long pollId) {
-        List<org.cooperative.vote.jpa.VoteCount> voteCount = voteRepository.countVotes(subjectId, pollId);
-        long agreeCount = voteCount.stream()
-                .filter(org.cooperative.vote.jpa.VoteCount::isAgree)
-                .findAny()
-                .map(org.cooperative.vote.jpa.VoteCount::getCount)
-                .orElse(0L);
-        long disagreeCount = voteCount.stream()
-                .filter(v -> !v.isAgree())
-                .findAny()
-                .map(org.cooperative.vote.jpa.VoteCount::getCount)
-                .orElse(0L);
+        long agreeCount = 0;
+        long disagreeCount = 0;
+        for (org.cooperative.vote.jpa.VoteCount voteCount : voteRepository.countVotes(subjectId, pollId)) {
+            if (voteCount.isAgree()) agreeCount = voteCount.getCount();
+            else disagreeCount = voteCount.getCount();
+        }
         return VoteCount.of(agreeCount, disagreeCount);
     }
 
-    private Vote toDomain(org.cooperative.vote.jpa.Vote vote) {
+    @Override
+    public VoteCount finalizeVoteCount(long subjectId, long pollId, OffsetDateTime endDate) {
+        VoteCount voteCount = getVoteCountForPoll(subjectId, pollId);
+        PollResult result = PollResult.of(pollId, endDate, voteCount.getAgree(), voteCount.getDisagree());
+        // A row left in place is either another instance's count of the same closed votes or a stale one
+        if (pollResultRepository.insertIfAbsent(result) == 0 && pollResultRepository.replaceStale(result) == 0) {
+            log.debug("Poll result already finalized - pollId: {}", pollId);
+        }
+        return voteCount;
+    }
+
+    @Override
+    public Optional<PollVotes> getPollVotes(long subjectId, long pollId) {
+        return voteRepository.findPollVotes(subjectId, pollId)
+                .map(this::toDomain);
+    }
+
+    private PollVotes toDomain(PollVotesRow row) {
+        Poll poll = Poll.builder()
+                .id(row.getId())
+                .name(row.getName())
+                .startDate(row.getStartDate())
+                .endDate(row.getEndDate())
+                .subjectId(row.getSubjectId())
+                .build();
+        return row.getFinalAgree() == null
+                ? PollVotes.of(poll, VoteCount.of(row.getAgree(), row.getDisagree()), false)
+                : PollVotes.of(poll, VoteCount.of(row.getFinalAgree(), row.getFinalDisagree()), true);
+    }
+
+    private Vote toDomain(VoteRow vote, long subjectId) {
+        return Vote.builder()
+                .voter(vote.getVoter())
+                .agree(vote.isAgree())
+                .voteDate(vote.getVoteDate())
+                .subjectId(subjectId)
+                .pollId(vote.getPollId())
+                .build();
+    }
+
+    private Vote toDomain(org.cooperative.vote.jpa.Vote vote, long subjectId) {
         return Vote.builder()
                 .voter(vote.getVoter())
                 .agree(vote.isAgree())
                 .voteDate(vote.getVoteDate())
-                .subjectId(vote.getPoll().getSubject().getId())
-                .pollId(vote.getPoll().getId())
+                .subjectId(subjectId)
+                .pollId(vote.getPollId())
                 .build();
     }
 
+    // The poll was already checked to belong to the subject when the vote was admitted,
+    // so the row only needs the foreign key
     private org.cooperative.vote.jpa.Vote fromDomain(Vote vote) {
-        Poll poll = pollRepository.findBySubject_IdAndId(vote.getSubjectId(), vote.getPollId())
-                .orElseThrow(PollNotFoundException::new);
         return org.cooperative.vote.jpa.Vote.builder()
                 .voter(vote.getVoter())
                 .agree(vote.isAgree())
                 .voteDate(vote.getVoteDate())
-                .poll(poll)
+                .pollId(vote.getPollId())
                 .build();
     }
 }
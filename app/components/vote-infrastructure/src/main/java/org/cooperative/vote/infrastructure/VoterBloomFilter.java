@@ -0,0 +1,114 @@
+package org.cooperative.vote.infrastructure;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongPredicate;
+
+// Scalable Bloom filter of a poll's voters: when a stage reaches its capacity, a stage twice as large with
+// half the false positive rate is added, so the compound rate stays under the target however many votes
+// arrive. Stages are paid for from a shared memory budget; once it is exhausted the filter saturates and
+// answers "maybe" for everyone.
+class VoterBloomFilter {
+    private static final double LN2 = Math.log(2);
+
+    private final List<Stage> stages = new CopyOnWriteArrayList<>();
+    private final LongPredicate reserve;
+    private double nextFalsePositiveRate;
+    private long nextCapacity;
+    private volatile boolean saturated;
+
+    VoterBloomFilter(long capacity, double falsePositiveRate, LongPredicate reserve) {
+        this.reserve = reserve;
+        this.nextCapacity = Math.max(1, capacity);
+        this.nextFalsePositiveRate = falsePositiveRate / 2;
+        addStage();
+    }
+
+    boolean mightContain(UUID voter) {
+        if (saturated) return true;
+        long h1 = mix(voter.getMostSignificantBits());
+        long h2 = mix(voter.getLeastSignificantBits() ^ h1);
+        for (Stage stage : stages) {
+            if (stage.mightContain(h1, h2)) return true;
+        }
+        return false;
+    }
+
+    synchronized void add(UUID voter) {
+        if (saturated) return;
+        Stage stage = stages.get(stages.size() - 1);
+        if (stage.count == stage.capacity) {
+            if (!addStage()) return;
+            stage = stages.get(stages.size() - 1);
+        }
+        long h1 = mix(voter.getMostSignificantBits());
+        stage.add(h1, mix(voter.getLeastSignificantBits() ^ h1));
+    }
+
+    long sizeInBytes() {
+        return stages.stream().mapToLong(s -> (long) s.bits.length() * Long.BYTES).sum();
+    }
+
+    boolean isSaturated() {
+        return saturated;
+    }
+
+    private boolean addStage() {
+        Stage stage = new Stage(nextCapacity, nextFalsePositiveRate);
+        if (!reserve.test((long) stage.bits.length() * Long.BYTES)) {
+            saturated = true;
+            return false;
+        }
+        stages.add(stage);
+        nextCapacity *= 2;
+        nextFalsePositiveRate /= 2;
+        return true;
+    }
+
+    // Murmur3 finalizer, so voters that differ in a few bits land on unrelated positions
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+
+    private static class Stage {
+        final AtomicLongArray bits;
+        final long bitCount;
+        final int hashes;
+        final long capacity;
+        long count;
+
+        Stage(long capacity, double falsePositiveRate) {
+            long optimalBits = (long) Math.ceil(-capacity * Math.log(falsePositiveRate) / (LN2 * LN2));
+            int words = (int) Math.max(1, (optimalBits + Long.SIZE - 1) / Long.SIZE);
+            this.bits = new AtomicLongArray(words);
+            this.bitCount = (long) words * Long.SIZE;
+            this.hashes = Math.max(1, (int) Math.round((double) bitCount / capacity * LN2));
+            this.capacity = capacity;
+        }
+
+        // Double hashing: the i-th position is h1 + i * h2
+        boolean mightContain(long h1, long h2) {
+            for (int i = 0; i < hashes; i++) {
+                long bit = ((h1 + i * h2) & Long.MAX_VALUE) % bitCount;
+                if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) return false;
+            }
+            return true;
+        }
+
+        void add(long h1, long h2) {
+            for (int i = 0; i < hashes; i++) {
+                long bit = ((h1 + i * h2) & Long.MAX_VALUE) % bitCount;
+                long mask = 1L << bit;
+                bits.accumulateAndGet((int) (bit >>> 6), mask, (a, b) -> a | b);
+            }
+            count++;
+        }
+    }
+}
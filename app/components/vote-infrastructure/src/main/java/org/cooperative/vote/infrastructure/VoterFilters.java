@@ -0,0 +1,182 @@
+package org.cooperative.vote.infrastructure;
+
+import lombok.extern.slf4j.Slf4j;
+import org.cooperative.poll.PollListener;
+import org.cooperative.vote.jpa.PollVoteCount;
+import org.cooperative.vote.jpa.VoteRepositoryJpa;
+import org.cooperative.vote.jpa.VoteRow;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+// Per-poll Bloom filters of voters, so "has this member voted" can answer a definite no without a query.
+// Filters are rebuilt from the vote table in the background on startup and every insert of this instance
+// is added before it is written; until the rebuild is done every lookup is a "maybe". A poll with no filter
+// once rebuilt has no votes. Votes written by another instance never reach the filters, so they are only
+// used when this instance is declared the single writer of the database.
+@Slf4j
+@Component
+@Profile("!r2dbc & !vote-log & !memory")
+public class VoterFilters implements PollListener, SmartLifecycle {
+    private final VoteRepositoryJpa voteRepository;
+    private final boolean enabled;
+    private final double falsePositiveRate;
+    private final int initialCapacity;
+    private final long maxBytes;
+    private final ConcurrentMap<Long, VoterBloomFilter> filters = new ConcurrentHashMap<>();
+    private final AtomicLong bytes = new AtomicLong();
+    private final LongAdder negatives = new LongAdder();
+    private final LongAdder positives = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+    private volatile boolean ready;
+    private volatile Thread rebuilder;
+
+    @Autowired
+    public VoterFilters(VoteRepositoryJpa voteRepository,
+            @Value("${cooperative.vote.bloom.enabled:true}") boolean enabled,
+            @Value("${cooperative.vote.bloom.single-instance:false}") boolean singleInstance,
+            @Value("${cooperative.vote.bloom.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${cooperative.vote.bloom.initial-capacity:1024}") int initialCapacity,
+            @Value("${cooperative.vote.bloom.max-memory-mb:64}") long maxMemoryMb) {
+        if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("False positive rate must be between 0 and 1: " + falsePositiveRate);
+        }
+        this.voteRepository = voteRepository;
+        this.enabled = enabled && singleInstance;
+        this.falsePositiveRate = falsePositiveRate;
+        this.initialCapacity = initialCapacity;
+        this.maxBytes = maxMemoryMb * 1024 * 1024;
+    }
+
+    public boolean mightHaveVoted(long pollId, UUID voter) {
+        if (!ready) return true;
+        VoterBloomFilter filter = filters.get(pollId);
+        boolean maybe = filter != null && filter.mightContain(voter);
+        if (maybe) positives.increment();
+        else negatives.increment();
+        return maybe;
+    }
+
+    public void add(long pollId, UUID voter) {
+        if (!enabled) return;
+        filters.computeIfAbsent(pollId, id -> newFilter(initialCapacity))
+                .add(voter);
+    }
+
+    public void recordFalsePositive() {
+        if (ready) falsePositives.increment();
+    }
+
+    @Override
+    public void onPollDeleted(long subjectId, long pollId) {
+        VoterBloomFilter filter = filters.remove(pollId);
+        if (filter != null) bytes.addAndGet(-filter.sizeInBytes());
+    }
+
+    void rebuild() {
+        long start = System.nanoTime();
+        for (PollVoteCount pollVoteCount : voteRepository.countVotesByPoll()) {
+            filters.computeIfAbsent(pollVoteCount.getPollId(),
+                    id -> newFilter(Math.max(initialCapacity, 2 * pollVoteCount.getCount())));
+        }
+        try (Stream<VoteRow> votes = voteRepository.streamVoters()) {
+            votes.forEach(v -> add(v.getPollId(), v.getVoter()));
+        }
+        ready = true;
+        log.info("Rebuilt voter filters - polls: {}, bytes: {}, millis: {}", filters.size(), bytes.get(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private VoterBloomFilter newFilter(long capacity) {
+        return new VoterBloomFilter(capacity, falsePositiveRate, this::reserve);
+    }
+
+    private boolean reserve(long size) {
+        long current;
+        do {
+            current = bytes.get();
+            if (current + size > maxBytes) {
+                log.warn("Voter filter memory exhausted, lookups fall back to the database - bytes: {}", current);
+                return false;
+            }
+        } while (!bytes.compareAndSet(current, current + size));
+        return true;
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            log.info("Voter filters disabled");
+            return;
+        }
+        Thread thread = new Thread(() -> {
+            try {
+                rebuild();
+            } catch (RuntimeException e) {
+                log.error("Failed to rebuild voter filters, lookups fall back to the database", e);
+            }
+        }, "voter-filter-rebuild");
+        thread.setDaemon(true);
+        rebuilder = thread;
+        thread.start();
+    }
+
+    @Override
+    public void stop() {
+        Thread thread = rebuilder;
+        rebuilder = null;
+        if (thread != null) thread.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return rebuilder != null;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public long memoryBytes() {
+        return bytes.get();
+    }
+
+    public long maxMemoryBytes() {
+        return maxBytes;
+    }
+
+    public double falsePositiveRate() {
+        return falsePositiveRate;
+    }
+
+    public int polls() {
+        return filters.size();
+    }
+
+    public long saturatedPolls() {
+        return filters.values().stream()
+                .filter(VoterBloomFilter::isSaturated)
+                .count();
+    }
+
+    public long negativeLookups() {
+        return negatives.sum();
+    }
+
+    public long maybeLookups() {
+        return positives.sum();
+    }
+
+    public long falsePositives() {
+        return falsePositives.sum();
+    }
+}
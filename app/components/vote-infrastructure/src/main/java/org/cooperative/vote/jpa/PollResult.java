@@ -0,0 +1,34 @@
+package org.cooperative.vote.jpa;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import java.time.OffsetDateTime;
+
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor(staticName = "of")
+@Builder
+@Table(name = "poll_result")
+public class PollResult {
+    @Id
+    @Column(name = "poll_id")
+    private long pollId;
+
+    // The poll end date the result was counted for; a snapshot only holds while it still matches
+    @Column(name = "end_date", nullable = false, columnDefinition = "TIMESTAMP WITH TIME ZONE")
+    private OffsetDateTime endDate;
+
+    @Column(nullable = false)
+    private long agree;
+
+    @Column(nullable = false)
+    private long disagree;
+}
@@ -0,0 +1,25 @@
+package org.cooperative.vote.jpa;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+public interface PollResultRepositoryJpa extends CrudRepository<PollResult, Long> {
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO poll_result (poll_id, end_date, agree, disagree) " +
+            "VALUES (:#{#result.pollId}, :#{#result.endDate}, :#{#result.agree}, :#{#result.disagree}) " +
+            "ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("result") PollResult result);
+
+    // Only a result counted for another end date is replaced, the poll having been moved since
+    @Transactional
+    @Modifying
+    @Query("UPDATE PollResult r SET r.endDate = :#{#result.endDate}, r.agree = :#{#result.agree}, " +
+            "r.disagree = :#{#result.disagree} " +
+            "WHERE r.pollId = :#{#result.pollId} AND r.endDate <> :#{#result.endDate}")
+    int replaceStale(@Param("result") PollResult result);
+}
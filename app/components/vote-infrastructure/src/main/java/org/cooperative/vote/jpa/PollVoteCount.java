@@ -0,0 +1,6 @@
+package org.cooperative.vote.jpa;
+
+public interface PollVoteCount {
+    long getPollId();
+    long getCount();
+}
@@ -0,0 +1,19 @@
+package org.cooperative.vote.jpa;
+
+import lombok.Value;
+
+import java.time.OffsetDateTime;
+
+// The final counts are only set when a result was stored for the poll's current end date
+@Value
+public class PollVotesRow {
+    long id;
+    String name;
+    OffsetDateTime startDate;
+    OffsetDateTime endDate;
+    long subjectId;
+    Long finalAgree;
+    Long finalDisagree;
+    long agree;
+    long disagree;
+}
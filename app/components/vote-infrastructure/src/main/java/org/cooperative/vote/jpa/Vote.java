@@ -3,14 +3,22 @@ package org.cooperative.vote.jpa;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
+import lombok.ToString;
 import org.cooperative.poll.jpa.Poll;
 
 import javax.persistence.Column;
 import javax.persistence.Entity;
+import javax.persistence.FetchType;
 import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.JoinColumn;
 import javax.persistence.ManyToOne;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 import java.time.OffsetDateTime;
 import java.util.UUID;
 
@@ -19,9 +27,11 @@ import java.util.UUID;
 @NoArgsConstructor
 @AllArgsConstructor(staticName = "of")
 @Builder
+@Table(uniqueConstraints = @UniqueConstraint(name = "vote_poll_voter_key", columnNames = {"poll_id", "voter"}))
 public class Vote {
     @Id
-    @GeneratedValue
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "vote_id")
+    @SequenceGenerator(name = "vote_id", sequenceName = "vote_id_seq", allocationSize = 100)
     private Long id;
 
     @Column(nullable = false)
@@ -33,6 +43,12 @@ public class Vote {
     @Column(name = "vote_date", nullable = false, columnDefinition = "TIMESTAMP WITH TIME ZONE")
     private OffsetDateTime voteDate;
 
-    @ManyToOne(optional = false)
+    @Column(name = "poll_id", nullable = false)
+    private long pollId;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "poll_id", insertable = false, updatable = false)
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private Poll poll;
 }
@@ -0,0 +1,8 @@
+package org.cooperative.vote.jpa;
+
+import java.util.stream.Stream;
+
+public interface VoteCursorRepository {
+    Stream<VoteRow> streamByPoll(long subjectId, long pollId);
+    Stream<VoteRow> streamVoters();
+}
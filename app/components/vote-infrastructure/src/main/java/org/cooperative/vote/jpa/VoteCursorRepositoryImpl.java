@@ -0,0 +1,71 @@
+package org.cooperative.vote.jpa;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import javax.persistence.EntityTransaction;
+import javax.persistence.PersistenceUnit;
+import javax.persistence.TypedQuery;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+@Slf4j
+public class VoteCursorRepositoryImpl implements VoteCursorRepository {
+    private static final String STREAM_BY_POLL = "SELECT new org.cooperative.vote.jpa.VoteRow(" +
+            "v.voter, v.agree, v.voteDate, v.pollId) FROM Vote v " +
+            "WHERE v.poll.subject.id = :subjectId AND v.pollId = :pollId";
+    private static final String STREAM_VOTERS = "SELECT new org.cooperative.vote.jpa.VoteRow(" +
+            "v.voter, v.agree, v.voteDate, v.pollId) FROM Vote v";
+
+    @PersistenceUnit
+    private EntityManagerFactory entityManagerFactory;
+
+    @Value("${cooperative.vote.stream.fetch-size:1000}")
+    private int fetchSize;
+
+    // The stream is read from whichever thread Reactor drains it on, so it owns its entity manager and
+    // transaction instead of binding them to the calling thread; the transaction keeps the cursor open
+    @Override
+    public Stream<VoteRow> streamByPoll(long subjectId, long pollId) {
+        return stream(entityManager -> entityManager.createQuery(STREAM_BY_POLL, VoteRow.class)
+                .setParameter("subjectId", subjectId)
+                .setParameter("pollId", pollId));
+    }
+
+    @Override
+    public Stream<VoteRow> streamVoters() {
+        return stream(entityManager -> entityManager.createQuery(STREAM_VOTERS, VoteRow.class));
+    }
+
+    private Stream<VoteRow> stream(Function<EntityManager, TypedQuery<VoteRow>> query) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        EntityTransaction transaction = entityManager.getTransaction();
+        try {
+            transaction.begin();
+            Stream<VoteRow> rows = query.apply(entityManager)
+                    .setHint("org.hibernate.fetchSize", fetchSize)
+                    .setHint("org.hibernate.readOnly", true)
+                    .getResultStream();
+            // Hibernate's stream only runs its close handler after a terminal operation, not on close()
+            return StreamSupport.stream(rows.spliterator(), false)
+                    .onClose(rows::close)
+                    .onClose(() -> close(entityManager, transaction));
+        } catch (RuntimeException e) {
+            close(entityManager, transaction);
+            throw e;
+        }
+    }
+
+    private void close(EntityManager entityManager, EntityTransaction transaction) {
+        try {
+            if (transaction.isActive()) transaction.rollback();
+        } catch (RuntimeException e) {
+            log.warn("Failed to end vote stream transaction", e);
+        } finally {
+            entityManager.close();
+        }
+    }
+}
@@ -1,19 +1,57 @@
 package org.cooperative.vote.jpa;
 
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
-public interface VoteRepositoryJpa extends CrudRepository<Vote, Long> {
-    List<Vote> findByPoll_Subject_IdAndPoll_Id(long subjectId, long pollId);
+public interface VoteRepositoryJpa extends CrudRepository<Vote, Long>, VoteCursorRepository {
     Optional<Vote> findByPoll_Subject_IdAndPoll_IdAndVoter(long subjectId, long pollId, UUID voter);
 
+    // Keyset pages walk the unique (poll_id, voter) index, so a late page costs the same as the first
+    @Query("SELECT new org.cooperative.vote.jpa.VoteRow(v.voter, v.agree, v.voteDate, v.pollId) FROM Vote v " +
+            "WHERE v.poll.subject.id = :subjectId AND v.pollId = :pollId ORDER BY v.voter")
+    List<VoteRow> findPageByPoll(@Param("subjectId") long subjectId, @Param("pollId") long pollId,
+            Pageable pageable);
+
+    @Query("SELECT new org.cooperative.vote.jpa.VoteRow(v.voter, v.agree, v.voteDate, v.pollId) FROM Vote v " +
+            "WHERE v.poll.subject.id = :subjectId AND v.pollId = :pollId AND v.voter > :afterVoter " +
+            "ORDER BY v.voter")
+    List<VoteRow> findPageByPollAfter(@Param("subjectId") long subjectId, @Param("pollId") long pollId,
+            @Param("afterVoter") UUID afterVoter, Pageable pageable);
+
     @Query("SELECT v.agree as agree, COUNT(v.agree) as count FROM Vote v " +
             "WHERE v.poll.subject.id = :subjectId AND v.poll.id = :pollId " +
             "GROUP BY v.agree")
     List<VoteCount> countVotes(@Param("subjectId") long subjectId, @Param("pollId") long pollId);
+
+    // The poll and its count in one statement. Votes are only joined when no result is stored for the poll's
+    // end date, so a closed poll is read by key instead of counted again.
+    @Query("SELECT new org.cooperative.vote.jpa.PollVotesRow(p.id, p.name, p.startDate, p.endDate, p.subject.id, " +
+            "r.agree, r.disagree, " +
+            "SUM(CASE WHEN v.agree = true THEN 1 ELSE 0 END), SUM(CASE WHEN v.agree = false THEN 1 ELSE 0 END)) " +
+            "FROM Poll p " +
+            "LEFT JOIN PollResult r ON r.pollId = p.id AND r.endDate = p.endDate " +
+            "LEFT JOIN Vote v ON v.pollId = p.id AND r.pollId IS NULL " +
+            "WHERE p.subject.id = :subjectId AND p.id = :pollId " +
+            "GROUP BY p.id, p.name, p.startDate, p.endDate, p.subject.id, r.agree, r.disagree")
+    Optional<PollVotesRow> findPollVotes(@Param("subjectId") long subjectId, @Param("pollId") long pollId);
+
+    @Query("SELECT v.pollId as pollId, COUNT(v) as count FROM Vote v GROUP BY v.pollId")
+    List<PollVoteCount> countVotesByPoll();
+
+    // The id comes from the sequence, so the only conflict left is vote_poll_voter_key: a repeated voter
+    @Transactional
+    @Modifying
+    @Query(value = "INSERT INTO vote (id, voter, agree, vote_date, poll_id) " +
+            "VALUES (nextval('vote_id_seq'), :#{#vote.voter}, :#{#vote.agree}, :#{#vote.voteDate}, :#{#vote.pollId}) " +
+            "ON CONFLICT DO NOTHING",
+            nativeQuery = true)
+    int insertIfAbsent(@Param("vote") Vote vote);
 }
@@ -0,0 +1,14 @@
+package org.cooperative.vote.jpa;
+
+import lombok.Value;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Value
+public class VoteRow {
+    UUID voter;
+    boolean agree;
+    OffsetDateTime voteDate;
+    long pollId;
+}
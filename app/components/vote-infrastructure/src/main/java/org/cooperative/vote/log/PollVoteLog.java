@@ -0,0 +1,149 @@
+package org.cooperative.vote.log;
+
+import org.cooperative.vote.Vote;
+import org.cooperative.vote.VoteCount;
+import org.cooperative.vote.infrastructure.PollVoterIndex;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Votes of one poll: an append-only run of segments plus an index from voter to record position, so a read
+// decodes only the records it returns. Appends are serialized per poll; reads go through the index.
+class PollVoteLog {
+    private static final String SEGMENT_SUFFIX = ".seg";
+
+    private final Path directory;
+    private final long subjectId;
+    private final long pollId;
+    private final int segmentRecords;
+    private final List<VoteLogSegment> segments = new CopyOnWriteArrayList<>();
+    private final PollVoterIndex<Long> index;
+    private VoteLogSegment current;
+    private int nextSlot;
+
+    private PollVoteLog(Path directory, long subjectId, long pollId, int segmentRecords) {
+        this.directory = directory;
+        this.subjectId = subjectId;
+        this.pollId = pollId;
+        this.segmentRecords = segmentRecords;
+        this.index = new PollVoterIndex<>(subjectId);
+    }
+
+    static PollVoteLog create(Path directory, long subjectId, long pollId, int segmentRecords) {
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new PollVoteLog(directory, subjectId, pollId, segmentRecords);
+    }
+
+    // Segments are scanned in order up to the first slot not written for this poll
+    static PollVoteLog recover(Path directory, long subjectId, long pollId, int segmentRecords) throws IOException {
+        PollVoteLog log = new PollVoteLog(directory, subjectId, pollId, segmentRecords);
+        List<Path> paths;
+        try (Stream<Path> files = Files.list(directory)) {
+            paths = files.filter(p -> p.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+        for (Path path : paths) {
+            VoteLogSegment segment = VoteLogSegment.open(path, segmentRecords);
+            int segmentIndex = log.segments.size();
+            log.segments.add(segment);
+            log.current = segment;
+            log.nextSlot = 0;
+            while (log.nextSlot < segment.capacity() && segment.pollId(log.nextSlot) == pollId) {
+                log.indexRecord(segmentIndex, log.nextSlot);
+                log.nextSlot++;
+            }
+        }
+        return log;
+    }
+
+    long getSubjectId() {
+        return subjectId;
+    }
+
+    Path getDirectory() {
+        return directory;
+    }
+
+    // Returns the segment written to, or null if the voter already voted on this poll
+    synchronized VoteLogSegment append(UUID voter, boolean agree, OffsetDateTime voteDate) {
+        if (index.contains(voter)) return null;
+        if (current == null || nextSlot == current.capacity()) roll();
+        current.write(nextSlot, pollId, voter, agree, toEpochMicros(voteDate));
+        indexRecord(segments.size() - 1, nextSlot++);
+        return current;
+    }
+
+    Optional<Vote> getVote(UUID voter) {
+        return index.get(voter).map(this::read);
+    }
+
+    Stream<Vote> getVotes(UUID afterVoter, int limit) {
+        return index.getPage(afterVoter, limit)
+                .map(this::read);
+    }
+
+    VoteCount getVoteCount() {
+        return index.getVoteCount();
+    }
+
+    void force() {
+        segments.forEach(VoteLogSegment::force);
+    }
+
+    private void roll() {
+        Path path = directory.resolve(String.format("%08d%s", segments.size(), SEGMENT_SUFFIX));
+        try {
+            current = VoteLogSegment.open(path, segmentRecords);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        segments.add(current);
+        nextSlot = 0;
+    }
+
+    private void indexRecord(int segmentIndex, int slot) {
+        VoteLogSegment segment = segments.get(segmentIndex);
+        index.add(segment.voter(slot), segment.agree(slot), position(segmentIndex, slot));
+    }
+
+    private Vote read(long position) {
+        VoteLogSegment segment = segments.get((int) (position >>> 32));
+        int slot = (int) position;
+        return Vote.builder()
+                .voter(segment.voter(slot))
+                .agree(segment.agree(slot))
+                .voteDate(fromEpochMicros(segment.epochMicros(slot)))
+                .subjectId(subjectId)
+                .pollId(pollId)
+                .build();
+    }
+
+    private static long position(int segmentIndex, int slot) {
+        return (long) segmentIndex << 32 | slot;
+    }
+
+    private static long toEpochMicros(OffsetDateTime dateTime) {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, dateTime.toInstant());
+    }
+
+    private static OffsetDateTime fromEpochMicros(long epochMicros) {
+        return OffsetDateTime.ofInstant(Instant.EPOCH.plus(epochMicros, ChronoUnit.MICROS), ZoneOffset.UTC);
+    }
+}
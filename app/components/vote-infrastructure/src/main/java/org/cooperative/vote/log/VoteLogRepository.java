@@ -0,0 +1,269 @@
+package org.cooperative.vote.log;
+
+import lombok.extern.slf4j.Slf4j;
+import org.cooperative.poll.PollListener;
+import org.cooperative.poll.PollRepository;
+import org.cooperative.span.Span;
+import org.cooperative.vote.PollVotes;
+import org.cooperative.vote.Vote;
+import org.cooperative.vote.VoteCount;
+import org.cooperative.vote.VoteRepository;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+// Votes appended to per-poll memory-mapped segments under <dir>/<subjectId>-<pollId>/. A write returns once
+// the forcer thread has flushed its segment, so concurrent writers share one force() per interval.
+@Slf4j
+@Component
+@Profile("vote-log")
+@Span
+public class VoteLogRepository implements VoteRepository, PollListener, DisposableBean {
+    private static final Pattern POLL_DIRECTORY = Pattern.compile("(\\d+)-(\\d+)");
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 10_000;
+
+    private final PollRepository pollRepository;
+    private final Path directory;
+    private final int segmentRecords;
+    private final long forceIntervalMillis;
+    private final ConcurrentMap<Long, PollVoteLog> polls = new ConcurrentHashMap<>();
+    private final Object forceLock = new Object();
+    // Writers append and mark their segment dirty under the read lock and shutdown flips running under the
+    // write lock, so nothing is appended after the final force that releases every waiting writer
+    private final ReadWriteLock shutdownLock = new ReentrantReadWriteLock();
+    private Set<VoteLogSegment> dirty = new HashSet<>();
+    private long appended;
+    private long forced;
+    private final Thread forcer;
+    private volatile boolean running = true;
+
+    @Autowired
+    public VoteLogRepository(PollRepository pollRepository,
+            @Value("${cooperative.vote.log.dir:vote-log}") String directory,
+            @Value("${cooperative.vote.log.segment-records:65536}") int segmentRecords,
+            @Value("${cooperative.vote.log.force-interval-ms:5}") long forceIntervalMillis) throws IOException {
+        this.pollRepository = pollRepository;
+        this.directory = Paths.get(directory);
+        this.segmentRecords = segmentRecords;
+        this.forceIntervalMillis = forceIntervalMillis;
+        recover();
+        this.forcer = new Thread(this::run, "vote-log-forcer");
+        this.forcer.setDaemon(true);
+        this.forcer.start();
+    }
+
+    private void recover() throws IOException {
+        Files.createDirectories(directory);
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path path : (Iterable<Path>) files::iterator) {
+                Matcher matcher = POLL_DIRECTORY.matcher(path.getFileName().toString());
+                if (!Files.isDirectory(path) || !matcher.matches()) continue;
+                long pollId = Long.parseLong(matcher.group(2));
+                polls.put(pollId, PollVoteLog.recover(path, Long.parseLong(matcher.group(1)), pollId,
+                        segmentRecords));
+            }
+        }
+        log.info("Recovered vote log - directory: {}, polls: {}", directory, polls.size());
+    }
+
+    @Override
+    public boolean createVoteIfAbsent(Vote vote) {
+        long sequence;
+        shutdownLock.readLock().lock();
+        try {
+            VoteLogSegment segment = append(vote);
+            if (segment == null) return false;
+            sequence = markDirty(segment);
+        } finally {
+            shutdownLock.readLock().unlock();
+        }
+        awaitForced(sequence);
+        return true;
+    }
+
+    @Override
+    public List<Boolean> createVotesIfAbsent(List<Vote> votes) {
+        List<Boolean> created = new ArrayList<>(votes.size());
+        long last = 0;
+        shutdownLock.readLock().lock();
+        try {
+            for (Vote vote : votes) {
+                VoteLogSegment segment = append(vote);
+                created.add(segment != null);
+                if (segment != null) last = markDirty(segment);
+            }
+        } finally {
+            shutdownLock.readLock().unlock();
+        }
+        if (last > 0) awaitForced(last);
+        return created;
+    }
+
+    @Override
+    public Stream<Vote> getVoteBySubjectIdPollId(long subjectId, long pollId) {
+        return getPollLog(subjectId, pollId)
+                .map(p -> p.getVotes(null, Integer.MAX_VALUE))
+                .orElseGet(Stream::empty);
+    }
+
+    @Override
+    public Stream<Vote> getVotePageBySubjectIdPollId(long subjectId, long pollId, UUID afterVoter, int limit) {
+        return getPollLog(subjectId, pollId)
+                .map(p -> p.getVotes(afterVoter, limit))
+                .orElseGet(Stream::empty);
+    }
+
+    @Override
+    public Optional<Vote> getVoteBySubjectIdPollIdVoter(long subjectId, long pollId, UUID voter) {
+        return getPollLog(subjectId, pollId)
+                .flatMap(p -> p.getVote(voter));
+    }
+
+    @Override
+    public VoteCount getVoteCountForPoll(long subjectId, long pollId) {
+        return getPollLog(subjectId, pollId)
+                .map(PollVoteLog::getVoteCount)
+                .orElseGet(() -> VoteCount.of(0, 0));
+    }
+
+    // The counts are rebuilt from the segments on startup, so unlike poll_result they need not be stored apart
+    @Override
+    public VoteCount finalizeVoteCount(long subjectId, long pollId, OffsetDateTime endDate) {
+        return getVoteCountForPoll(subjectId, pollId);
+    }
+
+    // Polls stay in the database while votes live in the segments, so the two cannot be read in one statement
+    @Override
+    public Optional<PollVotes> getPollVotes(long subjectId, long pollId) {
+        return pollRepository.getBySubjectIdAndPollId(subjectId, pollId)
+                .map(poll -> PollVotes.of(poll, getVoteCountForPoll(subjectId, pollId), false));
+    }
+
+    @Override
+    public void onPollDeleted(long subjectId, long pollId) {
+        PollVoteLog pollLog = polls.remove(pollId);
+        if (pollLog == null) return;
+        try (Stream<Path> files = Files.walk(pollLog.getDirectory())) {
+            for (Path path : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to delete vote log of poll - subjectId: {}, pollId: {}", subjectId, pollId, e);
+        }
+    }
+
+    private Optional<PollVoteLog> getPollLog(long subjectId, long pollId) {
+        return Optional.ofNullable(polls.get(pollId))
+                .filter(p -> p.getSubjectId() == subjectId);
+    }
+
+    // The segment directory is named after the vote's subject, which admission already checked owns the poll
+    private VoteLogSegment append(Vote vote) {
+        if (!running) throw new IllegalStateException("Vote log is shut down");
+        PollVoteLog pollLog = polls.computeIfAbsent(vote.getPollId(), id -> PollVoteLog.create(
+                directory.resolve(vote.getSubjectId() + "-" + id), vote.getSubjectId(), id, segmentRecords));
+        return pollLog.append(vote.getVoter(), vote.isAgree(), vote.getVoteDate());
+    }
+
+    private long markDirty(VoteLogSegment segment) {
+        synchronized (forceLock) {
+            dirty.add(segment);
+            forceLock.notifyAll();
+            return ++appended;
+        }
+    }
+
+    private void awaitForced(long sequence) {
+        synchronized (forceLock) {
+            try {
+                while (forced < sequence) forceLock.wait();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while waiting for vote to be written", e);
+            }
+        }
+    }
+
+    @Override
+    public void destroy() throws InterruptedException {
+        log.info("Closing vote log - directory: {}", directory);
+        shutdownLock.writeLock().lock();
+        try {
+            running = false;
+        } finally {
+            shutdownLock.writeLock().unlock();
+        }
+        synchronized (forceLock) {
+            forceLock.notifyAll();
+        }
+        forcer.join(SHUTDOWN_TIMEOUT_MILLIS);
+        polls.values().forEach(PollVoteLog::force);
+        synchronized (forceLock) {
+            forced = appended;
+            forceLock.notifyAll();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                long target;
+                Set<VoteLogSegment> batch;
+                synchronized (forceLock) {
+                    while (running && appended == forced) forceLock.wait();
+                    if (!running) return;
+                }
+                Thread.sleep(forceIntervalMillis);
+                synchronized (forceLock) {
+                    target = appended;
+                    batch = dirty;
+                    dirty = new HashSet<>();
+                }
+                force(batch);
+                synchronized (forceLock) {
+                    forced = target;
+                    forceLock.notifyAll();
+                }
+            } catch (InterruptedException e) {
+                log.warn("Vote log forcer interrupted");
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    // A failed force still releases the writers: the records are in the page cache and survive a process
+    // crash, only an operating system crash could lose them
+    private void force(Set<VoteLogSegment> segments) {
+        for (VoteLogSegment segment : segments) {
+            try {
+                segment.force();
+            } catch (UncheckedIOException e) {
+                log.error("Failed to force vote log segment: {}", segment, e);
+            }
+        }
+    }
+}
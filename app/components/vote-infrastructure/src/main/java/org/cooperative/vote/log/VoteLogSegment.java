@@ -0,0 +1,76 @@
+package org.cooperative.vote.log;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+// Fixed-size records: poll id, voter most and least significant bits, then epoch micros shifted left
+// with the agree bit in the lowest bit. Unwritten slots are zero, so a slot whose poll id does not match
+// marks the end of the log.
+class VoteLogSegment {
+    static final int RECORD_SIZE = 4 * Long.BYTES;
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+
+    private VoteLogSegment(Path path, MappedByteBuffer buffer, int capacity) {
+        this.path = path;
+        this.buffer = buffer;
+        this.capacity = capacity;
+    }
+
+    // An existing segment keeps its size even if the configured segment size changed since it was created
+    static VoteLogSegment open(Path path, int records) throws IOException {
+        long size = Files.exists(path) ? Files.size(path) : 0;
+        int capacity = size > 0 ? (int) (size / RECORD_SIZE) : records;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, (long) capacity * RECORD_SIZE);
+            return new VoteLogSegment(path, buffer, capacity);
+        }
+    }
+
+    void write(int slot, long pollId, UUID voter, boolean agree, long epochMicros) {
+        int offset = slot * RECORD_SIZE;
+        buffer.putLong(offset + Long.BYTES, voter.getMostSignificantBits());
+        buffer.putLong(offset + 2 * Long.BYTES, voter.getLeastSignificantBits());
+        buffer.putLong(offset + 3 * Long.BYTES, epochMicros << 1 | (agree ? 1 : 0));
+        // Poll id last: a record torn by a crash is not mistaken for a written one on recovery
+        buffer.putLong(offset, pollId);
+    }
+
+    long pollId(int slot) {
+        return buffer.getLong(slot * RECORD_SIZE);
+    }
+
+    UUID voter(int slot) {
+        int offset = slot * RECORD_SIZE;
+        return new UUID(buffer.getLong(offset + Long.BYTES), buffer.getLong(offset + 2 * Long.BYTES));
+    }
+
+    boolean agree(int slot) {
+        return (buffer.getLong(slot * RECORD_SIZE + 3 * Long.BYTES) & 1) == 1;
+    }
+
+    long epochMicros(int slot) {
+        return buffer.getLong(slot * RECORD_SIZE + 3 * Long.BYTES) >> 1;
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    @Override
+    public String toString() {
+        return path.toString();
+    }
+}
@@ -0,0 +1,104 @@
+package org.cooperative.vote.memory;
+
+import org.cooperative.poll.PollListener;
+import org.cooperative.poll.PollRepository;
+import org.cooperative.span.Span;
+import org.cooperative.vote.PollVotes;
+import org.cooperative.vote.Vote;
+import org.cooperative.vote.VoteCount;
+import org.cooperative.vote.VoteRepository;
+import org.cooperative.vote.infrastructure.PollVoterIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
+
+// Votes held in the process only, lost on restart. Each poll's votes are kept whole in a PollVoterIndex, so
+// reads hand back the stored Vote objects and counting never walks the votes.
+@Component
+@Profile("memory & !vote-log")
+@Span
+public class MemoryVoteRepository implements VoteRepository, PollListener {
+    private final PollRepository pollRepository;
+    private final ConcurrentMap<Long, PollVoterIndex<Vote>> polls = new ConcurrentHashMap<>();
+
+    @Autowired
+    public MemoryVoteRepository(PollRepository pollRepository) {
+        this.pollRepository = pollRepository;
+    }
+
+    @Override
+    public boolean createVoteIfAbsent(Vote vote) {
+        return append(vote);
+    }
+
+    @Override
+    public List<Boolean> createVotesIfAbsent(List<Vote> votes) {
+        List<Boolean> created = new ArrayList<>(votes.size());
+        for (Vote vote : votes) created.add(append(vote));
+        return created;
+    }
+
+    @Override
+    public Stream<Vote> getVoteBySubjectIdPollId(long subjectId, long pollId) {
+        return getVotePageBySubjectIdPollId(subjectId, pollId, null, Integer.MAX_VALUE);
+    }
+
+    @Override
+    public Stream<Vote> getVotePageBySubjectIdPollId(long subjectId, long pollId, UUID afterVoter, int limit) {
+        return getPollVoters(subjectId, pollId)
+                .map(p -> p.getPage(afterVoter, limit))
+                .orElseGet(Stream::empty);
+    }
+
+    @Override
+    public Optional<Vote> getVoteBySubjectIdPollIdVoter(long subjectId, long pollId, UUID voter) {
+        return getPollVoters(subjectId, pollId)
+                .flatMap(p -> p.get(voter));
+    }
+
+    @Override
+    public VoteCount getVoteCountForPoll(long subjectId, long pollId) {
+        return getPollVoters(subjectId, pollId)
+                .map(PollVoterIndex::getVoteCount)
+                .orElseGet(() -> VoteCount.of(0, 0));
+    }
+
+    // Nothing outlives the process here, so there is no result to store: the live tally is final
+    @Override
+    public VoteCount finalizeVoteCount(long subjectId, long pollId, OffsetDateTime endDate) {
+        return getVoteCountForPoll(subjectId, pollId);
+    }
+
+    // The poll comes from whichever poll repository is active, the count from the live tally
+    @Override
+    public Optional<PollVotes> getPollVotes(long subjectId, long pollId) {
+        return pollRepository.getBySubjectIdAndPollId(subjectId, pollId)
+                .map(poll -> PollVotes.of(poll, getVoteCountForPoll(subjectId, pollId), false));
+    }
+
+    @Override
+    public void onPollDeleted(long subjectId, long pollId) {
+        polls.remove(pollId);
+    }
+
+    // Poll ids are unique across subjects, so votes are keyed by poll and the subject is checked on reads
+    private Optional<PollVoterIndex<Vote>> getPollVoters(long subjectId, long pollId) {
+        return Optional.ofNullable(polls.get(pollId))
+                .filter(p -> p.getSubjectId() == subjectId);
+    }
+
+    // The vote itself is the indexed value; its subject is taken as given since admission already checked it
+    private boolean append(Vote vote) {
+        return polls.computeIfAbsent(vote.getPollId(), id -> new PollVoterIndex<>(vote.getSubjectId()))
+                .add(vote.getVoter(), vote.isAgree(), vote);
+    }
+}
@@ -0,0 +1,170 @@
+package org.cooperative.vote.r2dbc;
+
+import io.r2dbc.spi.Row;
+import org.cooperative.poll.Poll;
+import org.cooperative.span.Span;
+import org.cooperative.vote.PollVotes;
+import org.cooperative.vote.ReactiveVoteRepository;
+import org.cooperative.vote.Vote;
+import org.cooperative.vote.VoteCount;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+@Component
+@Profile("r2dbc")
+@Span
+public class R2dbcVoteRepository implements ReactiveVoteRepository {
+    private static final String SELECT_VOTE = "SELECT v.voter, v.agree, v.vote_date, v.poll_id, p.subject_id " +
+            "FROM vote v JOIN poll p ON p.id = v.poll_id ";
+
+    private final DatabaseClient databaseClient;
+
+    @Autowired
+    public R2dbcVoteRepository(DatabaseClient databaseClient) {
+        this.databaseClient = databaseClient;
+    }
+
+    // Like the JPA insertIfAbsent, only a second vote of the voter is skipped: the id comes from the sequence,
+    // so (poll_id, voter) is the only unique key left to conflict on, and a missing poll still fails on the
+    // foreign key. The conflict target is left out because H2's PostgreSQL mode does not accept one.
+    @Override
+    public Mono<Boolean> createVoteIfAbsent(Vote vote) {
+        return databaseClient.sql("INSERT INTO vote (id, voter, agree, vote_date, poll_id) " +
+                        "VALUES (nextval('vote_id_seq'), :voter, :agree, :voteDate, :pollId) " +
+                        "ON CONFLICT DO NOTHING")
+                .bind("voter", vote.getVoter())
+                .bind("agree", vote.isAgree())
+                .bind("voteDate", vote.getVoteDate())
+                .bind("pollId", vote.getPollId())
+                .fetch()
+                .rowsUpdated()
+                .map(rows -> rows == 1);
+    }
+
+    @Override
+    public Flux<Vote> getVoteBySubjectIdPollId(long subjectId, long pollId) {
+        return databaseClient.sql(SELECT_VOTE + "WHERE p.subject_id = :subjectId AND v.poll_id = :pollId")
+                .bind("subjectId", subjectId)
+                .bind("pollId", pollId)
+                .map(this::mapFromRow)
+                .all();
+    }
+
+    @Override
+    public Flux<Vote> getVotePageBySubjectIdPollId(long subjectId, long pollId, UUID afterVoter, int limit) {
+        DatabaseClient.GenericExecuteSpec spec = afterVoter == null
+                ? databaseClient.sql(SELECT_VOTE + "WHERE p.subject_id = :subjectId AND v.poll_id = :pollId " +
+                        "ORDER BY v.voter LIMIT :limit")
+                : databaseClient.sql(SELECT_VOTE + "WHERE p.subject_id = :subjectId AND v.poll_id = :pollId " +
+                        "AND v.voter > :afterVoter ORDER BY v.voter LIMIT :limit")
+                        .bind("afterVoter", afterVoter);
+        return spec.bind("subjectId", subjectId)
+                .bind("pollId", pollId)
+                .bind("limit", limit)
+                .map(this::mapFromRow)
+                .all();
+    }
+
+    @Override
+    public Mono<Vote> getVoteBySubjectIdPollIdVoter(long subjectId, long pollId, UUID voter) {
+        return databaseClient.sql(SELECT_VOTE +
+                        "WHERE p.subject_id = :subjectId AND v.poll_id = :pollId AND v.voter = :voter")
+                .bind("subjectId", subjectId)
+                .bind("pollId", pollId)
+                .bind("voter", voter)
+                .map(this::mapFromRow)
+                .one();
+    }
+
+    @Override
+    public Mono<VoteCount> getVoteCountForPoll(long subjectId, long pollId) {
+        return databaseClient.sql("SELECT v.agree AS agree, COUNT(*) AS count " +
+                        "FROM vote v JOIN poll p ON p.id = v.poll_id " +
+                        "WHERE p.subject_id = :subjectId AND v.poll_id = :pollId GROUP BY v.agree")
+                .bind("subjectId", subjectId)
+                .bind("pollId", pollId)
+                .map(row -> Boolean.TRUE.equals(row.get("agree", Boolean.class))
+                        ? VoteCount.of(row.get("count", Long.class), 0)
+                        : VoteCount.of(0, row.get("count", Long.class)))
+                .all()
+                .reduce(VoteCount.of(0, 0), (a, b) -> VoteCount.of(a.getAgree() + b.getAgree(),
+                        a.getDisagree() + b.getDisagree()));
+    }
+
+    // Insert first, and only when a row is already there replace it if it was counted for another end date.
+    // A row of another instance for the same end date holds the same count of the same closed poll.
+    @Override
+    public Mono<VoteCount> finalizeVoteCount(long subjectId, long pollId, OffsetDateTime endDate) {
+        return getVoteCountForPoll(subjectId, pollId)
+                .flatMap(voteCount -> bindPollResult(databaseClient.sql("INSERT INTO poll_result " +
+                                "(poll_id, end_date, agree, disagree) " +
+                                "VALUES (:pollId, :endDate, :agree, :disagree) " +
+                                "ON CONFLICT DO NOTHING"), pollId, endDate, voteCount)
+                        .fetch()
+                        .rowsUpdated()
+                        .flatMap(rows -> rows > 0 ? Mono.just(rows)
+                                : bindPollResult(databaseClient.sql("UPDATE poll_result " +
+                                        "SET end_date = :endDate, agree = :agree, disagree = :disagree " +
+                                        "WHERE poll_id = :pollId AND end_date <> :endDate"), pollId, endDate, voteCount)
+                                        .fetch()
+                                        .rowsUpdated())
+                        .thenReturn(voteCount));
+    }
+
+    // Votes are only joined when no result is stored for the poll's end date, so a closed poll is read by key
+    @Override
+    public Mono<PollVotes> getPollVotes(long subjectId, long pollId) {
+        return databaseClient.sql("SELECT p.id, p.name, p.start_date, p.end_date, p.subject_id, " +
+                        "r.agree AS final_agree, r.disagree AS final_disagree, " +
+                        "COUNT(CASE WHEN v.agree THEN 1 END) AS agree, " +
+                        "COUNT(CASE WHEN NOT v.agree THEN 1 END) AS disagree " +
+                        "FROM poll p " +
+                        "LEFT JOIN poll_result r ON r.poll_id = p.id AND r.end_date = p.end_date " +
+                        "LEFT JOIN vote v ON v.poll_id = p.id AND r.poll_id IS NULL " +
+                        "WHERE p.subject_id = :subjectId AND p.id = :pollId " +
+                        "GROUP BY p.id, r.poll_id")
+                .bind("subjectId", subjectId)
+                .bind("pollId", pollId)
+                .map(this::mapPollVotesFromRow)
+                .one();
+    }
+
+    private DatabaseClient.GenericExecuteSpec bindPollResult(DatabaseClient.GenericExecuteSpec spec, long pollId,
+            OffsetDateTime endDate, VoteCount voteCount) {
+        return spec.bind("pollId", pollId)
+                .bind("endDate", endDate)
+                .bind("agree", voteCount.getAgree())
+                .bind("disagree", voteCount.getDisagree());
+    }
+
+    private PollVotes mapPollVotesFromRow(Row row) {
+        Poll poll = Poll.builder()
+                .id(row.get("id", Long.class))
+                .name(row.get("name", String.class))
+                .startDate(row.get("start_date", OffsetDateTime.class))
+                .endDate(row.get("end_date", OffsetDateTime.class))
+                .subjectId(row.get("subject_id", Long.class))
+                .build();
+        Long finalAgree = row.get("final_agree", Long.class);
+        return finalAgree == null
+                ? PollVotes.of(poll, VoteCount.of(row.get("agree", Long.class), row.get("disagree", Long.class)), false)
+                : PollVotes.of(poll, VoteCount.of(finalAgree, row.get("final_disagree", Long.class)), true);
+    }
+
+    private Vote mapFromRow(Row row) {
+        return Vote.builder()
+                .voter(row.get("voter", UUID.class))
+                .agree(Boolean.TRUE.equals(row.get("agree", Boolean.class)))
+                .voteDate(row.get("vote_date", OffsetDateTime.class))
+                .subjectId(row.get("subject_id", Long.class))
+                .pollId(row.get("poll_id", Long.class))
+                .build();
+    }
+}
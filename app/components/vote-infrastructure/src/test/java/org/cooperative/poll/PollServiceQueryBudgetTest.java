@@ -0,0 +1,114 @@
+package org.cooperative.poll;
+
+import org.cooperative.subject.Subject;
+import org.cooperative.subject.SubjectService;
+import org.cooperative.vote.jpa.Application;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.cooperative.vote.jpa.RecordingStatementInspector.during;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Statements each poll operation may run against the database
+@SpringBootTest(classes = Application.class)
+@TestPropertySource(locations = "classpath:application-test.properties")
+public class PollServiceQueryBudgetTest {
+    private static final AtomicLong subjectIds = new AtomicLong(2000);
+
+    @Autowired
+    private SubjectService subjectService;
+
+    @Autowired
+    private PollService pollService;
+
+    private final OffsetDateTime startTime = OffsetDateTime.now();
+    private final OffsetDateTime endTime = startTime.plus(Duration.ofHours(1));
+    private long subjectId;
+
+    @BeforeEach
+    public void beforeEach() {
+        subjectId = subjectIds.incrementAndGet();
+        subjectService.createSubject(Subject.of(subjectId, "subject"));
+    }
+
+    @Test
+    public void createPollRunsAtMostThreeStatements() {
+        // The subject, the id from the sequence and the insert
+        List<String> statements = during(() -> createPoll("poll"));
+
+        assertTrue(statements.size() <= 3, statements::toString);
+    }
+
+    @Test
+    public void listingPollsRunsOneStatementRegardlessOfSize() {
+        for (int i = 0; i < 5; i++) createPoll("listed");
+
+        assertEquals(1, during(() -> pollService.getPollBySubjectId(subjectId).count()).size());
+        assertEquals(1, during(() -> pollService.getPollPageBySubjectId(subjectId, null, 3).count()).size());
+        assertEquals(1, during(() -> pollService.getPollByNameAndSubjectId("listed", subjectId).count()).size());
+    }
+
+    @Test
+    public void pollsEndingAfterRunsOneStatementAcrossSubjects() {
+        createPoll("ending");
+        long otherSubjectId = subjectIds.incrementAndGet();
+        subjectService.createSubject(Subject.of(otherSubjectId, "other"));
+        pollService.createPoll(Poll.builder()
+                .name("ending")
+                .startDate(startTime)
+                .endDate(endTime)
+                .subjectId(otherSubjectId)
+                .build());
+
+        List<String> statements = during(() -> pollService.getPollsEndingAfter(startTime).count());
+
+        assertEquals(1, statements.size(), statements::toString);
+    }
+
+    @Test
+    public void getPollByIdRunsOneStatement() {
+        Poll poll = createPoll("poll");
+
+        List<String> statements = during(() -> pollService.getPollByIdAndSubjectId(poll.getId(), subjectId));
+
+        assertEquals(1, statements.size(), statements::toString);
+    }
+
+    @Test
+    public void updatePollRunsAtMostFiveStatements() {
+        Poll poll = createPoll("poll");
+
+        // Subject and poll checks, then save reads the subject, merges the poll and updates it
+        List<String> statements = during(() -> pollService.updatePoll(poll.withName("renamed")));
+
+        assertTrue(statements.size() <= 5, statements::toString);
+    }
+
+    @Test
+    public void deletePollRunsAtMostFiveStatements() {
+        Poll poll = createPoll("poll");
+
+        // Subject and poll checks, then the derived delete loads the poll and its subject before deleting
+        List<String> statements = during(() -> pollService.deletePollByIdAndSubjectId(poll.getId(), subjectId));
+
+        assertTrue(statements.size() <= 5, statements::toString);
+    }
+
+    private Poll createPoll(String name) {
+        return pollService.createPoll(Poll.builder()
+                .name(name)
+                .startDate(startTime)
+                .endDate(endTime)
+                .subjectId(subjectId)
+                .build());
+    }
+}
@@ -0,0 +1,71 @@
+package org.cooperative.subject;
+
+import org.cooperative.vote.jpa.Application;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.cooperative.vote.jpa.RecordingStatementInspector.during;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Statements each subject operation may run against the database
+@SpringBootTest(classes = Application.class)
+@TestPropertySource(locations = "classpath:application-test.properties")
+public class SubjectServiceQueryBudgetTest {
+    private static final AtomicLong ids = new AtomicLong(1000);
+
+    @Autowired
+    private SubjectService subjectService;
+
+    @Test
+    public void createSubjectRunsAtMostThreeStatements() {
+        long id = ids.incrementAndGet();
+
+        // Exists check, then save merges the assigned id: a select and the insert
+        List<String> statements = during(() -> subjectService.createSubject(Subject.of(id, "subject")));
+
+        assertTrue(statements.size() <= 3, statements::toString);
+    }
+
+    @Test
+    public void listingSubjectsRunsOneStatementRegardlessOfSize() {
+        for (int i = 0; i < 5; i++) subjectService.createSubject(Subject.of(ids.incrementAndGet(), "listed"));
+
+        assertEquals(1, during(() -> subjectService.getAllSubjects().count()).size());
+        assertEquals(1, during(() -> subjectService.getSubjectPage(null, 3).count()).size());
+        assertEquals(1, during(() -> subjectService.getSubjectByName("listed").count()).size());
+    }
+
+    @Test
+    public void getSubjectByIdRunsOneStatement() {
+        long id = ids.incrementAndGet();
+        subjectService.createSubject(Subject.of(id, "subject"));
+
+        assertEquals(1, during(() -> subjectService.getSubjectById(id)).size());
+    }
+
+    @Test
+    public void updateSubjectRunsAtMostThreeStatements() {
+        long id = ids.incrementAndGet();
+        subjectService.createSubject(Subject.of(id, "subject"));
+
+        List<String> statements = during(() -> subjectService.updateSubject(Subject.of(id, "renamed")));
+
+        assertTrue(statements.size() <= 3, statements::toString);
+    }
+
+    @Test
+    public void deleteSubjectRunsAtMostThreeStatements() {
+        long id = ids.incrementAndGet();
+        subjectService.createSubject(Subject.of(id, "subject"));
+
+        List<String> statements = during(() -> subjectService.deleteSubject(id));
+
+        assertTrue(statements.size() <= 3, statements::toString);
+    }
+}
@@ -0,0 +1,227 @@
+package org.cooperative.vote;
+
+import org.cooperative.poll.Poll;
+import org.cooperative.poll.PollService;
+import org.cooperative.subject.Subject;
+import org.cooperative.subject.SubjectService;
+import org.cooperative.vote.exception.VoteAlreadyExistsException;
+import org.cooperative.vote.infrastructure.VoterFilters;
+import org.cooperative.vote.jpa.Application;
+import org.cooperative.vote.jpa.RecordingStatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Statements each vote operation runs against the database. Vote ids are allocated from the sequence 100
+// at a time, so the occasional sequence call is left out of the budgets. Statements of every thread are
+// recorded, the vote writer's included, so each test waits for the voter filters' background rebuild to end
+// before measuring. This is the only instance writing to the database, so the filters are used, and their
+// false positive rate is made negligible, so a voter missing from them is never looked up. The vote writer
+// waits long enough for a burst of votes that a pause of the test thread cannot split its batch.
+@SpringBootTest(classes = Application.class)
+@TestPropertySource(locations = "classpath:application-test.properties",
+        properties = {"cooperative.vote.bloom.single-instance=true",
+                "cooperative.vote.bloom.false-positive-rate=0.000000001",
+                "cooperative.vote.batch.max-delay-ms=200"})
+public class VoteServiceQueryBudgetTest {
+    private static final AtomicLong subjectIds = new AtomicLong(3000);
+    private static final String VOTE_ID_ALLOCATION = "next value for vote_id_seq";
+    private static final Pattern STATEMENT = Pattern.compile("^(select|insert|update|delete)\\b.*?\\b(?:from|into|update) (\\w+)");
+
+    @Autowired
+    private SubjectService subjectService;
+
+    @Autowired
+    private PollService pollService;
+
+    @Autowired
+    private VoteService voteService;
+
+    @Autowired
+    private VoterFilters voterFilters;
+
+    private final OffsetDateTime startTime = OffsetDateTime.now();
+    private long subjectId;
+    private Poll poll;
+
+    @BeforeEach
+    public void beforeEach() {
+        awaitVoterFilters();
+        subjectId = subjectIds.incrementAndGet();
+        subjectService.createSubject(Subject.of(subjectId, "subject"));
+        poll = createPoll(startTime.minus(Duration.ofMinutes(1)), startTime.plus(Duration.ofHours(1)));
+    }
+
+    @Test
+    public void firstVoteOfAPollRunsThreeStatements() {
+        // The poll and its voters are loaded once, then the insert
+        List<String> statements = during(() -> voteService.createVote(vote(UUID.randomUUID())));
+
+        assertEquals(List.of("select poll", "select vote", "insert vote"), tables(statements),
+                statements::toString);
+    }
+
+    @Test
+    public void laterVotesRunOneInsert() {
+        voteService.createVote(vote(UUID.randomUUID()));
+
+        List<String> statements = during(() -> voteService.createVote(vote(UUID.randomUUID())));
+
+        assertEquals(1, statements.size(), statements::toString);
+    }
+
+    @Test
+    public void duplicateVoteRunsNoStatement() {
+        UUID voter = UUID.randomUUID();
+        voteService.createVote(vote(voter));
+
+        List<String> statements = during(() ->
+                assertThrows(VoteAlreadyExistsException.class, () -> voteService.createVote(vote(voter))));
+
+        assertEquals(0, statements.size(), statements::toString);
+    }
+
+    @Test
+    public void bulkVotesRunThreeStatementsRegardlessOfSize() {
+        List<Vote> votes = votes(50);
+
+        // The poll and its voters, then one batched insert: the votes reach the writer well within its delay
+        List<String> statements = during(() ->
+                voteService.openBulkVoteSession(subjectId, poll.getId()).createVotes(votes));
+
+        assertEquals(List.of("select poll", "select vote", "insert vote"), tables(statements),
+                statements::toString);
+    }
+
+    @Test
+    public void listingVotesRunsOneStatementRegardlessOfSize() {
+        voteService.openBulkVoteSession(subjectId, poll.getId()).createVotes(votes(20));
+
+        List<String> statements = during(() -> {
+            try (Stream<Vote> votes = voteService.getVoteBySubjectIdPollId(subjectId, poll.getId())) {
+                assertEquals(20, votes.count());
+            }
+        });
+        assertEquals(1, statements.size(), statements::toString);
+
+        statements = during(() -> voteService.getVotePageBySubjectIdPollId(subjectId, poll.getId(), null, 10)
+                .count());
+        assertEquals(1, statements.size(), statements::toString);
+    }
+
+    @Test
+    public void getVoteByVoterRunsAtMostOneStatement() {
+        UUID voter = UUID.randomUUID();
+        voteService.createVote(vote(voter));
+
+        List<String> statements = during(() ->
+                voteService.getVoteBySubjectIdPollIdVoter(subjectId, poll.getId(), voter));
+        assertEquals(1, statements.size(), statements::toString);
+
+        // A voter missing from the poll's voter filter is answered without a query
+        statements = during(() ->
+                voteService.getVoteBySubjectIdPollIdVoter(subjectId, poll.getId(), UUID.randomUUID()));
+        assertEquals(0, statements.size(), statements::toString);
+    }
+
+    @Test
+    public void voteCountOfAnOpenPollIsCountedOnceThenKeptInMemory() {
+        voteService.createVote(vote(UUID.randomUUID()));
+
+        List<String> statements = during(() -> voteService.getVoteCountForPoll(subjectId, poll.getId()));
+        assertEquals(1, statements.size(), statements::toString);
+
+        statements = during(() -> voteService.getVoteCountForPoll(subjectId, poll.getId()));
+        assertEquals(0, statements.size(), statements::toString);
+    }
+
+    @Test
+    public void openPollWithItsVoteCountIsCountedOnceThenKeptInMemory() {
+        voteService.openBulkVoteSession(subjectId, poll.getId()).createVotes(votes(10));
+
+        // The poll is already cached by the votes, so only the count is read
+        List<String> statements = during(() -> voteService.getPollVotes(subjectId, poll.getId()));
+        assertEquals(1, statements.size(), statements::toString);
+
+        statements = during(() -> voteService.getPollVotes(subjectId, poll.getId()));
+        assertEquals(0, statements.size(), statements::toString);
+    }
+
+    @Test
+    public void closedPollWithItsVoteCountIsStoredOnceThenReadInOneStatement() {
+        Poll closed = createPoll(startTime.minus(Duration.ofHours(2)), startTime.minus(Duration.ofHours(1)));
+
+        // The poll into the cache, the read, then the votes counted again and the result inserted
+        List<String> statements = during(() -> voteService.getPollVotes(subjectId, closed.getId()));
+        assertEquals(List.of("select poll", "select poll", "select vote", "insert poll_result"), tables(statements),
+                statements::toString);
+
+        statements = during(() -> voteService.getPollVotes(subjectId, closed.getId()));
+        assertEquals(1, statements.size(), statements::toString);
+    }
+
+    private Poll createPoll(OffsetDateTime start, OffsetDateTime end) {
+        return pollService.createPoll(Poll.builder()
+                .name("poll")
+                .startDate(start)
+                .endDate(end)
+                .subjectId(subjectId)
+                .build());
+    }
+
+    private Vote vote(UUID voter) {
+        return Vote.builder()
+                .voter(voter)
+                .agree(true)
+                .subjectId(subjectId)
+                .pollId(poll.getId())
+                .build();
+    }
+
+    private List<Vote> votes(int count) {
+        List<Vote> votes = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) votes.add(vote(UUID.randomUUID()));
+        return votes;
+    }
+
+    private void awaitVoterFilters() {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (!voterFilters.isReady()) {
+            assertTrue(System.nanoTime() < deadline, "Voter filters were not rebuilt");
+            Thread.onSpinWait();
+        }
+    }
+
+    // Each statement as its verb and the table it reads or writes first, e.g. "select poll"
+    private static List<String> tables(List<String> statements) {
+        return statements.stream()
+                .map(s -> {
+                    Matcher matcher = STATEMENT.matcher(s);
+                    return matcher.find() ? matcher.group(1) + " " + matcher.group(2) : s;
+                })
+                .collect(Collectors.toList());
+    }
+
+    private static List<String> during(Runnable operation) {
+        return RecordingStatementInspector.during(operation).stream()
+                .filter(s -> !s.contains(VOTE_ID_ALLOCATION))
+                .collect(Collectors.toList());
+    }
+}
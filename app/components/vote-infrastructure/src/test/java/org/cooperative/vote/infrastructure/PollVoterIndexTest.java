@@ -0,0 +1,41 @@
+package org.cooperative.vote.infrastructure;
+
+import org.cooperative.vote.VoteCount;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PollVoterIndexTest {
+    UUID first = UUID.fromString("3855acfe-d7c3-4358-9c79-a8b8cb3c2d08");
+    UUID second = UUID.fromString("6f7b0d52-8c1e-4f3a-b2a4-0d9e5c7f1a33");
+    UUID third = UUID.fromString("7e2b4c1a-5d6e-4f70-8192-a3b4c5d6e7f8");
+
+    @Test
+    void testRepeatedVoterIsNotCounted() {
+        PollVoterIndex<String> index = new PollVoterIndex<>(1L);
+        assertTrue(index.add(first, true, "a"));
+        assertFalse(index.add(first, false, "b"));
+        assertTrue(index.add(second, false, "c"));
+
+        assertEquals(VoteCount.of(1, 1), index.getVoteCount());
+        assertEquals("a", index.get(first).orElseThrow());
+        assertFalse(index.contains(third));
+    }
+
+    @Test
+    void testPagesAreOrderedByVoter() {
+        PollVoterIndex<String> index = new PollVoterIndex<>(1L);
+        index.add(third, true, "third");
+        index.add(first, true, "first");
+        index.add(second, true, "second");
+
+        assertEquals(List.of("first", "second"), index.getPage(null, 2).collect(Collectors.toList()));
+        assertEquals(List.of("third"), index.getPage(second, 2).collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,163 @@
+package org.cooperative.vote.infrastructure;
+
+import org.cooperative.span.TraceSpan;
+import org.cooperative.span.Tracer;
+import org.cooperative.vote.jpa.Vote;
+import org.cooperative.vote.jpa.VoteRepositoryJpa;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VoteBatchWriterTest {
+    @Mock
+    VoteRepositoryJpa voteRepositoryJpa;
+
+    @Captor
+    ArgumentCaptor<List<Vote>> batchCaptor;
+
+    VoteBatchWriter voteBatchWriter;
+
+    OffsetDateTime startTime = OffsetDateTime.now();
+
+    @AfterEach
+    void afterTest() throws InterruptedException {
+        voteBatchWriter.destroy();
+    }
+
+    @Test
+    void testConcurrentVotesAreWrittenInOneBatch() throws Exception {
+        voteBatchWriter = new VoteBatchWriter(voteRepositoryJpa, 3, 10_000);
+        when(voteRepositoryJpa.saveAll(anyList()))
+                .thenAnswer(i -> i.getArgument(0));
+
+        CompletableFuture<Boolean> first = voteBatchWriter.submit(vote(startTime));
+        CompletableFuture<Boolean> second = voteBatchWriter.submit(vote(startTime.plusSeconds(1)));
+        CompletableFuture<Boolean> third = voteBatchWriter.submit(vote(startTime.plusSeconds(2)));
+
+        assertTrue(first.get(5, TimeUnit.SECONDS));
+        assertTrue(second.get(5, TimeUnit.SECONDS));
+        assertTrue(third.get(5, TimeUnit.SECONDS));
+        verify(voteRepositoryJpa, times(1))
+                .saveAll(batchCaptor.capture());
+        assertEquals(3, batchCaptor.getValue().size());
+    }
+
+    @Test
+    void testFailedBatchIsWrittenOneByOne() throws Exception {
+        voteBatchWriter = new VoteBatchWriter(voteRepositoryJpa, 3, 10_000);
+        Vote duplicate = vote(startTime);
+        Vote failing = vote(startTime.plusSeconds(1));
+        Vote succeeding = vote(startTime.plusSeconds(2));
+        when(voteRepositoryJpa.saveAll(anyList()))
+                .thenThrow(IllegalArgumentException.class);
+        when(voteRepositoryJpa.insertIfAbsent(any(Vote.class)))
+                .thenAnswer(i -> {
+                    if (i.getArgument(0) == failing) throw new IllegalArgumentException();
+                    return i.getArgument(0) == duplicate ? 0 : 1;
+                });
+
+        CompletableFuture<Boolean> rejected = voteBatchWriter.submit(duplicate);
+        CompletableFuture<Boolean> failed = voteBatchWriter.submit(failing);
+        CompletableFuture<Boolean> written = voteBatchWriter.submit(succeeding);
+
+        assertTrue(written.get(5, TimeUnit.SECONDS));
+        assertFalse(rejected.get(5, TimeUnit.SECONDS));
+        ExecutionException exception = assertThrows(ExecutionException.class,
+                () -> failed.get(5, TimeUnit.SECONDS));
+        assertTrue(exception.getCause() instanceof IllegalArgumentException);
+    }
+
+    @Test
+    void testBatchIsWrittenWithinTheTraceOfItsVotes() throws Exception {
+        voteBatchWriter = new VoteBatchWriter(voteRepositoryJpa, 2, 10_000);
+        Tracer tracer = new Tracer(true, 10, null);
+        TraceSpan request = tracer.startTrace("request");
+        AtomicReference<TraceSpan> writtenWithin = new AtomicReference<>();
+        when(voteRepositoryJpa.saveAll(anyList()))
+                .thenAnswer(i -> {
+                    writtenWithin.set(Tracer.current());
+                    return i.getArgument(0);
+                });
+
+        List<CompletableFuture<Boolean>> futures = new ArrayList<>();
+        Tracer.runWithin(request, () -> {
+            futures.add(voteBatchWriter.submit(vote(startTime)));
+            futures.add(voteBatchWriter.submit(vote(startTime.plusSeconds(1))));
+        });
+
+        for (CompletableFuture<Boolean> future : futures) assertTrue(future.get(5, TimeUnit.SECONDS));
+        assertEquals(request.getTraceId(), writtenWithin.get().getTraceId());
+        tracer.destroy();
+    }
+
+    @Test
+    void testShutdownDrainsPendingVotes() throws Exception {
+        voteBatchWriter = new VoteBatchWriter(voteRepositoryJpa, 100, 50);
+        when(voteRepositoryJpa.saveAll(anyList()))
+                .thenAnswer(i -> i.getArgument(0));
+
+        CompletableFuture<Boolean> first = voteBatchWriter.submit(vote(startTime));
+        CompletableFuture<Boolean> second = voteBatchWriter.submit(vote(startTime));
+        voteBatchWriter.destroy();
+
+        assertTrue(first.isDone() && !first.isCompletedExceptionally());
+        assertTrue(second.isDone() && !second.isCompletedExceptionally());
+        assertThrows(IllegalStateException.class, () -> voteBatchWriter.submit(vote(startTime)));
+    }
+
+    @Test
+    void testVotesSubmittedDuringShutdownAreCompletedOrRefused() throws Exception {
+        voteBatchWriter = new VoteBatchWriter(voteRepositoryJpa, 10, 1);
+        when(voteRepositoryJpa.saveAll(anyList()))
+                .thenAnswer(i -> i.getArgument(0));
+        List<CompletableFuture<Boolean>> accepted = new CopyOnWriteArrayList<>();
+        List<Thread> submitters = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread submitter = new Thread(() -> {
+                try {
+                    while (true) accepted.add(voteBatchWriter.submit(vote(startTime)));
+                } catch (IllegalStateException e) {
+                    // Shut down
+                }
+            });
+            submitter.start();
+            submitters.add(submitter);
+        }
+
+        Thread.sleep(20);
+        voteBatchWriter.destroy();
+        for (Thread submitter : submitters) submitter.join(5_000);
+
+        assertFalse(accepted.isEmpty());
+        assertTrue(accepted.stream().allMatch(f -> f.isDone() && !f.isCompletedExceptionally()));
+    }
+
+    private Vote vote(OffsetDateTime voteDate) {
+        return Vote.of(null, UUID.randomUUID(), true, voteDate, 1L, null);
+    }
+}
@@ -1,11 +1,11 @@
 package org.cooperative.vote.infrastructure;
 
-import org.cooperative.poll.jpa.Poll;
-import org.cooperative.poll.jpa.PollRepositoryJpa;
-import org.cooperative.subject.jpa.Subject;
 import org.cooperative.vote.Vote;
 import org.cooperative.vote.VoteCount;
+import org.cooperative.vote.jpa.PollResult;
+import org.cooperative.vote.jpa.PollResultRepositoryJpa;
 import org.cooperative.vote.jpa.VoteRepositoryJpa;
+import org.cooperative.vote.jpa.VoteRow;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -17,8 +17,14 @@ import java.time.OffsetDateTime;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -32,37 +38,79 @@ class VoteRepositoryTest {
     VoteRepositoryJpa voteRepositoryJpa;
 
     @Mock
-    PollRepositoryJpa pollRepositoryJpa;
+    PollResultRepositoryJpa pollResultRepositoryJpa;
+
+    @Mock
+    VoteBatchWriter voteBatchWriter;
+
+    @Mock
+    VoterFilters voterFilters;
 
     OffsetDateTime startTime = OffsetDateTime.now();
     OffsetDateTime voteTime = startTime.plus(Duration.ofSeconds(10));
-    OffsetDateTime endTime = startTime.plus(Duration.ofMinutes(1));
     UUID uuid = UUID.fromString("3855acfe-d7c3-4358-9c79-a8b8cb3c2d08");
 
     @Test
     void testCreateVote() {
-        when(pollRepositoryJpa.findBySubject_IdAndId(1L, 1L))
-                .thenReturn(Optional.of(Poll.of(1L, "poll", startTime, endTime, Subject.of(1L, "subject"))));
-        when(voteRepositoryJpa.save(org.cooperative.vote.jpa.Vote.of(null, uuid, false, voteTime,
-                        Poll.of(1L, "poll", startTime, endTime, Subject.of(1L, "subject")))))
-                .thenReturn(org.cooperative.vote.jpa.Vote.of(1L, uuid, false, voteTime,
-                        Poll.of(1L, "poll", startTime, endTime, Subject.of(1L, "subject"))));
-        Vote vote = voteRepository.createVote(Vote.of(uuid, false, voteTime, 1L, 1L));
-        assertEquals(Vote.of(uuid, false, voteTime, 1L, 1L), vote);
+        when(voteBatchWriter.write(org.cooperative.vote.jpa.Vote.of(null, uuid, false, voteTime, 1L, null)))
+                .thenReturn(true);
+        assertTrue(voteRepository.createVoteIfAbsent(Vote.of(uuid, false, voteTime, 1L, 1L)));
+    }
+
+    @Test
+    void testCreateVoteAlreadyExists() {
+        when(voteBatchWriter.write(org.cooperative.vote.jpa.Vote.of(null, uuid, false, voteTime, 1L, null)))
+                .thenReturn(false);
+        assertFalse(voteRepository.createVoteIfAbsent(Vote.of(uuid, false, voteTime, 1L, 1L)));
+    }
+
+    @Test
+    void testCreateVotes() {
+        UUID other = UUID.fromString("6f7b0d52-8c1e-4f3a-b2a4-0d9e5c7f1a33");
+        when(voteBatchWriter.writeAll(List.of(
+                        org.cooperative.vote.jpa.Vote.of(null, uuid, false, voteTime, 1L, null),
+                        org.cooperative.vote.jpa.Vote.of(null, other, true, voteTime, 1L, null))))
+                .thenReturn(List.of(true, false));
+        List<Boolean> created = voteRepository.createVotesIfAbsent(
+                List.of(Vote.of(uuid, false, voteTime, 1L, 1L), Vote.of(other, true, voteTime, 1L, 1L)));
+        assertEquals(List.of(true, false), created);
     }
 
     @Test
     void testGetVoteBySubjectIdPollId() {
-        voteRepository.getVoteBySubjectIdPollId(1L, 1L);
-        verify(voteRepositoryJpa, times(1))
-                .findByPoll_Subject_IdAndPoll_Id(1L, 1L);
+        when(voteRepositoryJpa.streamByPoll(1L, 1L))
+                .thenReturn(Stream.of(new VoteRow(uuid, true, voteTime, 1L)));
+        List<Vote> votes = voteRepository.getVoteBySubjectIdPollId(1L, 1L).collect(Collectors.toList());
+        assertEquals(List.of(Vote.of(uuid, true, voteTime, 1L, 1L)), votes);
     }
 
     @Test
     void testGetVoteBySubjectIdPollIdVoter() {
+        when(voterFilters.mightHaveVoted(1L, uuid))
+                .thenReturn(true);
         voteRepository.getVoteBySubjectIdPollIdVoter(1L, 1L, uuid);
         verify(voteRepositoryJpa, times(1))
                 .findByPoll_Subject_IdAndPoll_IdAndVoter(1L, 1L, uuid);
+        verify(voterFilters, times(1))
+                .recordFalsePositive();
+    }
+
+    @Test
+    void testGetVoteBySubjectIdPollIdVoterDefiniteMissSkipsQuery() {
+        when(voterFilters.mightHaveVoted(1L, uuid))
+                .thenReturn(false);
+        assertEquals(Optional.empty(), voteRepository.getVoteBySubjectIdPollIdVoter(1L, 1L, uuid));
+        verify(voteRepositoryJpa, never())
+                .findByPoll_Subject_IdAndPoll_IdAndVoter(1L, 1L, uuid);
+    }
+
+    @Test
+    void testCreateVoteAddsVoterToFilter() {
+        when(voteBatchWriter.write(org.cooperative.vote.jpa.Vote.of(null, uuid, false, voteTime, 1L, null)))
+                .thenReturn(false);
+        voteRepository.createVoteIfAbsent(Vote.of(uuid, false, voteTime, 1L, 1L));
+        verify(voterFilters, times(1))
+                .add(1L, uuid);
     }
 
     @Test
@@ -73,4 +121,22 @@ class VoteRepositoryTest {
         assertEquals(2, voteCount.getAgree());
         assertEquals(1, voteCount.getDisagree());
     }
+
+    @Test
+    void testFinalizeVoteCount() {
+        when(voteRepositoryJpa.countVotes(1L, 1L))
+                .thenReturn(List.of(VoteCountImpl.of(true, 2), VoteCountImpl.of(false, 1)));
+        when(pollResultRepositoryJpa.insertIfAbsent(PollResult.of(1L, startTime, 2, 1))).thenReturn(1);
+        assertEquals(VoteCount.of(2, 1), voteRepository.finalizeVoteCount(1L, 1L, startTime));
+        verify(pollResultRepositoryJpa, never()).replaceStale(any(PollResult.class));
+    }
+
+    @Test
+    void testFinalizeVoteCountAlreadyFinalizedConcurrently() {
+        when(voteRepositoryJpa.countVotes(1L, 1L))
+                .thenReturn(List.of(VoteCountImpl.of(true, 2), VoteCountImpl.of(false, 1)));
+        when(pollResultRepositoryJpa.insertIfAbsent(PollResult.of(1L, startTime, 2, 1))).thenReturn(0);
+        when(pollResultRepositoryJpa.replaceStale(PollResult.of(1L, startTime, 2, 1))).thenReturn(0);
+        assertEquals(VoteCount.of(2, 1), voteRepository.finalizeVoteCount(1L, 1L, startTime));
+    }
 }
@@ -0,0 +1,109 @@
+package org.cooperative.vote.infrastructure;
+
+import org.cooperative.vote.jpa.VoteRepositoryJpa;
+import org.cooperative.vote.jpa.VoteRow;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class VoterFiltersTest {
+    @Mock
+    VoteRepositoryJpa voteRepositoryJpa;
+
+    OffsetDateTime voteTime = OffsetDateTime.now();
+    UUID uuid = UUID.fromString("3855acfe-d7c3-4358-9c79-a8b8cb3c2d08");
+    UUID other = UUID.fromString("6f7b0d52-8c1e-4f3a-b2a4-0d9e5c7f1a33");
+
+    @Test
+    void testEveryVoterMightHaveVotedBeforeRebuild() {
+        VoterFilters voterFilters = new VoterFilters(voteRepositoryJpa, true, true, 0.01, 1024, 64);
+        assertTrue(voterFilters.mightHaveVoted(1L, uuid));
+    }
+
+    @Test
+    void testEveryVoterMightHaveVotedWithoutASingleInstance() {
+        VoterFilters voterFilters = new VoterFilters(voteRepositoryJpa, true, false, 0.01, 1024, 64);
+        voterFilters.start();
+        voterFilters.add(1L, uuid);
+
+        assertFalse(voterFilters.isRunning());
+        assertTrue(voterFilters.mightHaveVoted(1L, other));
+    }
+
+    @Test
+    void testRebuildLoadsVoters() {
+        when(voteRepositoryJpa.countVotesByPoll())
+                .thenReturn(List.of(PollVoteCountImpl.of(1L, 1L)));
+        when(voteRepositoryJpa.streamVoters())
+                .thenReturn(Stream.of(new VoteRow(uuid, true, voteTime, 1L)));
+        VoterFilters voterFilters = new VoterFilters(voteRepositoryJpa, true, true, 0.01, 1024, 64);
+        voterFilters.rebuild();
+
+        assertTrue(voterFilters.mightHaveVoted(1L, uuid));
+        assertFalse(voterFilters.mightHaveVoted(1L, other));
+        assertFalse(voterFilters.mightHaveVoted(2L, uuid));
+    }
+
+    @Test
+    void testAddedVoterMightHaveVoted() {
+        when(voteRepositoryJpa.streamVoters())
+                .thenReturn(Stream.empty());
+        VoterFilters voterFilters = new VoterFilters(voteRepositoryJpa, true, true, 0.01, 1024, 64);
+        voterFilters.rebuild();
+        voterFilters.add(1L, uuid);
+
+        assertTrue(voterFilters.mightHaveVoted(1L, uuid));
+    }
+
+    @Test
+    void testDeletedPollHasNoVoters() {
+        when(voteRepositoryJpa.streamVoters())
+                .thenReturn(Stream.empty());
+        VoterFilters voterFilters = new VoterFilters(voteRepositoryJpa, true, true, 0.01, 1024, 64);
+        voterFilters.rebuild();
+        voterFilters.add(1L, uuid);
+        voterFilters.onPollDeleted(1L, 1L);
+
+        assertFalse(voterFilters.mightHaveVoted(1L, uuid));
+    }
+
+    @Test
+    void testFilterOverMemoryBudgetMightContainEveryone() {
+        VoterBloomFilter filter = new VoterBloomFilter(16, 0.01, size -> false);
+        filter.add(uuid);
+
+        assertTrue(filter.isSaturated());
+        assertTrue(filter.mightContain(other));
+    }
+
+    @Test
+    void testFilterKeepsFalsePositiveRateAsItGrows() {
+        VoterBloomFilter filter = new VoterBloomFilter(16, 0.01, size -> true);
+        for (int i = 0; i < 10_000; i++) {
+            filter.add(UUID.randomUUID());
+        }
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightContain(UUID.randomUUID())) falsePositives++;
+        }
+
+        assertTrue(falsePositives < 200, "False positives: " + falsePositives);
+    }
+
+    @Test
+    void testInvalidFalsePositiveRate() {
+        assertThrows(IllegalArgumentException.class, () -> new VoterFilters(voteRepositoryJpa, true, true, 1, 1024, 64));
+    }
+}
@@ -0,0 +1,25 @@
+package org.cooperative.vote.jpa;
+
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.stereotype.Component;
+
+// The services are scanned too, so query budgets can be asserted through them. spring-r2dbc is on the
+// classpath for the r2dbc profile, which would keep the JPA DataSource from being set up
+@SpringBootApplication(scanBasePackages = {"org.cooperative.execution", "org.cooperative.subject",
+        "org.cooperative.poll", "org.cooperative.vote"}, exclude = R2dbcAutoConfiguration.class)
+@EntityScan(basePackages = "org.cooperative")
+@EnableJpaRepositories(basePackages = "org.cooperative")
+@Component
+public class Application implements CommandLineRunner {
+    public static void main(String[] args) {
+        SpringApplication.run(Application.class, args);
+    }
+
+    public void run(String... args) throws Exception {
+    }
+}
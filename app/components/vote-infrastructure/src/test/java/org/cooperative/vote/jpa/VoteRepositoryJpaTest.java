@@ -0,0 +1,173 @@
+package org.cooperative.vote.jpa;
+
+import org.cooperative.poll.jpa.Poll;
+import org.cooperative.poll.jpa.PollRepositoryJpa;
+import org.cooperative.subject.jpa.Subject;
+import org.cooperative.subject.jpa.SubjectRepositoryJpa;
+import org.cooperative.vote.PollVotes;
+import org.cooperative.vote.VoteCount;
+import org.cooperative.vote.VoteRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(classes = Application.class)
+@TestPropertySource(locations = "classpath:application-test.properties")
+public class VoteRepositoryJpaTest {
+
+    @Autowired
+    private SubjectRepositoryJpa subjectRepositoryJpa;
+
+    @Autowired
+    private PollRepositoryJpa pollRepositoryJpa;
+
+    @Autowired
+    private VoteRepository voteRepository;
+
+    @Autowired
+    private VoteRepositoryJpa voteRepositoryJpa;
+
+    @Autowired
+    private PollResultRepositoryJpa pollResultRepositoryJpa;
+
+    // Truncated as the poll service does, polls here being saved straight through the repository
+    private final OffsetDateTime startTime = OffsetDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    private final OffsetDateTime endTime = startTime.plus(Duration.ofMinutes(1));
+
+    @Test
+    public void createVoteIssuesOneInsertPerVote() {
+        Subject subject = subjectRepositoryJpa.save(Subject.of(1L, "subject"));
+        Poll poll = pollRepositoryJpa.save(Poll.of(0L, "poll", startTime, endTime, subject));
+
+        RecordingStatementInspector.clear();
+        for (int i = 0; i < 3; i++) {
+            assertTrue(voteRepository.createVoteIfAbsent(org.cooperative.vote.Vote.of(UUID.randomUUID(), true,
+                    startTime.plus(Duration.ofSeconds(i)), subject.getId(), poll.getId())));
+        }
+        List<String> statements = RecordingStatementInspector.statements();
+
+        assertEquals(3, statements.stream().filter(s -> s.startsWith("insert into vote")).count());
+        assertTrue(statements.stream().noneMatch(s -> s.contains("from poll") || s.contains("from subject")),
+                statements::toString);
+        try (Stream<org.cooperative.vote.Vote> votes =
+                voteRepository.getVoteBySubjectIdPollId(subject.getId(), poll.getId())) {
+            assertEquals(3, votes.count());
+        }
+    }
+
+    @Test
+    public void insertIfAbsentSkipsARepeatedVoter() {
+        Subject subject = subjectRepositoryJpa.save(Subject.of(7L, "subject"));
+        Poll poll = pollRepositoryJpa.save(Poll.of(0L, "poll", startTime, endTime, subject));
+        UUID voter = UUID.randomUUID();
+
+        assertEquals(1, voteRepositoryJpa.insertIfAbsent(Vote.of(null, voter, true, startTime, poll.getId(), null)));
+        assertEquals(0, voteRepositoryJpa.insertIfAbsent(Vote.of(null, voter, false, startTime, poll.getId(), null)));
+
+        Optional<Vote> stored = voteRepositoryJpa.findByPoll_Subject_IdAndPoll_IdAndVoter(subject.getId(),
+                poll.getId(), voter);
+        assertTrue(stored.orElseThrow().isAgree());
+    }
+
+    @Test
+    public void streamByPollReadsRowsWithoutLoadingEntities() {
+        Subject subject = subjectRepositoryJpa.save(Subject.of(2L, "subject"));
+        Poll poll = pollRepositoryJpa.save(Poll.of(0L, "poll", startTime, endTime, subject));
+        for (int i = 0; i < 3; i++) {
+            voteRepositoryJpa.save(Vote.of(null, UUID.randomUUID(), i % 2 == 0, startTime, poll.getId(), null));
+        }
+
+        RecordingStatementInspector.clear();
+        try (Stream<VoteRow> rows = voteRepositoryJpa.streamByPoll(subject.getId(), poll.getId())) {
+            assertEquals(3, rows.filter(r -> r.getPollId() == poll.getId()).count());
+        }
+        List<String> statements = RecordingStatementInspector.statements();
+
+        assertEquals(1, statements.size(), statements::toString);
+    }
+
+    @Test
+    public void closingAStreamReleasesItsConnection() {
+        Subject subject = subjectRepositoryJpa.save(Subject.of(5L, "subject"));
+        Poll poll = pollRepositoryJpa.save(Poll.of(0L, "poll", startTime, endTime, subject));
+
+        // More streams than the pool has connections, each closed without reading all of it
+        for (int i = 0; i < 20; i++) {
+            try (Stream<VoteRow> rows = voteRepositoryJpa.streamByPoll(subject.getId(), poll.getId())) {
+                assertEquals(Optional.empty(), rows.findFirst());
+            }
+        }
+    }
+
+    @Test
+    public void findPageByPollWalksVotersInOrder() {
+        Subject subject = subjectRepositoryJpa.save(Subject.of(3L, "subject"));
+        Poll poll = pollRepositoryJpa.save(Poll.of(0L, "poll", startTime, endTime, subject));
+        for (int i = 3; i > 0; i--) {
+            voteRepositoryJpa.save(Vote.of(null, new UUID(0, i), true, startTime, poll.getId(), null));
+        }
+
+        List<VoteRow> firstPage = voteRepositoryJpa.findPageByPoll(subject.getId(), poll.getId(),
+                PageRequest.of(0, 2));
+        List<VoteRow> secondPage = voteRepositoryJpa.findPageByPollAfter(subject.getId(), poll.getId(),
+                firstPage.get(1).getVoter(), PageRequest.of(0, 2));
+
+        assertEquals(List.of(new UUID(0, 1), new UUID(0, 2)),
+                firstPage.stream().map(VoteRow::getVoter).collect(Collectors.toList()));
+        assertEquals(List.of(new UUID(0, 3)),
+                secondPage.stream().map(VoteRow::getVoter).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void finalVoteCountIsReadWithItsPollInOneStatement() {
+        Subject subject = subjectRepositoryJpa.save(Subject.of(4L, "subject"));
+        Poll poll = pollRepositoryJpa.save(Poll.of(0L, "poll", startTime, endTime, subject));
+        voteRepositoryJpa.save(Vote.of(null, UUID.randomUUID(), true, startTime, poll.getId(), null));
+        voteRepositoryJpa.save(Vote.of(null, UUID.randomUUID(), false, startTime, poll.getId(), null));
+        assertEquals(VoteCount.of(1, 1), voteRepository.finalizeVoteCount(subject.getId(), poll.getId(), endTime));
+
+        RecordingStatementInspector.clear();
+        PollVotes pollVotes = voteRepository.getPollVotes(subject.getId(), poll.getId()).orElseThrow();
+        List<String> statements = RecordingStatementInspector.statements();
+
+        assertEquals(1, statements.size(), statements::toString);
+        assertTrue(pollVotes.isFinalResult());
+        assertEquals(VoteCount.of(1, 1), pollVotes.getVoteCount());
+    }
+
+    @Test
+    public void finalizingStoresTheResultWithoutReadingItFirst() {
+        Subject subject = subjectRepositoryJpa.save(Subject.of(6L, "subject"));
+        Poll poll = pollRepositoryJpa.save(Poll.of(0L, "poll", startTime, endTime, subject));
+        voteRepositoryJpa.save(Vote.of(null, UUID.randomUUID(), true, startTime, poll.getId(), null));
+
+        RecordingStatementInspector.clear();
+        assertEquals(VoteCount.of(1, 0), voteRepository.finalizeVoteCount(subject.getId(), poll.getId(), endTime));
+        List<String> statements = RecordingStatementInspector.statements();
+        assertEquals(2, statements.size(), statements::toString);
+        assertTrue(statements.get(1).startsWith("insert into poll_result"), statements::toString);
+
+        // A second count of the same end date leaves the row alone, one of a moved end date replaces it
+        assertEquals(VoteCount.of(1, 0), voteRepository.finalizeVoteCount(subject.getId(), poll.getId(), endTime));
+        OffsetDateTime movedEnd = endTime.plusMinutes(1);
+        voteRepositoryJpa.save(Vote.of(null, UUID.randomUUID(), false, startTime, poll.getId(), null));
+        assertEquals(VoteCount.of(1, 1), voteRepository.finalizeVoteCount(subject.getId(), poll.getId(), movedEnd));
+        PollResult result = pollResultRepositoryJpa.findById(poll.getId()).orElseThrow();
+        assertTrue(result.getEndDate().isEqual(movedEnd));
+        assertEquals(1, result.getDisagree());
+    }
+}
@@ -0,0 +1,157 @@
+package org.cooperative.vote.log;
+
+import org.cooperative.poll.PollRepository;
+import org.cooperative.vote.Vote;
+import org.cooperative.vote.VoteCount;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+class VoteLogRepositoryTest {
+    PollRepository pollRepository = mock(PollRepository.class);
+    Path directory;
+    VoteLogRepository voteRepository;
+
+    OffsetDateTime voteTime = OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.MICROS);
+    UUID first = UUID.fromString("1a4f6c2e-0b7d-4e8a-9c3f-5d2e1b0a9f87");
+    UUID second = UUID.fromString("7e3b9d1c-4a6f-4c2e-8b0d-9f1a2c3e4d5b");
+    UUID third = UUID.fromString("c2d4e6f8-1a3b-4c5d-9e7f-0a1b2c3d4e5f");
+
+    @BeforeEach
+    void beforeTest() throws IOException {
+        directory = Files.createTempDirectory("vote-log");
+        voteRepository = new VoteLogRepository(pollRepository, directory.toString(), 2, 1);
+    }
+
+    @AfterEach
+    void afterTest() throws Exception {
+        voteRepository.destroy();
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path path : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    void testCreateVote() {
+        assertTrue(voteRepository.createVoteIfAbsent(Vote.of(first, true, voteTime, 1L, 2L)));
+        assertEquals(Optional.of(Vote.of(first, true, voteTime, 1L, 2L)),
+                voteRepository.getVoteBySubjectIdPollIdVoter(1L, 2L, first));
+    }
+
+    @Test
+    void testCreateVoteAlreadyExists() {
+        assertTrue(voteRepository.createVoteIfAbsent(Vote.of(first, true, voteTime, 1L, 2L)));
+        assertFalse(voteRepository.createVoteIfAbsent(Vote.of(first, false, voteTime, 1L, 2L)));
+        assertEquals(VoteCount.of(1, 0), voteRepository.getVoteCountForPoll(1L, 2L));
+    }
+
+    @Test
+    void testCreateVotes() {
+        List<Boolean> created = voteRepository.createVotesIfAbsent(List.of(
+                Vote.of(first, true, voteTime, 1L, 2L),
+                Vote.of(first, true, voteTime, 1L, 2L),
+                Vote.of(second, false, voteTime, 1L, 2L)));
+        assertEquals(List.of(true, false, true), created);
+        assertEquals(VoteCount.of(1, 1), voteRepository.getVoteCountForPoll(1L, 2L));
+    }
+
+    @Test
+    void testWritersRacingCloseAreReleased() throws Exception {
+        ExecutorService writers = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> running = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                running.add(writers.submit(() -> {
+                    while (true) {
+                        voteRepository.createVoteIfAbsent(Vote.of(UUID.randomUUID(), true, voteTime, 1L, 2L));
+                    }
+                }));
+            }
+            Thread.sleep(20);
+            voteRepository.destroy();
+
+            // Every writer ends with the refusal instead of waiting for a force that never comes
+            for (Future<?> writer : running) {
+                ExecutionException e = assertThrows(ExecutionException.class, () -> writer.get(5, TimeUnit.SECONDS));
+                assertTrue(e.getCause() instanceof IllegalStateException, e::toString);
+            }
+        } finally {
+            writers.shutdownNow();
+        }
+    }
+
+    @Test
+    void testGetVoteOfOtherSubject() {
+        voteRepository.createVoteIfAbsent(Vote.of(first, true, voteTime, 1L, 2L));
+        assertEquals(Optional.empty(), voteRepository.getVoteBySubjectIdPollIdVoter(3L, 2L, first));
+        assertEquals(VoteCount.of(0, 0), voteRepository.getVoteCountForPoll(3L, 2L));
+    }
+
+    @Test
+    void testGetVotePageIsOrderedByVoter() {
+        voteRepository.createVoteIfAbsent(Vote.of(third, true, voteTime, 1L, 2L));
+        voteRepository.createVoteIfAbsent(Vote.of(first, true, voteTime, 1L, 2L));
+        voteRepository.createVoteIfAbsent(Vote.of(second, false, voteTime, 1L, 2L));
+
+        List<UUID> page = voteRepository.getVotePageBySubjectIdPollId(1L, 2L, first, 1)
+                .map(Vote::getVoter)
+                .collect(Collectors.toList());
+        assertEquals(List.of(second), page);
+        assertEquals(3, voteRepository.getVoteBySubjectIdPollId(1L, 2L).count());
+    }
+
+    @Test
+    void testRecoversVotesAcrossSegments() throws Exception {
+        voteRepository.createVoteIfAbsent(Vote.of(first, true, voteTime, 1L, 2L));
+        voteRepository.createVoteIfAbsent(Vote.of(second, false, voteTime.plus(Duration.ofSeconds(1)), 1L, 2L));
+        voteRepository.createVoteIfAbsent(Vote.of(third, true, voteTime, 1L, 2L));
+        voteRepository.createVoteIfAbsent(Vote.of(first, true, voteTime, 4L, 5L));
+        voteRepository.destroy();
+
+        voteRepository = new VoteLogRepository(pollRepository, directory.toString(), 2, 1);
+
+        assertEquals(VoteCount.of(2, 1), voteRepository.getVoteCountForPoll(1L, 2L));
+        assertEquals(VoteCount.of(1, 0), voteRepository.getVoteCountForPoll(4L, 5L));
+        assertEquals(Optional.of(Vote.of(second, false, voteTime.plus(Duration.ofSeconds(1)), 1L, 2L)),
+                voteRepository.getVoteBySubjectIdPollIdVoter(1L, 2L, second));
+        assertFalse(voteRepository.createVoteIfAbsent(Vote.of(third, false, voteTime, 1L, 2L)));
+        assertTrue(voteRepository.createVoteIfAbsent(Vote.of(UUID.randomUUID(), false, voteTime, 1L, 2L)));
+        assertEquals(VoteCount.of(2, 2), voteRepository.getVoteCountForPoll(1L, 2L));
+    }
+
+    @Test
+    void testPollDeletedRemovesItsVotes() {
+        voteRepository.createVoteIfAbsent(Vote.of(first, true, voteTime, 1L, 2L));
+        voteRepository.onPollDeleted(1L, 2L);
+        assertEquals(Optional.empty(), voteRepository.getVoteBySubjectIdPollIdVoter(1L, 2L, first));
+        assertFalse(Files.exists(directory.resolve("1-2")));
+    }
+}
@@ -0,0 +1,92 @@
+package org.cooperative.vote.memory;
+
+import org.cooperative.poll.Poll;
+import org.cooperative.poll.PollRepository;
+import org.cooperative.vote.PollVotes;
+import org.cooperative.vote.Vote;
+import org.cooperative.vote.VoteCount;
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MemoryVoteRepositoryTest {
+    PollRepository pollRepository = mock(PollRepository.class);
+    MemoryVoteRepository voteRepository = new MemoryVoteRepository(pollRepository);
+
+    OffsetDateTime voteTime = OffsetDateTime.now();
+    UUID first = UUID.fromString("1a4f6c2e-0b7d-4e8a-9c3f-5d2e1b0a9f87");
+    UUID second = UUID.fromString("7e3b9d1c-4a6f-4c2e-8b0d-9f1a2c3e4d5b");
+    UUID third = UUID.fromString("c2d4e6f8-1a3b-4c5d-9e7f-0a1b2c3d4e5f");
+
+    @Test
+    void testCreateVote() {
+        assertTrue(voteRepository.createVoteIfAbsent(Vote.of(first, true, voteTime, 1L, 2L)));
+        assertEquals(Optional.of(Vote.of(first, true, voteTime, 1L, 2L)),
+                voteRepository.getVoteBySubjectIdPollIdVoter(1L, 2L, first));
+    }
+
+    @Test
+    void testCreateVoteAlreadyExists() {
+        assertTrue(voteRepository.createVoteIfAbsent(Vote.of(first, true, voteTime, 1L, 2L)));
+        assertFalse(voteRepository.createVoteIfAbsent(Vote.of(first, false, voteTime, 1L, 2L)));
+        assertEquals(VoteCount.of(1, 0), voteRepository.getVoteCountForPoll(1L, 2L));
+    }
+
+    @Test
+    void testCreateVotes() {
+        List<Boolean> created = voteRepository.createVotesIfAbsent(List.of(
+                Vote.of(first, true, voteTime, 1L, 2L),
+                Vote.of(first, true, voteTime, 1L, 2L),
+                Vote.of(second, false, voteTime, 1L, 2L)));
+        assertEquals(List.of(true, false, true), created);
+        assertEquals(VoteCount.of(1, 1), voteRepository.getVoteCountForPoll(1L, 2L));
+        assertEquals(VoteCount.of(1, 1), voteRepository.finalizeVoteCount(1L, 2L, voteTime));
+    }
+
+    @Test
+    void testGetVoteOfOtherSubject() {
+        voteRepository.createVoteIfAbsent(Vote.of(first, true, voteTime, 1L, 2L));
+        assertEquals(Optional.empty(), voteRepository.getVoteBySubjectIdPollIdVoter(3L, 2L, first));
+        assertEquals(VoteCount.of(0, 0), voteRepository.getVoteCountForPoll(3L, 2L));
+    }
+
+    @Test
+    void testGetVotePageIsOrderedByVoter() {
+        voteRepository.createVoteIfAbsent(Vote.of(third, true, voteTime, 1L, 2L));
+        voteRepository.createVoteIfAbsent(Vote.of(first, true, voteTime, 1L, 2L));
+        voteRepository.createVoteIfAbsent(Vote.of(second, false, voteTime, 1L, 2L));
+
+        List<UUID> page = voteRepository.getVotePageBySubjectIdPollId(1L, 2L, first, 1)
+                .map(Vote::getVoter)
+                .collect(Collectors.toList());
+        assertEquals(List.of(second), page);
+        assertEquals(3, voteRepository.getVoteBySubjectIdPollId(1L, 2L).count());
+    }
+
+    @Test
+    void testPollDeletedRemovesItsVotes() {
+        voteRepository.createVoteIfAbsent(Vote.of(first, true, voteTime, 1L, 2L));
+        voteRepository.onPollDeleted(1L, 2L);
+        assertEquals(Optional.empty(), voteRepository.getVoteBySubjectIdPollIdVoter(1L, 2L, first));
+        assertEquals(VoteCount.of(0, 0), voteRepository.getVoteCountForPoll(1L, 2L));
+    }
+
+    @Test
+    void testGetPollVotes() {
+        Poll poll = Poll.of(2L, "poll", voteTime, voteTime.plusHours(1), 1L);
+        when(pollRepository.getBySubjectIdAndPollId(1L, 2L)).thenReturn(Optional.of(poll));
+        voteRepository.createVoteIfAbsent(Vote.of(first, true, voteTime, 1L, 2L));
+
+        assertEquals(Optional.of(PollVotes.of(poll, VoteCount.of(1, 0), false)), voteRepository.getPollVotes(1L, 2L));
+    }
+}
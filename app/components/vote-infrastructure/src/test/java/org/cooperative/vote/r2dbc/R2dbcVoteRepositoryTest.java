@@ -0,0 +1,125 @@
+package org.cooperative.vote.r2dbc;
+
+import io.r2dbc.h2.H2ConnectionConfiguration;
+import io.r2dbc.h2.H2ConnectionFactory;
+import io.r2dbc.h2.H2ConnectionOption;
+import org.cooperative.poll.Poll;
+import org.cooperative.vote.PollVotes;
+import org.cooperative.vote.Vote;
+import org.cooperative.vote.VoteCount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class R2dbcVoteRepositoryTest {
+    DatabaseClient databaseClient = DatabaseClient.create(new H2ConnectionFactory(
+            H2ConnectionConfiguration.builder()
+                    .inMemory("r2dbc-vote")
+                    .username("sa")
+                    .password("")
+                    .property(H2ConnectionOption.MODE, "PostgreSQL")
+                    .property(H2ConnectionOption.DB_CLOSE_DELAY, "-1")
+                    .build()));
+    R2dbcVoteRepository voteRepository = new R2dbcVoteRepository(databaseClient);
+
+    OffsetDateTime voteDate = OffsetDateTime.of(2021, 6, 27, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    @BeforeEach
+    void beforeTest() {
+        execute("DROP ALL OBJECTS");
+        execute("CREATE SEQUENCE vote_id_seq INCREMENT BY 1");
+        execute("CREATE TABLE subject (id BIGINT PRIMARY KEY, name VARCHAR(255))");
+        execute("CREATE TABLE poll (id BIGINT PRIMARY KEY, name VARCHAR(255), " +
+                "start_date TIMESTAMP WITH TIME ZONE, end_date TIMESTAMP WITH TIME ZONE, " +
+                "subject_id BIGINT REFERENCES subject (id))");
+        execute("CREATE TABLE vote (id BIGINT PRIMARY KEY, voter UUID NOT NULL, agree BOOLEAN NOT NULL, " +
+                "vote_date TIMESTAMP WITH TIME ZONE NOT NULL, poll_id BIGINT NOT NULL REFERENCES poll (id), " +
+                "CONSTRAINT vote_poll_voter_key UNIQUE (poll_id, voter))");
+        execute("CREATE TABLE poll_result (poll_id BIGINT PRIMARY KEY, end_date TIMESTAMP WITH TIME ZONE NOT NULL, " +
+                "agree BIGINT NOT NULL, disagree BIGINT NOT NULL)");
+        execute("INSERT INTO subject (id, name) VALUES (1, 'subject')");
+        execute("INSERT INTO poll (id, name, start_date, end_date, subject_id) " +
+                "VALUES (2, 'poll', TIMESTAMP WITH TIME ZONE '2021-06-27 12:00:00+00', " +
+                "TIMESTAMP WITH TIME ZONE '2021-06-27 13:00:00+00', 1)");
+    }
+
+    @Test
+    void testCreateVoteIfAbsentRejectsSecondVoteOfVoter() {
+        UUID voter = UUID.randomUUID();
+        assertTrue(voteRepository.createVoteIfAbsent(vote(voter, true)).block());
+        assertFalse(voteRepository.createVoteIfAbsent(vote(voter, false)).block());
+
+        Vote vote = voteRepository.getVoteBySubjectIdPollIdVoter(1L, 2L, voter).block();
+        assertTrue(vote.isAgree());
+        assertEquals(Long.valueOf(1L), vote.getSubjectId());
+    }
+
+    @Test
+    void testCreateVoteIfAbsentFailsForMissingPoll() {
+        Vote vote = Vote.of(UUID.randomUUID(), true, voteDate, 1L, 3L);
+        assertThrows(DataIntegrityViolationException.class, () -> voteRepository.createVoteIfAbsent(vote).block());
+    }
+
+    @Test
+    void testGetVoteCountForPoll() {
+        voteRepository.createVoteIfAbsent(vote(UUID.randomUUID(), true)).block();
+        voteRepository.createVoteIfAbsent(vote(UUID.randomUUID(), true)).block();
+        voteRepository.createVoteIfAbsent(vote(UUID.randomUUID(), false)).block();
+
+        assertEquals(VoteCount.of(2, 1), voteRepository.getVoteCountForPoll(1L, 2L).block());
+        assertEquals(Long.valueOf(3), voteRepository.getVoteBySubjectIdPollId(1L, 2L).count().block());
+        assertEquals(VoteCount.of(0, 0), voteRepository.getVoteCountForPoll(3L, 2L).block());
+    }
+
+    @Test
+    void testFinalizeVoteCount() {
+        OffsetDateTime endDate = voteDate.plusHours(1);
+        voteRepository.createVoteIfAbsent(vote(UUID.randomUUID(), true)).block();
+        voteRepository.createVoteIfAbsent(vote(UUID.randomUUID(), false)).block();
+
+        assertFalse(voteRepository.getPollVotes(1L, 2L).block().isFinalResult());
+        assertEquals(VoteCount.of(1, 1), voteRepository.finalizeVoteCount(1L, 2L, endDate).block());
+        assertEquals(VoteCount.of(1, 1), voteRepository.finalizeVoteCount(1L, 2L, endDate).block());
+        assertEquals(PollVotes.of(poll(endDate), VoteCount.of(1, 1), true), voteRepository.getPollVotes(1L, 2L).block());
+
+        // A result counted for another end date is not the poll's
+        voteRepository.createVoteIfAbsent(vote(UUID.randomUUID(), true)).block();
+        assertEquals(VoteCount.of(2, 1), voteRepository.finalizeVoteCount(1L, 2L, endDate.plusHours(1)).block());
+        assertEquals(PollVotes.of(poll(endDate), VoteCount.of(2, 1), false), voteRepository.getPollVotes(1L, 2L).block());
+    }
+
+    @Test
+    void testFinalizeVoteCountKeepsResultStoredConcurrently() {
+        OffsetDateTime endDate = voteDate.plusHours(1);
+        voteRepository.createVoteIfAbsent(vote(UUID.randomUUID(), true)).block();
+
+        // Two instances finalizing the same poll at once
+        Mono.zip(voteRepository.finalizeVoteCount(1L, 2L, endDate), voteRepository.finalizeVoteCount(1L, 2L, endDate))
+                .block();
+
+        assertEquals(PollVotes.of(poll(endDate), VoteCount.of(1, 0), true), voteRepository.getPollVotes(1L, 2L).block());
+    }
+
+    private Poll poll(OffsetDateTime endDate) {
+        return Poll.of(2L, "poll", voteDate, endDate, 1L);
+    }
+
+    private Vote vote(UUID voter, boolean agree) {
+        return Vote.of(voter, agree, voteDate, 1L, 2L);
+    }
+
+    private void execute(String sql) {
+        databaseClient.sql(sql).then().block();
+    }
+}
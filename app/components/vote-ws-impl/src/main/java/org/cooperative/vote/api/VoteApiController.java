@@ -1,52 +1,77 @@
 package org.cooperative.vote.api;
 
 import lombok.extern.slf4j.Slf4j;
+import org.cooperative.api.PageCursor;
+import org.cooperative.span.Span;
 import org.cooperative.vote.Vote;
-import org.cooperative.vote.VoteService;
+import org.cooperative.vote.VoteResult;
+import org.cooperative.vote.ReactiveVoteService;
 import org.cooperative.vote.exception.VoteNotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
-import reactor.core.scheduler.Schedulers;
 
 import java.net.URI;
 import java.util.UUID;
 
 @Slf4j
 @RestController
-@RequestMapping("/subjects/{subjectId}/polls/{pollId}/votes")
+@RequestMapping("/subjects/{subjectId}/polls/{pollId}")
+@Span
 public class VoteApiController {
-    private final VoteService voteService;
+    private final ReactiveVoteService voteService;
 
     @Autowired
-    public VoteApiController(VoteService voteService) {
+    public VoteApiController(ReactiveVoteService voteService) {
         this.voteService = voteService;
     }
 
-    @GetMapping
-    public Flux<VoteResponse> getVotes(@PathVariable("subjectId") long subjectId,
-            @PathVariable("pollId") long pollId) {
+    @GetMapping(value = "/votes", produces = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public Mono<ResponseEntity<Flux<VoteResponse>>> getVotes(@PathVariable("subjectId") long subjectId,
+            @PathVariable("pollId") long pollId,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam(value = "after", required = false) String after) {
+        if (PageCursor.isPaged(limit, after)) {
+            log.info("Received get votes page, subjectId: {}, pollId: {}, limit: {}, after: {}",
+                    subjectId, pollId, limit, after);
+            return Mono.defer(() -> getVotePage(subjectId, pollId, PageCursor.limit(limit),
+                    PageCursor.decodeUuid(after)));
+        }
         log.info("Received get all votes, subjectId: {}, pollId: {}", subjectId, pollId);
-        return Flux.defer(() -> getVotesFromService(subjectId, pollId))
-                .map(VoteResponse::fromDomain);
+        return Mono.just(ResponseEntity.ok(Flux.defer(() -> getVotesFromService(subjectId, pollId))
+                .map(VoteResponse::fromDomain)));
+    }
+
+    private Mono<ResponseEntity<Flux<VoteResponse>>> getVotePage(long subjectId, long pollId, int limit,
+            UUID afterVoter) {
+        return getVotePageFromService(subjectId, pollId, afterVoter, limit + 1)
+                .map(VoteResponse::fromDomain)
+                .collectList()
+                .map(votes -> PageCursor.toResponse(votes, limit,
+                        "/subjects/" + subjectId + "/polls/" + pollId + "/votes",
+                        v -> PageCursor.encodeUuid(v.getVoter())));
+    }
+
+    private Flux<Vote> getVotePageFromService(long subjectId, long pollId, UUID afterVoter, int limit) {
+        return VoteApiEvent.record("getVotePage", subjectId, pollId,
+                voteService.getVotePageBySubjectIdPollId(subjectId, pollId, afterVoter, limit));
     }
 
     private Flux<Vote> getVotesFromService(long subjectId, long pollId) {
-        log.trace("ENTRY - get votes from service, subjectId: {}, pollId: {}", subjectId, pollId);
-        Flux<Vote> votes = Flux.fromStream(() -> voteService.getVoteBySubjectIdPollId(subjectId, pollId))
-                .subscribeOn(Schedulers.boundedElastic());
-        log.trace("EXIT - get votes from service, subjectId: {}, pollId: {}", subjectId, pollId);
-        return votes;
+        return VoteApiEvent.record("getVotes", subjectId, pollId,
+                voteService.getVoteBySubjectIdPollId(subjectId, pollId));
     }
 
-    @PostMapping
+    @PostMapping("/votes")
     public Mono<ResponseEntity<VoteResponse>> addVote(@PathVariable("subjectId") long subjectId,
             @PathVariable("pollId") long pollId,
             @RequestBody VoteCreate voteCreate) {
@@ -59,23 +84,36 @@ public class VoteApiController {
     }
 
     private Mono<Vote> addVoteFromService(long subjectId, long pollId, VoteCreate voteCreate) {
-        log.trace("ENTRY - add vote from service, subjectId: {}, pollId: {}, voteCreate: {}",
-                subjectId, pollId, voteCreate);
-        Vote vote = Vote.builder()
+        return VoteApiEvent.record("addVote", subjectId, pollId,
+                Mono.just(toDomain(subjectId, pollId, voteCreate))
+                        .flatMap(voteService::createVote));
+    }
+
+    @PostMapping(value = "/votes:bulk", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+            produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<VoteBulkResponse> addVotes(@PathVariable("subjectId") long subjectId,
+            @PathVariable("pollId") long pollId,
+            @RequestBody Flux<VoteCreate> voteCreates) {
+        log.info("Received bulk add votes, subjectId: {}, pollId: {}", subjectId, pollId);
+        return Flux.defer(() -> addVotesFromService(subjectId, pollId, voteCreates))
+                .map(VoteBulkResponse::fromDomain);
+    }
+
+    private Flux<VoteResult> addVotesFromService(long subjectId, long pollId, Flux<VoteCreate> voteCreates) {
+        return VoteApiEvent.record("addVotes", subjectId, pollId,
+                voteService.createVotes(subjectId, pollId, voteCreates.map(v -> toDomain(subjectId, pollId, v))));
+    }
+
+    private Vote toDomain(long subjectId, long pollId, VoteCreate voteCreate) {
+        return Vote.builder()
                 .voter(voteCreate.getVoter())
                 .agree(voteCreate.isAgree())
                 .subjectId(subjectId)
                 .pollId(pollId)
                 .build();
-        Mono<Vote> mono = Mono.just(vote)
-                .flatMap(v -> Mono.fromCallable(() -> voteService.createVote(v))
-                        .subscribeOn(Schedulers.boundedElastic()));
-        log.trace("EXIT - add vote from service, subjectId: {}, pollId: {}, voteCreate: {}",
-                subjectId, pollId, voteCreate);
-        return mono;
     }
 
-    @GetMapping("/{voter}")
+    @GetMapping("/votes/{voter}")
     public Mono<VoteResponse> getVote(@PathVariable("subjectId") long subjectId,
             @PathVariable("pollId") long pollId,
             @PathVariable("voter") UUID voter) {
@@ -85,13 +123,8 @@ public class VoteApiController {
     }
 
     private Mono<Vote> getVoteFromService(long subjectId, long pollId, UUID voter) {
-        log.trace("ENTRY - get vote from service, subjectId: {}, pollId: {}, voter: {}",
-                subjectId, pollId, voter);
-        Mono<Vote> mono = Mono.fromCallable(() -> voteService.getVoteBySubjectIdPollIdVoter(subjectId, pollId, voter)
-                        .orElseThrow(VoteNotFoundException::new))
-                .subscribeOn(Schedulers.boundedElastic());
-        log.trace("EXIT - get vote from service, subjectId: {}, pollId: {}, voter: {}",
-                subjectId, pollId, voter);
-        return mono;
+        return VoteApiEvent.record("getVote", subjectId, pollId,
+                voteService.getVoteBySubjectIdPollIdVoter(subjectId, pollId, voter)
+                        .switchIfEmpty(Mono.error(VoteNotFoundException::new)));
     }
 }
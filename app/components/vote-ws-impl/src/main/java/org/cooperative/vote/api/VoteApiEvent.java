@@ -0,0 +1,66 @@
+package org.cooperative.vote.api;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.SignalType;
+
+@Name("org.cooperative.vote.Api")
+@Label("Vote API Call")
+@Description("Service call behind a vote endpoint, from subscription to termination, including the hops to the "
+        + "blocking executor")
+@Category({"Cooperative", "Vote"})
+@StackTrace(false)
+@Threshold("1 ms")
+class VoteApiEvent extends Event {
+    @Label("Operation")
+    String operation;
+
+    @Label("Subject Id")
+    long subjectId;
+
+    @Label("Poll Id")
+    long pollId;
+
+    @Label("Outcome")
+    @Description("ok, cancelled, or the simple name of the exception the call failed with")
+    String outcome;
+
+    static <T> Mono<T> record(String operation, long subjectId, long pollId, Mono<T> mono) {
+        return Mono.defer(() -> {
+            VoteApiEvent event = new VoteApiEvent();
+            if (!event.isEnabled()) return mono;
+            event.begin();
+            return mono.doOnError(e -> event.outcome = e.getClass().getSimpleName())
+                    .doFinally(signal -> event.commit(operation, subjectId, pollId, signal));
+        });
+    }
+
+    static <T> Flux<T> record(String operation, long subjectId, long pollId, Flux<T> flux) {
+        return Flux.defer(() -> {
+            VoteApiEvent event = new VoteApiEvent();
+            if (!event.isEnabled()) return flux;
+            event.begin();
+            return flux.doOnError(e -> event.outcome = e.getClass().getSimpleName())
+                    .doFinally(signal -> event.commit(operation, subjectId, pollId, signal));
+        });
+    }
+
+    private void commit(String operation, long subjectId, long pollId, SignalType signal) {
+        end();
+        if (shouldCommit()) {
+            this.operation = operation;
+            this.subjectId = subjectId;
+            this.pollId = pollId;
+            if (signal == SignalType.CANCEL) outcome = "cancelled";
+            else if (outcome == null) outcome = "ok";
+            commit();
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package org.cooperative.vote.api;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.cooperative.vote.VoteResult;
+
+import java.util.UUID;
+
+@AllArgsConstructor(staticName = "of")
+@NoArgsConstructor
+@Data
+@Builder
+public class VoteBulkResponse {
+    private UUID voter;
+    private VoteResult.Status result;
+
+    public static VoteBulkResponse fromDomain(VoteResult voteResult) {
+        return VoteBulkResponse.of(voteResult.getVoter(), voteResult.getStatus());
+    }
+}
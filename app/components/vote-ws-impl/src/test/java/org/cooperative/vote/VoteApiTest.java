@@ -1,5 +1,6 @@
 package org.cooperative.vote;
 
+import org.cooperative.execution.BlockingExecutor;
 import org.cooperative.poll.Poll;
 import org.cooperative.poll.PollRepository;
 import org.cooperative.poll.PollService;
@@ -16,9 +17,13 @@ import org.cooperative.subject.infrastructure.SubjectRepositoryImpl;
 import org.cooperative.subject.jpa.SubjectRepositoryJpa;
 import org.cooperative.vote.api.VoteApiController;
 import org.cooperative.vote.api.VoteApiErrorHandler;
+import org.cooperative.vote.api.VoteBulkResponse;
 import org.cooperative.vote.api.VoteCreate;
 import org.cooperative.vote.api.VoteResponse;
+import org.cooperative.vote.infrastructure.VoteBatchWriter;
 import org.cooperative.vote.infrastructure.VoteRepositoryImpl;
+import org.cooperative.vote.infrastructure.VoterFilters;
+import org.cooperative.vote.jpa.PollResultRepositoryJpa;
 import org.cooperative.vote.jpa.VoteRepositoryJpa;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
@@ -27,15 +32,18 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.web.reactive.server.EntityExchangeResult;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import org.springframework.web.reactive.function.BodyInserters;
 
 import java.net.URI;
 import java.time.Duration;
 import java.time.OffsetDateTime;
+import java.util.List;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -62,6 +70,12 @@ class VoteApiTest {
     @Autowired
     private StubVoteRepositoryJpa stubVoteRepository;
 
+    @Autowired
+    private PollWindowCache pollWindowCache;
+
+    @Autowired
+    private VoterSets voterSets;
+
     @Autowired
     private StubPollRepositoryJpa stubPollRepository;
 
@@ -74,23 +88,68 @@ class VoteApiTest {
     @Configuration
     public static class TestConfig {
         @Bean
-        public VoteApiController voteApiController(VoteService service) {
+        public VoteApiController voteApiController(ReactiveVoteService service) {
             return new VoteApiController(service);
         }
 
         @Bean
-        public VoteService voteService(VoteRepository voteRepository, PollService pollService) {
-            return new VoteServiceImpl(voteRepository, pollService);
+        public ReactiveVoteService reactiveVoteService(VoteService voteService, PollService pollService,
+                BlockingExecutor blockingExecutor, LiveVoteCounts liveVoteCounts) {
+            return new ReactiveVoteServiceAdapter(voteService, pollService, blockingExecutor, liveVoteCounts);
+        }
+
+        @Bean
+        public LiveVoteCounts liveVoteCounts() {
+            return new LiveVoteCounts(50, 1_000);
+        }
+
+        @Bean
+        public BlockingExecutor blockingExecutor() {
+            return new BlockingExecutor(BlockingExecutor.Type.BOUNDED_ELASTIC, 10, 1000);
+        }
+
+        @Bean
+        public VoteService voteService(VoteRepository voteRepository, PollService pollService,
+                PollWindowCache pollWindowCache, VoterSets voterSets) {
+            return new VoteServiceImpl(voteRepository, pollService, new VoteTally(), pollWindowCache, voterSets);
+        }
+
+        @Bean
+        public PollWindowCache pollWindowCache() {
+            return new PollWindowCache();
+        }
+
+        @Bean
+        public VoterSets voterSets() {
+            return new VoterSets();
         }
 
         @Bean
-        public VoteRepository voteRepository(VoteRepositoryJpa voteRepositoryJpa, PollRepositoryJpa pollRepositoryJpa) {
-            return new VoteRepositoryImpl(voteRepositoryJpa, pollRepositoryJpa);
+        public VoteRepository voteRepository(VoteRepositoryJpa voteRepositoryJpa,
+                PollResultRepositoryJpa pollResultRepositoryJpa, VoteBatchWriter voteBatchWriter,
+                VoterFilters voterFilters) {
+            return new VoteRepositoryImpl(voteRepositoryJpa, pollResultRepositoryJpa, voteBatchWriter,
+                    voterFilters);
         }
 
         @Bean
-        public VoteRepositoryJpa voteRepositoryJpa() {
-            return new StubVoteRepositoryJpa();
+        public VoterFilters voterFilters(VoteRepositoryJpa voteRepositoryJpa) {
+            return new VoterFilters(voteRepositoryJpa, true, true, 0.01, 1024, 64);
+        }
+
+        @Bean
+        public PollResultRepositoryJpa pollResultRepositoryJpa() {
+            return new StubPollResultRepositoryJpa();
+        }
+
+        @Bean
+        public VoteBatchWriter voteBatchWriter(VoteRepositoryJpa voteRepositoryJpa) {
+            return new VoteBatchWriter(voteRepositoryJpa, 100, 5);
+        }
+
+        @Bean
+        public VoteRepositoryJpa voteRepositoryJpa(PollRepositoryJpa pollRepositoryJpa) {
+            return new StubVoteRepositoryJpa(pollRepositoryJpa);
         }
 
         @Bean
@@ -135,6 +194,8 @@ class VoteApiTest {
         stubPollRepository.deleteAll();
         stubSubjectRepository.deleteAll();
         stubVoteRepository.deleteAll();
+        pollWindowCache.onPollDeleted(1L, 1L);
+        voterSets.onPollDeleted(1L, 1L);
     }
 
     @Test
@@ -161,7 +222,7 @@ class VoteApiTest {
                 .subjectId(1L)
                 .pollId(1L)
                 .build();
-        voteRepository.createVote(vote);
+        voteRepository.createVoteIfAbsent(vote);
 
         VoteResponse voteResponse = webTestClient.get()
                 .uri(URI.create("/subjects/1/polls/1/votes"))
@@ -176,6 +237,59 @@ class VoteApiTest {
         assertTrue(startTime.plus(Duration.ofSeconds(10)).isEqual(voteResponse.getVoteDate()));
     }
 
+    @Test
+    void testGetVotesAsNdjson() {
+        subjectService.createSubject(Subject.of(1L, "subject"));
+        pollService.createPoll(Poll.of(1L, "poll", startTime, endTime, 1L));
+        for (int i = 0; i < 3; i++) {
+            voteRepository.createVoteIfAbsent(Vote.of(UUID.randomUUID(), i % 2 == 0,
+                    startTime.plus(Duration.ofSeconds(i)), 1L, 1L));
+        }
+
+        List<VoteResponse> voteResponses = webTestClient.get()
+                .uri(URI.create("/subjects/1/polls/1/votes"))
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(VoteResponse.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+        assertEquals(3, voteResponses.size());
+    }
+
+
+    @Test
+    void testGetVotesPaged() {
+        subjectService.createSubject(Subject.of(1L, "subject"));
+        pollService.createPoll(Poll.of(1L, "poll", startTime, endTime, 1L));
+        for (int i = 3; i > 0; i--) {
+            voteRepository.createVoteIfAbsent(Vote.of(new UUID(0, i), true, startTime, 1L, 1L));
+        }
+
+        EntityExchangeResult<List<VoteResponse>> firstPage = webTestClient.get()
+                .uri(URI.create("/subjects/1/polls/1/votes?limit=2"))
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBodyList(VoteResponse.class).hasSize(2)
+                .returnResult();
+        assertEquals(new UUID(0, 1), firstPage.getResponseBody().get(0).getVoter());
+        assertEquals(new UUID(0, 2), firstPage.getResponseBody().get(1).getVoter());
+        String link = firstPage.getResponseHeaders().getFirst(HttpHeaders.LINK);
+        assertTrue(link.endsWith(">; rel=\"next\""));
+
+        webTestClient.get()
+                .uri(URI.create(link.substring(1, link.indexOf('>'))))
+                .accept(MediaType.APPLICATION_JSON)
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().doesNotExist(HttpHeaders.LINK)
+                .expectBodyList(VoteResponse.class).hasSize(1)
+                .value(votes -> assertEquals(new UUID(0, 3), votes.get(0).getVoter()));
+    }
+
 
     @Test
     void testAddVoteSuccess() {
@@ -231,7 +345,7 @@ class VoteApiTest {
                 .subjectId(1L)
                 .pollId(1L)
                 .build();
-        voteRepository.createVote(vote);
+        voteRepository.createVoteIfAbsent(vote);
 
         webTestClient.post()
                 .uri(URI.create("/subjects/1/polls/1/votes"))
@@ -242,6 +356,50 @@ class VoteApiTest {
                 .expectStatus().isEqualTo(HttpStatus.CONFLICT);
     }
 
+    @Test
+    void testAddVotesBulk() {
+        subjectService.createSubject(Subject.of(1L, "subject"));
+        pollService.createPoll(Poll.of(1L, "poll", startTime, endTime, 1L));
+
+        String body = "{\"voter\":\"0c3c4a9e-7c55-4a3e-9df4-6a0f3e1d2b01\",\"agree\":true}\n" +
+                "{\"voter\":\"0c3c4a9e-7c55-4a3e-9df4-6a0f3e1d2b01\",\"agree\":false}\n" +
+                "{\"agree\":true}\n" +
+                "{\"voter\":\"5d1b7b52-1f0e-4d55-8b8e-3a6cf0a4b9c2\",\"agree\":false}\n";
+
+        List<VoteBulkResponse> responses = webTestClient.post()
+                .uri(URI.create("/subjects/1/polls/1/votes:bulk"))
+                .accept(MediaType.APPLICATION_NDJSON)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(BodyInserters.fromValue(body))
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(VoteBulkResponse.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+        assertEquals(List.of(
+                VoteBulkResponse.of(UUID.fromString("0c3c4a9e-7c55-4a3e-9df4-6a0f3e1d2b01"), VoteResult.Status.CREATED),
+                VoteBulkResponse.of(UUID.fromString("0c3c4a9e-7c55-4a3e-9df4-6a0f3e1d2b01"), VoteResult.Status.DUPLICATE),
+                VoteBulkResponse.of(null, VoteResult.Status.REJECTED),
+                VoteBulkResponse.of(UUID.fromString("5d1b7b52-1f0e-4d55-8b8e-3a6cf0a4b9c2"), VoteResult.Status.CREATED)),
+                responses);
+        assertEquals(VoteCount.of(1, 1), voteService.getVoteCountForPoll(1L, 1L));
+    }
+
+    @Test
+    void testAddVotesBulkTooLate() {
+        subjectService.createSubject(Subject.of(1L, "subject"));
+        pollService.createPoll(Poll.of(1L, "poll", startTime.minus(Duration.ofMinutes(1)), startTime, 1L));
+
+        webTestClient.post()
+                .uri(URI.create("/subjects/1/polls/1/votes:bulk"))
+                .accept(MediaType.APPLICATION_NDJSON)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(BodyInserters.fromValue("{\"voter\":\"0c3c4a9e-7c55-4a3e-9df4-6a0f3e1d2b01\",\"agree\":true}\n"))
+                .exchange()
+                .expectStatus().isEqualTo(HttpStatus.UNPROCESSABLE_ENTITY);
+    }
+
     @Test
     void testGetVoteSuccess() {
         subjectService.createSubject(Subject.of(1L, "subject"));
@@ -256,7 +414,7 @@ class VoteApiTest {
                 .subjectId(1L)
                 .pollId(1L)
                 .build();
-        voteRepository.createVote(vote);
+        voteRepository.createVoteIfAbsent(vote);
 
         VoteResponse voteResponse = webTestClient.get()
                 .uri(URI.create("/subjects/1/polls/1/votes/a7de6af5-91ea-4a34-a9d2-35694cb9596d"))
@@ -0,0 +1,70 @@
+package org.cooperative.api;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ServerWebInputException;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+public final class PageCursor {
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1000;
+
+    private PageCursor() {
+    }
+
+    public static boolean isPaged(Integer limit, String after) {
+        return limit != null || after != null;
+    }
+
+    public static int limit(Integer limit) {
+        if (limit == null) return DEFAULT_LIMIT;
+        if (limit < 1) throw new ServerWebInputException("Limit must be at least 1");
+        return Math.min(limit, MAX_LIMIT);
+    }
+
+    public static Long decodeId(String cursor) {
+        return decode(cursor, Long::parseLong);
+    }
+
+    public static String encodeId(long id) {
+        return encode(Long.toString(id));
+    }
+
+    public static UUID decodeUuid(String cursor) {
+        return decode(cursor, UUID::fromString);
+    }
+
+    public static String encodeUuid(UUID uuid) {
+        return encode(uuid.toString());
+    }
+
+    // Pages are fetched with one extra row, which only tells whether a next page exists
+    public static <T> ResponseEntity<Flux<T>> toResponse(List<T> items, int limit, String path,
+            Function<T, String> cursor) {
+        if (items.size() <= limit) return ResponseEntity.ok(Flux.fromIterable(items));
+        List<T> page = items.subList(0, limit);
+        String next = cursor.apply(page.get(limit - 1));
+        return ResponseEntity.ok()
+                .header(HttpHeaders.LINK, "<" + path + "?limit=" + limit + "&after=" + next + ">; rel=\"next\"")
+                .body(Flux.fromIterable(page));
+    }
+
+    private static <K> K decode(String cursor, Function<String, K> parser) {
+        if (cursor == null) return null;
+        try {
+            return parser.apply(new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.US_ASCII));
+        } catch (IllegalArgumentException e) {
+            throw new ServerWebInputException("Invalid cursor: " + cursor);
+        }
+    }
+
+    private static String encode(String key) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.US_ASCII));
+    }
+}
@@ -2,16 +2,15 @@ package org.cooperative.app;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
-import org.springframework.boot.autoconfigure.domain.EntityScan;
 import org.springframework.context.annotation.ComponentScan;
-import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import reactor.core.scheduler.Schedulers;
 
 @SpringBootApplication
-@EntityScan(basePackages = {"org.cooperative"})
 @ComponentScan(basePackages = {"org.cooperative"})
-@EnableJpaRepositories(basePackages = {"org.cooperative"})
 public class CooperativeApplication {
     public static void main(String[] args) {
+        // Reactor's own schedulers report to Micrometer's global registry, which Boot's registry is added to
+        Schedulers.enableMetrics();
         SpringApplication.run(CooperativeApplication.class, args);
     }
 }
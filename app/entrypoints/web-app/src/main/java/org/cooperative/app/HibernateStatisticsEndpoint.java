@@ -0,0 +1,63 @@
+package org.cooperative.app;
+
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+// /actuator/hibernate: Hibernate's totals and per query statistics, and the statements each JPA repository
+// method ran; a DELETE starts over
+@Endpoint(id = "hibernate")
+public class HibernateStatisticsEndpoint {
+    private final Statistics statistics;
+    private final SqlStatements statements;
+
+    public HibernateStatisticsEndpoint(Statistics statistics, SqlStatements statements) {
+        this.statistics = statistics;
+        this.statements = statements;
+    }
+
+    @ReadOperation
+    public Map<String, Object> statistics() {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("enabled", statistics.isStatisticsEnabled());
+        result.put("sessions", statistics.getSessionOpenCount());
+        result.put("transactions", statistics.getTransactionCount());
+        result.put("preparedStatements", statistics.getPrepareStatementCount());
+        result.put("queryExecutions", statistics.getQueryExecutionCount());
+        result.put("entityLoads", statistics.getEntityLoadCount());
+        result.put("entityFetches", statistics.getEntityFetchCount());
+        result.put("entityInserts", statistics.getEntityInsertCount());
+        result.put("entityUpdates", statistics.getEntityUpdateCount());
+        result.put("entityDeletes", statistics.getEntityDeleteCount());
+        result.put("flushes", statistics.getFlushCount());
+        result.put("repositoryMethods", statements.repositoryMethods());
+        result.put("queries", queries());
+        return result;
+    }
+
+    @DeleteOperation
+    public void clear() {
+        statistics.clear();
+        statements.clear();
+    }
+
+    private Map<String, Map<String, Object>> queries() {
+        Map<String, Map<String, Object>> queries = new TreeMap<>();
+        for (String query : statistics.getQueries()) {
+            QueryStatistics queryStatistics = statistics.getQueryStatistics(query);
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("executions", queryStatistics.getExecutionCount());
+            result.put("rows", queryStatistics.getExecutionRowCount());
+            result.put("meanMs", queryStatistics.getExecutionAvgTime());
+            result.put("maxMs", queryStatistics.getExecutionMaxTime());
+            queries.put(query, result);
+        }
+        return queries;
+    }
+}
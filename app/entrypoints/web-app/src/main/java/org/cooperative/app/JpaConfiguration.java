@@ -0,0 +1,13 @@
+package org.cooperative.app;
+
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+@Configuration
+@Profile("!r2dbc & !memory")
+@EntityScan(basePackages = {"org.cooperative"})
+@EnableJpaRepositories(basePackages = {"org.cooperative"})
+public class JpaConfiguration {
+}
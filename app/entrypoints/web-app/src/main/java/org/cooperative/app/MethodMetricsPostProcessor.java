@@ -0,0 +1,123 @@
+package org.cooperative.app;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.cooperative.poll.PollRepository;
+import org.cooperative.poll.PollService;
+import org.cooperative.poll.ReactivePollRepository;
+import org.cooperative.poll.ReactivePollService;
+import org.cooperative.span.CallTiming;
+import org.cooperative.subject.ReactiveSubjectRepository;
+import org.cooperative.subject.ReactiveSubjectService;
+import org.cooperative.subject.SubjectRepository;
+import org.cooperative.subject.SubjectService;
+import org.cooperative.vote.ReactiveVoteRepository;
+import org.cooperative.vote.ReactiveVoteService;
+import org.cooperative.vote.VoteRepository;
+import org.cooperative.vote.VoteService;
+import org.springframework.aop.framework.AbstractAdvisingBeanPostProcessor;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// Times every call on the services and repositories, tagged with the interface and method, and counts the
+// domain exceptions they throw. Mono and Flux results are timed from subscription to termination, so the
+// reactive adapters include the wait for the blocking executor.
+public class MethodMetricsPostProcessor extends AbstractAdvisingBeanPostProcessor {
+    private static final String CALLS = "cooperative.calls";
+    private static final String EXCEPTIONS = "cooperative.exceptions";
+
+    private static final List<Class<?>> INSTRUMENTED = List.of(
+            SubjectService.class, ReactiveSubjectService.class, SubjectRepository.class, ReactiveSubjectRepository.class,
+            PollService.class, ReactivePollService.class, PollRepository.class, ReactivePollRepository.class,
+            VoteService.class, ReactiveVoteService.class, VoteRepository.class, ReactiveVoteRepository.class);
+    private static final String DOMAIN_PACKAGE = "org.cooperative.";
+
+    public MethodMetricsPostProcessor(ObjectProvider<MeterRegistry> registry) {
+        setBeforeExistingAdvisors(true);
+        this.advisor = new DefaultPointcutAdvisor(new InstrumentedMethods(), new MetricsInterceptor(registry));
+    }
+
+    private static Class<?> instrumentedType(Method method, Class<?> targetClass) {
+        for (Class<?> type : INSTRUMENTED) {
+            if (type.isAssignableFrom(targetClass) &&
+                    ClassUtils.hasMethod(type, method.getName(), method.getParameterTypes())) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+    private static class InstrumentedMethods extends StaticMethodMatcherPointcut {
+        @Override
+        public boolean matches(Method method, Class<?> targetClass) {
+            return instrumentedType(method, targetClass) != null;
+        }
+    }
+
+    private static class MetricsInterceptor implements MethodInterceptor {
+        private final ObjectProvider<MeterRegistry> registryProvider;
+        private final Map<Method, String> components = new ConcurrentHashMap<>();
+        // Resolved on the first call, the registry must not be created while post processors still are
+        private volatile MeterRegistry registry;
+
+        MetricsInterceptor(ObjectProvider<MeterRegistry> registryProvider) {
+            this.registryProvider = registryProvider;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            MeterRegistry registry = registry();
+            if (registry == null) return invocation.proceed();
+            String component = components.computeIfAbsent(invocation.getMethod(), m -> {
+                Class<?> type = instrumentedType(m, AopUtils.getTargetClass(invocation.getThis()));
+                return type == null ? m.getDeclaringClass().getSimpleName() : type.getSimpleName();
+            });
+            String method = invocation.getMethod().getName();
+
+            return CallTiming.proceed(invocation::proceed,
+                    (nanos, error, cancelled) -> record(registry, component, method, nanos, error, cancelled));
+        }
+
+        private MeterRegistry registry() {
+            MeterRegistry current = registry;
+            if (current == null) {
+                current = registryProvider.getIfAvailable();
+                registry = current;
+            }
+            return current;
+        }
+
+        private static void record(MeterRegistry registry, String component, String method, long nanos,
+                Throwable exception, boolean cancelled) {
+            String exceptionTag = cancelled ? "cancelled"
+                    : exception == null ? "none" : exception.getClass().getSimpleName();
+            Timer.builder(CALLS)
+                    .tag("component", component)
+                    .tag("method", method)
+                    .tag("exception", exceptionTag)
+                    .publishPercentileHistogram()
+                    .register(registry)
+                    .record(nanos, TimeUnit.NANOSECONDS);
+            if (exception != null && exception.getClass().getName().startsWith(DOMAIN_PACKAGE)) {
+                Counter.builder(EXCEPTIONS)
+                        .tag("component", component)
+                        .tag("method", method)
+                        .tag("exception", exceptionTag)
+                        .register(registry)
+                        .increment();
+            }
+        }
+    }
+}
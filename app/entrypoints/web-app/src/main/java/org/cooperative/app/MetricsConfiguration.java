@@ -0,0 +1,65 @@
+package org.cooperative.app;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.cooperative.vote.PollWindowCache;
+import org.cooperative.vote.infrastructure.VoterFilters;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class MetricsConfiguration {
+    @Bean
+    public static MethodMetricsPostProcessor methodMetricsPostProcessor(ObjectProvider<MeterRegistry> registry) {
+        return new MethodMetricsPostProcessor(registry);
+    }
+
+    @Bean
+    public MeterBinder pollWindowCacheMetrics(PollWindowCache pollWindowCache) {
+        return registry -> {
+            FunctionCounter.builder("cache.gets", pollWindowCache, c -> c.stats().hitCount())
+                    .tag("cache", "pollWindow")
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("cache.gets", pollWindowCache, c -> c.stats().missCount())
+                    .tag("cache", "pollWindow")
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("cache.evictions", pollWindowCache, c -> c.stats().evictionCount())
+                    .tag("cache", "pollWindow")
+                    .register(registry);
+            Gauge.builder("cache.size", pollWindowCache, PollWindowCache::size)
+                    .tag("cache", "pollWindow")
+                    .register(registry);
+        };
+    }
+
+    @Bean
+    public MeterBinder voterFiltersMetrics(ObjectProvider<VoterFilters> voterFilters) {
+        return registry -> voterFilters.ifAvailable(filters -> {
+            Gauge.builder("vote.bloom.memory", filters, VoterFilters::memoryBytes)
+                    .baseUnit("bytes")
+                    .register(registry);
+            Gauge.builder("vote.bloom.memory.max", filters, VoterFilters::maxMemoryBytes)
+                    .baseUnit("bytes")
+                    .register(registry);
+            Gauge.builder("vote.bloom.polls", filters, VoterFilters::polls)
+                    .register(registry);
+            Gauge.builder("vote.bloom.polls.saturated", filters, VoterFilters::saturatedPolls)
+                    .register(registry);
+            Gauge.builder("vote.bloom.false.positive.rate.target", filters, VoterFilters::falsePositiveRate)
+                    .register(registry);
+            FunctionCounter.builder("vote.bloom.lookups", filters, VoterFilters::negativeLookups)
+                    .tag("result", "negative")
+                    .register(registry);
+            FunctionCounter.builder("vote.bloom.lookups", filters, VoterFilters::maybeLookups)
+                    .tag("result", "maybe")
+                    .register(registry);
+            FunctionCounter.builder("vote.bloom.false.positives", filters, VoterFilters::falsePositives)
+                    .register(registry);
+        });
+    }
+}
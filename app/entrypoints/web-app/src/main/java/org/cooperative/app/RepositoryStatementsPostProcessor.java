@@ -0,0 +1,45 @@
+package org.cooperative.app;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactoryBean;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Accounts statements to the JPA repository method running them. The advice goes first on each repository
+// proxy, outside its transaction, so the statements flushed on commit count too.
+public class RepositoryStatementsPostProcessor implements BeanPostProcessor {
+    private final SqlStatements statements;
+
+    public RepositoryStatementsPostProcessor(SqlStatements statements) {
+        this.statements = statements;
+    }
+
+    @Override
+    public Object postProcessBeforeInitialization(Object bean, String beanName) {
+        if (bean instanceof JpaRepositoryFactoryBean) {
+            ((JpaRepositoryFactoryBean<?, ?, ?>) bean).addRepositoryFactoryCustomizer(factory ->
+                    factory.addRepositoryProxyPostProcessor((proxy, repository) -> proxy.addAdvice(0,
+                            new StatementsInterceptor(repository.getRepositoryInterface().getSimpleName()))));
+        }
+        return bean;
+    }
+
+    private class StatementsInterceptor implements MethodInterceptor {
+        private final String repository;
+        private final Map<Method, String> methods = new ConcurrentHashMap<>();
+
+        StatementsInterceptor(String repository) {
+            this.repository = repository;
+        }
+
+        @Override
+        public Object invoke(MethodInvocation invocation) throws Throwable {
+            String method = methods.computeIfAbsent(invocation.getMethod(), m -> repository + "." + m.getName());
+            return statements.proceed(method, invocation::proceed);
+        }
+    }
+}
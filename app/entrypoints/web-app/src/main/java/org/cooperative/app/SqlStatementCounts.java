@@ -0,0 +1,51 @@
+package org.cooperative.app;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Statements and JDBC execution time of a request or a repository method. Updated from whichever blocking
+// thread runs the statements.
+public class SqlStatementCounts {
+    private static final double NANOS_PER_MILLI = 1_000_000.0;
+
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder[] statements = new LongAdder[SqlStatementType.values().length];
+    private final LongAdder executionNanos = new LongAdder();
+
+    public SqlStatementCounts() {
+        for (int i = 0; i < statements.length; i++) statements[i] = new LongAdder();
+    }
+
+    void called() {
+        calls.increment();
+    }
+
+    void statement(SqlStatementType type) {
+        statements[type.ordinal()].increment();
+    }
+
+    void executed(long nanos) {
+        executionNanos.add(nanos);
+    }
+
+    public long statements(SqlStatementType type) {
+        return statements[type.ordinal()].sum();
+    }
+
+    public long executionNanos() {
+        return executionNanos.sum();
+    }
+
+    public double executionMs() {
+        return executionNanos() / NANOS_PER_MILLI;
+    }
+
+    public SqlStatementSnapshot snapshot() {
+        return SqlStatementSnapshot.of(calls.sum(),
+                statements(SqlStatementType.SELECT),
+                statements(SqlStatementType.INSERT),
+                statements(SqlStatementType.UPDATE),
+                statements(SqlStatementType.DELETE),
+                statements(SqlStatementType.OTHER),
+                executionMs());
+    }
+}
@@ -0,0 +1,18 @@
+package org.cooperative.app;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+// Sees every statement as Hibernate prepares it, native queries included, and leaves it unchanged
+public class SqlStatementInspector implements StatementInspector {
+    private final SqlStatements statements;
+
+    public SqlStatementInspector(SqlStatements statements) {
+        this.statements = statements;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        statements.statement(sql);
+        return sql;
+    }
+}
@@ -0,0 +1,40 @@
+package org.cooperative.app;
+
+import org.hibernate.BaseSessionEventListener;
+
+// Times the JDBC statement and batch executions of a session. Hibernate creates one per session from the
+// class name, so the accounting is registered statically.
+public class SqlStatementListener extends BaseSessionEventListener {
+    private static volatile SqlStatements statements;
+
+    private long start;
+
+    static void register(SqlStatements statements) {
+        SqlStatementListener.statements = statements;
+    }
+
+    @Override
+    public void jdbcExecuteStatementStart() {
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteStatementEnd() {
+        executed();
+    }
+
+    @Override
+    public void jdbcExecuteBatchStart() {
+        start = System.nanoTime();
+    }
+
+    @Override
+    public void jdbcExecuteBatchEnd() {
+        executed();
+    }
+
+    private void executed() {
+        SqlStatements current = statements;
+        if (current != null) current.executed(System.nanoTime() - start);
+    }
+}
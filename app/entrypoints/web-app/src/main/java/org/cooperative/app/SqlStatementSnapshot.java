@@ -0,0 +1,24 @@
+package org.cooperative.app;
+
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+import java.util.Locale;
+
+@AllArgsConstructor(staticName = "of")
+@Value
+public class SqlStatementSnapshot {
+    long calls;
+    long selects;
+    long inserts;
+    long updates;
+    long deletes;
+    long others;
+    double executionMs;
+
+    // Debug response header value
+    String toHeader() {
+        return String.format(Locale.ROOT, "select=%d, insert=%d, update=%d, delete=%d, other=%d, db-ms=%.3f",
+                selects, inserts, updates, deletes, others, executionMs);
+    }
+}
@@ -0,0 +1,30 @@
+package org.cooperative.app;
+
+public enum SqlStatementType {
+    SELECT, INSERT, UPDATE, DELETE, OTHER;
+
+    private static final String WITH = "with";
+
+    // Classified by the first keyword, after any comments Hibernate prepends
+    public static SqlStatementType of(String sql) {
+        int i = 0;
+        while (i < sql.length()) {
+            if (Character.isWhitespace(sql.charAt(i))) {
+                i++;
+            } else if (sql.startsWith("/*", i)) {
+                int end = sql.indexOf("*/", i + 2);
+                i = end < 0 ? sql.length() : end + 2;
+            } else {
+                break;
+            }
+        }
+        for (SqlStatementType type : values()) {
+            if (type != OTHER && startsWith(sql, i, type.name())) return type;
+        }
+        return startsWith(sql, i, WITH) ? SELECT : OTHER;
+    }
+
+    private static boolean startsWith(String sql, int offset, String keyword) {
+        return sql.regionMatches(true, offset, keyword, 0, keyword.length());
+    }
+}
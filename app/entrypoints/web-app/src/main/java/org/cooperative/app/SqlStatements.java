@@ -0,0 +1,73 @@
+package org.cooperative.app;
+
+import org.cooperative.span.CallTiming;
+import org.cooperative.span.TraceSpan;
+import org.cooperative.span.Tracer;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+// Accounts the SQL statements Hibernate runs to the request and to the JPA repository method that caused
+// them. Requests are found through their trace, which follows them onto the blocking executor, so only
+// traced requests are accounted.
+public class SqlStatements {
+    private static final ThreadLocal<String> REPOSITORY_METHOD = new ThreadLocal<>();
+
+    private final Map<String, SqlStatementCounts> requests = new ConcurrentHashMap<>();
+    private final Map<String, SqlStatementCounts> repositoryMethods = new ConcurrentHashMap<>();
+
+    public SqlStatementCounts startRequest(String traceId) {
+        SqlStatementCounts counts = new SqlStatementCounts();
+        requests.put(traceId, counts);
+        return counts;
+    }
+
+    public void endRequest(String traceId) {
+        requests.remove(traceId);
+    }
+
+    public Object proceed(String repositoryMethod, CallTiming.Call call) throws Throwable {
+        repositoryMethod(repositoryMethod).called();
+        String previous = REPOSITORY_METHOD.get();
+        REPOSITORY_METHOD.set(repositoryMethod);
+        try {
+            return call.proceed();
+        } finally {
+            if (previous == null) REPOSITORY_METHOD.remove();
+            else REPOSITORY_METHOD.set(previous);
+        }
+    }
+
+    public void statement(String sql) {
+        SqlStatementType type = SqlStatementType.of(sql);
+        account(counts -> counts.statement(type));
+    }
+
+    public void executed(long nanos) {
+        account(counts -> counts.executed(nanos));
+    }
+
+    public Map<String, SqlStatementSnapshot> repositoryMethods() {
+        Map<String, SqlStatementSnapshot> snapshot = new TreeMap<>();
+        repositoryMethods.forEach((method, counts) -> snapshot.put(method, counts.snapshot()));
+        return snapshot;
+    }
+
+    public void clear() {
+        repositoryMethods.clear();
+    }
+
+    private void account(Consumer<SqlStatementCounts> update) {
+        TraceSpan span = Tracer.current();
+        SqlStatementCounts request = span == null ? null : requests.get(span.getTraceId());
+        if (request != null) update.accept(request);
+        String method = REPOSITORY_METHOD.get();
+        if (method != null) update.accept(repositoryMethod(method));
+    }
+
+    private SqlStatementCounts repositoryMethod(String method) {
+        return repositoryMethods.computeIfAbsent(method, m -> new SqlStatementCounts());
+    }
+}
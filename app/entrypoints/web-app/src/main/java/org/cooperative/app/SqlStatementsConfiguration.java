@@ -0,0 +1,48 @@
+package org.cooperative.app;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.SessionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+import javax.persistence.EntityManagerFactory;
+
+@Configuration
+@Profile("!r2dbc & !memory")
+public class SqlStatementsConfiguration {
+    @Bean
+    public static SqlStatements sqlStatements() {
+        return new SqlStatements();
+    }
+
+    @Bean
+    public static RepositoryStatementsPostProcessor repositoryStatementsPostProcessor(SqlStatements sqlStatements) {
+        return new RepositoryStatementsPostProcessor(sqlStatements);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementsHibernateProperties(SqlStatements sqlStatements) {
+        SqlStatementListener.register(sqlStatements);
+        return properties -> {
+            properties.put(AvailableSettings.STATEMENT_INSPECTOR, new SqlStatementInspector(sqlStatements));
+            properties.put(AvailableSettings.AUTO_SESSION_EVENTS_LISTENER, SqlStatementListener.class.getName());
+        };
+    }
+
+    @Bean
+    public SqlStatementsWebFilter sqlStatementsWebFilter(SqlStatements sqlStatements, MeterRegistry registry,
+            @Value("${cooperative.sql.debug-header:false}") boolean debugHeader) {
+        return new SqlStatementsWebFilter(sqlStatements, registry, debugHeader);
+    }
+
+    @Bean
+    public HibernateStatisticsEndpoint hibernateStatisticsEndpoint(EntityManagerFactory entityManagerFactory,
+            SqlStatements sqlStatements) {
+        return new HibernateStatisticsEndpoint(
+                entityManagerFactory.unwrap(SessionFactory.class).getStatistics(), sqlStatements);
+    }
+}
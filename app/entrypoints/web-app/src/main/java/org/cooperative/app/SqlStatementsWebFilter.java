@@ -0,0 +1,93 @@
+package org.cooperative.app;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.cooperative.span.TraceSpan;
+import org.cooperative.span.TraceWebFilter;
+import org.springframework.core.Ordered;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import reactor.core.publisher.Mono;
+
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+// Records the statements of each traced request by route when it ends, and optionally returns them in a
+// debug header. The header is written as the response commits, so statements run while a response streams
+// are only in the metrics.
+public class SqlStatementsWebFilter implements WebFilter, Ordered {
+    static final String STATEMENTS_HEADER = "X-Sql-Statements";
+    private static final String STATEMENTS = "cooperative.request.statements";
+    private static final String EXECUTION = "cooperative.request.db";
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final SqlStatements statements;
+    private final MeterRegistry registry;
+    private final boolean debugHeader;
+    private final ConcurrentMap<String, RouteMeters> routes = new ConcurrentHashMap<>();
+
+    public SqlStatementsWebFilter(SqlStatements statements, MeterRegistry registry, boolean debugHeader) {
+        this.statements = statements;
+        this.registry = registry;
+        this.debugHeader = debugHeader;
+    }
+
+    @Override
+    public int getOrder() {
+        return Ordered.HIGHEST_PRECEDENCE + 1;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        TraceSpan trace = exchange.getAttribute(TraceWebFilter.TRACE_ATTRIBUTE);
+        if (trace == null) return chain.filter(exchange);
+
+        SqlStatementCounts counts = statements.startRequest(trace.getTraceId());
+        if (debugHeader) {
+            exchange.getResponse().beforeCommit(() -> Mono.fromRunnable(() -> exchange.getResponse().getHeaders()
+                    .set(STATEMENTS_HEADER, counts.snapshot().toHeader())));
+        }
+        return chain.filter(exchange)
+                .doFinally(signal -> {
+                    statements.endRequest(trace.getTraceId());
+                    record(exchange, counts);
+                });
+    }
+
+    private void record(ServerWebExchange exchange, SqlStatementCounts counts) {
+        String method = exchange.getRequest().getMethodValue();
+        PathPattern pattern = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern == null ? UNKNOWN_URI : pattern.getPatternString();
+        RouteMeters meters = routes.computeIfAbsent(method + " " + uri, k -> new RouteMeters(method, uri));
+        for (SqlStatementType type : SqlStatementType.values()) {
+            meters.statements[type.ordinal()].record(counts.statements(type));
+        }
+        meters.execution.record(counts.executionNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    // Looked up once per route rather than through the builders on every request
+    private class RouteMeters {
+        final DistributionSummary[] statements = new DistributionSummary[SqlStatementType.values().length];
+        final Timer execution;
+
+        RouteMeters(String method, String uri) {
+            for (SqlStatementType type : SqlStatementType.values()) {
+                statements[type.ordinal()] = DistributionSummary.builder(STATEMENTS)
+                        .tag("method", method)
+                        .tag("uri", uri)
+                        .tag("type", type.name().toLowerCase(Locale.ROOT))
+                        .register(registry);
+            }
+            execution = Timer.builder(EXECUTION)
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .register(registry);
+        }
+    }
+}
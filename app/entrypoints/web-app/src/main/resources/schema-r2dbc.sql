@@ -0,0 +1,34 @@
+CREATE SEQUENCE IF NOT EXISTS hibernate_sequence START 1 INCREMENT 1;
+CREATE SEQUENCE IF NOT EXISTS vote_id_seq START 1 INCREMENT 100;
+
+CREATE TABLE IF NOT EXISTS subject (
+    id BIGINT PRIMARY KEY,
+    name VARCHAR(255)
+);
+
+CREATE TABLE IF NOT EXISTS poll (
+    id BIGINT PRIMARY KEY,
+    name VARCHAR(255) NOT NULL,
+    start_date TIMESTAMP WITH TIME ZONE NOT NULL,
+    end_date TIMESTAMP WITH TIME ZONE NOT NULL,
+    subject_id BIGINT NOT NULL REFERENCES subject (id)
+);
+
+CREATE TABLE IF NOT EXISTS vote (
+    id BIGINT PRIMARY KEY,
+    voter UUID NOT NULL,
+    agree BOOLEAN NOT NULL,
+    vote_date TIMESTAMP WITH TIME ZONE NOT NULL,
+    poll_id BIGINT NOT NULL REFERENCES poll (id),
+    CONSTRAINT vote_poll_voter_key UNIQUE (poll_id, voter)
+);
+
+CREATE TABLE IF NOT EXISTS poll_result (
+    poll_id BIGINT PRIMARY KEY,
+    end_date TIMESTAMP WITH TIME ZONE NOT NULL,
+    agree BIGINT NOT NULL,
+    disagree BIGINT NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS poll_subject_id_id_idx ON poll (subject_id, id);
+CREATE INDEX IF NOT EXISTS poll_end_date_idx ON poll (end_date);
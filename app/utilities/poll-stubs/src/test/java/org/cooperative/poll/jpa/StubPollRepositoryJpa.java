@@ -1,8 +1,11 @@
 package org.cooperative.poll.jpa;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
 
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -13,6 +16,13 @@ public class StubPollRepositoryJpa implements PollRepositoryJpa {
     List<Poll> polls = new ArrayList<>();
     long nextId = 1;
 
+    @Override
+    public List<Poll> findByEndDateAfter(OffsetDateTime endDate) {
+        return polls.stream()
+                .filter(p -> p.getEndDate().isAfter(endDate))
+                .collect(Collectors.toList());
+    }
+
     @Override
     public List<Poll> findBySubject_Id(long subjectId) {
         return polls.stream()
@@ -20,6 +30,15 @@ public class StubPollRepositoryJpa implements PollRepositoryJpa {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<Poll> findBySubject_IdAndIdGreaterThanOrderByIdAsc(long subjectId, long id, Pageable pageable) {
+        return polls.stream()
+                .filter(p -> p.getSubject().getId() == subjectId && p.getId() > id)
+                .sorted(Comparator.comparingLong(Poll::getId))
+                .limit(pageable.getPageSize())
+                .collect(Collectors.toList());
+    }
+
     @Override
     public Optional<Poll> findBySubject_IdAndId(long subjectId, long pollId) {
         return polls.stream()
@@ -2,8 +2,10 @@ package org.cooperative.subject;
 
 import org.cooperative.subject.jpa.Subject;
 import org.cooperative.subject.jpa.SubjectRepositoryJpa;
+import org.springframework.data.domain.Pageable;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
@@ -18,6 +20,15 @@ public class StubSubjectRepositoryJpa implements SubjectRepositoryJpa {
                 .collect(Collectors.toList());
     }
 
+    @Override
+    public List<Subject> findByIdGreaterThanOrderByIdAsc(long id, Pageable pageable) {
+        return subjects.stream()
+                .filter(s -> s.getId() > id)
+                .sorted(Comparator.comparing(Subject::getId))
+                .limit(pageable.getPageSize())
+                .collect(Collectors.toList());
+    }
+
     @Override
     public <S extends Subject> S save(S s) {
         if (existsById(s.getId())) delete(s);
@@ -3,6 +3,7 @@ package org.cooperative.subject;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.Stream;
@@ -22,6 +23,14 @@ public class StubSubjectService implements SubjectService {
         return subjects.stream();
     }
 
+    @Override
+    public Stream<Subject> getSubjectPage(Long afterId, int limit) {
+        return subjects.stream()
+                .filter(s -> afterId == null || s.getId() > afterId)
+                .sorted(Comparator.comparingLong(Subject::getId))
+                .limit(limit);
+    }
+
     @Override
     public Optional<Subject> getSubjectById(long id) {
         if (!isValid(id)) throw new SubjectWrongFormatException();
@@ -0,0 +1,16 @@
+package org.cooperative.vote;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Value;
+import lombok.With;
+import org.cooperative.vote.jpa.PollVoteCount;
+
+@AllArgsConstructor(staticName = "of")
+@Value
+@Builder
+@With
+public class PollVoteCountImpl implements PollVoteCount {
+    long pollId;
+    long count;
+}
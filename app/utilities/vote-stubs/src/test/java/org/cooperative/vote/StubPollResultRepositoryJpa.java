@@ -0,0 +1,90 @@
+package org.cooperative.vote;
+
+import org.cooperative.vote.jpa.PollResult;
+import org.cooperative.vote.jpa.PollResultRepositoryJpa;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+public class StubPollResultRepositoryJpa implements PollResultRepositoryJpa {
+    private final Map<Long, PollResult> results = new ConcurrentHashMap<>();
+
+    @Override
+    public <S extends PollResult> S save(S s) {
+        results.put(s.getPollId(), s);
+        return s;
+    }
+
+    @Override
+    public int insertIfAbsent(PollResult result) {
+        return results.putIfAbsent(result.getPollId(), result) == null ? 1 : 0;
+    }
+
+    @Override
+    public int replaceStale(PollResult result) {
+        PollResult stored = results.get(result.getPollId());
+        if (stored == null || stored.getEndDate().isEqual(result.getEndDate())) return 0;
+        return results.replace(result.getPollId(), stored, result) ? 1 : 0;
+    }
+
+    @Override
+    public <S extends PollResult> Iterable<S> saveAll(Iterable<S> iterable) {
+        for (S r : iterable) save(r);
+        return iterable;
+    }
+
+    @Override
+    public Optional<PollResult> findById(Long aLong) {
+        return Optional.ofNullable(results.get(aLong));
+    }
+
+    @Override
+    public boolean existsById(Long aLong) {
+        return results.containsKey(aLong);
+    }
+
+    @Override
+    public Iterable<PollResult> findAll() {
+        return new ArrayList<>(results.values());
+    }
+
+    @Override
+    public Iterable<PollResult> findAllById(Iterable<Long> iterable) {
+        List<PollResult> result = new ArrayList<>();
+        for (Long l : iterable) findById(l).ifPresent(result::add);
+        return result;
+    }
+
+    @Override
+    public long count() {
+        return results.size();
+    }
+
+    @Override
+    public void deleteById(Long aLong) {
+        results.remove(aLong);
+    }
+
+    @Override
+    public void delete(PollResult pollResult) {
+        results.remove(pollResult.getPollId());
+    }
+
+    @Override
+    public void deleteAllById(Iterable<? extends Long> iterable) {
+        for (Long l : iterable) deleteById(l);
+    }
+
+    @Override
+    public void deleteAll(Iterable<? extends PollResult> iterable) {
+        for (PollResult r : iterable) delete(r);
+    }
+
+    @Override
+    public void deleteAll() {
+        results.clear();
+    }
+}
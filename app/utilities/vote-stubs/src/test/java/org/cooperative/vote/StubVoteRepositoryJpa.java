@@ -1,23 +1,68 @@
 package org.cooperative.vote;
 
+import org.cooperative.poll.jpa.PollRepositoryJpa;
+import org.cooperative.vote.jpa.PollResult;
+import org.cooperative.vote.jpa.PollResultRepositoryJpa;
+import org.cooperative.vote.jpa.PollVoteCount;
+import org.cooperative.vote.jpa.PollVotesRow;
 import org.cooperative.vote.jpa.Vote;
 import org.cooperative.vote.jpa.VoteCount;
 import org.cooperative.vote.jpa.VoteRepositoryJpa;
+import org.cooperative.vote.jpa.VoteRow;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Pageable;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 public class StubVoteRepositoryJpa implements VoteRepositoryJpa {
     private final List<Vote> votes = new ArrayList<>();
+    private final PollRepositoryJpa pollRepository;
+    private final PollResultRepositoryJpa pollResultRepository;
     private long nextId = 1;
 
+    public StubVoteRepositoryJpa(PollRepositoryJpa pollRepository) {
+        this(pollRepository, new StubPollResultRepositoryJpa());
+    }
+
+    public StubVoteRepositoryJpa(PollRepositoryJpa pollRepository, PollResultRepositoryJpa pollResultRepository) {
+        this.pollRepository = pollRepository;
+        this.pollResultRepository = pollResultRepository;
+    }
+
     @Override
-    public List<Vote> findByPoll_Subject_IdAndPoll_Id(long subjectId, long pollId) {
-        return votes.stream()
-                .filter(v -> v.getPoll().getSubject().getId() == subjectId && v.getPoll().getId() == pollId)
+    public Stream<VoteRow> streamByPoll(long subjectId, long pollId) {
+        return findByPoll_Subject_IdAndPoll_Id(subjectId, pollId).stream()
+                .map(v -> new VoteRow(v.getVoter(), v.isAgree(), v.getVoteDate(), v.getPollId()));
+    }
+
+    @Override
+    public Stream<VoteRow> streamVoters() {
+        return new ArrayList<>(votes).stream()
+                .map(v -> new VoteRow(v.getVoter(), v.isAgree(), v.getVoteDate(), v.getPollId()));
+    }
+
+    @Override
+    public List<VoteRow> findPageByPoll(long subjectId, long pollId, Pageable pageable) {
+        return streamByPoll(subjectId, pollId)
+                .sorted(Comparator.comparing(VoteRow::getVoter))
+                .limit(pageable.getPageSize())
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<VoteRow> findPageByPollAfter(long subjectId, long pollId, UUID afterVoter, Pageable pageable) {
+        return streamByPoll(subjectId, pollId)
+                .filter(v -> v.getVoter().compareTo(afterVoter) > 0)
+                .sorted(Comparator.comparing(VoteRow::getVoter))
+                .limit(pageable.getPageSize())
                 .collect(Collectors.toList());
     }
 
@@ -38,8 +83,46 @@ public class StubVoteRepositoryJpa implements VoteRepositoryJpa {
         return voteCounts;
     }
 
+    @Override
+    public Optional<PollVotesRow> findPollVotes(long subjectId, long pollId) {
+        return pollRepository.findById(pollId)
+                .filter(p -> p.getSubject().getId() == subjectId)
+                .map(p -> {
+                    Optional<PollResult> result = pollResultRepository.findById(pollId)
+                            .filter(r -> r.getEndDate().isEqual(p.getEndDate()));
+                    List<Vote> votesOnPoll = result.isPresent() ? List.of()
+                            : findByPoll_Subject_IdAndPoll_Id(subjectId, pollId);
+                    return new PollVotesRow(p.getId(), p.getName(), p.getStartDate(), p.getEndDate(), subjectId,
+                            result.map(PollResult::getAgree).orElse(null),
+                            result.map(PollResult::getDisagree).orElse(null),
+                            votesOnPoll.stream().filter(Vote::isAgree).count(),
+                            votesOnPoll.stream().filter(v -> !v.isAgree()).count());
+                });
+    }
+
+    @Override
+    public List<PollVoteCount> countVotesByPoll() {
+        return new ArrayList<>(votes).stream()
+                .collect(Collectors.groupingBy(Vote::getPollId, Collectors.counting()))
+                .entrySet().stream()
+                .map(e -> PollVoteCountImpl.of(e.getKey(), e.getValue()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public int insertIfAbsent(Vote vote) {
+        // ON CONFLICT DO NOTHING on vote_poll_voter_key, whatever id an earlier failed batch left on the entity
+        if (hasVoted(vote.getPollId(), vote.getVoter())) return 0;
+        save(Vote.of(null, vote.getVoter(), vote.isAgree(), vote.getVoteDate(), vote.getPollId(), null));
+        return 1;
+    }
+
     @Override
     public <S extends Vote> S save(S s) {
+        if (exists(s)) throw new DataIntegrityViolationException("Duplicate vote for poll and voter");
+        // Mirrors the poll_id foreign key and the lazy relation the database would resolve
+        s.setPoll(pollRepository.findById(s.getPollId())
+                .orElseThrow(() -> new DataIntegrityViolationException("Poll not found: " + s.getPollId())));
         if (s.getId() == null) s.setId(nextId++);
         else deleteById(s.getId());
         votes.add(s);
@@ -48,6 +131,16 @@ public class StubVoteRepositoryJpa implements VoteRepositoryJpa {
 
     @Override
     public <S extends Vote> Iterable<S> saveAll(Iterable<S> iterable) {
+        // Checked up front so a rejected batch leaves nothing behind, like a rolled back transaction
+        Set<String> batch = new HashSet<>();
+        for (S v : iterable) {
+            if (exists(v) || !batch.add(v.getPollId() + "/" + v.getVoter())) {
+                throw new DataIntegrityViolationException("Duplicate vote for poll and voter");
+            }
+            if (pollRepository.findById(v.getPollId()).isEmpty()) {
+                throw new DataIntegrityViolationException("Poll not found: " + v.getPollId());
+            }
+        }
         for (S v : iterable) save(v);
         return iterable;
     }
@@ -106,4 +199,21 @@ public class StubVoteRepositoryJpa implements VoteRepositoryJpa {
     public void deleteAll() {
         votes.clear();
     }
+
+    private List<Vote> findByPoll_Subject_IdAndPoll_Id(long subjectId, long pollId) {
+        return votes.stream()
+                .filter(v -> v.getPoll().getSubject().getId() == subjectId && v.getPoll().getId() == pollId)
+                .collect(Collectors.toList());
+    }
+
+    private boolean hasVoted(long pollId, UUID voter) {
+        return votes.stream()
+                .anyMatch(v -> v.getPollId() == pollId && v.getVoter().equals(voter));
+    }
+
+    private boolean exists(Vote vote) {
+        return votes.stream()
+                .anyMatch(v -> !v.getId().equals(vote.getId()) && v.getPollId() == vote.getPollId() &&
+                        v.getVoter().equals(vote.getVoter()));
+    }
 }
@@ -0,0 +1,22 @@
+package org.cooperative;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+// JMH's own launcher with the GC profiler always on, so every run reports the allocation rate next to
+// the throughput
+public class BenchmarkMain {
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions options = new CommandLineOptions(args);
+        Runner runner = new Runner(new OptionsBuilder()
+                .parent(options)
+                .addProfiler(GCProfiler.class)
+                .build());
+        if (options.shouldHelp()) options.showHelp();
+        else if (options.shouldList()) runner.list();
+        else if (options.shouldListWithParams()) runner.listWithParams(options);
+        else runner.run();
+    }
+}
@@ -0,0 +1,100 @@
+package org.cooperative;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.cooperative.poll.Poll;
+import org.cooperative.poll.api.PollVotesResponse;
+import org.cooperative.vote.Vote;
+import org.cooperative.vote.VoteCount;
+import org.cooperative.vote.api.VoteResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Mapping domain objects to the API responses and encoding them to JSON as WebFlux does, with and
+// without the indentation JSON_PRETTY_PRINT turns on by default
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ResponseEncodingBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Mapper {
+        @Param({"true", "false"})
+        boolean indentOutput;
+
+        ObjectMapper objectMapper;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            objectMapper = new ObjectMapper()
+                    .registerModule(new JavaTimeModule())
+                    .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                    .configure(SerializationFeature.INDENT_OUTPUT, indentOutput);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Votes {
+        @Param({"1", "100", "10000"})
+        int votes;
+
+        List<Vote> domain;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            OffsetDateTime now = OffsetDateTime.now();
+            domain = new ArrayList<>(votes);
+            for (int i = 0; i < votes; i++) {
+                domain.add(Vote.of(UUID.randomUUID(), i % 2 == 0, now, 1L, 1L));
+            }
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class PollVotes {
+        Poll poll;
+        VoteCount voteCount;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            OffsetDateTime now = OffsetDateTime.now();
+            poll = Poll.of(1L, "poll", now, now.plus(Duration.ofDays(1)), 1L);
+            voteCount = VoteCount.of(5_000, 4_999);
+        }
+    }
+
+    @Benchmark
+    public byte[] voteResponses(Mapper mapper, Votes votes) throws JsonProcessingException {
+        return mapper.objectMapper.writeValueAsBytes(votes.domain.stream()
+                .map(VoteResponse::fromDomain)
+                .collect(Collectors.toList()));
+    }
+
+    @Benchmark
+    public byte[] pollVotesResponse(Mapper mapper, PollVotes pollVotes) throws JsonProcessingException {
+        return mapper.objectMapper.writeValueAsBytes(PollVotesResponse.fromDomain(pollVotes.poll,
+                pollVotes.voteCount));
+    }
+}
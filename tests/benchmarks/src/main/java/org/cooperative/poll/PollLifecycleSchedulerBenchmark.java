@@ -0,0 +1,102 @@
+package org.cooperative.poll;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+// Scheduling overhead with a large number of polls already planned: re-planning one poll on save and
+// advancing the wheel by one tick
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PollLifecycleSchedulerBenchmark {
+    private static final long TICK_MILLIS = 100;
+    private static final long HORIZON_MILLIS = Duration.ofDays(30).toMillis();
+
+    @Param({"1000000"})
+    int pending;
+
+    private final TickingClock clock = new TickingClock(Instant.parse("2021-07-01T00:00:00Z"));
+    private final SplittableRandom random = new SplittableRandom(42);
+    private PollLifecycleScheduler scheduler;
+    private OffsetDateTime now;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        scheduler = new PollLifecycleScheduler(null, clock, TICK_MILLIS, Integer.MAX_VALUE);
+        now = OffsetDateTime.ofInstant(clock.instant(), ZoneOffset.UTC);
+        for (long id = 1; id <= pending; id++) scheduler.load(poll(id));
+    }
+
+    @Benchmark
+    public int replan() {
+        scheduler.onPollSaved(poll(random.nextLong(1, pending + 1)));
+        return scheduler.pending();
+    }
+
+    @Benchmark
+    public int tick() {
+        clock.advance(TICK_MILLIS);
+        scheduler.tick();
+        return scheduler.backlog();
+    }
+
+    private Poll poll(long id) {
+        OffsetDateTime start = now.plus(Duration.ofMillis(random.nextLong(HORIZON_MILLIS)));
+        OffsetDateTime end = start.plus(Duration.ofMillis(random.nextLong(1, HORIZON_MILLIS)));
+        return Poll.of(id, "poll", start, end, 1L);
+    }
+
+    private static class TickingClock extends Clock {
+        private volatile long millis;
+
+        TickingClock(Instant instant) {
+            this.millis = instant.toEpochMilli();
+        }
+
+        void advance(long delta) {
+            millis += delta;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+}
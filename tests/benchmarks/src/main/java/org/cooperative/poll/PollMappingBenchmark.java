@@ -0,0 +1,67 @@
+package org.cooperative.poll;
+
+import org.cooperative.poll.infrastructure.PollRepositoryImpl;
+import org.cooperative.poll.jpa.StubPollRepositoryJpa;
+import org.cooperative.subject.StubSubjectRepositoryJpa;
+import org.cooperative.subject.jpa.Subject;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.concurrent.TimeUnit;
+
+// Listing a subject's polls through PollRepositoryImpl against listing the stub entities it maps from, so
+// the difference is the cost of PollRepositoryImpl.mapFromJpa
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class PollMappingBenchmark {
+    private static final long SUBJECT_ID = 1L;
+
+    @Param({"10", "1000"})
+    int polls;
+
+    private StubPollRepositoryJpa pollRepositoryJpa;
+    private PollRepository pollRepository;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        StubSubjectRepositoryJpa subjectRepositoryJpa = new StubSubjectRepositoryJpa();
+        Subject subject = subjectRepositoryJpa.save(Subject.of(SUBJECT_ID, "subject"));
+        pollRepositoryJpa = new StubPollRepositoryJpa();
+        pollRepository = new PollRepositoryImpl(pollRepositoryJpa, subjectRepositoryJpa);
+
+        OffsetDateTime now = OffsetDateTime.now();
+        for (int i = 0; i < polls; i++) {
+            pollRepositoryJpa.save(org.cooperative.poll.jpa.Poll.of(0L, "poll " + i, now,
+                    now.plus(Duration.ofDays(1)), subject));
+        }
+    }
+
+    @Benchmark
+    public void entities(Blackhole blackhole) {
+        pollRepositoryJpa.findBySubject_Id(SUBJECT_ID)
+                .forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void polls(Blackhole blackhole) {
+        pollRepository.getBySubjectId(SUBJECT_ID)
+                .forEach(blackhole::consume);
+    }
+}
@@ -0,0 +1,15 @@
+package org.cooperative.vote;
+
+import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.domain.EntityScan;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+
+// spring-r2dbc comes in with vote-infrastructure, and its ConnectionFactory would keep the DataSource from
+// being set up
+@SpringBootApplication(scanBasePackages = {"org.cooperative.vote.infrastructure", "org.cooperative.vote.log"},
+        exclude = R2dbcAutoConfiguration.class)
+@EntityScan(basePackages = "org.cooperative")
+@EnableJpaRepositories(basePackages = "org.cooperative")
+public class BenchmarkApplication {
+}
@@ -0,0 +1,76 @@
+package org.cooperative.vote;
+
+import org.cooperative.poll.Poll;
+import org.cooperative.poll.PollService;
+import org.cooperative.poll.PollServiceDefault;
+import org.cooperative.poll.infrastructure.PollRepositoryImpl;
+import org.cooperative.poll.jpa.StubPollRepositoryJpa;
+import org.cooperative.subject.StubSubjectRepositoryJpa;
+import org.cooperative.subject.StubSubjectService;
+import org.cooperative.subject.jpa.Subject;
+import org.cooperative.vote.infrastructure.VoteBatchWriter;
+import org.cooperative.vote.infrastructure.VoteRepositoryImpl;
+import org.cooperative.vote.infrastructure.VoterFilters;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+// The vote stack wired by hand on top of the in-memory stubs, holding one poll with the given number of
+// votes. The voter filters stay off, so every lookup reaches the stub.
+class VoteFixture {
+    static final long SUBJECT_ID = 1L;
+    static final int BATCH_SIZE = 100;
+
+    final StubPollRepositoryJpa pollRepositoryJpa = new StubPollRepositoryJpa();
+    final StubVoteRepositoryJpa voteRepositoryJpa = new StubVoteRepositoryJpa(pollRepositoryJpa);
+    final VoteBatchWriter voteBatchWriter = new VoteBatchWriter(voteRepositoryJpa, BATCH_SIZE, 5);
+    final VoteRepository voteRepository = new VoteRepositoryImpl(voteRepositoryJpa,
+            new StubPollResultRepositoryJpa(), voteBatchWriter,
+            new VoterFilters(voteRepositoryJpa, false, 0.01, 1024, 64));
+    final PollService pollService;
+    final VoteService voteService;
+    final Poll poll;
+    final UUID[] voters;
+
+    VoteFixture(int votes) {
+        StubSubjectRepositoryJpa subjectRepositoryJpa = new StubSubjectRepositoryJpa();
+        subjectRepositoryJpa.save(Subject.of(SUBJECT_ID, "subject"));
+        pollService = new PollServiceDefault(new PollRepositoryImpl(pollRepositoryJpa, subjectRepositoryJpa),
+                new StubSubjectService());
+        voteService = new VoteServiceImpl(voteRepository, pollService, new VoteTally(), new PollWindowCache(),
+                new VoterSets());
+
+        OffsetDateTime now = OffsetDateTime.now();
+        poll = pollService.createPoll(Poll.builder()
+                .name("poll")
+                .startDate(now)
+                .endDate(now.plus(Duration.ofDays(1)))
+                .subjectId(SUBJECT_ID)
+                .build());
+
+        voters = new UUID[votes];
+        List<Vote> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < votes; i++) {
+            voters[i] = UUID.randomUUID();
+            batch.add(Vote.of(voters[i], i % 2 == 0, now, SUBJECT_ID, poll.getId()));
+            if (batch.size() == BATCH_SIZE || i == votes - 1) {
+                voteRepository.createVotesIfAbsent(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    // Drops every vote after the ones the fixture was created with
+    void reset() {
+        List<Long> added = new ArrayList<>();
+        voteRepositoryJpa.findAll().forEach(v -> added.add(v.getId()));
+        voteRepositoryJpa.deleteAllById(added.subList(voters.length, added.size()));
+    }
+
+    void close() throws InterruptedException {
+        voteBatchWriter.destroy();
+    }
+}
@@ -0,0 +1,55 @@
+package org.cooperative.vote;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// Reading a poll's votes through VoteRepositoryImpl against reading the stub rows it maps from, so the
+// difference is the cost of VoteRepositoryImpl.toDomain
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class VoteMappingBenchmark {
+    @Param({"100", "10000"})
+    int votes;
+
+    private VoteFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new VoteFixture(votes);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        fixture.close();
+    }
+
+    @Benchmark
+    public void rows(Blackhole blackhole) {
+        fixture.voteRepositoryJpa.streamByPoll(VoteFixture.SUBJECT_ID, fixture.poll.getId())
+                .forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public void votes(Blackhole blackhole) {
+        fixture.voteRepository.getVoteBySubjectIdPollId(VoteFixture.SUBJECT_ID, fixture.poll.getId())
+                .forEach(blackhole::consume);
+    }
+}
@@ -0,0 +1,110 @@
+package org.cooperative.vote;
+
+import org.cooperative.poll.jpa.Poll;
+import org.cooperative.poll.jpa.PollRepositoryJpa;
+import org.cooperative.subject.jpa.Subject;
+import org.cooperative.subject.jpa.SubjectRepositoryJpa;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// VoteRepositoryImpl on an in-memory H2 database against the memory-mapped vote log, both behind the
+// VoteRepository interface the services use
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class VoteRepositoryBenchmark {
+    private static final long SUBJECT_ID = 1L;
+
+    @Param({"jpa", "vote-log"})
+    String storage;
+
+    @Param({"10000"})
+    int votes;
+
+    private ConfigurableApplicationContext context;
+    private VoteRepository voteRepository;
+    private long pollId;
+    private UUID[] voters;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Path logDirectory = Files.createTempDirectory("vote-log");
+        context = new SpringApplicationBuilder(BenchmarkApplication.class)
+                .web(WebApplicationType.NONE)
+                .profiles("vote-log".equals(storage) ? new String[] {"vote-log"} : new String[0])
+                .properties("spring.datasource.url=jdbc:h2:mem:" + storage + ";DB_CLOSE_DELAY=-1",
+                        "cooperative.vote.log.dir=" + logDirectory,
+                        "logging.level.root=warn")
+                .run();
+        voteRepository = context.getBean(VoteRepository.class);
+
+        OffsetDateTime now = OffsetDateTime.now();
+        Subject subject = context.getBean(SubjectRepositoryJpa.class).save(Subject.of(SUBJECT_ID, "subject"));
+        pollId = context.getBean(PollRepositoryJpa.class)
+                .save(Poll.of(0L, "poll", now, now.plus(Duration.ofDays(1)), subject))
+                .getId();
+
+        voters = new UUID[votes];
+        List<Vote> batch = new ArrayList<>();
+        for (int i = 0; i < votes; i++) {
+            voters[i] = UUID.randomUUID();
+            batch.add(Vote.of(voters[i], i % 2 == 0, now, SUBJECT_ID, pollId));
+            if (batch.size() == 1000 || i == votes - 1) {
+                voteRepository.createVotesIfAbsent(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @Threads(16)
+    public boolean createVote() {
+        return voteRepository.createVoteIfAbsent(
+                Vote.of(UUID.randomUUID(), true, OffsetDateTime.now(), SUBJECT_ID, pollId));
+    }
+
+    @Benchmark
+    public Object getVoteByVoter() {
+        UUID voter = voters[ThreadLocalRandom.current().nextInt(voters.length)];
+        return voteRepository.getVoteBySubjectIdPollIdVoter(SUBJECT_ID, pollId, voter);
+    }
+
+    @Benchmark
+    public VoteCount getVoteCount() {
+        return voteRepository.getVoteCountForPoll(SUBJECT_ID, pollId);
+    }
+}
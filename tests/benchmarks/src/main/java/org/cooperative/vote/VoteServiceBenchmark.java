@@ -0,0 +1,92 @@
+package org.cooperative.vote;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// VoteServiceImpl over VoteRepositoryImpl and the stubs, with the votes already on the poll as the size
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class VoteServiceBenchmark {
+    @Param({"100", "10000"})
+    int votes;
+
+    private VoteFixture fixture;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        fixture = new VoteFixture(votes);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws InterruptedException {
+        fixture.close();
+    }
+
+    // A bulk of new voters, removed again after every call so the poll keeps its size
+    @State(Scope.Thread)
+    public static class NewVotes {
+        List<Vote> votes;
+
+        @Setup(Level.Invocation)
+        public void setUp() {
+            votes = new ArrayList<>(VoteFixture.BATCH_SIZE);
+            for (int i = 0; i < VoteFixture.BATCH_SIZE; i++) {
+                votes.add(Vote.builder()
+                        .voter(UUID.randomUUID())
+                        .agree(i % 2 == 0)
+                        .build());
+            }
+        }
+
+        @TearDown(Level.Invocation)
+        public void tearDown(VoteServiceBenchmark benchmark) {
+            benchmark.fixture.reset();
+        }
+    }
+
+    @Benchmark
+    public List<VoteResult> createVotes(NewVotes newVotes) {
+        return fixture.voteService.openBulkVoteSession(VoteFixture.SUBJECT_ID, fixture.poll.getId())
+                .createVotes(newVotes.votes);
+    }
+
+    @Benchmark
+    public Optional<Vote> getVoteByVoter() {
+        UUID voter = fixture.voters[ThreadLocalRandom.current().nextInt(fixture.voters.length)];
+        return fixture.voteService.getVoteBySubjectIdPollIdVoter(VoteFixture.SUBJECT_ID, fixture.poll.getId(), voter);
+    }
+
+    @Benchmark
+    public void getVotePage(Blackhole blackhole) {
+        fixture.voteService.getVotePageBySubjectIdPollId(VoteFixture.SUBJECT_ID, fixture.poll.getId(), null, 100)
+                .forEach(blackhole::consume);
+    }
+
+    @Benchmark
+    public VoteCount getVoteCount() {
+        return fixture.voteService.getVoteCountForPoll(VoteFixture.SUBJECT_ID, fixture.poll.getId());
+    }
+}